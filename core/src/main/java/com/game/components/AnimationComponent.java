@@ -2,42 +2,106 @@ package com.game.components;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
+import com.game.systems.animation.AnimationClipSet;
 import com.game.systems.animation.SpriteAnimator;
 import com.game.systems.entity.Component;
 
 /**
  * Component that wraps the SpriteAnimator system.
  * This is glue code that integrates the animation system with the entity system.
+ *
+ * The resolved frame is cached. With a frame interval set (see AnimationLodPolicy) a new
+ * frame is only resolved once the interval has passed or the state changes; the timer
+ * itself always advances so animations stay in sync when detail comes back.
  */
 public class AnimationComponent implements Component {
     private SpriteAnimator animator;
-    private String currentState;
-    private int currentDirection;
+    private TextureRegion cachedFrame;
+    private float frameInterval;
+    private float timeSinceFrame;
 
     public AnimationComponent() {
         this.animator = new SpriteAnimator();
-        this.currentState = "idle";
-        this.currentDirection = 0;
+    }
+
+    /**
+     * Creates a component that plays clips from a shared clip set.
+     * Only the playback state is per instance.
+     * @param clips The shared clip set (see AnimationLibrary)
+     */
+    public AnimationComponent(AnimationClipSet clips) {
+        this.animator = new SpriteAnimator(clips);
     }
 
     public void setState(String state, Vector2 direction, boolean flip) {
-        this.currentState = state;
+        int previousState = animator.getCurrentStateId();
+        int previousDirection = animator.getCurrentDirection();
         animator.setState(state, direction, flip);
+        checkStateChanged(previousState, previousDirection);
     }
 
     public void setState(String state, int directionAngle, boolean flip) {
-        this.currentState = state;
-        this.currentDirection = directionAngle;
+        int previousState = animator.getCurrentStateId();
+        int previousDirection = animator.getCurrentDirection();
         animator.setState(state, directionAngle, flip);
+        checkStateChanged(previousState, previousDirection);
+    }
+
+    /**
+     * Allocation-free state change for per-frame use.
+     * @param stateId State ID returned when the animation was loaded
+     * @param directionAngle Direction in degrees
+     * @param flip Whether to draw the frame mirrored horizontally
+     */
+    public void setState(int stateId, int directionAngle, boolean flip) {
+        int previousState = animator.getCurrentStateId();
+        int previousDirection = animator.getCurrentDirection();
+        animator.setState(stateId, directionAngle, flip);
+        checkStateChanged(previousState, previousDirection);
+    }
+
+    private void checkStateChanged(int previousState, int previousDirection) {
+        if (animator.getCurrentStateId() != previousState || animator.getCurrentDirection() != previousDirection) {
+            cachedFrame = null; // Show the new state immediately
+        }
     }
 
     @Override
     public void update(float delta) {
         animator.update(delta);
+        timeSinceFrame += delta;
     }
 
+    /**
+     * Gets the frame to draw, resolving a new one only when the frame interval has passed.
+     * @return Current texture region to render
+     */
     public TextureRegion getCurrentFrame() {
-        return animator.getCurrentFrame();
+        if (cachedFrame == null || timeSinceFrame >= frameInterval) {
+            cachedFrame = animator.getCurrentFrame();
+            timeSinceFrame = 0;
+        }
+        return cachedFrame;
+    }
+
+    /**
+     * Sets the minimum time between frame resolutions.
+     * @param frameInterval Interval in seconds, 0 to resolve every draw
+     */
+    public void setFrameInterval(float frameInterval) {
+        this.frameInterval = frameInterval;
+    }
+
+    public float getFrameInterval() {
+        return frameInterval;
+    }
+
+    public boolean isFlipX() {
+        return animator.isFlipX();
+    }
+
+    public AnimationClipSet getClips() {
+        return animator.getClips();
     }
 
     public SpriteAnimator getAnimator() {
@@ -45,10 +109,10 @@ public class AnimationComponent implements Component {
     }
 
     public String getCurrentState() {
-        return currentState;
+        return animator.getCurrentState();
     }
 
     public int getCurrentDirection() {
-        return currentDirection;
+        return animator.getCurrentDirection();
     }
 }
@@ -1,19 +1,43 @@
 package com.game.components;
 
 import com.badlogic.gdx.math.Rectangle;
+import com.game.systems.collision.CollisionLayer;
 import com.game.systems.entity.Component;
 import com.game.systems.entity.GameObject;
 import com.game.systems.entity.Transform;
 
 /**
  * Component that defines a collision box.
- * Works with the SpatialQuery system for collision detection.
+ * Works with the SpatialQuery system for collision detection, and with the world's
+ * EntityBroadphase for entity-vs-entity overlaps (filtered by layer and mask).
+ *
+ * The world-space box is cached and only recomputed when the owner's Transform version
+ * changes, so per-frame bounds queries don't look up components or allocate.
  */
 public class ColliderComponent implements Component {
     private float width;
     private float height;
     private float offsetX;
     private float offsetY;
+    private int layer = CollisionLayer.DEFAULT;
+    private int mask = CollisionLayer.NONE;
+
+    // Cached world bounds
+    private Transform transform;
+    private final Rectangle worldBounds = new Rectangle();
+    private int boundsVersion;
+    private boolean boundsValid;
+
+    /**
+     * Implemented by objects whose broadphase body isn't their ColliderComponent
+     * (e.g. the player, whose component is the feet box).
+     */
+    public interface BodyOwner {
+        /**
+         * @return The collider used for entity-vs-entity overlaps, or null to stay out of the broadphase
+         */
+        ColliderComponent getBodyCollider();
+    }
 
     public ColliderComponent(float width, float height) {
         this.width = width;
@@ -29,21 +53,90 @@ public class ColliderComponent implements Component {
         this.offsetY = offsetY;
     }
 
+    /**
+     * Gets the collider an object registers with the EntityBroadphase.
+     * @param object The object
+     * @return The BodyOwner's choice, else the object's ColliderComponent (null if it has none)
+     */
+    public static ColliderComponent getBodyCollider(GameObject object) {
+        if (object instanceof BodyOwner) {
+            return ((BodyOwner) object).getBodyCollider();
+        }
+        return object.getComponent(ColliderComponent.class);
+    }
+
+    @Override
+    public void onAttach(GameObject owner) {
+        if (transform == null) {
+            setTransform(owner.getComponent(Transform.class)); // Null if added before the Transform
+        }
+    }
+
+    /**
+     * Binds the collider to the transform it follows. Done automatically when the collider is
+     * added to an object that already has a Transform; call it for colliders that aren't
+     * components (e.g. a second collider on the same object).
+     */
+    public void setTransform(Transform transform) {
+        this.transform = transform;
+        boundsValid = false;
+    }
+
+    public Transform getTransform() {
+        return transform;
+    }
+
     /**
      * Get the collision bounds for this object.
+     * Allocates a new Rectangle; prefer getBounds(Rectangle) or getWorldBounds() per frame.
      */
     public Rectangle getBounds(GameObject gameObject) {
-        Transform transform = gameObject.getComponent(Transform.class);
         if (transform == null) {
-            return new Rectangle(0, 0, width, height);
+            setTransform(gameObject.getComponent(Transform.class));
+        }
+        return new Rectangle(getWorldBounds());
+    }
+
+    /**
+     * Copies the world-space bounds into a rectangle.
+     * @param out Receives the bounds
+     * @return out
+     */
+    public Rectangle getBounds(Rectangle out) {
+        return out.set(getWorldBounds());
+    }
+
+    /**
+     * Gets the cached world-space bounds (at the origin without a transform).
+     * @return Shared rectangle, valid until the transform changes; don't modify it
+     */
+    public Rectangle getWorldBounds() {
+        if (transform == null) {
+            worldBounds.set(offsetX, offsetY, width, height);
+            boundsValid = false;
+        } else if (!boundsValid || boundsVersion != transform.getVersion()) {
+            worldBounds.set(transform.getX() + offsetX, transform.getY() + offsetY, width, height);
+            boundsVersion = transform.getVersion();
+            boundsValid = true;
         }
+        return worldBounds;
+    }
+
+    /**
+     * Sets the broadphase layer and the layers this collider pairs with (CollisionLayer bits).
+     * Set before the owner is added to the world.
+     */
+    public void setLayer(int layer, int mask) {
+        this.layer = layer;
+        this.mask = mask;
+    }
+
+    public int getLayer() {
+        return layer;
+    }
 
-        return new Rectangle(
-            transform.getX() + offsetX,
-            transform.getY() + offsetY,
-            width,
-            height
-        );
+    public int getMask() {
+        return mask;
     }
 
     public float getWidth() {
@@ -0,0 +1,106 @@
+package com.game.components;
+
+import com.badlogic.gdx.math.Vector2;
+import com.game.systems.entity.Component;
+import com.game.systems.entity.Transform;
+import com.game.systems.navigation.FlowFieldService;
+
+/**
+ * Component that moves its owner's Transform along a shared flow field (e.g. chasing the player).
+ * Each update is one field lookup: the owner steers toward the center of the next cell.
+ */
+public class FlowFollowerComponent implements Component {
+    private final Transform transform;
+    private final Vector2 waypoint = new Vector2();
+    private final Vector2 direction = new Vector2();
+    private FlowFieldService field;
+    private float centerOffsetX;
+    private float centerOffsetY;
+    private float speed;
+    private float stopDistance = 12f;
+    private boolean moving;
+
+    /**
+     * @param transform The transform to move
+     * @param speed Movement speed in pixels per second
+     */
+    public FlowFollowerComponent(Transform transform, float speed) {
+        this.transform = transform;
+        this.speed = speed;
+    }
+
+    /**
+     * Sets the offset from the transform to the point that follows the field (e.g. collider center).
+     */
+    public void setCenterOffset(float offsetX, float offsetY) {
+        this.centerOffsetX = offsetX;
+        this.centerOffsetY = offsetY;
+    }
+
+    @Override
+    public void update(float delta) {
+        moving = false;
+        direction.setZero();
+        if (field == null) return;
+
+        float x = transform.getX() + centerOffsetX;
+        float y = transform.getY() + centerOffsetY;
+        if (!field.getNextWaypoint(x, y, waypoint)) return; // Out of the field's reach
+
+        float dx = waypoint.x - x;
+        float dy = waypoint.y - y;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+
+        // In the target cell: close in until the stop distance
+        if (field.getDirectionIndex(field.getGrid().toCellX(x), field.getGrid().toCellY(y)) == FlowFieldService.AT_TARGET &&
+            distance <= stopDistance) {
+            return;
+        }
+        if (distance < 0.001f) return;
+
+        float step = Math.min(distance, speed * delta);
+        direction.set(dx / distance, dy / distance);
+        transform.translate(direction.x * step, direction.y * step);
+        moving = true;
+    }
+
+    /**
+     * Starts following a field, or stops with null.
+     */
+    public void setField(FlowFieldService field) {
+        this.field = field;
+    }
+
+    public FlowFieldService getField() {
+        return field;
+    }
+
+    /**
+     * Checks whether the owner moved during the last update.
+     */
+    public boolean isMoving() {
+        return moving;
+    }
+
+    /**
+     * Gets the last movement direction (unit length, zero when not moving).
+     */
+    public Vector2 getDirection() {
+        return direction;
+    }
+
+    public void setSpeed(float speed) {
+        this.speed = speed;
+    }
+
+    public float getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Sets how close to the target the owner stops once it is in the target's cell.
+     */
+    public void setStopDistance(float stopDistance) {
+        this.stopDistance = stopDistance;
+    }
+}
@@ -0,0 +1,206 @@
+package com.game.components;
+
+import com.badlogic.gdx.math.Vector2;
+import com.game.systems.entity.Component;
+import com.game.systems.entity.Transform;
+import com.game.systems.navigation.NavPath;
+import com.game.systems.navigation.NavigationService;
+
+/**
+ * Component that moves its owner's Transform along a navigation path.
+ * Paths come from the NavigationService and are written into this component's own NavPath,
+ * so following a new path doesn't allocate.
+ *
+ * Long moves get a coarse route first; each route waypoint is refined into a cell path
+ * (a leg) one leg ahead. Searches only run in moveTo() and prepareNextLeg(), which the owner
+ * calls from its think() so they count against the AiScheduler's budget; update() only walks.
+ * If the next leg isn't ready when the current one ends, the follower waits for it.
+ *
+ * Waypoints are for the owner's collider center; the transform is offset accordingly.
+ */
+public class PathFollowerComponent implements Component {
+    private static final float ARRIVE_DISTANCE = 1f;
+    private static final int NOT_PREPARED = -1;
+
+    private final Transform transform;
+    private final NavPath route = new NavPath();
+    private NavPath path = new NavPath();
+    private NavPath nextPath = new NavPath(); // Swapped with path when a leg ends
+    private NavigationService navigation;
+    private int routeIndex;
+    private int nextRouteIndex = NOT_PREPARED; // Route length when the route ends after this leg
+    private final Vector2 direction = new Vector2();
+    private float centerOffsetX;
+    private float centerOffsetY;
+    private float speed;
+    private int waypoint;
+    private boolean following;
+
+    /**
+     * @param transform The transform to move
+     * @param speed Movement speed in pixels per second
+     */
+    public PathFollowerComponent(Transform transform, float speed) {
+        this.transform = transform;
+        this.speed = speed;
+    }
+
+    /**
+     * Sets the offset from the transform to the point that follows the path (e.g. collider center).
+     */
+    public void setCenterOffset(float offsetX, float offsetY) {
+        this.centerOffsetX = offsetX;
+        this.centerOffsetY = offsetY;
+    }
+
+    /**
+     * Requests a path to a target and starts following it.
+     * @param navigation The world's navigation
+     * @param targetX Target X
+     * @param targetY Target Y
+     * @return True if a path was found
+     */
+    public boolean moveTo(NavigationService navigation, float targetX, float targetY) {
+        this.navigation = navigation;
+        direction.setZero();
+        waypoint = 0;
+        nextRouteIndex = NOT_PREPARED;
+        following = navigation.findRoute(getCenterX(), getCenterY(), targetX, targetY, route);
+        if (following) {
+            routeIndex = findLeg(0, getCenterX(), getCenterY(), path);
+            following = routeIndex < route.getLength();
+        }
+        return following;
+    }
+
+    /**
+     * Refines the leg after the current one, if that hasn't been done yet.
+     * Call from the owner's think() so the search runs under the AiScheduler's budget.
+     */
+    public void prepareNextLeg() {
+        if (!following || nextRouteIndex != NOT_PREPARED) return;
+
+        // The current leg ends on its route waypoint
+        int last = path.getLength() - 1;
+        nextRouteIndex = findLeg(routeIndex + 1, path.getX(last), path.getY(last), nextPath);
+    }
+
+    /**
+     * Finds the cell path to the first route waypoint from an index on that isn't already reached.
+     * @param fromIndex First route index to try
+     * @param startX Start X
+     * @param startY Start Y
+     * @param out Receives the cell path
+     * @return The route index the path leads to, or the route length if the route ends (or has no path)
+     */
+    private int findLeg(int fromIndex, float startX, float startY, NavPath out) {
+        for (int i = fromIndex; i < route.getLength(); i++) {
+            if (!navigation.findPath(startX, startY, route.getX(i), route.getY(i), out)) {
+                break;
+            }
+            if (!out.isEmpty()) {
+                return i;
+            }
+            // Already there
+        }
+        return route.getLength();
+    }
+
+    /**
+     * Switches to the leg refined by prepareNextLeg().
+     * @return False if it isn't ready yet (the follower waits) or the route is finished
+     */
+    private boolean nextLeg() {
+        direction.setZero();
+        if (nextRouteIndex == NOT_PREPARED) {
+            return false;
+        }
+        if (nextRouteIndex >= route.getLength()) {
+            stop();
+            return false;
+        }
+
+        NavPath finished = path;
+        path = nextPath;
+        nextPath = finished;
+        routeIndex = nextRouteIndex;
+        nextRouteIndex = NOT_PREPARED;
+        waypoint = 0;
+        return true;
+    }
+
+    /**
+     * Stops following the current path.
+     */
+    public void stop() {
+        following = false;
+        direction.setZero();
+    }
+
+    @Override
+    public void update(float delta) {
+        if (!following) return;
+
+        float step = speed * delta;
+        while (step > 0) {
+            if (waypoint >= path.getLength() && !nextLeg()) {
+                return;
+            }
+
+            float dx = path.getX(waypoint) - getCenterX();
+            float dy = path.getY(waypoint) - getCenterY();
+            float distance = (float) Math.sqrt(dx * dx + dy * dy);
+
+            if (distance <= ARRIVE_DISTANCE || distance <= step) {
+                transform.setPosition(path.getX(waypoint) - centerOffsetX, path.getY(waypoint) - centerOffsetY);
+                step -= distance;
+                waypoint++;
+            } else {
+                direction.set(dx / distance, dy / distance);
+                transform.translate(direction.x * step, direction.y * step);
+                return;
+            }
+        }
+    }
+
+    private float getCenterX() {
+        return transform.getX() + centerOffsetX;
+    }
+
+    private float getCenterY() {
+        return transform.getY() + centerOffsetY;
+    }
+
+    public boolean isFollowing() {
+        return following;
+    }
+
+    /**
+     * Gets the current movement direction (unit length, zero when idle).
+     */
+    public Vector2 getDirection() {
+        return direction;
+    }
+
+    public float getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(float speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * Gets the cell path of the current leg.
+     */
+    public NavPath getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the coarse route the legs are refined from.
+     */
+    public NavPath getRoute() {
+        return route;
+    }
+}
@@ -9,6 +9,9 @@ import com.game.systems.entity.Transform;
 /**
  * Component that handles rendering.
  * Separates rendering logic from entity logic.
+ *
+ * The owner's Transform and AnimationComponent are looked up on the first draw and kept,
+ * so drawing doesn't look up components per frame. Add them before the object is first drawn.
  */
 public class RenderComponent implements Component {
     private int width;
@@ -16,6 +19,11 @@ public class RenderComponent implements Component {
     private float offsetX;
     private float offsetY;
 
+    // Owner components, resolved on first use
+    private GameObject boundTo;
+    private Transform transform;
+    private AnimationComponent animation;
+
     public RenderComponent(int width, int height) {
         this.width = width;
         this.height = height;
@@ -27,27 +35,68 @@ public class RenderComponent implements Component {
      * Render using an animation component.
      */
     public void render(SpriteBatch batch, GameObject gameObject) {
-        Transform transform = gameObject.getComponent(Transform.class);
-        AnimationComponent animComp = gameObject.getComponent(AnimationComponent.class);
-
+        bind(gameObject);
         if (transform == null) return;
 
-        if (animComp != null) {
-            TextureRegion frame = animComp.getCurrentFrame();
+        if (animation != null) {
+            TextureRegion frame = animation.getCurrentFrame();
             if (frame != null) {
-                batch.draw(frame,
-                    transform.getX() + offsetX,
-                    transform.getY() + offsetY,
-                    width, height);
+                // Mirror with a negative width instead of flipping the shared region
+                float x = transform.getX() + offsetX;
+                if (animation.isFlipX()) {
+                    batch.draw(frame, x + width, transform.getY() + offsetY, -width, height);
+                } else {
+                    batch.draw(frame, x, transform.getY() + offsetY, width, height);
+                }
             }
         }
     }
 
+    @Override
+    public void onAttach(GameObject owner) {
+        boundTo = null; // Re-resolved on the next draw
+    }
+
+    private void bind(GameObject gameObject) {
+        if (boundTo == gameObject) return;
+        boundTo = gameObject;
+        transform = gameObject.getComponent(Transform.class);
+        animation = gameObject.getComponent(AnimationComponent.class);
+    }
+
+    /**
+     * Gets the owner's Transform without a component lookup after the first call.
+     * @param gameObject The owner
+     * @return The Transform, or null if it has none
+     */
+    public Transform getTransform(GameObject gameObject) {
+        bind(gameObject);
+        return transform;
+    }
+
+    /**
+     * Gets the owner's AnimationComponent without a component lookup after the first call.
+     * @param gameObject The owner
+     * @return The AnimationComponent, or null if it has none
+     */
+    public AnimationComponent getAnimation(GameObject gameObject) {
+        bind(gameObject);
+        return animation;
+    }
+
     public void setOffset(float offsetX, float offsetY) {
         this.offsetX = offsetX;
         this.offsetY = offsetY;
     }
 
+    public float getOffsetX() {
+        return offsetX;
+    }
+
+    public float getOffsetY() {
+        return offsetY;
+    }
+
     public int getWidth() {
         return width;
     }
@@ -1,44 +1,201 @@
 package com.game.entity;
 
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
 import com.game.components.AnimationComponent;
 import com.game.components.ColliderComponent;
+import com.game.components.FlowFollowerComponent;
+import com.game.components.PathFollowerComponent;
 import com.game.components.RenderComponent;
+import com.game.integration.WorldManager;
+import com.game.systems.ai.AiScheduler;
+import com.game.systems.animation.AnimationClipSet;
+import com.game.systems.animation.AnimationLibrary;
+import com.game.systems.collision.CollisionLayer;
 import com.game.systems.entity.Transform;
+import com.game.systems.navigation.FlowFieldService;
+import com.game.systems.navigation.NavigationService;
 
 /**
  * Example NPC entity.
  * Extends Entity to automatically get health system and living entity features.
+ *
+ * Decisions (where to wander next) and path searches run in think(), which the world's
+ * AiScheduler calls at a reduced rate; movement and animation run every frame in update().
  */
-public class NPC extends com.game.systems.entity.Entity {
+public class NPC extends com.game.systems.entity.Entity implements AiScheduler.Agent {
     private static final int SIZE = 16;
     private static final int DEFAULT_MAX_HEALTH = 50;
+    private static final float WALK_SPEED = 40f;
+    private static final float WANDER_PAUSE_MIN = 1f;
+    private static final float WANDER_PAUSE_MAX = 4f;
 
     private Transform transform;
     private AnimationComponent animation;
+    private PathFollowerComponent pathFollower;
+    private FlowFollowerComponent flowFollower;
+    private WorldManager world;
     private String name;
 
+    // Animation state IDs (-1 without clips)
+    private int walkState = AnimationClipSet.NO_STATE;
+    private int idleState = AnimationClipSet.NO_STATE;
+    private int lastDirectionAngle = 180; // Down
+
+    // Wandering around the spawn point (radius 0 = stand still)
+    private final float homeX;
+    private final float homeY;
+    private float wanderRadius;
+    private float wanderTimer;
+
     public NPC(String name, float x, float y, int health) {
+        this(name, null, x, y, health);
+    }
+
+    /**
+     * Creates an NPC that shares the animation clips of a character sprite class.
+     * @param name Display name
+     * @param spriteClass Character sprite folder (e.g. "Villager5"), or null for no animations
+     * @param x Spawn X
+     * @param y Spawn Y
+     * @param health Max health (default is used if not positive)
+     */
+    public NPC(String name, String spriteClass, float x, float y, int health) {
         super(health > 0 ? health : DEFAULT_MAX_HEALTH);
         this.name = name;
+        this.homeX = x;
+        this.homeY = y;
 
         // Add components
         transform = new Transform(x, y);
         addComponent(transform);
 
-        animation = new AnimationComponent();
+        if (spriteClass != null) {
+            AnimationClipSet clips = AnimationLibrary.getCharacterClips(spriteClass);
+            animation = new AnimationComponent(clips);
+            walkState = clips.getStateId("walk");
+            idleState = clips.getStateId("idle");
+            animation.setState(idleState, lastDirectionAngle, false);
+        } else {
+            animation = new AnimationComponent();
+        }
         addComponent(animation);
 
         ColliderComponent collider = new ColliderComponent(SIZE - 4, SIZE - 4, 2, 2);
+        collider.setLayer(CollisionLayer.ENEMY, CollisionLayer.PLAYER | CollisionLayer.PROJECTILE);
         addComponent(collider);
 
+        // Paths are planned for the collider center
+        pathFollower = new PathFollowerComponent(transform, WALK_SPEED);
+        pathFollower.setCenterOffset(collider.getOffsetX() + collider.getWidth() / 2f,
+                                     collider.getOffsetY() + collider.getHeight() / 2f);
+        addComponent(pathFollower);
+
+        // Chasing steers along a shared flow field instead of per-NPC paths
+        flowFollower = new FlowFollowerComponent(transform, WALK_SPEED);
+        flowFollower.setCenterOffset(collider.getOffsetX() + collider.getWidth() / 2f,
+                                     collider.getOffsetY() + collider.getHeight() / 2f);
+        addComponent(flowFollower);
+
         RenderComponent render = new RenderComponent(SIZE, SIZE);
         addComponent(render);
     }
 
     @Override
     public void update(float delta) {
-        // NPCs can have AI behavior here
+        if (flowFollower.isMoving()) {
+            pathFollower.stop(); // Chasing takes over from a wander path
+        }
+
+        // Components (including the followers) move the NPC
         super.update(delta);
+
+        updateAnimation();
+    }
+
+    /**
+     * Walks to a world position around obstacles.
+     * @param x Target X
+     * @param y Target Y
+     * @return True if a path was found
+     */
+    public boolean moveTo(float x, float y) {
+        NavigationService navigation = world != null ? world.getNavigation() : null;
+        if (navigation == null) {
+            return false;
+        }
+        return pathFollower.moveTo(navigation, x, y);
+    }
+
+    /**
+     * Chases the target of a flow field (e.g. the player). Wandering and paths are paused
+     * while the NPC is within the field's reach.
+     * @param field The shared field to follow
+     */
+    public void chase(FlowFieldService field) {
+        pathFollower.stop();
+        flowFollower.setField(field);
+    }
+
+    /**
+     * Stops chasing and goes back to wandering.
+     */
+    public void stopChasing() {
+        flowFollower.setField(null);
+    }
+
+    public boolean isChasing() {
+        return flowFollower.getField() != null;
+    }
+
+    @Override
+    public void think(float elapsed) {
+        pathFollower.prepareNextLeg();
+        updateWander(elapsed);
+    }
+
+    @Override
+    public float getThinkX() {
+        return transform.getX();
+    }
+
+    @Override
+    public float getThinkY() {
+        return transform.getY();
+    }
+
+    private void updateWander(float elapsed) {
+        if (wanderRadius <= 0 || pathFollower.isFollowing() || flowFollower.isMoving()) return;
+
+        wanderTimer -= elapsed;
+        if (wanderTimer > 0) return;
+
+        // MathUtils.random so seeded sessions (input replay) wander the same way
+        wanderTimer = MathUtils.random(WANDER_PAUSE_MIN, WANDER_PAUSE_MAX);
+        moveTo(homeX + MathUtils.random(-wanderRadius, wanderRadius),
+               homeY + MathUtils.random(-wanderRadius, wanderRadius));
+    }
+
+    private void updateAnimation() {
+        if (walkState == AnimationClipSet.NO_STATE) return;
+
+        boolean chasing = flowFollower.isMoving();
+        Vector2 direction = chasing ? flowFollower.getDirection() : pathFollower.getDirection();
+        int state = idleState;
+        if ((chasing || pathFollower.isFollowing()) && !direction.isZero()) {
+            state = walkState;
+            lastDirectionAngle = getDirectionAngle(direction);
+        }
+        animation.setState(state, lastDirectionAngle, lastDirectionAngle == 270);
+    }
+
+    private int getDirectionAngle(Vector2 direction) {
+        float angle = direction.angleDeg();
+
+        if (angle >= 315 || angle < 45) return 270;      // Right
+        else if (angle >= 45 && angle < 135) return 0;   // Up
+        else if (angle >= 135 && angle < 225) return 90; // Left
+        else return 180; // Down
     }
 
     @Override
@@ -55,4 +212,20 @@ public class NPC extends com.game.systems.entity.Entity {
     public Transform getTransform() {
         return transform;
     }
+
+    public void setWorld(WorldManager world) {
+        this.world = world;
+    }
+
+    /**
+     * Makes the NPC wander to random spots around where it spawned.
+     * @param wanderRadius Max distance from the spawn point (0 to stand still)
+     */
+    public void setWanderRadius(float wanderRadius) {
+        this.wanderRadius = wanderRadius;
+    }
+
+    public PathFollowerComponent getPathFollower() {
+        return pathFollower;
+    }
 }
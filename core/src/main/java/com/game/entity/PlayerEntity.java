@@ -1,8 +1,5 @@
 package com.game.entity;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.math.Vector2;
 import com.game.components.AnimationComponent;
 import com.game.components.ColliderComponent;
@@ -10,24 +7,36 @@ import com.game.components.ItemMagnetComponent;
 import com.game.components.RenderComponent;
 import com.game.components.VelocityComponent;
 import com.game.integration.WorldManager;
-import com.game.systems.animation.AnimationBuilder;
+import com.game.systems.animation.AnimationClipSet;
+import com.game.systems.animation.AnimationLibrary;
+import com.game.systems.collision.CollisionLayer;
 import com.game.systems.entity.GameObject;
 import com.game.systems.entity.Transform;
+import com.game.systems.input.InputAction;
+import com.game.systems.input.InputManager;
+import com.game.systems.input.InputSnapshot;
 import com.game.systems.inventory.PlayerInventory;
 
 /**
  * Player entity built using the new component-based architecture.
  * Extends Entity to get health and living entity features.
  */
-public class PlayerEntity extends com.game.systems.entity.Entity {
+public class PlayerEntity extends com.game.systems.entity.Entity implements ColliderComponent.BodyOwner {
     private static final float WALK_SPEED = 80f;
     private static final float RUN_SPEED = 160f;
     private static final int SIZE = 16;
     private static final int DEFAULT_MAX_HEALTH = 100;
+    private static final String SPRITE_CLASS = "Villager5";
 
     private WorldManager world;
+    private InputManager input;
     private int lastDirectionAngle = 180; // Down
 
+    // Animation state IDs (resolved once from the clip set)
+    private int walkState;
+    private int runState;
+    private int idleState;
+
     // Component references (cached for performance)
     private Transform transform;
     private VelocityComponent velocity;
@@ -50,7 +59,8 @@ public class PlayerEntity extends com.game.systems.entity.Entity {
         velocity = new VelocityComponent();
         addComponent(velocity);
 
-        animation = new AnimationComponent();
+        AnimationClipSet clips = AnimationLibrary.getCharacterClips(SPRITE_CLASS);
+        animation = new AnimationComponent(clips);
         addComponent(animation);
 
         environmentCollider = new ColliderComponent(SIZE * 0.5f, SIZE * 0.25f, SIZE * 0.25f, 0);
@@ -59,7 +69,9 @@ public class PlayerEntity extends com.game.systems.entity.Entity {
         // Combat collider - full body hitbox for enemy attacks
         // This would be used when enemies attack the player
         combatCollider = new ColliderComponent(SIZE - 4, SIZE - 4, 2, 2);
-        // Note: Don't add to components yet - we'll add it later when we implement combat
+        combatCollider.setLayer(CollisionLayer.PLAYER, CollisionLayer.ENEMY | CollisionLayer.PROJECTILE | CollisionLayer.PICKUP);
+        combatCollider.setTransform(transform);
+        // Note: Not a component (one collider per type); the broadphase picks it up via ColliderComponent.getBodyCollider()
 
         RenderComponent render = new RenderComponent(SIZE, SIZE);
         addComponent(render);
@@ -72,21 +84,10 @@ public class PlayerEntity extends com.game.systems.entity.Entity {
         // Initialize inventory
         inventory = new PlayerInventory();
 
-        // Load animations
-        loadAnimations();
-    }
-
-    private void loadAnimations() {
-        String spriteClass = "Villager5";
-        String walkPath = String.format("Actor/Characters/%s/SeparateAnim/Walk.png", spriteClass);
-        String idlePath = String.format("Actor/Characters/%s/SeparateAnim/Idle.png", spriteClass);
-
-        Texture walkTexture = new Texture(Gdx.files.internal(walkPath));
-        Texture idleTexture = new Texture(Gdx.files.internal(idlePath));
-
-        AnimationBuilder.loadFourDirectional(animation.getAnimator(), "walk", walkTexture, 4, 0.22f);
-        AnimationBuilder.loadFourDirectional(animation.getAnimator(), "run", walkTexture, 4, 0.1f);
-        AnimationBuilder.loadFourDirectional(animation.getAnimator(), "idle", idleTexture, 1, 0.3f);
+        // Resolve animation state IDs from the shared clip set
+        walkState = clips.getStateId("walk");
+        runState = clips.getStateId("run");
+        idleState = clips.getStateId("idle");
     }
 
     @Override
@@ -100,41 +101,32 @@ public class PlayerEntity extends com.game.systems.entity.Entity {
     }
 
     private void handleInput() {
-        Vector2 inputVelocity = new Vector2();
-        boolean isRunning = Gdx.input.isKeyPressed(Input.Keys.SHIFT_LEFT);
-
-        if (Gdx.input.isKeyPressed(Input.Keys.W) || Gdx.input.isKeyPressed(Input.Keys.UP)) {
-            inputVelocity.y += 1;
-        }
-        if (Gdx.input.isKeyPressed(Input.Keys.S) || Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
-            inputVelocity.y -= 1;
-        }
-        if (Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
-            inputVelocity.x -= 1;
-        }
-        if (Gdx.input.isKeyPressed(Input.Keys.D) || Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
-            inputVelocity.x += 1;
+        Vector2 vel = velocity.getVelocity();
+        if (input == null) {
+            vel.setZero();
+            return;
         }
 
+        InputSnapshot snapshot = input.getSnapshot();
+        vel.set(snapshot.getMoveX(), snapshot.getMoveY());
+
         // Apply speed
-        if (inputVelocity.len() > 0) {
-            float speed = isRunning ? RUN_SPEED : WALK_SPEED;
-            inputVelocity.nor().scl(speed);
+        if (!vel.isZero()) {
+            float speed = snapshot.isPressed(InputAction.RUN) ? RUN_SPEED : WALK_SPEED;
+            vel.nor().scl(speed);
         }
-
-        velocity.setVelocity(inputVelocity);
     }
 
     private void updateAnimation() {
         Vector2 vel = velocity.getVelocity();
-        String state;
-        boolean isRunning = Gdx.input.isKeyPressed(Input.Keys.SHIFT_LEFT);
+        int state;
+        boolean isRunning = input != null && input.getSnapshot().isPressed(InputAction.RUN);
 
-        if (vel.len() > 0) {
-            state = isRunning ? "run" : "walk";
+        if (!vel.isZero()) {
+            state = isRunning ? runState : walkState;
             lastDirectionAngle = getDirectionAngle(vel);
         } else {
-            state = "idle";
+            state = idleState;
         }
 
         // Determine if we should flip horizontally (for right-facing)
@@ -193,6 +185,11 @@ public class PlayerEntity extends com.game.systems.entity.Entity {
         return combatCollider;
     }
 
+    @Override
+    public ColliderComponent getBodyCollider() {
+        return combatCollider;
+    }
+
     /**
      * Get the environment collider (feet).
      * This is used for walls and terrain.
@@ -201,6 +198,15 @@ public class PlayerEntity extends com.game.systems.entity.Entity {
         return environmentCollider;
     }
 
+    /**
+     * Sets the input source the player reads its per-tick snapshot from.
+     * Without one the player stands still.
+     * @param input The input manager
+     */
+    public void setInputManager(InputManager input) {
+        this.input = input;
+    }
+
     public void setWorld(WorldManager world) {
         this.world = world;
     }
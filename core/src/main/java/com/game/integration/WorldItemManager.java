@@ -2,8 +2,11 @@ package com.game.integration;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
 import com.game.entity.ItemPickupEntity;
+import com.game.systems.entity.EntityStore;
 import com.game.systems.inventory.InventoryConfig;
 import com.game.systems.item.ItemStack;
 
@@ -15,20 +18,31 @@ import java.util.Map;
 /**
  * Manages all item pickups in the world.
  * Handles spawning, despawning, persistence, and item limits.
+ *
+ * Items live in an EntityStore (stable handles, O(1) swap-remove). Spawns and removals are
+ * queued and applied at the start of update(), so callers can spawn or remove items while
+ * iterating getAllItems() (e.g. during pickup checks). Queueing uses the same per-object flags
+ * as WorldManager, so removing an item that hasn't spawned yet just cancels its spawn.
  */
 public class WorldItemManager {
-    private final List<ItemPickupEntity> items;
+    private final EntityStore<ItemPickupEntity> items;
+    private final List<ItemPickupEntity> pendingSpawns;
+    private final IntArray pendingDespawns;
+    private int queuedSpawnCount;   // Pending spawns not cancelled
+    private int queuedDespawnCount; // Pending removals not cancelled
     private final Map<String, TextureRegion> itemTextures;
     private int maxWorldItems;
 
     public WorldItemManager() {
-        this.items = new ArrayList<>();
+        this.items = new EntityStore<>(InventoryConfig.MAX_WORLD_ITEMS);
+        this.pendingSpawns = new ArrayList<>();
+        this.pendingDespawns = new IntArray();
         this.itemTextures = new HashMap<>();
         this.maxWorldItems = InventoryConfig.MAX_WORLD_ITEMS;
     }
 
     /**
-     * Spawns an item in the world.
+     * Spawns an item in the world. The item joins getAllItems() at the next update().
      * @param itemStack The item stack to spawn
      * @param x The x position
      * @param y The y position
@@ -40,7 +54,7 @@ public class WorldItemManager {
         }
 
         // Check item limit
-        if (items.size() >= maxWorldItems) {
+        if (getItemCount() >= maxWorldItems) {
             System.err.println("World item limit reached! Cannot spawn: " + itemStack.toString());
             return null;
         }
@@ -53,7 +67,9 @@ public class WorldItemManager {
             pickup.setTexture(itemTextures.get(iconPath));
         }
 
-        items.add(pickup);
+        pickup.setSpawnQueued(true);
+        pendingSpawns.add(pickup);
+        queuedSpawnCount++;
         return pickup;
     }
 
@@ -77,8 +93,9 @@ public class WorldItemManager {
             ItemStack stack = new ItemStack(itemStack.getDefinition(), stackSize);
 
             // Random offset for pile effect
-            float offsetX = (float) (Math.random() * InventoryConfig.ITEM_DROP_SPREAD * 2 - InventoryConfig.ITEM_DROP_SPREAD);
-            float offsetY = (float) (Math.random() * InventoryConfig.ITEM_DROP_SPREAD * 2 - InventoryConfig.ITEM_DROP_SPREAD);
+            // MathUtils.random so seeded sessions (input replay) scatter the same way
+            float offsetX = MathUtils.random(-InventoryConfig.ITEM_DROP_SPREAD, InventoryConfig.ITEM_DROP_SPREAD);
+            float offsetY = MathUtils.random(-InventoryConfig.ITEM_DROP_SPREAD, InventoryConfig.ITEM_DROP_SPREAD);
 
             spawnItem(stack, centerX + offsetX, centerY + offsetY, 0f);
             quantity -= stackSize;
@@ -86,11 +103,41 @@ public class WorldItemManager {
     }
 
     /**
-     * Removes an item from the world.
+     * Removes an item from the world at the next update().
      * @param item The item to remove
      */
     public void removeItem(ItemPickupEntity item) {
-        items.remove(item);
+        if (item.isSpawnQueued()) {
+            item.setSpawnQueued(false); // Left in the queue, skipped by flushPending()
+            queuedSpawnCount--;
+        } else if (items.contains(item) && !item.isDespawnQueued()) {
+            item.setDespawnQueued(true);
+            pendingDespawns.add(item.getHandle());
+            queuedDespawnCount++;
+        }
+    }
+
+    /**
+     * Applies queued removals, then spawns.
+     */
+    private void flushPending() {
+        for (int i = 0; i < pendingDespawns.size; i++) {
+            ItemPickupEntity removed = items.resolve(pendingDespawns.get(i));
+            if (removed == null || !removed.isDespawnQueued()) continue;
+            removed.setDespawnQueued(false);
+            items.remove(removed.getHandle());
+        }
+        pendingDespawns.clear();
+
+        for (int i = 0; i < pendingSpawns.size(); i++) {
+            ItemPickupEntity spawned = pendingSpawns.get(i);
+            if (!spawned.isSpawnQueued()) continue; // Removed before it spawned
+            spawned.setSpawnQueued(false);
+            items.add(spawned);
+        }
+        pendingSpawns.clear();
+        queuedSpawnCount = 0;
+        queuedDespawnCount = 0;
     }
 
     /**
@@ -98,11 +145,13 @@ public class WorldItemManager {
      * @param delta Time since last update
      */
     public void update(float delta) {
-        // Update all items
+        flushPending();
+
+        // Update all items (backwards: swap-remove only moves already visited items)
         for (int i = items.size() - 1; i >= 0; i--) {
             ItemPickupEntity item = items.get(i);
             if (!item.isActive()) {
-                items.remove(i);
+                items.remove(item.getHandle());
             } else {
                 item.update(delta);
             }
@@ -114,8 +163,8 @@ public class WorldItemManager {
      * @param batch The sprite batch
      */
     public void render(SpriteBatch batch) {
-        for (ItemPickupEntity item : items) {
-            item.render(batch);
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).render(batch);
         }
     }
 
@@ -129,7 +178,8 @@ public class WorldItemManager {
         List<ItemPickupEntity> nearby = new ArrayList<>();
         float radiusSquared = radius * radius;
 
-        for (ItemPickupEntity item : items) {
+        for (int i = 0; i < items.size(); i++) {
+            ItemPickupEntity item = items.get(i);
             if (item.hasComponent(com.game.systems.entity.Transform.class)) {
                 Vector2 itemPos = item.getComponent(com.game.systems.entity.Transform.class).getPosition();
                 float distSquared = position.dst2(itemPos);
@@ -176,15 +226,40 @@ public class WorldItemManager {
      * Clears all items from the world.
      */
     public void clearAll() {
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setDespawnQueued(false);
+        }
+        for (int i = 0; i < pendingSpawns.size(); i++) {
+            pendingSpawns.get(i).setSpawnQueued(false);
+        }
         items.clear();
+        pendingSpawns.clear();
+        pendingDespawns.clear();
+        queuedSpawnCount = 0;
+        queuedDespawnCount = 0;
     }
 
+    /**
+     * Gets all items in the world.
+     * @return Read-only view in storage order; spawns and removals show up after the next update()
+     */
     public List<ItemPickupEntity> getAllItems() {
-        return new ArrayList<>(items);
+        return items.asList();
     }
 
+    /**
+     * Gets the number of items, counting queued spawns and removals as already applied.
+     */
     public int getItemCount() {
-        return items.size();
+        return items.size() + queuedSpawnCount - queuedDespawnCount;
+    }
+
+    /**
+     * Resolves a handle to its item.
+     * @return The item, or null if it has been removed
+     */
+    public ItemPickupEntity getItem(int handle) {
+        return items.resolve(handle);
     }
 
     public int getMaxWorldItems() {
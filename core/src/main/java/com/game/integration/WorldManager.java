@@ -2,11 +2,19 @@ package com.game.integration;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
 import com.game.components.ColliderComponent;
 import com.game.components.RenderComponent;
+import com.game.systems.ai.AiScheduler;
+import com.game.systems.collision.CollisionLayer;
+import com.game.systems.collision.EntityBroadphase;
 import com.game.systems.collision.SpatialQuery;
+import com.game.systems.entity.EntityStore;
 import com.game.systems.entity.GameObject;
+import com.game.systems.entity.MoveTracker;
 import com.game.systems.entity.Transform;
+import com.game.systems.navigation.NavigationService;
+import com.game.systems.world.ChunkStreamer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,44 +22,165 @@ import java.util.List;
 /**
  * Integration layer that manages the game world and all its systems.
  * This is the glue that connects all standalone systems together.
+ *
+ * Objects live in an EntityStore (stable handles, O(1) swap-remove). Spawns and despawns are
+ * queued and applied at the start of update(), so the store never changes while it is being
+ * iterated and getGameObjects() can return a view instead of a copy. Each object carries flags
+ * for the queue it is in, so queueing is O(1) and a later request cancels an earlier opposite
+ * one from the same frame (remove then add keeps the object, add then remove never spawns it).
+ *
+ * Objects that are AiScheduler agents are registered with the world's scheduler on spawn,
+ * which runs their decisions under a per-frame budget before objects update. Objects with a
+ * body collider (ColliderComponent.getBodyCollider()) go into the EntityBroadphase as plain
+ * boxes, which updates overlap pairs after objects move.
+ *
+ * Every spawned object's Transform is tracked by a MoveTracker, so systems can work on the
+ * objects that moved this tick (getMoveTracker().getMoved()) instead of all of them. The list
+ * stays valid until endTick(), which the screen calls once its per-tick systems have run.
  */
 public class WorldManager {
-    private final int TILE_SIZE = 16;
+    public static final int TILE_SIZE = 16;
     private final int worldWidth;
     private final int worldHeight;
 
-    private List<GameObject> gameObjects;
+    private final EntityStore<GameObject> gameObjects;
+    private final List<GameObject> pendingSpawns = new ArrayList<>();
+    private final IntArray pendingDespawns = new IntArray();
     private SpatialQuery collisionSystem;
+    private ChunkStreamer chunkStreamer; // Set for streamed worlds; collision is then served per chunk
+    private NavigationService navigation;
+    private final AiScheduler aiScheduler = new AiScheduler();
+    private final EntityBroadphase broadphase = new EntityBroadphase();
+    private final MoveTracker moveTracker = new MoveTracker();
+    private final List<GameObject> queryResults = new ArrayList<>();
 
     public WorldManager(int width, int height) {
         this.worldWidth = width;
         this.worldHeight = height;
-        this.gameObjects = new ArrayList<>();
+        this.gameObjects = new EntityStore<>();
         this.collisionSystem = new SpatialQuery();
     }
 
+    /**
+     * Queues an object to be spawned at the next frame boundary.
+     * If the object is still in the world, this cancels a pending despawn instead.
+     */
     public void addGameObject(GameObject obj) {
-        gameObjects.add(obj);
+        if (gameObjects.contains(obj)) {
+            obj.setDespawnQueued(false);
+        } else if (!obj.isSpawnQueued()) {
+            obj.setSpawnQueued(true);
+            pendingSpawns.add(obj);
+        }
     }
 
+    /**
+     * Queues an object to be despawned at the next frame boundary.
+     * If the object hasn't spawned yet, this cancels its pending spawn instead.
+     */
     public void removeGameObject(GameObject obj) {
-        gameObjects.remove(obj);
+        if (obj.isSpawnQueued()) {
+            obj.setSpawnQueued(false); // Left in the queue, skipped by flushPending()
+        } else if (gameObjects.contains(obj) && !obj.isDespawnQueued()) {
+            obj.setDespawnQueued(true);
+            pendingDespawns.add(obj.getHandle());
+        }
+    }
+
+    /**
+     * Queues the object a handle points to to be despawned. Stale handles are ignored.
+     */
+    public void despawn(int handle) {
+        GameObject obj = gameObjects.resolve(handle);
+        if (obj != null) {
+            removeGameObject(obj);
+        }
+    }
+
+    /**
+     * Resolves a handle to its object.
+     * @return The object, or null if it has been despawned
+     */
+    public GameObject getGameObject(int handle) {
+        return gameObjects.resolve(handle);
+    }
+
+    /**
+     * Applies queued despawns, then spawns. Called at the start of update();
+     * call it directly only outside of any iteration over the objects.
+     */
+    public void flushPending() {
+        for (int i = 0; i < pendingDespawns.size; i++) {
+            GameObject removed = gameObjects.resolve(pendingDespawns.get(i));
+            if (removed == null || !removed.isDespawnQueued()) continue; // Cancelled by a later add
+            removed.setDespawnQueued(false);
+            gameObjects.remove(removed.getHandle());
+            broadphase.removeBody(removed);
+            moveTracker.untrack(removed);
+            if (removed instanceof AiScheduler.Agent) {
+                aiScheduler.removeAgent((AiScheduler.Agent) removed);
+            }
+        }
+        pendingDespawns.clear();
+
+        for (int i = 0; i < pendingSpawns.size(); i++) {
+            GameObject spawned = pendingSpawns.get(i);
+            if (!spawned.isSpawnQueued()) continue; // Cancelled by a later remove
+            spawned.setSpawnQueued(false);
+            gameObjects.add(spawned);
+            moveTracker.track(spawned);
+            addBroadphaseBody(spawned);
+            if (spawned instanceof AiScheduler.Agent) {
+                aiScheduler.addAgent((AiScheduler.Agent) spawned);
+            }
+        }
+        pendingSpawns.clear();
+    }
+
+    /**
+     * Registers an object's body collider with the broadphase as a plain box, if it has one.
+     * @param object The spawned object
+     */
+    private void addBroadphaseBody(GameObject object) {
+        ColliderComponent collider = ColliderComponent.getBodyCollider(object);
+        Transform transform = object.getComponent(Transform.class);
+        if (collider == null || transform == null) return;
+
+        broadphase.addBody(object, transform, collider.getOffsetX(), collider.getOffsetY(),
+                           collider.getWidth(), collider.getHeight(), collider.getLayer(), collider.getMask());
     }
 
     /**
      * Update all game objects.
      */
     public void update(float delta) {
-        for (GameObject obj : gameObjects) {
-            obj.update(delta);
+        flushPending();
+
+        // Decisions first, so movement this frame follows them
+        aiScheduler.update(delta);
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            gameObjects.get(i).update(delta);
         }
+
+        // Entity overlap pairs for this tick, visiting only what moved
+        broadphase.update(moveTracker.getMoved());
+    }
+
+    /**
+     * Ends the tick: clears the moved list and the transforms' dirty bits.
+     * Call after the last system that reads getMoveTracker().getMoved() this tick.
+     */
+    public void endTick() {
+        moveTracker.endTick();
     }
 
     /**
      * Render all game objects.
      */
     public void render(SpriteBatch batch) {
-        for (GameObject obj : gameObjects) {
+        for (int i = 0; i < gameObjects.size(); i++) {
+            GameObject obj = gameObjects.get(i);
             RenderComponent renderComp = obj.getComponent(RenderComponent.class);
             if (renderComp != null) {
                 renderComp.render(batch, obj);
@@ -63,6 +192,9 @@ public class WorldManager {
      * Check if a position is walkable (no collision).
      */
     public boolean isPositionWalkable(float x, float y, float width, float height) {
+        if (chunkStreamer != null) {
+            return !chunkStreamer.testArea(x, y, width, height);
+        }
         return !collisionSystem.testArea(x, y, width, height);
     }
 
@@ -70,28 +202,29 @@ public class WorldManager {
      * Check if a rectangle is walkable.
      */
     public boolean isRectangleWalkable(Rectangle rect) {
+        if (chunkStreamer != null) {
+            return !chunkStreamer.testRectangle(rect);
+        }
         return !collisionSystem.testRectangle(rect);
     }
 
     /**
      * Find a game object at the given position with a specific component type.
+     * Uses the broadphase, so positions are as of the last update().
      */
-    @SuppressWarnings("unchecked")
     public <T extends com.game.systems.entity.Component> GameObject findObjectAt(float x, float y, float width, float height, Class<T> componentType) {
-        Rectangle testRect = new Rectangle(x, y, width, height);
-
-        for (GameObject obj : gameObjects) {
-            if (!obj.hasComponent(componentType)) continue;
+        queryResults.clear();
+        broadphase.query(x, y, width, height, CollisionLayer.ALL, queryResults);
 
-            ColliderComponent collider = obj.getComponent(ColliderComponent.class);
-            if (collider != null) {
-                Rectangle bounds = collider.getBounds(obj);
-                if (bounds.overlaps(testRect)) {
-                    return obj;
-                }
+        for (int i = 0; i < queryResults.size(); i++) {
+            GameObject obj = queryResults.get(i);
+            if (obj.hasComponent(componentType)) {
+                queryResults.clear();
+                return obj;
             }
         }
 
+        queryResults.clear();
         return null;
     }
 
@@ -115,7 +248,54 @@ public class WorldManager {
         this.collisionSystem = collisionSystem;
     }
 
+    /**
+     * Gets the navigation (walkability grid and pathfinding), or null if none was built.
+     */
+    public NavigationService getNavigation() {
+        return navigation;
+    }
+
+    public void setNavigation(NavigationService navigation) {
+        this.navigation = navigation;
+    }
+
+    /**
+     * Gets the broadphase for entity-vs-entity overlaps (pairs, layer-filtered queries).
+     */
+    public EntityBroadphase getBroadphase() {
+        return broadphase;
+    }
+
+    /**
+     * Gets the tracker listing the objects that moved this tick.
+     */
+    public MoveTracker getMoveTracker() {
+        return moveTracker;
+    }
+
+    public AiScheduler getAiScheduler() {
+        return aiScheduler;
+    }
+
+    /**
+     * Gets the chunk streamer, or null if this world is a single map.
+     */
+    public ChunkStreamer getChunkStreamer() {
+        return chunkStreamer;
+    }
+
+    /**
+     * Switches collision queries to the chunks of a streamed world.
+     */
+    public void setChunkStreamer(ChunkStreamer chunkStreamer) {
+        this.chunkStreamer = chunkStreamer;
+    }
+
+    /**
+     * Gets all game objects.
+     * @return Read-only view in storage order; spawns and despawns apply at the next update()
+     */
     public List<GameObject> getGameObjects() {
-        return new ArrayList<>(gameObjects);
+        return gameObjects.asList();
     }
 }
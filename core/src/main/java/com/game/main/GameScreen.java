@@ -2,41 +2,74 @@ package com.game.main;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Polygon;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import com.game.components.AnimationComponent;
 import com.game.components.ColliderComponent;
 import com.game.components.RenderComponent;
 import com.game.entity.GatewayEntity;
 import com.game.entity.ItemPickupEntity;
+import com.game.entity.NPC;
 import com.game.entity.PlayerEntity;
 import com.game.integration.WorldItemManager;
 import com.game.integration.WorldManager;
 import com.game.rendering.YSortRenderer;
+import com.game.systems.ai.AiScheduler;
+import com.game.systems.animation.AnimationLibrary;
+import com.game.systems.animation.AnimationLodPolicy;
+import com.game.systems.audio.AudioManager;
+import com.game.systems.audio.SoundLibrary;
+import com.game.systems.collision.CollisionLayer;
 import com.game.systems.collision.SpatialQuery;
 import com.game.systems.collision.TiledMapCollisionLoader;
 import com.game.systems.entity.GameObject;
 import com.game.systems.entity.Transform;
+import com.game.systems.fx.FxLibrary;
+import com.game.systems.fx.FxSystem;
 import com.game.systems.input.InputAction;
 import com.game.systems.input.InputManager;
+import com.game.systems.input.InputRecorder;
+import com.game.systems.input.InputReplay;
+import com.game.systems.input.InputSnapshot;
 import com.game.systems.item.ItemFactory;
 import com.game.systems.item.ItemStack;
 import com.game.systems.item.TestItems;
 import com.game.systems.level.LevelData;
 import com.game.systems.level.TiledMapParser;
+import com.game.systems.navigation.FlowFieldService;
+import com.game.systems.navigation.LevelLinks;
+import com.game.systems.navigation.NavGrid;
+import com.game.systems.navigation.NavigationService;
+import com.game.systems.profiling.FrameTimingLog;
+import com.game.systems.projectile.ProjectileLibrary;
+import com.game.systems.projectile.ProjectileSystem;
+import com.game.systems.trigger.TriggerSystem;
+import com.game.systems.trigger.TriggerVolume;
 import com.game.systems.ui.UIManagerNew;
+import com.game.systems.world.ChunkStreamer;
+import com.game.systems.world.WorldChunk;
+import com.game.systems.world.WorldRegion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Refactored GameScreen using the new decoupled architecture.
@@ -45,6 +78,8 @@ import com.game.systems.ui.UIManagerNew;
 public class GameScreen implements Screen {
     private static final int VIEWPORT_WIDTH = 350;
     private static final int VIEWPORT_HEIGHT = 200;
+    private static final float FIXED_TIMESTEP = 1f / 60f; // Used while recording or replaying input
+    private static final String DEFAULT_MUSIC = "Audio/Musics/35 - Adventure.ogg"; // Levels without a "music" property
 
     private SpriteBatch batch;
     private BitmapFont debugFont;
@@ -63,9 +98,24 @@ public class GameScreen implements Screen {
     private YSortRenderer ySortRenderer;
     private UIManagerNew uiManager;
     private InputManager inputManager;
+    private AnimationLodPolicy animationLod;
+    private TriggerSystem triggerSystem;
+    private ChunkStreamer chunkStreamer; // Only for streamed (.world) levels
+    private final Map<WorldChunk, List<TriggerVolume>> chunkTriggers = new HashMap<>();
+    private FlowFieldService playerFlowField; // Shared by NPCs chasing the player
+    private ProjectileSystem projectiles;
+    private FxSystem fx;
+    private AudioManager audio;
+    private String currentLevelPath;
 
     private GatewayEntity pendingGateway = null;
 
+    // Input recording / replay (enabled with -Dinput.record=<file> or -Dinput.replay=<file>)
+    private String recordPath;
+    private boolean replaying;
+    private FrameTimingLog frameTimings;
+    private String frameTimingsPath;
+
     public GameScreen() {
         // Create cameras
         camera = new OrthographicCamera();
@@ -85,25 +135,99 @@ public class GameScreen implements Screen {
         // Initialize systems
         worldItemManager = new WorldItemManager();
         inputManager = new InputManager();
+        inputManager.setCamera(camera);
+        animationLod = new AnimationLodPolicy();
+        setupInputRecording();
 
         // Register test items
         TestItems.registerTestItems();
         TestItems.loadTextures(worldItemManager);
 
-        // Load initial level
-        loadLevel("Maps/prototype.tmx", null);
+        // Projectiles (all types packed into one atlas)
+        ProjectileLibrary.registerDefaults();
+        ProjectileLibrary.load();
+        projectiles = new ProjectileSystem();
+
+        // Particle effects (sheets from FX/ packed into one atlas)
+        FxLibrary.registerDefaults();
+        FxLibrary.load();
+        fx = new FxSystem();
+        projectiles.addListener((type, target, hitX, hitY) -> fx.play(target != null ? "hit_spark" : "dust", hitX, hitY));
+
+        // Audio (decoded on the asset loader thread; the common cues stay loaded all session)
+        SoundLibrary.registerDefaults();
+        audio = new AudioManager();
+        projectiles.addListener((type, target, hitX, hitY) ->
+            audio.getSounds().play(target != null ? "hit" : "impact", hitX, hitY));
+
+        // Load initial level (-Dlevel=<path> to start elsewhere, e.g. a .world file)
+        loadLevel(System.getProperty("level", "Maps/prototype.tmx"), null);
+    }
+
+    /**
+     * Reads the recording/replay system properties.
+     * Both modes seed the random generator and run at a fixed timestep so sessions are repeatable.
+     * -Dinput.record=<file>  records input until the game closes
+     * -Dinput.replay=<file>  replays a recording, then writes frame timings and exits
+     * -Dframe.timings=<file> frame timing CSV (default frame-timings.csv while replaying)
+     */
+    private void setupInputRecording() {
+        String replayPath = System.getProperty("input.replay");
+        recordPath = System.getProperty("input.record");
+        frameTimingsPath = System.getProperty("frame.timings");
+
+        if (replayPath != null) {
+            InputReplay replay = InputReplay.load(Gdx.files.local(replayPath));
+            MathUtils.random.setSeed(replay.getSeed());
+            inputManager.startReplay(replay);
+            replaying = true;
+            recordPath = null;
+            if (frameTimingsPath == null) {
+                frameTimingsPath = "frame-timings.csv";
+            }
+            System.out.println("Replaying input from " + replayPath);
+        } else if (recordPath != null) {
+            long seed = System.nanoTime();
+            MathUtils.random.setSeed(seed);
+            inputManager.startRecording(new InputRecorder(seed, FIXED_TIMESTEP));
+            System.out.println("Recording input to " + recordPath);
+        }
+
+        if (frameTimingsPath != null) {
+            frameTimings = new FrameTimingLog();
+        }
+    }
+
+    /**
+     * Checks whether the session must play out the same on every run (recording or replaying),
+     * so nothing may depend on wall-clock time or worker thread timing.
+     */
+    private boolean isDeterministic() {
+        return replaying || inputManager.isRecording();
     }
 
     @Override
     public void render(float delta) {
+        if (frameTimings != null) {
+            frameTimings.beginFrame();
+        }
+        if (isDeterministic()) {
+            delta = FIXED_TIMESTEP;
+        }
+
         // Handle pending gateway transition
         if (pendingGateway != null) {
+            audio.getSounds().play("gateway");
             loadLevel(pendingGateway.getTargetLevel(), pendingGateway.getTargetSpawn());
             pendingGateway = null;
         }
 
         // Update input
         inputManager.update();
+        if (replaying && !inputManager.isReplaying()) {
+            finishReplay();
+            return;
+        }
 
         // Handle input actions
         handleInputActions();
@@ -121,9 +245,28 @@ public class GameScreen implements Screen {
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
+        // Keep the chase field following the player (recomputed off-thread when the player changes cell)
+        if (playerFlowField != null) {
+            ColliderComponent playerCollider = player.getEnvironmentCollider();
+            Transform playerTransform = player.getTransform();
+            playerFlowField.update(
+                playerTransform.getX() + playerCollider.getOffsetX() + playerCollider.getWidth() / 2f,
+                playerTransform.getY() + playerCollider.getOffsetY() + playerCollider.getHeight() / 2f);
+        }
+
         // Update world
         world.update(delta);
 
+        // Move projectiles against this tick's entity positions
+        // Walls come from the walkability grid: one bit per cell instead of shape queries
+        projectiles.update(delta, world.getBroadphase(), world.getNavigation().getGrid());
+
+        // Particles (after projectiles, so this tick's impacts start moving now)
+        fx.update(delta);
+
+        // Audio hears from the camera center
+        audio.update(delta, camera.position.x, camera.position.y);
+
         // Update world items
         worldItemManager.update(delta);
 
@@ -133,8 +276,11 @@ public class GameScreen implements Screen {
         // Check for item pickup collisions
         checkItemPickups();
 
-        // Check for gateway collisions
-        checkGatewayCollisions();
+        // Dispatch trigger events (gateways, level triggers)
+        triggerSystem.update();
+
+        // Moved list has been used by everything this tick
+        world.endTick();
 
         // Update UI
         if (uiManager != null) {
@@ -144,9 +290,28 @@ public class GameScreen implements Screen {
         // Update camera
         updateCamera();
 
+        // Stream chunks around the camera
+        if (chunkStreamer != null) {
+            float viewWidth = camera.viewportWidth * camera.zoom;
+            float viewHeight = camera.viewportHeight * camera.zoom;
+            chunkStreamer.update(camera.position.x - viewWidth / 2f, camera.position.y - viewHeight / 2f,
+                                 viewWidth, viewHeight);
+        }
+
+        if (frameTimings != null) {
+            frameTimings.endUpdate();
+        }
+
         // Render map with Y-sorting
-        mapRenderer.setView(camera);
+        if (mapRenderer != null) {
+            mapRenderer.setView(camera);
+        }
         batch.setProjectionMatrix(camera.combined);
+        float viewWidth = camera.viewportWidth * camera.zoom;
+        float viewHeight = camera.viewportHeight * camera.zoom;
+        float viewX = camera.position.x - viewWidth / 2f;
+        float viewY = camera.position.y - viewHeight / 2f;
+        fx.prepareRender(viewX, viewY, viewWidth, viewHeight);
 
         if (ySortRenderer != null) {
             // Y-sorted rendering (entities sorted with feature layers)
@@ -156,13 +321,15 @@ public class GameScreen implements Screen {
             mapRenderer.render();
             batch.begin();
             world.render(batch);
+            fx.render(batch);
             batch.end();
         }
 
-        // Render world items
+        // Render world items and projectiles
         batch.setProjectionMatrix(camera.combined);
         batch.begin();
         worldItemManager.render(batch);
+        projectiles.render(batch, viewX, viewY, viewWidth, viewHeight);
         batch.end();
 
         // Render UI
@@ -175,6 +342,19 @@ public class GameScreen implements Screen {
             renderCollisionDebug();
             renderDebugStats();
         }
+
+        if (frameTimings != null) {
+            frameTimings.endFrame();
+        }
+    }
+
+    private void finishReplay() {
+        replaying = false;
+        if (frameTimings != null) {
+            frameTimings.save(Gdx.files.local(frameTimingsPath));
+            frameTimings = null;
+        }
+        Gdx.app.exit();
     }
 
     /**
@@ -185,10 +365,6 @@ public class GameScreen implements Screen {
         if (inputManager.isJustPressed(InputAction.OPEN_INVENTORY)) {
             if (uiManager != null) {
                 uiManager.toggleInventory();
-
-                // If inventory is closed, restore input to stage (for HUD)
-                // If open, input processor stays on stage (for dragging)
-                // Stage always handles input when UI exists
             }
         }
 
@@ -211,6 +387,11 @@ public class GameScreen implements Screen {
         if (debugMode && inputManager.isJustPressed(InputAction.DEBUG_SPAWN_BAG3)) {
             spawnDebugItem("bag3");
         }
+
+        // Debug: Fire an arrow at the mouse
+        if (debugMode && inputManager.isJustPressed(InputAction.DEBUG_FIRE_PROJECTILE)) {
+            fireDebugProjectile("arrow");
+        }
     }
 
     /**
@@ -218,9 +399,9 @@ public class GameScreen implements Screen {
      * @param itemId The item ID to spawn
      */
     private void spawnDebugItem(String itemId) {
-        // Get mouse position in world coordinates
-        Vector3 mousePos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        camera.unproject(mousePos);
+        // Get mouse position in world coordinates (from the snapshot so replays match)
+        InputSnapshot input = inputManager.getSnapshot();
+        Vector2 mousePos = new Vector2(input.getMouseWorldX(), input.getMouseWorldY());
 
         // Create item
         ItemStack itemStack = ItemFactory.create(itemId, 1);
@@ -230,6 +411,23 @@ public class GameScreen implements Screen {
         }
     }
 
+    /**
+     * Debug function: Fires a projectile from the player toward the mouse position.
+     * @param typeName The projectile type name
+     */
+    private void fireDebugProjectile(String typeName) {
+        InputSnapshot input = inputManager.getSnapshot();
+        ColliderComponent body = player.getCombatCollider();
+        Transform playerTransform = player.getTransform();
+        float startX = playerTransform.getX() + body.getOffsetX() + body.getWidth() / 2f;
+        float startY = playerTransform.getY() + body.getOffsetY() + body.getHeight() / 2f;
+
+        projectiles.fire(ProjectileLibrary.get(typeName).getId(), startX, startY,
+                         input.getMouseWorldX() - startX, input.getMouseWorldY() - startY,
+                         player, CollisionLayer.ENEMY);
+        audio.getSounds().play("launch", startX, startY);
+    }
+
     /**
      * Updates item magnetism - registers nearby items with player's magnet component.
      */
@@ -256,11 +454,7 @@ public class GameScreen implements Screen {
 
         if (playerCollider == null) return;
 
-        Rectangle playerBounds = playerCollider.getBounds(player);
-
-        boolean inventoryChanged = false;
-
-        // Check all items
+        // Check all items (inventory changes reach the UI through slot change events)
         for (ItemPickupEntity item : worldItemManager.getAllItems()) {
             if (!item.canPickup() || !item.isActive()) continue;
 
@@ -278,46 +472,63 @@ public class GameScreen implements Screen {
                     // All picked up
                     item.onPickup();
                     worldItemManager.removeItem(item);
+                    fx.play("pickup_sparkle", itemTransform.getX() + 8f, itemTransform.getY() + 8f);
+                    audio.getSounds().play("pickup", itemTransform.getX() + 8f, itemTransform.getY() + 8f);
                     System.out.println("Picked up: " + itemStack.toString());
-                    inventoryChanged = true;
                 } else if (remaining.getQuantity() < itemStack.getQuantity()) {
                     // Partial pickup
                     item.getItemStack().setQuantity(remaining.getQuantity());
-                    inventoryChanged = true;
                 }
             }
         }
-
-        // Notify UI if inventory changed
-        if (inventoryChanged && uiManager != null) {
-            uiManager.notifyInventoryChanged();
-        }
     }
 
     /**
      * Load a level using the new decoupled systems.
+     * Paths ending in .world load a streamed, chunked world (see WorldRegion).
      */
     private void loadLevel(String levelPath, String spawnPointName) {
         System.out.println("Loading level: " + levelPath + " at spawn: " + spawnPointName);
-
-        // Dispose previous resources
+        currentLevelPath = levelPath;
+        LevelLinks.clearLevel(levelPath); // Gateways are registered again as objects spawn
+
+        // Dispose previous resources (unloading chunks despawns into the old world)
+        if (chunkStreamer != null) {
+            chunkStreamer.dispose();
+            chunkStreamer = null;
+            chunkTriggers.clear();
+        }
+        if (playerFlowField != null) {
+            playerFlowField.dispose();
+            playerFlowField = null;
+        }
         if (mapRenderer != null) {
             mapRenderer.dispose();
+            mapRenderer = null;
         }
         if (currentMap != null) {
             currentMap.dispose();
+            currentMap = null;
+        }
+
+        if (WorldRegion.isWorldFile(levelPath)) {
+            enterLevelAudio(levelPath, null);
+            loadRegion(levelPath, spawnPointName);
+            return;
         }
 
         // Load Tiled map
         currentMap = new TmxMapLoader().load(levelPath);
+        enterLevelAudio(levelPath, currentMap.getProperties());
         mapRenderer = new OrthogonalTiledMapRenderer(currentMap);
         ySortRenderer = new YSortRenderer(mapRenderer, currentMap);
+        ySortRenderer.addSortedSource(fx);
 
         // Parse level data
         LevelData levelData = TiledMapParser.parse(currentMap);
 
         // Create world manager
-        world = new WorldManager(levelData.getWidth(), levelData.getHeight());
+        createWorld(levelData.getWidth(), levelData.getHeight());
 
         // Load collision system
         SpatialQuery collisionSystem = new SpatialQuery();
@@ -325,6 +536,12 @@ public class GameScreen implements Screen {
         world.setCollisionSystem(collisionSystem);
         System.out.println("Loaded " + collisionSystem.getShapeCount() + " collision shapes");
 
+        // Rasterize collision once for pathfinding
+        world.setNavigation(NavigationService.fromShapes(collisionSystem,
+            levelData.getWidth(), levelData.getHeight(), world.getTileSize()));
+        playerFlowField = new FlowFieldService(world.getNavigation().getGrid());
+        playerFlowField.setSynchronous(isDeterministic()); // Worker timing varies between runs
+
         // Get spawn position - with proper fallback logic
         LevelData.SpawnPoint spawn;
         if (spawnPointName != null) {
@@ -342,7 +559,137 @@ public class GameScreen implements Screen {
 
         float spawnX = spawn != null ? spawn.getX() : 50;
         float spawnY = spawn != null ? spawn.getY() : 750;
+        placePlayer(spawnX, spawnY);
+
+        spawnLevelObjects(levelData, null, null);
+    }
+
+    /**
+     * Switches the level's sounds and music (crossfading from the previous level).
+     * Map properties: "music" (track path), "sounds" (comma-separated cue names), "ambient" (looping cue).
+     * @param properties The map properties, or null for the defaults
+     */
+    private void enterLevelAudio(String levelPath, MapProperties properties) {
+        String music = DEFAULT_MUSIC;
+        String sounds = "";
+        String ambient = null;
+        if (properties != null) {
+            music = properties.get("music", DEFAULT_MUSIC, String.class);
+            sounds = properties.get("sounds", "", String.class);
+            ambient = properties.get("ambient", null, String.class);
+        }
+        List<String> cueNames = sounds.isEmpty() ? new ArrayList<>() : Arrays.asList(sounds.split(","));
+        audio.enterLevel(levelPath, cueNames, ambient, music);
+    }
+
+    /**
+     * Load a streamed world. Chunks around the spawn are loaded before returning;
+     * the rest stream in around the camera while playing.
+     * Objects spawned by a chunk despawn with it, unless they stand in another loaded chunk
+     * by then, which takes them over.
+     */
+    private void loadRegion(String regionPath, String spawnPointName) {
+        WorldRegion region = WorldRegion.load(Gdx.files.internal(regionPath));
+
+        createWorld(region.getWidth() / WorldManager.TILE_SIZE, region.getHeight() / WorldManager.TILE_SIZE);
+        ySortRenderer = new YSortRenderer();
+        ySortRenderer.addSortedSource(fx);
+
+        // Walkability covers the whole region; chunks open their area as they load
+        NavGrid navGrid = new NavGrid(world.getWorldWidth(), world.getWorldHeight(), world.getTileSize());
+        navGrid.blockArea(0, 0, region.getWidth(), region.getHeight());
+        world.setNavigation(new NavigationService(navGrid));
+        playerFlowField = new FlowFieldService(navGrid);
+        playerFlowField.setSynchronous(isDeterministic()); // Worker timing varies between runs
+
+        chunkStreamer = new ChunkStreamer(region, WorldManager.TILE_SIZE);
+        chunkStreamer.setBlocking(isDeterministic()); // Loading speed varies between runs
+        chunkStreamer.addListener(new ChunkStreamer.ChunkListener() {
+            @Override
+            public void onChunkLoaded(WorldChunk chunk) {
+                WorldRegion.ChunkInfo info = chunk.getInfo();
+                ySortRenderer.addMap(chunk.getMap(), info.getOriginX(), info.getOriginY());
+                navGrid.rasterize(chunk.getCollision(), info.getOriginX(), info.getOriginY(), info.getWidth(), info.getHeight());
+                List<TriggerVolume> volumes = new ArrayList<>();
+                spawnLevelObjects(chunk.getLevelData(), chunk.getEntities(), volumes);
+                chunkTriggers.put(chunk, volumes);
+            }
+
+            @Override
+            public void onChunkUnloaded(WorldChunk chunk) {
+                WorldRegion.ChunkInfo info = chunk.getInfo();
+                ySortRenderer.removeMap(chunk.getMap());
+                navGrid.blockArea(info.getOriginX(), info.getOriginY(), info.getWidth(), info.getHeight());
+                for (GameObject entity : chunk.getEntities()) {
+                    // Objects that walked into another loaded chunk belong to it now
+                    Transform transform = entity.getComponent(Transform.class);
+                    WorldChunk current = transform != null
+                        ? chunkStreamer.getReadyChunkAt(transform.getX(), transform.getY()) : null;
+                    if (current != null && current != chunk) {
+                        current.getEntities().add(entity);
+                    } else {
+                        world.removeGameObject(entity);
+                    }
+                }
+                chunk.getEntities().clear();
+                List<TriggerVolume> volumes = chunkTriggers.remove(chunk);
+                if (volumes != null) {
+                    for (TriggerVolume volume : volumes) {
+                        triggerSystem.removeVolume(volume);
+                    }
+                }
+            }
+        });
+        world.setChunkStreamer(chunkStreamer);
+
+        // Spawn points live in the chunks: load only the one holding the spawn
+        String spawnName = spawnPointName != null ? spawnPointName : "player_spawn";
+        WorldRegion.ChunkInfo spawnChunk = region.findSpawnChunk(spawnName);
+        if (spawnChunk == null && spawnPointName != null) {
+            System.out.println("Warning: Spawn point '" + spawnPointName + "' not found, using player_spawn");
+            spawnName = "player_spawn";
+            spawnChunk = region.findSpawnChunk(spawnName);
+        }
+
+        LevelData.SpawnPoint spawn = null;
+        if (spawnChunk != null) {
+            chunkStreamer.loadImmediately(spawnChunk.getOriginX(), spawnChunk.getOriginY(), 1, 1);
+            WorldChunk chunk = chunkStreamer.getReadyChunkAt(spawnChunk.getOriginX(), spawnChunk.getOriginY());
+            spawn = chunk != null ? chunk.getLevelData().getSpawnPoint(spawnName) : null;
+        }
 
+        WorldRegion.ChunkInfo first = region.getChunks().get(0);
+        if (spawn == null) {
+            System.out.println("Warning: Spawn point '" + spawnName + "' not available, using the center of the first chunk");
+        }
+        float spawnX = spawn != null ? spawn.getX() : first.getOriginX() + first.getWidth() / 2f;
+        float spawnY = spawn != null ? spawn.getY() : first.getOriginY() + first.getHeight() / 2f;
+
+        // Have everything the camera will see ready for the first frame
+        chunkStreamer.loadImmediately(spawnX - VIEWPORT_WIDTH / 2f, spawnY - VIEWPORT_HEIGHT / 2f,
+                                      VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+        placePlayer(spawnX, spawnY);
+    }
+
+    private void createWorld(int width, int height) {
+        world = new WorldManager(width, height);
+
+        // Time budgets depend on the machine; recorded sessions need the same think order every run
+        if (isDeterministic()) {
+            world.getAiScheduler().setBudgetMillis(0);
+        }
+
+        projectiles.clear();
+        fx.clear();
+
+        triggerSystem = new TriggerSystem(world.getTileSize() * 8);
+        triggerSystem.addListener(this::onTriggerEnter);
+    }
+
+    /**
+     * Moves (or creates) the player at a spawn position in the current world.
+     */
+    private void placePlayer(float spawnX, float spawnY) {
         // OLD SYSTEM: Convert to grid and back to match old behavior
         // This ensures spawn positions match the old LevelLoader exactly
         int spawnGridX = (int)(spawnX / world.getTileSize());
@@ -355,6 +702,7 @@ public class GameScreen implements Screen {
         // Create or update player
         if (player == null) {
             player = new PlayerEntity(world, spawnX, spawnY);
+            player.setInputManager(inputManager);
         } else {
             player.setWorld(world);
             player.getTransform().setPosition(spawnX, spawnY);
@@ -369,6 +717,27 @@ public class GameScreen implements Screen {
                 Vector2 playerPos = player.getTransform().getPosition();
                 worldItemManager.spawnItem(itemStack, playerPos.x, playerPos.y, 3f);
             });
+
+            // Input manager first: it only queues events and never consumes them
+            Gdx.input.setInputProcessor(new InputMultiplexer(inputManager, uiManager.getStage()));
+        }
+
+        // The player is the only tracked trigger body for now (by its feet)
+        ColliderComponent feet = player.getEnvironmentCollider();
+        triggerSystem.addBody(player, player.getTransform(), feet.getOffsetX(), feet.getOffsetY(),
+                              feet.getWidth(), feet.getHeight());
+    }
+
+    /**
+     * Creates gateways, trigger volumes and NPCs for a level's objects.
+     * @param levelData The level (or chunk) data
+     * @param spawned Receives the created game objects, or null if they live as long as the world
+     * @param volumes Receives the created trigger volumes, or null
+     */
+    private void spawnLevelObjects(LevelData levelData, List<GameObject> spawned, List<TriggerVolume> volumes) {
+        for (LevelData.LevelObject obj : levelData.getObjectsByType("trigger")) {
+            TriggerVolume volume = triggerSystem.addVolume(obj.getType(), obj.getX(), obj.getY(), obj.getWidth(), obj.getHeight(), obj);
+            if (volumes != null) volumes.add(volume);
         }
 
         // Create gateway entities
@@ -383,35 +752,42 @@ public class GameScreen implements Screen {
                     targetLevel, targetSpawn
                 );
                 world.addGameObject(gateway);
+                LevelLinks.register(currentLevelPath, obj.getX() + obj.getWidth() / 2f,
+                    obj.getY() + obj.getHeight() / 2f, targetLevel, targetSpawn);
+                Rectangle gatewayBounds = gateway.getComponent(ColliderComponent.class).getWorldBounds();
+                TriggerVolume volume = triggerSystem.addVolume("gateway", gatewayBounds.x, gatewayBounds.y,
+                                                               gatewayBounds.width, gatewayBounds.height, gateway);
+                if (spawned != null) spawned.add(gateway);
+                if (volumes != null) volumes.add(volume);
                 System.out.println("Loaded gateway to: " + targetLevel + " at spawn: " + targetSpawn);
             }
         }
-    }
-
-    private void checkGatewayCollisions() {
-        if (player == null) return;
-
-        Transform playerTransform = player.getTransform();
-        ColliderComponent playerCollider = player.getComponent(ColliderComponent.class);
-
-        if (playerCollider == null) return;
 
-        Rectangle playerBounds = playerCollider.getBounds(player);
+        // Create NPCs (properties: displayName, sprite, health, wanderRadius, chasePlayer)
+        for (LevelData.LevelObject obj : levelData.getObjectsByType("npc")) {
+            NPC npc = new NPC(obj.getPropertyString("displayName", obj.getName()),
+                obj.getPropertyString("sprite", "Villager5"), obj.getX(), obj.getY(),
+                obj.getPropertyInt("health", 0));
+            npc.setWorld(world);
+            npc.setWanderRadius(obj.getPropertyFloat("wanderRadius", 0f));
+            if (obj.getPropertyBool("chasePlayer", false)) {
+                npc.chase(playerFlowField);
+            }
+            world.addGameObject(npc);
+            if (spawned != null) spawned.add(npc);
+        }
+    }
 
-        // Check all gateways
-        for (GameObject obj : world.getGameObjects()) {
-            if (obj instanceof GatewayEntity) {
-                GatewayEntity gateway = (GatewayEntity) obj;
-                ColliderComponent gatewayCollider = gateway.getComponent(ColliderComponent.class);
+    private void onTriggerEnter(TriggerVolume volume, GameObject body) {
+        if (body != player) return;
 
-                if (gatewayCollider != null) {
-                    Rectangle gatewayBounds = gatewayCollider.getBounds(gateway);
-                    if (playerBounds.overlaps(gatewayBounds)) {
-                        pendingGateway = gateway;
-                        return;
-                    }
-                }
+        if (volume.getUserData() instanceof GatewayEntity) {
+            // First gateway entered wins; the level is swapped at the start of the next frame
+            if (pendingGateway == null) {
+                pendingGateway = (GatewayEntity) volume.getUserData();
             }
+        } else {
+            System.out.println("Entered trigger: " + volume.getType());
         }
     }
 
@@ -431,6 +807,14 @@ public class GameScreen implements Screen {
 
         camera.position.set(camX, camY, 0);
         camera.update();
+
+        // Animation detail follows the visible area and the player
+        animationLod.beginFrame(camX - cameraHalfWidth, camY - cameraHalfHeight,
+            cameraHalfWidth * 2f, cameraHalfHeight * 2f, playerCenterX, playerCenterY);
+
+        // So does AI think priority (used from the next world update)
+        world.getAiScheduler().setFocus(camX - cameraHalfWidth, camY - cameraHalfHeight,
+            cameraHalfWidth * 2f, cameraHalfHeight * 2f, playerCenterX, playerCenterY);
     }
 
     private void renderCollisionDebug() {
@@ -439,12 +823,12 @@ public class GameScreen implements Screen {
 
         // Render world collision (red)
         shapeRenderer.setColor(1, 0, 0, 1);
-        for (Rectangle rect : world.getCollisionSystem().getRectangles()) {
-            shapeRenderer.rect(rect.x, rect.y, rect.width, rect.height);
-        }
-
-        for (Polygon poly : world.getCollisionSystem().getPolygons()) {
-            shapeRenderer.polygon(poly.getTransformedVertices());
+        if (chunkStreamer != null) {
+            for (WorldChunk chunk : chunkStreamer.getReadyChunks()) {
+                renderCollisionShapes(chunk.getCollision());
+            }
+        } else {
+            renderCollisionShapes(world.getCollisionSystem());
         }
 
         // Render player colliders
@@ -453,7 +837,7 @@ public class GameScreen implements Screen {
             shapeRenderer.setColor(0, 1, 0, 1);
             ColliderComponent envCollider = player.getEnvironmentCollider();
             if (envCollider != null) {
-                Rectangle envBounds = envCollider.getBounds(player);
+                Rectangle envBounds = envCollider.getWorldBounds();
                 shapeRenderer.rect(envBounds.x, envBounds.y, envBounds.width, envBounds.height);
             }
 
@@ -461,7 +845,7 @@ public class GameScreen implements Screen {
             shapeRenderer.setColor(1, 1, 0, 1);
             ColliderComponent combatCollider = player.getCombatCollider();
             if (combatCollider != null) {
-                Rectangle combatBounds = combatCollider.getBounds(player);
+                Rectangle combatBounds = combatCollider.getWorldBounds();
                 shapeRenderer.rect(combatBounds.x, combatBounds.y, combatBounds.width, combatBounds.height);
             }
         }
@@ -469,14 +853,42 @@ public class GameScreen implements Screen {
         shapeRenderer.end();
     }
 
+    private void renderCollisionShapes(SpatialQuery collision) {
+        for (Rectangle rect : collision.getRectangles()) {
+            shapeRenderer.rect(rect.x, rect.y, rect.width, rect.height);
+        }
+
+        for (Polygon poly : collision.getPolygons()) {
+            shapeRenderer.polygon(poly.getTransformedVertices());
+        }
+    }
+
     /**
      * Render a single entity. Called by Y-sort renderer.
      */
     private void renderEntity(SpriteBatch batch, GameObject gameObject) {
         RenderComponent renderComp = gameObject.getComponent(RenderComponent.class);
-        if (renderComp != null) {
-            renderComp.render(batch, gameObject);
+        if (renderComp == null) {
+            return;
+        }
+
+        Transform transform = renderComp.getTransform(gameObject);
+        if (transform != null) {
+            float x = transform.getX() + renderComp.getOffsetX();
+            float y = transform.getY() + renderComp.getOffsetY();
+
+            // Off-screen: skip drawing and frame resolution, the animation timer keeps running
+            if (!animationLod.isVisible(x, y, renderComp.getWidth(), renderComp.getHeight())) {
+                return;
+            }
+
+            AnimationComponent animComp = renderComp.getAnimation(gameObject);
+            if (animComp != null) {
+                animComp.setFrameInterval(animationLod.getFrameInterval(x, y));
+            }
         }
+
+        renderComp.render(batch, gameObject);
     }
 
     private void renderDebugStats() {
@@ -499,7 +911,23 @@ public class GameScreen implements Screen {
         debugFont.draw(batch, "Memory: " + memUsed + "/" + memTotal + " MB", x, y - lineHeight);
         debugFont.draw(batch, "Player Pos: (" + (int)playerX + ", " + (int)playerY + ")", x, y - lineHeight * 2);
         debugFont.draw(batch, "Objects: " + world.getGameObjects().size(), x, y - lineHeight * 3);
-        debugFont.draw(batch, "Press F3 to toggle debug", x, y - lineHeight * 4);
+        debugFont.draw(batch, "Animated (visible): " + animationLod.getVisibleCount() +
+            (animationLod.isCrowded() ? " [crowded]" : ""), x, y - lineHeight * 4);
+        debugFont.draw(batch, "Press F3 to toggle debug", x, y - lineHeight * 5);
+        AiScheduler ai = world.getAiScheduler();
+        debugFont.draw(batch, String.format("AI: %d/%d thinking, %d deferred, %.2f ms", ai.getLastThinkCount(),
+            ai.getAgentCount(), ai.getLastDeferredCount(), ai.getLastMillis()), x, y - lineHeight * 6);
+        debugFont.draw(batch, "Projectiles: " + projectiles.getCount() + "/" + projectiles.getCapacity() +
+            ", " + projectiles.getLastHitCount() + " hits", x, y - lineHeight * 7);
+        debugFont.draw(batch, "Particles: " + fx.getParticleCount() + " (" + fx.getVisibleCount() + " visible), " +
+            fx.getEmitterCount() + " emitters", x, y - lineHeight * 8);
+        debugFont.draw(batch, "Voices: " + audio.getSounds().getActiveVoiceCount() + "/" + audio.getSounds().getMaxVoices() +
+            ", " + audio.getSounds().getCulledCount() + " culled, " + audio.getSounds().getStolenCount() + " stolen",
+            x, y - lineHeight * 9);
+        if (chunkStreamer != null) {
+            debugFont.draw(batch, "Chunks: " + chunkStreamer.getReadyChunks().size() + " ready / " +
+                chunkStreamer.getResidentChunkCount() + " resident", x, y - lineHeight * 10);
+        }
 
         batch.end();
     }
@@ -527,11 +955,25 @@ public class GameScreen implements Screen {
 
     @Override
     public void dispose() {
+        InputRecorder recorder = inputManager.stopRecording();
+        if (recorder != null) {
+            recorder.save(Gdx.files.local(recordPath));
+        }
+        if (frameTimings != null) {
+            frameTimings.save(Gdx.files.local(frameTimingsPath));
+        }
+
         batch.dispose();
         shapeRenderer.dispose();
         debugFont.dispose();
+        if (chunkStreamer != null) chunkStreamer.dispose();
+        if (playerFlowField != null) playerFlowField.dispose();
         if (mapRenderer != null) mapRenderer.dispose();
         if (currentMap != null) currentMap.dispose();
         if (uiManager != null) uiManager.dispose();
+        AnimationLibrary.dispose();
+        ProjectileLibrary.dispose();
+        FxLibrary.dispose();
+        audio.dispose();
     }
 }
@@ -21,34 +21,85 @@ import java.util.List;
  * 1. Background layers (terrain, ground details)
  * 2. Y-sorted layers (features like trees, houses) - rendered with entities
  * 3. Top layers (roofs, overlays)
+ *
+ * Several maps can be drawn as sections placed at world offsets (used by the chunked world),
+ * with their Y-sorted tiles sorted together with entities across section borders.
+ *
+ * Other systems (e.g. particles) can add content through a SortedSource: items sorted with
+ * entities, plus optional passes below and above the Y-sorted content. Their render items
+ * are pooled, so a source with many items adds no garbage per frame.
  */
 public class YSortRenderer {
 
     private OrthogonalTiledMapRenderer mapRenderer;
-    private TiledMap map;
 
-    // Layer configuration
-    private int[] backgroundLayers;  // Layers to render first (terrain)
-    private int[] ySortedLayers;     // Layers to Y-sort with entities (trees, houses)
-    private int[] topLayers;         // Layers to render last (roofs, overlays)
+    // Maps drawn by this renderer, each with its own layer configuration
+    private final List<MapSection> sections = new ArrayList<>();
+
+    // Extra content sorted with entities
+    private final List<SortedSource> sources = new ArrayList<>();
+    private final List<SourceRenderItem> sourceItemPool = new ArrayList<>();
 
     // Debug mode
     private boolean debugMode = false;
     private com.badlogic.gdx.graphics.g2d.BitmapFont debugFont;
 
     public YSortRenderer(OrthogonalTiledMapRenderer mapRenderer, TiledMap map) {
+        this();
         this.mapRenderer = mapRenderer;
-        this.map = map;
 
         // Default configuration - you can customize this
-        detectLayers();
+        addMap(map, 0, 0);
+    }
 
+    /**
+     * Creates a renderer without maps. Add sections with addMap().
+     */
+    public YSortRenderer() {
         // Create debug font
         debugFont = new com.badlogic.gdx.graphics.g2d.BitmapFont();
         debugFont.setColor(1, 1, 0, 1); // Yellow
         debugFont.getData().setScale(0.4f);
     }
 
+    /**
+     * Adds a map drawn at a world offset. Layers are detected from the map's properties.
+     * @param map The map
+     * @param originX World X of the map's bottom-left corner
+     * @param originY World Y of the map's bottom-left corner
+     */
+    public void addMap(TiledMap map, float originX, float originY) {
+        MapSection section = new MapSection(map, originX, originY);
+        detectLayers(section);
+        sections.add(section);
+    }
+
+    /**
+     * Removes a map added with addMap().
+     * @param map The map
+     */
+    public void removeMap(TiledMap map) {
+        for (int i = 0; i < sections.size(); i++) {
+            if (sections.get(i).map == map) {
+                sections.remove(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds a source of extra content to draw with the map and entities.
+     */
+    public void addSortedSource(SortedSource source) {
+        if (!sources.contains(source)) {
+            sources.add(source);
+        }
+    }
+
+    public void removeSortedSource(SortedSource source) {
+        sources.remove(source);
+    }
+
     /**
      * Automatically detect which layers to use based on custom properties.
      *
@@ -57,7 +108,8 @@ public class YSortRenderer {
      * - "topLayer" (boolean): If true, layer always renders on top
      * - Otherwise: Layer is rendered as background (default)
      */
-    private void detectLayers() {
+    private void detectLayers(MapSection section) {
+        TiledMap map = section.map;
         List<Integer> background = new ArrayList<>();
         List<Integer> ySorted = new ArrayList<>();
         List<Integer> top = new ArrayList<>();
@@ -89,9 +141,9 @@ public class YSortRenderer {
             }
         }
 
-        backgroundLayers = background.stream().mapToInt(Integer::intValue).toArray();
-        ySortedLayers = ySorted.stream().mapToInt(Integer::intValue).toArray();
-        topLayers = top.stream().mapToInt(Integer::intValue).toArray();
+        section.backgroundLayers = background.stream().mapToInt(Integer::intValue).toArray();
+        section.ySortedLayers = ySorted.stream().mapToInt(Integer::intValue).toArray();
+        section.topLayers = top.stream().mapToInt(Integer::intValue).toArray();
 
         System.out.println("YSortRenderer configured:");
         System.out.println("  - Background layers: " + background.size());
@@ -112,7 +164,13 @@ public class YSortRenderer {
         batch.begin();
 
         // 1. Render background layers manually
-        renderLayers(batch, backgroundLayers);
+        for (int i = 0; i < sections.size(); i++) {
+            MapSection section = sections.get(i);
+            renderLayers(batch, section, section.backgroundLayers);
+        }
+        for (int i = 0; i < sources.size(); i++) {
+            sources.get(i).renderBelow(batch);
+        }
 
         // 2. Close batch before Y-sorted content (it has its own batch management)
         batch.end();
@@ -120,30 +178,34 @@ public class YSortRenderer {
         // 3. Render Y-sorted content (feature layers + entities)
         renderYSortedContent(batch, gameObjects, entityRenderer);
 
-        // 4. Render top layers
-        if (topLayers.length > 0) {
-            batch.begin();
-            renderLayers(batch, topLayers);
-            batch.end();
+        // 4. Render top layers (after what sources draw above the sorted content)
+        batch.begin();
+        for (int i = 0; i < sources.size(); i++) {
+            sources.get(i).renderAbove(batch);
+        }
+        for (int i = 0; i < sections.size(); i++) {
+            MapSection section = sections.get(i);
+            renderLayers(batch, section, section.topLayers);
         }
+        batch.end();
     }
 
     /**
      * Render specific layer indices manually to our batch.
      */
-    private void renderLayers(SpriteBatch batch, int[] layerIndices) {
+    private void renderLayers(SpriteBatch batch, MapSection section, int[] layerIndices) {
         for (int layerIndex : layerIndices) {
-            if (!(map.getLayers().get(layerIndex) instanceof TiledMapTileLayer)) continue;
+            if (!(section.map.getLayers().get(layerIndex) instanceof TiledMapTileLayer)) continue;
 
-            TiledMapTileLayer layer = (TiledMapTileLayer) map.getLayers().get(layerIndex);
-            renderLayerTiles(batch, layer);
+            TiledMapTileLayer layer = (TiledMapTileLayer) section.map.getLayers().get(layerIndex);
+            renderLayerTiles(batch, layer, section.originX, section.originY);
         }
     }
 
     /**
      * Render all tiles in a layer.
      */
-    private void renderLayerTiles(SpriteBatch batch, TiledMapTileLayer layer) {
+    private void renderLayerTiles(SpriteBatch batch, TiledMapTileLayer layer, float originX, float originY) {
         int tileWidth = (int) layer.getTileWidth();
         int tileHeight = (int) layer.getTileHeight();
 
@@ -151,8 +213,8 @@ public class YSortRenderer {
             for (int y = 0; y < layer.getHeight(); y++) {
                 TiledMapTileLayer.Cell cell = layer.getCell(x, y);
                 if (cell != null && cell.getTile() != null) {
-                    float worldX = x * tileWidth;
-                    float worldY = y * tileHeight;
+                    float worldX = originX + x * tileWidth;
+                    float worldY = originY + y * tileHeight;
 
                     batch.draw(
                         cell.getTile().getTextureRegion(),
@@ -165,10 +227,10 @@ public class YSortRenderer {
     }
 
     /**
-     * Get the layer indices that are being Y-sorted (for debugging).
+     * Get the layer indices that are being Y-sorted in the first map (for debugging).
      */
     public int[] getYSortedLayerIndices() {
-        return ySortedLayers;
+        return sections.isEmpty() ? new int[0] : sections.get(0).ySortedLayers;
     }
 
     /**
@@ -187,19 +249,22 @@ public class YSortRenderer {
         List<RenderItem> items = new ArrayList<>();
 
         // Add tiles from Y-sorted layers
-        for (int layerIndex : ySortedLayers) {
-            TiledMapTileLayer layer = (TiledMapTileLayer) map.getLayers().get(layerIndex);
-            if (layer == null) continue;
-
-            int tileWidth = (int) layer.getTileWidth();
-            int tileHeight = (int) layer.getTileHeight();
-
-            for (int x = 0; x < layer.getWidth(); x++) {
-                for (int y = 0; y < layer.getHeight(); y++) {
-                    TiledMapTileLayer.Cell cell = layer.getCell(x, y);
-                    if (cell != null && cell.getTile() != null) {
-                        float worldY = y * tileHeight;
-                        items.add(new TileRenderItem(layer, x, y, worldY + tileHeight));
+        for (MapSection section : sections) {
+            for (int layerIndex : section.ySortedLayers) {
+                TiledMapTileLayer layer = (TiledMapTileLayer) section.map.getLayers().get(layerIndex);
+                if (layer == null) continue;
+
+                int tileWidth = (int) layer.getTileWidth();
+                int tileHeight = (int) layer.getTileHeight();
+
+                for (int x = 0; x < layer.getWidth(); x++) {
+                    for (int y = 0; y < layer.getHeight(); y++) {
+                        TiledMapTileLayer.Cell cell = layer.getCell(x, y);
+                        if (cell != null && cell.getTile() != null) {
+                            float worldY = section.originY + y * tileHeight;
+                            items.add(new TileRenderItem(layer, x, y, section.originX, section.originY,
+                                                         worldY + tileHeight));
+                        }
                     }
                 }
             }
@@ -219,6 +284,23 @@ public class YSortRenderer {
             }
         }
 
+        // Add source items (pooled)
+        int pooled = 0;
+        for (int i = 0; i < sources.size(); i++) {
+            SortedSource source = sources.get(i);
+            int count = source.getSortedCount();
+            for (int j = 0; j < count; j++) {
+                if (pooled == sourceItemPool.size()) {
+                    sourceItemPool.add(new SourceRenderItem());
+                }
+                SourceRenderItem item = sourceItemPool.get(pooled++);
+                item.source = source;
+                item.index = j;
+                item.sortY = source.getSortY(j);
+                items.add(item);
+            }
+        }
+
         // Split list into two lists based on renderOnTop property
 // Prepare two mutable lists
         List<RenderItem> onTopItems = new ArrayList<>();
@@ -268,6 +350,9 @@ public class YSortRenderer {
                         debugFont.draw(batch, debugText, transform.getX() + 2, transform.getY() + 14);
                     }
                 }
+            } else if (item instanceof SourceRenderItem) {
+                SourceRenderItem sourceItem = (SourceRenderItem) item;
+                sourceItem.source.renderSorted(batch, sourceItem.index);
             } else if (item instanceof TileRenderItem) {
                 TileRenderItem tileItem = (TileRenderItem) item;
                 renderTile(batch, tileItem);
@@ -276,8 +361,8 @@ public class YSortRenderer {
                 if (debugMode) {
                     float tileWidth = tileItem.layer.getTileWidth();
                     float tileHeight = tileItem.layer.getTileHeight();
-                    float x = tileItem.x * tileWidth;
-                    float y = tileItem.y * tileHeight;
+                    float x = tileItem.originX + tileItem.x * tileWidth;
+                    float y = tileItem.originY + tileItem.y * tileHeight;
                     String debugText = "#" + renderOrder + " Y:" + (int)tileItem.sortY;
                     debugFont.draw(batch, debugText, x + 1, y + tileHeight - 2);
                 }
@@ -296,8 +381,8 @@ public class YSortRenderer {
 
         float tileWidth = item.layer.getTileWidth();
         float tileHeight = item.layer.getTileHeight();
-        float x = item.x * tileWidth;
-        float y = item.y * tileHeight;
+        float x = item.originX + item.x * tileWidth;
+        float y = item.originY + item.y * tileHeight;
 
         batch.draw(
             cell.getTile().getTextureRegion(),
@@ -307,16 +392,34 @@ public class YSortRenderer {
     }
 
     /**
-     * Set custom layer indices for rendering.
+     * Set custom layer indices for rendering the first map.
      */
     public void setLayerConfiguration(int[] background, int[] ySorted, int[] top) {
-        this.backgroundLayers = background;
-        this.ySortedLayers = ySorted;
-        this.topLayers = top;
+        if (sections.isEmpty()) return;
+
+        MapSection section = sections.get(0);
+        section.backgroundLayers = background;
+        section.ySortedLayers = ySorted;
+        section.topLayers = top;
     }
 
     // ========== Helper Classes ==========
 
+    private static class MapSection {
+        final TiledMap map;
+        final float originX;
+        final float originY;
+        int[] backgroundLayers;  // Layers to render first (terrain)
+        int[] ySortedLayers;     // Layers to Y-sort with entities (trees, houses)
+        int[] topLayers;         // Layers to render last (roofs, overlays)
+
+        MapSection(TiledMap map, float originX, float originY) {
+            this.map = map;
+            this.originX = originX;
+            this.originY = originY;
+        }
+    }
+
     private static abstract class RenderItem {
         float sortY;
     }
@@ -334,16 +437,53 @@ public class YSortRenderer {
         TiledMapTileLayer layer;
         TiledMapTileLayer.Cell tile;
         int x, y;
+        float originX, originY;
 
-        TileRenderItem(TiledMapTileLayer layer, int x, int y, float sortY) {
+        TileRenderItem(TiledMapTileLayer layer, int x, int y, float originX, float originY, float sortY) {
             this.layer = layer;
             this.tile = layer.getCell(x, y);
             this.x = x;
             this.y = y;
+            this.originX = originX;
+            this.originY = originY;
             this.sortY = sortY;
         }
     }
 
+    private static class SourceRenderItem extends RenderItem {
+        SortedSource source;
+        int index;
+    }
+
+    /**
+     * Extra content drawn with the map. Called inside an open batch.
+     */
+    public interface SortedSource {
+        /**
+         * Draws content under everything Y-sorted, after the background layers.
+         */
+        default void renderBelow(SpriteBatch batch) {
+        }
+
+        /**
+         * Gets how many items to sort with entities this frame.
+         */
+        int getSortedCount();
+
+        /**
+         * Gets an item's sort Y (compared with an entity's transform Y + sprite height).
+         */
+        float getSortY(int index);
+
+        void renderSorted(SpriteBatch batch, int index);
+
+        /**
+         * Draws content over everything Y-sorted, under the top layers.
+         */
+        default void renderAbove(SpriteBatch batch) {
+        }
+    }
+
     /**
      * Callback interface for rendering entities.
      */
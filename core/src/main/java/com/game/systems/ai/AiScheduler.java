@@ -0,0 +1,270 @@
+package com.game.systems.ai;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spreads AI "think" updates (decisions, path requests) across frames under a time budget.
+ * Movement and animation still run every frame in the agents' own update(); only the
+ * expensive decisions go through here.
+ *
+ * Each agent has a think interval picked from its distance to the focus (usually the player)
+ * and whether it is on screen. Agents that are due think in two passes, each stopping when the
+ * frame's budget is spent:
+ * 1. Near or visible agents, so what the player sees reacts promptly.
+ * 2. The rest.
+ * Both passes are round-robin from where the previous frame stopped, so agents that didn't fit
+ * keep their elapsed time and are among the first to run next frame.
+ *
+ * Agents know their slot, so adding and removing are O(1). Removal moves agents across the
+ * cursors so none is skipped or visited twice in the current round.
+ */
+public class AiScheduler {
+    private static final float DEFAULT_BUDGET_MILLIS = 1f;
+    private static final float DEFAULT_NEAR_DISTANCE = 160f;
+    private static final float DEFAULT_VIEW_MARGIN = 32f;
+    private static final float DEFAULT_NEAR_INTERVAL = 0.1f;
+    private static final float DEFAULT_FAR_INTERVAL = 0.5f;
+    private static final float DEFAULT_DISTANT_INTERVAL = 2f;
+
+    private final List<Agent> agents = new ArrayList<>();
+    private final FloatArray elapsed = new FloatArray(); // Time since each agent last thought
+    private final ObjectIntMap<Agent> indices = new ObjectIntMap<>(); // Slot of each agent
+    private int nearCursor;
+    private int farCursor;
+
+    private float viewMinX, viewMinY, viewMaxX, viewMaxY;
+    private float focusX, focusY;
+
+    private long budgetNanos = (long) (DEFAULT_BUDGET_MILLIS * 1_000_000L);
+    private float nearDistance2 = DEFAULT_NEAR_DISTANCE * DEFAULT_NEAR_DISTANCE;
+    private float distantDistance2 = DEFAULT_NEAR_DISTANCE * DEFAULT_NEAR_DISTANCE * 16f; // 4x near
+    private float nearInterval = DEFAULT_NEAR_INTERVAL;
+    private float farInterval = DEFAULT_FAR_INTERVAL;
+    private float distantInterval = DEFAULT_DISTANT_INTERVAL;
+
+    // Stats for the last frame
+    private int lastThinks;
+    private int lastDeferred;
+    private long lastNanos;
+
+    /**
+     * Something with a brain that can be ticked at a reduced rate.
+     */
+    public interface Agent {
+        /**
+         * Makes decisions. Called at most once per frame.
+         * @param elapsed Seconds since this agent last thought
+         */
+        void think(float elapsed);
+
+        float getThinkX();
+
+        float getThinkY();
+    }
+
+    public void addAgent(Agent agent) {
+        if (indices.containsKey(agent)) return;
+        indices.put(agent, agents.size());
+        agents.add(agent);
+        elapsed.add(0f);
+    }
+
+    public void removeAgent(Agent agent) {
+        int index = indices.remove(agent, -1);
+        if (index < 0) return;
+
+        // The cursors split the list into up to three runs (visited by both passes this round,
+        // by one, by neither). Fill the hole from the end of its run and carry it run by run
+        // to the end of the list, so every agent stays on the same side of both cursors.
+        int last = agents.size() - 1;
+        nearCursor = Math.min(nearCursor, last + 1);
+        farCursor = Math.min(farCursor, last + 1);
+        int low = Math.min(nearCursor, farCursor);
+        int high = Math.max(nearCursor, farCursor);
+        int hole = index;
+        if (hole < low) {
+            moveAgent(low - 1, hole);
+            hole = low - 1;
+        }
+        if (hole < high) {
+            moveAgent(high - 1, hole);
+            hole = high - 1;
+        }
+        moveAgent(last, hole);
+        agents.remove(last);
+        elapsed.removeIndex(last);
+
+        if (index < nearCursor) nearCursor--;
+        if (index < farCursor) farCursor--;
+    }
+
+    private void moveAgent(int from, int to) {
+        if (from == to) return;
+        Agent agent = agents.get(from);
+        agents.set(to, agent);
+        elapsed.set(to, elapsed.get(from));
+        indices.put(agent, to);
+    }
+
+    /**
+     * Sets the visible area and focus point for the coming frames.
+     * @param viewX Left edge of the visible area
+     * @param viewY Bottom edge of the visible area
+     * @param viewWidth Width of the visible area
+     * @param viewHeight Height of the visible area
+     * @param focusX Focus X (agents near it think most often)
+     * @param focusY Focus Y
+     */
+    public void setFocus(float viewX, float viewY, float viewWidth, float viewHeight, float focusX, float focusY) {
+        this.viewMinX = viewX - DEFAULT_VIEW_MARGIN;
+        this.viewMinY = viewY - DEFAULT_VIEW_MARGIN;
+        this.viewMaxX = viewX + viewWidth + DEFAULT_VIEW_MARGIN;
+        this.viewMaxY = viewY + viewHeight + DEFAULT_VIEW_MARGIN;
+        this.focusX = focusX;
+        this.focusY = focusY;
+    }
+
+    /**
+     * Runs the agents that are due, within the budget.
+     * @param delta Frame time in seconds
+     */
+    public void update(float delta) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        int count = agents.size();
+        lastThinks = 0;
+        lastDeferred = 0;
+
+        for (int i = 0; i < count; i++) {
+            elapsed.incr(i, delta);
+        }
+
+        // Pass 1: near or visible agents
+        boolean outOfTime = false;
+        int visited = 0;
+        while (visited < count && !outOfTime) {
+            if (nearCursor >= count) nearCursor = 0;
+            int i = nearCursor++;
+            visited++;
+            Agent agent = agents.get(i);
+            if (!isPriority(agent) || elapsed.get(i) < nearInterval) continue;
+            outOfTime = runAgent(i, deadline);
+        }
+
+        // Pass 2: everyone else
+        visited = 0;
+        while (visited < count && !outOfTime) {
+            if (farCursor >= count) farCursor = 0;
+            int i = farCursor++;
+            visited++;
+            Agent agent = agents.get(i);
+            if (isPriority(agent) || elapsed.get(i) < getFarInterval(agent)) continue;
+            outOfTime = runAgent(i, deadline);
+        }
+
+        if (outOfTime) {
+            lastDeferred = countDue();
+        }
+        lastNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Thinks one agent.
+     * @return True if the budget is spent
+     */
+    private boolean runAgent(int index, long deadline) {
+        agents.get(index).think(elapsed.get(index));
+        elapsed.set(index, 0f);
+        lastThinks++;
+        return budgetNanos > 0 && System.nanoTime() >= deadline;
+    }
+
+    private boolean isPriority(Agent agent) {
+        float x = agent.getThinkX();
+        float y = agent.getThinkY();
+        if (x >= viewMinX && x <= viewMaxX && y >= viewMinY && y <= viewMaxY) {
+            return true;
+        }
+        float dx = x - focusX;
+        float dy = y - focusY;
+        return dx * dx + dy * dy <= nearDistance2;
+    }
+
+    private float getFarInterval(Agent agent) {
+        float dx = agent.getThinkX() - focusX;
+        float dy = agent.getThinkY() - focusY;
+        return dx * dx + dy * dy <= distantDistance2 ? farInterval : distantInterval;
+    }
+
+    private int countDue() {
+        int due = 0;
+        for (int i = 0; i < agents.size(); i++) {
+            Agent agent = agents.get(i);
+            float interval = isPriority(agent) ? nearInterval : getFarInterval(agent);
+            if (elapsed.get(i) >= interval) due++;
+        }
+        return due;
+    }
+
+    public void clear() {
+        agents.clear();
+        elapsed.clear();
+        indices.clear();
+        nearCursor = 0;
+        farCursor = 0;
+    }
+
+    /**
+     * Sets the time the scheduler may spend thinking per frame. At least one agent runs each frame.
+     * 0 disables the budget, so only the intervals decide (deterministic, for input replay).
+     */
+    public void setBudgetMillis(float budgetMillis) {
+        this.budgetNanos = (long) (budgetMillis * 1_000_000L);
+    }
+
+    /**
+     * Sets the distance within which agents count as near; agents beyond 4x this think least often.
+     */
+    public void setNearDistance(float nearDistance) {
+        this.nearDistance2 = nearDistance * nearDistance;
+        this.distantDistance2 = nearDistance2 * 16f;
+    }
+
+    /**
+     * Sets the think intervals for near/visible, far and distant agents in seconds.
+     */
+    public void setIntervals(float nearInterval, float farInterval, float distantInterval) {
+        this.nearInterval = nearInterval;
+        this.farInterval = farInterval;
+        this.distantInterval = distantInterval;
+    }
+
+    public int getAgentCount() {
+        return agents.size();
+    }
+
+    /**
+     * Gets how many agents thought last frame.
+     */
+    public int getLastThinkCount() {
+        return lastThinks;
+    }
+
+    /**
+     * Gets how many due agents were pushed to a later frame by the budget.
+     */
+    public int getLastDeferredCount() {
+        return lastDeferred;
+    }
+
+    /**
+     * Gets the time spent thinking last frame in milliseconds.
+     */
+    public float getLastMillis() {
+        return lastNanos / 1_000_000f;
+    }
+}
@@ -13,13 +13,14 @@ public class AnimationBuilder {
      * Load a sprite sheet with 4 directional animations (down, up, left, right).
      * Layout: 4 columns (directions) x N rows (frames)
      *
-     * @param animator The animator to add animations to
+     * @param clips The clip set to add animations to
      * @param stateName The state name for these animations
      * @param spriteSheet The texture containing the sprite sheet
      * @param framesPerDirection Number of frames per direction
      * @param frameDuration Duration of each frame
+     * @return The state ID assigned by the clip set
      */
-    public static void loadFourDirectional(SpriteAnimator animator, String stateName,
+    public static int loadFourDirectional(AnimationClipSet clips, String stateName,
                                           Texture spriteSheet, int framesPerDirection,
                                           float frameDuration) {
         int frameWidth = spriteSheet.getWidth() / 4;
@@ -39,17 +40,18 @@ public class AnimationBuilder {
         }
 
         // Add animations with standard angles
-        animator.addAnimation(stateName, 180, downFrames, frameDuration);    // Down
-        animator.addAnimation(stateName, 0, upFrames, frameDuration);        // Up
-        animator.addAnimation(stateName, 90, leftFrames, frameDuration);     // Left
-        animator.addAnimation(stateName, 270, leftFrames, frameDuration);    // Right (same frames, will flip)
+        clips.addAnimation(stateName, 180, downFrames, frameDuration);    // Down
+        clips.addAnimation(stateName, 0, upFrames, frameDuration);        // Up
+        clips.addAnimation(stateName, 90, leftFrames, frameDuration);     // Left
+        return clips.addAnimation(stateName, 270, leftFrames, frameDuration); // Right (same frames, flipped when drawn)
     }
 
     /**
      * Load a sprite sheet with 8 directional animations.
      * Layout: 8 columns (directions) x N rows (frames)
+     * @return The state ID assigned by the clip set
      */
-    public static void loadEightDirectional(SpriteAnimator animator, String stateName,
+    public static int loadEightDirectional(AnimationClipSet clips, String stateName,
                                            Texture spriteSheet, int framesPerDirection,
                                            float frameDuration) {
         int frameWidth = spriteSheet.getWidth() / 8;
@@ -58,21 +60,24 @@ public class AnimationBuilder {
         TextureRegion[][] frames = TextureRegion.split(spriteSheet, frameWidth, frameHeight);
 
         int[] angles = {180, 135, 90, 45, 0, 315, 270, 225}; // 8 directions
+        int stateId = clips.registerState(stateName);
 
         for (int dir = 0; dir < 8; dir++) {
             TextureRegion[] dirFrames = new TextureRegion[framesPerDirection];
             for (int i = 0; i < framesPerDirection; i++) {
                 dirFrames[i] = frames[i][dir];
             }
-            animator.addAnimation(stateName, angles[dir], dirFrames, frameDuration);
+            clips.addAnimation(stateName, angles[dir], dirFrames, frameDuration);
         }
+        return stateId;
     }
 
     /**
      * Load a single static frame for all directions (useful for idle states).
+     * @return The state ID assigned by the clip set
      */
-    public static void loadStatic(SpriteAnimator animator, String stateName,
-                                  Texture spriteSheet) {
-        loadFourDirectional(animator, stateName, spriteSheet, 1, 1.0f);
+    public static int loadStatic(AnimationClipSet clips, String stateName,
+                                 Texture spriteSheet) {
+        return loadFourDirectional(clips, stateName, spriteSheet, 1, 1.0f);
     }
 }
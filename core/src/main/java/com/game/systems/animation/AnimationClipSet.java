@@ -0,0 +1,124 @@
+package com.game.systems.animation;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable-after-load set of animation clips for one sprite class.
+ * State names are compiled to integer IDs when clips are added, and clips are stored
+ * in a dense [state][direction] table. One clip set can be shared by any number of
+ * SpriteAnimators, which only hold their own playback state.
+ */
+public class AnimationClipSet {
+    /** Number of direction slots per state (45 degree steps). */
+    public static final int DIRECTION_COUNT = 8;
+
+    /** Returned by getStateId() for unknown state names. */
+    public static final int NO_STATE = -1;
+
+    private final String name;
+    private final Map<String, Integer> stateIds;
+    private final List<String> stateNames;
+    private Animation<TextureRegion>[][] clips;
+
+    public AnimationClipSet(String name) {
+        this.name = name;
+        this.stateIds = new HashMap<>();
+        this.stateNames = new ArrayList<>();
+        this.clips = newTable(4);
+    }
+
+    /**
+     * Register an animation for a specific state and direction angle.
+     * @param stateName Name of the state (e.g., "walk", "idle", "run")
+     * @param directionAngle Direction in degrees (0=up, 90=left, 180=down, 270=right)
+     * @param frames Array of texture regions for this animation
+     * @param frameDuration Duration of each frame in seconds
+     * @return The state ID
+     */
+    public int addAnimation(String stateName, int directionAngle, TextureRegion[] frames, float frameDuration) {
+        int stateId = registerState(stateName);
+        clips[stateId][directionIndex(directionAngle)] = new Animation<>(frameDuration, frames);
+        return stateId;
+    }
+
+    /**
+     * Gets or creates the ID for a state name.
+     * @param stateName Name of the state
+     * @return The state ID
+     */
+    public int registerState(String stateName) {
+        Integer id = stateIds.get(stateName);
+        if (id != null) {
+            return id;
+        }
+
+        int newId = stateNames.size();
+        stateNames.add(stateName);
+        stateIds.put(stateName, newId);
+
+        if (newId >= clips.length) {
+            Animation<TextureRegion>[][] grown = newTable(clips.length * 2);
+            System.arraycopy(clips, 0, grown, 0, clips.length);
+            clips = grown;
+        }
+        return newId;
+    }
+
+    /**
+     * Looks up the ID of a registered state.
+     * @param stateName Name of the state
+     * @return The state ID, or NO_STATE if not registered
+     */
+    public int getStateId(String stateName) {
+        Integer id = stateIds.get(stateName);
+        return id != null ? id : NO_STATE;
+    }
+
+    /**
+     * Gets the name of a state ID.
+     * @param stateId The state ID
+     * @return The state name, or an empty string if unknown
+     */
+    public String getStateName(int stateId) {
+        return stateId >= 0 && stateId < stateNames.size() ? stateNames.get(stateId) : "";
+    }
+
+    /**
+     * Gets the clip for a state and direction.
+     * @param stateId The state ID
+     * @param directionAngle Direction in degrees
+     * @return The clip, or null if none registered
+     */
+    public Animation<TextureRegion> getAnimation(int stateId, int directionAngle) {
+        if (stateId < 0 || stateId >= stateNames.size()) {
+            return null;
+        }
+        return clips[stateId][directionIndex(directionAngle)];
+    }
+
+    public int getStateCount() {
+        return stateNames.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Maps a direction angle to its slot in the table (0, 45, ... 315 -> 0..7).
+     */
+    private static int directionIndex(int directionAngle) {
+        int angle = ((directionAngle % 360) + 360) % 360;
+        return Math.round(angle / 45f) % DIRECTION_COUNT;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Animation<TextureRegion>[][] newTable(int stateCapacity) {
+        return (Animation<TextureRegion>[][]) new Animation[stateCapacity][DIRECTION_COUNT];
+    }
+}
@@ -0,0 +1,84 @@
+package com.game.systems.animation;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Central cache of animation clip sets, keyed by sprite class (e.g. "Villager5").
+ * Each sprite sheet is loaded and split once; every entity using the same sprite class
+ * shares the same AnimationClipSet and textures.
+ */
+public class AnimationLibrary {
+    private static final Map<String, AnimationClipSet> clipSets = new HashMap<>();
+    private static final Map<String, Texture> textures = new HashMap<>();
+
+    /**
+     * Gets the walk/run/idle clips for a character sprite class, loading them on first use.
+     * Sheets are read from Actor/Characters/{spriteClass}/SeparateAnim/.
+     * @param spriteClass The character folder name (e.g. "Villager5")
+     * @return The shared clip set
+     */
+    public static AnimationClipSet getCharacterClips(String spriteClass) {
+        AnimationClipSet clips = clipSets.get(spriteClass);
+        if (clips != null) {
+            return clips;
+        }
+
+        Texture walkTexture = getTexture(String.format("Actor/Characters/%s/SeparateAnim/Walk.png", spriteClass));
+        Texture idleTexture = getTexture(String.format("Actor/Characters/%s/SeparateAnim/Idle.png", spriteClass));
+
+        clips = new AnimationClipSet(spriteClass);
+        AnimationBuilder.loadFourDirectional(clips, "walk", walkTexture, 4, 0.22f);
+        AnimationBuilder.loadFourDirectional(clips, "run", walkTexture, 4, 0.1f);
+        AnimationBuilder.loadFourDirectional(clips, "idle", idleTexture, 1, 0.3f);
+
+        clipSets.put(spriteClass, clips);
+        System.out.println("AnimationLibrary: Loaded clips for " + spriteClass);
+        return clips;
+    }
+
+    /**
+     * Registers a custom clip set under a key.
+     * @param key The key (usually the sprite class)
+     * @param clips The clip set
+     */
+    public static void register(String key, AnimationClipSet clips) {
+        clipSets.put(key, clips);
+    }
+
+    /**
+     * Gets a previously loaded or registered clip set.
+     * @param key The key
+     * @return The clip set, or null if not loaded
+     */
+    public static AnimationClipSet get(String key) {
+        return clipSets.get(key);
+    }
+
+    /**
+     * Loads a texture once and caches it by path.
+     * @param path Internal asset path
+     * @return The shared texture
+     */
+    public static Texture getTexture(String path) {
+        Texture texture = textures.get(path);
+        if (texture == null) {
+            texture = new Texture(Gdx.files.internal(path));
+            textures.put(path, texture);
+        }
+        return texture;
+    }
+
+    /**
+     * Disposes all cached textures and forgets all clip sets.
+     */
+    public static void dispose() {
+        for (Texture texture : textures.values()) {
+            texture.dispose();
+        }
+        textures.clear();
+        clipSets.clear();
+    }
+}
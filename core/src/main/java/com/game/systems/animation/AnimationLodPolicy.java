@@ -0,0 +1,115 @@
+package com.game.systems.animation;
+
+/**
+ * Level-of-detail policy for sprite animations.
+ * No dependencies on entities or cameras; the game feeds it the visible area and a focus point
+ * (usually the player) once per frame.
+ *
+ * - Off-screen sprites are culled, so their animation only advances its timer.
+ * - Visible sprites near the focus resolve a new frame every draw.
+ * - Visible sprites far from the focus, or any non-near sprite while the screen is crowded,
+ *   resolve frames at a reduced rate.
+ */
+public class AnimationLodPolicy {
+    private static final float DEFAULT_VIEW_MARGIN = 16f;        // Extra border so sprites don't pop at the edges
+    private static final float DEFAULT_NEAR_DISTANCE = 96f;      // Full rate within this distance of the focus
+    private static final float DEFAULT_FAR_FRAME_INTERVAL = 1f / 15f;
+    private static final float DEFAULT_CROWD_FRAME_INTERVAL = 1f / 8f;
+    private static final int DEFAULT_CROWD_THRESHOLD = 64;       // Visible animated sprites before crowd mode
+
+    private float viewMinX, viewMinY, viewMaxX, viewMaxY;
+    private float focusX, focusY;
+
+    private float viewMargin = DEFAULT_VIEW_MARGIN;
+    private float nearDistance2 = DEFAULT_NEAR_DISTANCE * DEFAULT_NEAR_DISTANCE;
+    private float farFrameInterval = DEFAULT_FAR_FRAME_INTERVAL;
+    private float crowdFrameInterval = DEFAULT_CROWD_FRAME_INTERVAL;
+    private int crowdThreshold = DEFAULT_CROWD_THRESHOLD;
+
+    private int visibleCount;
+    private int lastVisibleCount;
+
+    /**
+     * Starts a new frame with the current camera bounds and focus point.
+     * @param viewX Left edge of the visible area in world units
+     * @param viewY Bottom edge of the visible area in world units
+     * @param viewWidth Width of the visible area
+     * @param viewHeight Height of the visible area
+     * @param focusX Focus point X (full detail around here)
+     * @param focusY Focus point Y
+     */
+    public void beginFrame(float viewX, float viewY, float viewWidth, float viewHeight, float focusX, float focusY) {
+        this.viewMinX = viewX - viewMargin;
+        this.viewMinY = viewY - viewMargin;
+        this.viewMaxX = viewX + viewWidth + viewMargin;
+        this.viewMaxY = viewY + viewHeight + viewMargin;
+        this.focusX = focusX;
+        this.focusY = focusY;
+
+        lastVisibleCount = visibleCount;
+        visibleCount = 0;
+    }
+
+    /**
+     * Checks if a sprite rectangle overlaps the visible area.
+     * @return true if the sprite should be drawn
+     */
+    public boolean isVisible(float x, float y, float width, float height) {
+        return x + width >= viewMinX && x <= viewMaxX &&
+               y + height >= viewMinY && y <= viewMaxY;
+    }
+
+    /**
+     * Gets the minimum time between frame resolutions for a visible sprite.
+     * Call once per visible animated sprite per frame; the calls are also counted for crowd detection.
+     * @param x Sprite X
+     * @param y Sprite Y
+     * @return 0 to resolve every draw, otherwise the interval in seconds
+     */
+    public float getFrameInterval(float x, float y) {
+        visibleCount++;
+
+        float dx = x - focusX;
+        float dy = y - focusY;
+        if (dx * dx + dy * dy <= nearDistance2) {
+            return 0f;
+        }
+
+        if (lastVisibleCount > crowdThreshold) {
+            return crowdFrameInterval;
+        }
+        return farFrameInterval;
+    }
+
+    /**
+     * Gets the number of animated sprites that were visible last frame.
+     * @return Visible animated sprite count
+     */
+    public int getVisibleCount() {
+        return lastVisibleCount;
+    }
+
+    public boolean isCrowded() {
+        return lastVisibleCount > crowdThreshold;
+    }
+
+    public void setViewMargin(float viewMargin) {
+        this.viewMargin = viewMargin;
+    }
+
+    public void setNearDistance(float nearDistance) {
+        this.nearDistance2 = nearDistance * nearDistance;
+    }
+
+    public void setFarFrameInterval(float farFrameInterval) {
+        this.farFrameInterval = farFrameInterval;
+    }
+
+    public void setCrowdFrameInterval(float crowdFrameInterval) {
+        this.crowdFrameInterval = crowdFrameInterval;
+    }
+
+    public void setCrowdThreshold(int crowdThreshold) {
+        this.crowdThreshold = crowdThreshold;
+    }
+}
@@ -3,24 +3,39 @@ package com.game.systems.animation;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Standalone sprite animation system that can be used in any project.
  * No dependencies on entities, worlds, or game-specific logic.
+ *
+ * The animator only holds playback state (state ID, direction, time, flip); the clips
+ * themselves live in an AnimationClipSet that can be shared between many animators.
+ * Switching state by ID doesn't allocate or hash. Horizontal flipping is reported
+ * through isFlipX() and applied when drawing; shared TextureRegions are never modified.
  */
 public class SpriteAnimator {
-    private Map<AnimationKey, Animation<TextureRegion>> animations;
+    private final AnimationClipSet clips;
+
     private Animation<TextureRegion> currentAnimation;
-    private String currentState;
+    private int currentState;
     private int currentDirection;
     private float stateTime;
     private boolean flipX;
 
+    /**
+     * Creates an animator with its own private clip set.
+     */
     public SpriteAnimator() {
-        animations = new HashMap<>();
-        currentState = "";
+        this(new AnimationClipSet("unnamed"));
+    }
+
+    /**
+     * Creates an animator that plays clips from a shared clip set.
+     * @param clips The clip set
+     */
+    public SpriteAnimator(AnimationClipSet clips) {
+        this.clips = clips;
+        currentState = AnimationClipSet.NO_STATE;
         currentDirection = 0;
         stateTime = 0;
         flipX = false;
@@ -28,14 +43,15 @@ public class SpriteAnimator {
 
     /**
      * Register an animation for a specific state and direction angle.
+     * Adds to the clip set, so every animator sharing it sees the new animation.
      * @param stateName Name of the state (e.g., "walk", "idle", "run")
-     * @param directionAngle Direction in degrees (0=down, 90=left, 180=up, 270=right)
+     * @param directionAngle Direction in degrees (0=up, 90=left, 180=down, 270=right)
      * @param frames Array of texture regions for this animation
      * @param frameDuration Duration of each frame in seconds
+     * @return The state ID to use with setState()
      */
-    public void addAnimation(String stateName, int directionAngle, TextureRegion[] frames, float frameDuration) {
-        AnimationKey key = new AnimationKey(stateName, directionAngle);
-        animations.put(key, new Animation<>(frameDuration, frames));
+    public int addAnimation(String stateName, int directionAngle, TextureRegion[] frames, float frameDuration) {
+        return clips.addAnimation(stateName, directionAngle, frames, frameDuration);
     }
 
     /**
@@ -45,29 +61,37 @@ public class SpriteAnimator {
      * @param flipHorizontal Whether to flip the sprite horizontally
      */
     public void setState(String stateName, Vector2 direction, boolean flipHorizontal) {
-        int angle = vectorToAngle(direction);
-        setState(stateName, angle, flipHorizontal);
+        setState(clips.getStateId(stateName), vectorToAngle(direction), flipHorizontal);
     }
 
     /**
-     * Set the current animation based on state and direction angle.
+     * Set the current animation based on state name and direction angle.
+     * Resolves the name on every call; prefer the state ID overload for per-frame calls.
      * @param stateName The animation state to play
      * @param directionAngle Direction in degrees
      * @param flipHorizontal Whether to flip the sprite horizontally
      */
     public void setState(String stateName, int directionAngle, boolean flipHorizontal) {
+        setState(clips.getStateId(stateName), directionAngle, flipHorizontal);
+    }
+
+    /**
+     * Set the current animation based on state ID and direction angle.
+     * @param stateId The animation state ID (from the clip set)
+     * @param directionAngle Direction in degrees
+     * @param flipHorizontal Whether to flip the sprite horizontally
+     */
+    public void setState(int stateId, int directionAngle, boolean flipHorizontal) {
         // Reset animation timer if state or direction changed
-        if (!stateName.equals(currentState) || directionAngle != currentDirection) {
+        if (stateId != currentState || directionAngle != currentDirection) {
             stateTime = 0;
-            currentState = stateName;
+            currentState = stateId;
             currentDirection = directionAngle;
-        }
-
-        AnimationKey key = new AnimationKey(stateName, directionAngle);
-        Animation<TextureRegion> newAnimation = animations.get(key);
 
-        if (newAnimation != null) {
-            currentAnimation = newAnimation;
+            Animation<TextureRegion> newAnimation = clips.getAnimation(stateId, directionAngle);
+            if (newAnimation != null) {
+                currentAnimation = newAnimation;
+            }
         }
 
         flipX = flipHorizontal;
@@ -83,21 +107,22 @@ public class SpriteAnimator {
 
     /**
      * Get the current animation frame.
+     * The region is shared and never flipped; check isFlipX() when drawing.
      * @return Current texture region to render
      */
     public TextureRegion getCurrentFrame() {
         if (currentAnimation == null) {
             return null;
         }
+        return currentAnimation.getKeyFrame(stateTime, true);
+    }
 
-        TextureRegion currentFrame = currentAnimation.getKeyFrame(stateTime, true);
-
-        // Handle horizontal flipping
-        if (currentFrame.isFlipX() != flipX) {
-            currentFrame.flip(true, false);
-        }
-
-        return currentFrame;
+    /**
+     * Whether the current frame should be drawn mirrored horizontally.
+     * @return true if flipped
+     */
+    public boolean isFlipX() {
+        return flipX;
     }
 
     /**
@@ -122,7 +147,15 @@ public class SpriteAnimator {
         else return 225; // Down-Right
     }
 
+    public AnimationClipSet getClips() {
+        return clips;
+    }
+
     public String getCurrentState() {
+        return clips.getStateName(currentState);
+    }
+
+    public int getCurrentStateId() {
         return currentState;
     }
 
@@ -130,29 +163,7 @@ public class SpriteAnimator {
         return currentDirection;
     }
 
-    /**
-     * Internal key class for storing animations.
-     */
-    private static class AnimationKey {
-        String state;
-        int angle;
-
-        AnimationKey(String state, int angle) {
-            this.state = state;
-            this.angle = angle;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            AnimationKey that = (AnimationKey) o;
-            return angle == that.angle && state.equals(that.state);
-        }
-
-        @Override
-        public int hashCode() {
-            return 31 * state.hashCode() + angle;
-        }
+    public float getStateTime() {
+        return stateTime;
     }
 }
@@ -0,0 +1,116 @@
+package com.game.systems.audio;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads and reference-counts audio files in named groups (e.g. "common", or one per level).
+ *
+ * Files are loaded through an AssetManager, whose loaders decode Sounds and open Music streams
+ * on its executor thread; the render thread only finishes them in update() within a small time
+ * budget. Every group holds one reference per file, so a sound shared by the old and the new
+ * level stays loaded when the new level's group is retained before the old one is released.
+ */
+public class AudioAssets {
+    private static final int UPDATE_BUDGET_MILLIS = 2;
+
+    private final AssetManager manager = new AssetManager();
+    private final Map<String, List<String>> groups = new HashMap<>();
+
+    public AudioAssets() {
+        // A missing file is logged instead of throwing out of update()
+        manager.setErrorListener((asset, throwable) ->
+            System.out.println("AudioAssets: Failed to load " + asset.fileName + ": " + throwable.getMessage()));
+    }
+
+    /**
+     * Queues a group's sounds for loading. Retaining a group that is already held does nothing.
+     * @param group The group name
+     * @param soundPaths Sound file paths
+     */
+    public void retainGroup(String group, Collection<String> soundPaths) {
+        if (groups.containsKey(group)) return;
+
+        List<String> paths = new ArrayList<>(soundPaths);
+        for (String path : paths) {
+            manager.load(path, Sound.class);
+        }
+        groups.put(group, paths);
+    }
+
+    /**
+     * Drops a group's references. Sounds no other group holds are unloaded.
+     */
+    public void releaseGroup(String group) {
+        List<String> paths = groups.remove(group);
+        if (paths == null) return;
+
+        for (String path : paths) {
+            if (manager.contains(path)) { // Not there if loading failed
+                manager.unload(path);
+            }
+        }
+    }
+
+    public boolean hasGroup(String group) {
+        return groups.containsKey(group);
+    }
+
+    /**
+     * Gets a loaded sound.
+     * @return The sound, or null if it isn't loaded (yet)
+     */
+    public Sound getSound(String path) {
+        return manager.get(path, Sound.class, false);
+    }
+
+    /**
+     * Queues a music stream for loading. Each call must be matched by unloadMusic().
+     */
+    public void loadMusic(String path) {
+        manager.load(path, Music.class);
+    }
+
+    /**
+     * Drops a reference from loadMusic(), cancelling the load if it hasn't finished.
+     */
+    public void unloadMusic(String path) {
+        if (manager.contains(path)) { // Not there if loading failed
+            manager.unload(path);
+        }
+    }
+
+    /**
+     * Gets a loaded music stream.
+     * @return The music, or null if it isn't loaded (yet)
+     */
+    public Music getMusic(String path) {
+        return manager.get(path, Music.class, false);
+    }
+
+    /**
+     * Finishes loads completed by the loader thread, within the time budget. Call once per frame.
+     */
+    public void update() {
+        manager.update(UPDATE_BUDGET_MILLIS);
+    }
+
+    /**
+     * Gets how many files are still waiting to load.
+     */
+    public int getQueuedCount() {
+        return manager.getQueuedAssets();
+    }
+
+    public void dispose() {
+        groups.clear();
+        manager.dispose();
+    }
+}
@@ -0,0 +1,95 @@
+package com.game.systems.audio;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of the audio subsystem: loading (AudioAssets), sound effects (SoundSystem)
+ * and music (MusicPlayer).
+ *
+ * The common cue group stays loaded for the whole session. Each level has its own group
+ * (the cues it lists); switching levels retains the new group before releasing the old one,
+ * so cues both levels use are never reloaded.
+ */
+public class AudioManager {
+    private final AudioAssets assets = new AudioAssets();
+    private final SoundSystem sounds = new SoundSystem(assets);
+    private final MusicPlayer music = new MusicPlayer(assets);
+    private String levelGroup;
+    private int ambientLoop = -1;
+    private String ambientCue;
+
+    public AudioManager() {
+        assets.retainGroup(SoundLibrary.COMMON_GROUP, SoundLibrary.getPaths(SoundLibrary.getGroup(SoundLibrary.COMMON_GROUP)));
+    }
+
+    /**
+     * Switches to a level's audio.
+     * @param level Level path (names the level's group)
+     * @param cueNames Cues the level uses besides the common ones
+     * @param ambient Looping ambience cue, or null
+     * @param musicPath Music track, or null to keep the current one
+     */
+    public void enterLevel(String level, List<String> cueNames, String ambient, String musicPath) {
+        List<String> names = new ArrayList<>(cueNames);
+        if (ambient != null && !names.contains(ambient)) {
+            names.add(ambient);
+        }
+
+        String group = "level:" + level;
+        if (!group.equals(levelGroup)) {
+            assets.retainGroup(group, SoundLibrary.getPaths(names));
+            if (levelGroup != null) {
+                assets.releaseGroup(levelGroup);
+                sounds.dropUnloadedVoices();
+            }
+            levelGroup = group;
+        }
+
+        // The ambience starts once its sound has loaded (see update())
+        if (ambient == null || !ambient.equals(ambientCue)) {
+            sounds.stopLoop(ambientLoop);
+            ambientLoop = -1;
+            ambientCue = ambient;
+        }
+
+        if (musicPath != null) {
+            music.play(musicPath);
+        }
+    }
+
+    /**
+     * Finishes background loads and advances voices and music. Call once per frame.
+     * @param delta Frame time in seconds
+     * @param listenerX Listener X (usually the camera center)
+     * @param listenerY Listener Y
+     */
+    public void update(float delta, float listenerX, float listenerY) {
+        assets.update();
+        sounds.setListener(listenerX, listenerY);
+        sounds.update(delta);
+        music.update(delta);
+
+        if (ambientCue != null && ambientLoop < 0) {
+            ambientLoop = sounds.playLoop(ambientCue);
+        }
+    }
+
+    public SoundSystem getSounds() {
+        return sounds;
+    }
+
+    public MusicPlayer getMusic() {
+        return music;
+    }
+
+    public AudioAssets getAssets() {
+        return assets;
+    }
+
+    public void dispose() {
+        sounds.stopAll();
+        music.dispose();
+        assets.dispose();
+    }
+}
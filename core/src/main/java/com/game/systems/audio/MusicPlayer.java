@@ -0,0 +1,163 @@
+package com.game.systems.audio;
+
+import com.badlogic.gdx.audio.Music;
+
+/**
+ * Streams background music and crossfades between tracks.
+ *
+ * A requested track is loaded in the background; once it is ready it fades in while the
+ * previous track fades out, and the old stream is unloaded when it falls silent. Requesting
+ * another track before the first is ready simply replaces the request.
+ */
+public class MusicPlayer {
+    private static final float DEFAULT_FADE_SECONDS = 1.5f;
+
+    private final AudioAssets assets;
+    private float volume = 0.5f;
+    private float fadeSeconds = DEFAULT_FADE_SECONDS;
+
+    private String pendingPath; // Requested, still loading
+
+    private String currentPath;
+    private Music current;
+    private float currentFade; // 0..1
+
+    private String outgoingPath;
+    private Music outgoing;
+    private float outgoingFade;
+
+    public MusicPlayer(AudioAssets assets) {
+        this.assets = assets;
+    }
+
+    /**
+     * Switches to a track (looping), crossfading from the current one once it is loaded.
+     * @param path Music file path, or null to fade out
+     */
+    public void play(String path) {
+        if (path != null && path.equals(pendingPath)) return;
+
+        // Drop an older request that hasn't started yet
+        if (pendingPath != null) {
+            assets.unloadMusic(pendingPath);
+            pendingPath = null;
+        }
+        if (path == null) {
+            stop();
+            return;
+        }
+        if (path.equals(currentPath)) return;
+
+        pendingPath = path;
+        assets.loadMusic(path);
+    }
+
+    /**
+     * Fades out the current track.
+     */
+    public void stop() {
+        if (pendingPath != null) {
+            assets.unloadMusic(pendingPath);
+            pendingPath = null;
+        }
+        if (current != null) {
+            beginFadeOut();
+        }
+    }
+
+    /**
+     * Starts loaded tracks and advances the fades. Call once per frame.
+     */
+    public void update(float delta) {
+        if (pendingPath != null) {
+            Music music = assets.getMusic(pendingPath);
+            if (music != null) {
+                if (current != null) {
+                    beginFadeOut();
+                }
+                current = music;
+                currentPath = pendingPath;
+                currentFade = 0f;
+                pendingPath = null;
+                current.setLooping(true);
+                current.setVolume(0f);
+                current.play();
+            }
+        }
+
+        float step = fadeSeconds > 0f ? delta / fadeSeconds : 1f;
+        if (current != null && currentFade < 1f) {
+            currentFade = Math.min(1f, currentFade + step);
+            current.setVolume(volume * currentFade);
+        }
+        if (outgoing != null) {
+            outgoingFade -= step;
+            if (outgoingFade <= 0f) {
+                releaseOutgoing();
+            } else {
+                outgoing.setVolume(volume * outgoingFade);
+            }
+        }
+    }
+
+    private void beginFadeOut() {
+        releaseOutgoing(); // Only one track fades out at a time
+        outgoing = current;
+        outgoingPath = currentPath;
+        outgoingFade = currentFade;
+        current = null;
+        currentPath = null;
+    }
+
+    private void releaseOutgoing() {
+        if (outgoing == null) return;
+        outgoing.stop();
+        assets.unloadMusic(outgoingPath);
+        outgoing = null;
+        outgoingPath = null;
+    }
+
+    /**
+     * Sets the music volume (0..1).
+     */
+    public void setVolume(float volume) {
+        this.volume = volume;
+        if (current != null) current.setVolume(volume * currentFade);
+        if (outgoing != null) outgoing.setVolume(volume * outgoingFade);
+    }
+
+    public float getVolume() {
+        return volume;
+    }
+
+    /**
+     * Sets how long a crossfade takes in seconds.
+     */
+    public void setFadeSeconds(float fadeSeconds) {
+        this.fadeSeconds = fadeSeconds;
+    }
+
+    /**
+     * Gets the track playing (or fading in), or null.
+     */
+    public String getCurrentPath() {
+        return currentPath;
+    }
+
+    /**
+     * Stops everything immediately and unloads the streams.
+     */
+    public void dispose() {
+        if (pendingPath != null) {
+            assets.unloadMusic(pendingPath);
+            pendingPath = null;
+        }
+        releaseOutgoing();
+        if (current != null) {
+            current.stop();
+            assets.unloadMusic(currentPath);
+            current = null;
+            currentPath = null;
+        }
+    }
+}
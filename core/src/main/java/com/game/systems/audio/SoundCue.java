@@ -0,0 +1,100 @@
+package com.game.systems.audio;
+
+/**
+ * A named sound effect and the rules for playing it: volume, priority and how many copies
+ * may overlap. Setters return this so cues can be written as one chain.
+ */
+public class SoundCue {
+    private final String name;
+    private final String path;
+    private float volume = 1f;
+    private int priority = 1;         // Higher steals voices from lower
+    private int maxInstances = 3;     // Copies of this cue playing at once
+    private float minInterval = 0.05f; // Seconds between starts of this cue
+    private float duration = 0.5f;    // How long a voice counts as busy
+    private float maxDistance = 320f; // Inaudible beyond this; 0 = not positional
+
+    /**
+     * @param name Unique name (e.g. "pickup")
+     * @param path Sound file path
+     */
+    public SoundCue(String name, String path) {
+        this.name = name;
+        this.path = path;
+    }
+
+    public SoundCue setVolume(float volume) {
+        this.volume = volume;
+        return this;
+    }
+
+    public SoundCue setPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * Limits overlapping copies, e.g. so a pile of pickups collected at once plays a few sounds.
+     */
+    public SoundCue setMaxInstances(int maxInstances) {
+        this.maxInstances = maxInstances;
+        return this;
+    }
+
+    public SoundCue setMinInterval(float seconds) {
+        this.minInterval = seconds;
+        return this;
+    }
+
+    /**
+     * Sets roughly how long the sound plays (Sound has no end callback, so voices free up after this).
+     */
+    public SoundCue setDuration(float seconds) {
+        this.duration = seconds;
+        return this;
+    }
+
+    /**
+     * Sets the distance at which the cue fades out completely, or 0 to play it at full volume anywhere.
+     */
+    public SoundCue setMaxDistance(float maxDistance) {
+        this.maxDistance = maxDistance;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public float getVolume() {
+        return volume;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public int getMaxInstances() {
+        return maxInstances;
+    }
+
+    public float getMinInterval() {
+        return minInterval;
+    }
+
+    public float getDuration() {
+        return duration;
+    }
+
+    public float getMaxDistance() {
+        return maxDistance;
+    }
+
+    public boolean isPositional() {
+        return maxDistance > 0f;
+    }
+}
@@ -0,0 +1,88 @@
+package com.game.systems.audio;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of sound cues and of the cue groups loaded together (see AudioAssets).
+ */
+public class SoundLibrary {
+    public static final String COMMON_GROUP = "common";
+
+    private static final Map<String, SoundCue> cues = new HashMap<>();
+    private static final Map<String, List<String>> groups = new HashMap<>();
+
+    /**
+     * Registers the game's cues (files from Audio/) and the common group kept loaded all session.
+     */
+    public static void registerDefaults() {
+        register(new SoundCue("pickup", "Audio/Sounds/Bonus/Coin.wav")
+            .setVolume(0.6f).setMaxInstances(2).setMinInterval(0.08f).setDuration(0.4f));
+        register(new SoundCue("hit", "Audio/Sounds/Hit & Impact/Hit1.wav")
+            .setPriority(2).setDuration(0.3f));
+        register(new SoundCue("impact", "Audio/Sounds/Hit & Impact/Impact.wav")
+            .setVolume(0.5f).setMaxInstances(2).setDuration(0.3f));
+        register(new SoundCue("launch", "Audio/Sounds/Whoosh & Slash/Launch.wav")
+            .setVolume(0.7f).setDuration(0.3f));
+        register(new SoundCue("gateway", "Audio/Sounds/Magic & Skill/Spirit.wav")
+            .setPriority(3).setMaxInstances(1).setMaxDistance(0f).setDuration(1f));
+        register(new SoundCue("level_up", "Audio/Jingles/LevelUp1.wav")
+            .setPriority(5).setMaxInstances(1).setMaxDistance(0f).setDuration(3f));
+
+        // Ambient loops levels can list in their "sounds" property
+        register(new SoundCue("rain", "Audio/Sounds/Ambient/Rain.wav").setVolume(0.4f).setMaxDistance(0f));
+        register(new SoundCue("river", "Audio/Sounds/Ambient/River.wav").setVolume(0.5f));
+        register(new SoundCue("wind", "Audio/Sounds/Ambient/Wind.wav").setVolume(0.4f).setMaxDistance(0f));
+
+        registerGroup(COMMON_GROUP, "pickup", "hit", "impact", "launch", "gateway", "level_up");
+    }
+
+    public static void register(SoundCue cue) {
+        cues.put(cue.getName(), cue);
+    }
+
+    /**
+     * Gets a cue by name.
+     * @return The cue, or null if not registered
+     */
+    public static SoundCue get(String name) {
+        return cues.get(name);
+    }
+
+    /**
+     * Defines a group of cues that load and unload together.
+     */
+    public static void registerGroup(String group, String... cueNames) {
+        List<String> names = new ArrayList<>();
+        Collections.addAll(names, cueNames);
+        groups.put(group, names);
+    }
+
+    /**
+     * Gets the cue names of a group.
+     * @return The names, or an empty list if the group isn't registered
+     */
+    public static List<String> getGroup(String group) {
+        List<String> names = groups.get(group);
+        return names != null ? Collections.unmodifiableList(names) : Collections.emptyList();
+    }
+
+    /**
+     * Gets the file paths of the given cues, skipping unknown names.
+     */
+    public static List<String> getPaths(List<String> cueNames) {
+        List<String> paths = new ArrayList<>();
+        for (String name : cueNames) {
+            SoundCue cue = cues.get(name.trim());
+            if (cue != null) {
+                paths.add(cue.getPath());
+            } else {
+                System.out.println("SoundLibrary: Unknown cue " + name);
+            }
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,279 @@
+package com.game.systems.audio;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.ObjectFloatMap;
+
+/**
+ * Plays sound cues through a fixed pool of voices, so the number of sounds playing at once
+ * stays bounded no matter how many requests come in.
+ *
+ * A request is dropped when:
+ * - its sound isn't loaded yet (loading never blocks a frame),
+ * - it is too far from the listener to be heard,
+ * - its cue already has maxInstances copies playing or started within minInterval,
+ * - every voice is busy with something of higher priority (or equal priority and louder).
+ * Otherwise it takes a free voice or steals the weakest one.
+ */
+public class SoundSystem {
+    public static final int DEFAULT_MAX_VOICES = 12;
+    private static final float MIN_AUDIBLE_VOLUME = 0.02f;
+    private static final float LOOPING = Float.MAX_VALUE; // Voice end time for loops
+
+    private final AudioAssets assets;
+    private final int maxVoices;
+    private final SoundCue[] voiceCue;
+    private final Sound[] voiceSound;
+    private final long[] voiceId;
+    private final float[] voiceEnd;
+    private final float[] voiceVolume;
+    private final int[] voiceGeneration;
+    private final ObjectFloatMap<SoundCue> lastStart = new ObjectFloatMap<>();
+
+    private float time;
+    private float listenerX;
+    private float listenerY;
+    private float masterVolume = 1f;
+
+    // Stats
+    private int playedCount;
+    private int culledCount;
+    private int stolenCount;
+
+    public SoundSystem(AudioAssets assets) {
+        this(assets, DEFAULT_MAX_VOICES);
+    }
+
+    /**
+     * @param assets Where sounds are loaded
+     * @param maxVoices Voices in the pool (keep below the backend's simultaneous sources)
+     */
+    public SoundSystem(AudioAssets assets, int maxVoices) {
+        this.assets = assets;
+        this.maxVoices = maxVoices;
+        voiceCue = new SoundCue[maxVoices];
+        voiceSound = new Sound[maxVoices];
+        voiceId = new long[maxVoices];
+        voiceEnd = new float[maxVoices];
+        voiceVolume = new float[maxVoices];
+        voiceGeneration = new int[maxVoices];
+    }
+
+    /**
+     * Sets where the listener is (usually the camera center).
+     */
+    public void setListener(float x, float y) {
+        this.listenerX = x;
+        this.listenerY = y;
+    }
+
+    /**
+     * Advances the voice clock. Call once per frame.
+     */
+    public void update(float delta) {
+        time += delta;
+    }
+
+    /**
+     * Plays a cue at full volume, ignoring distance (UI, jingles).
+     * @return True if it got a voice
+     */
+    public boolean play(String cueName) {
+        return start(cueName, 0f, 0f, false, false) >= 0;
+    }
+
+    /**
+     * Plays a cue at a world position, attenuated and panned from the listener.
+     * @return True if it got a voice
+     */
+    public boolean play(String cueName, float x, float y) {
+        return start(cueName, x, y, true, false) >= 0;
+    }
+
+    /**
+     * Starts a looping cue (ambience). The loop keeps its voice until stopLoop().
+     * @return A handle for stopLoop(), or -1 if it was dropped
+     */
+    public int playLoop(String cueName) {
+        return start(cueName, 0f, 0f, false, true);
+    }
+
+    /**
+     * Stops a loop started with playLoop(). Stale handles are ignored.
+     */
+    public void stopLoop(int handle) {
+        if (handle < 0) return;
+        int voice = handle % maxVoices;
+        if (voiceGeneration[voice] == handle / maxVoices && voiceEnd[voice] == LOOPING) {
+            stopVoice(voice);
+        }
+    }
+
+    private int start(String cueName, float x, float y, boolean positional, boolean loop) {
+        SoundCue cue = SoundLibrary.get(cueName);
+        if (cue == null) {
+            System.out.println("SoundSystem: Unknown cue " + cueName);
+            return -1;
+        }
+        Sound sound = assets.getSound(cue.getPath());
+        if (sound == null) {
+            culledCount++;
+            return -1;
+        }
+
+        // Distance: linear fade to silence at maxDistance, pan by horizontal offset
+        float volume = cue.getVolume() * masterVolume;
+        float pan = 0f;
+        if (positional && cue.isPositional()) {
+            float dx = x - listenerX;
+            float dy = y - listenerY;
+            float distance = (float) Math.sqrt(dx * dx + dy * dy);
+            volume *= 1f - distance / cue.getMaxDistance();
+            pan = MathUtils.clamp(dx / cue.getMaxDistance(), -1f, 1f);
+        }
+        if (volume < MIN_AUDIBLE_VOLUME) {
+            culledCount++;
+            return -1;
+        }
+
+        // Per-cue limits
+        if (time - lastStart.get(cue, -Float.MAX_VALUE) < cue.getMinInterval()) {
+            culledCount++;
+            return -1;
+        }
+        int instances = 0;
+        for (int i = 0; i < maxVoices; i++) {
+            if (voiceCue[i] == cue && voiceEnd[i] > time) instances++;
+        }
+        if (instances >= cue.getMaxInstances()) {
+            culledCount++;
+            return -1;
+        }
+
+        int voice = findVoice(cue.getPriority(), volume);
+        if (voice < 0) {
+            culledCount++;
+            return -1;
+        }
+
+        long id = loop ? sound.loop(volume, 1f, pan) : sound.play(volume, 1f, pan);
+        if (id == -1) { // Backend ran out of sources
+            culledCount++;
+            return -1;
+        }
+
+        voiceCue[voice] = cue;
+        voiceSound[voice] = sound;
+        voiceId[voice] = id;
+        voiceEnd[voice] = loop ? LOOPING : time + cue.getDuration();
+        voiceVolume[voice] = volume;
+        lastStart.put(cue, time);
+        playedCount++;
+        return voiceGeneration[voice] * maxVoices + voice;
+    }
+
+    /**
+     * Finds a free voice, or steals the weakest one if the new sound outranks it.
+     * @return The voice, or -1 if the request should be dropped
+     */
+    private int findVoice(int priority, float volume) {
+        int weakest = -1;
+        for (int i = 0; i < maxVoices; i++) {
+            if (voiceEnd[i] <= time) {
+                return i;
+            }
+            if (voiceEnd[i] == LOOPING) continue; // Loops are never stolen
+            if (weakest < 0 || isWeaker(i, weakest)) {
+                weakest = i;
+            }
+        }
+        if (weakest < 0) return -1;
+
+        int weakestPriority = voiceCue[weakest].getPriority();
+        if (weakestPriority > priority || (weakestPriority == priority && voiceVolume[weakest] >= volume)) {
+            return -1;
+        }
+        stopVoice(weakest);
+        stolenCount++;
+        return weakest;
+    }
+
+    private boolean isWeaker(int a, int b) {
+        int priorityA = voiceCue[a].getPriority();
+        int priorityB = voiceCue[b].getPriority();
+        if (priorityA != priorityB) return priorityA < priorityB;
+        return voiceVolume[a] < voiceVolume[b];
+    }
+
+    private void stopVoice(int voice) {
+        voiceSound[voice].stop(voiceId[voice]);
+        voiceCue[voice] = null;
+        voiceSound[voice] = null;
+        voiceEnd[voice] = 0f;
+        voiceGeneration[voice] = (voiceGeneration[voice] + 1) & 0xFFFF;
+    }
+
+    /**
+     * Stops every voice (e.g. before the sounds of a group are unloaded).
+     */
+    public void stopAll() {
+        for (int i = 0; i < maxVoices; i++) {
+            if (voiceSound[i] != null) {
+                stopVoice(i);
+            }
+        }
+    }
+
+    /**
+     * Frees the voices whose sound was unloaded (disposing a Sound already stopped them).
+     * Call after releasing an AudioAssets group.
+     */
+    public void dropUnloadedVoices() {
+        for (int i = 0; i < maxVoices; i++) {
+            if (voiceCue[i] != null && assets.getSound(voiceCue[i].getPath()) != voiceSound[i]) {
+                voiceCue[i] = null;
+                voiceSound[i] = null;
+                voiceEnd[i] = 0f;
+                voiceGeneration[i] = (voiceGeneration[i] + 1) & 0xFFFF;
+            }
+        }
+    }
+
+    public void setMasterVolume(float masterVolume) {
+        this.masterVolume = masterVolume;
+    }
+
+    public float getMasterVolume() {
+        return masterVolume;
+    }
+
+    /**
+     * Gets how many voices are playing.
+     */
+    public int getActiveVoiceCount() {
+        int active = 0;
+        for (int i = 0; i < maxVoices; i++) {
+            if (voiceEnd[i] > time) active++;
+        }
+        return active;
+    }
+
+    public int getMaxVoices() {
+        return maxVoices;
+    }
+
+    public int getPlayedCount() {
+        return playedCount;
+    }
+
+    /**
+     * Gets how many requests were dropped (not loaded, inaudible, limited or outranked).
+     */
+    public int getCulledCount() {
+        return culledCount;
+    }
+
+    public int getStolenCount() {
+        return stolenCount;
+    }
+}
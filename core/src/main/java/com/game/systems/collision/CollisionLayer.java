@@ -0,0 +1,28 @@
+package com.game.systems.collision;
+
+/**
+ * Layer bits for entity colliders in the broadphase.
+ *
+ * Every collider is on one layer and has a mask of the layers it reacts to. Two colliders
+ * form a pair only if each one's mask contains the other's layer, so e.g. projectiles can
+ * ignore each other while still hitting enemies.
+ */
+public final class CollisionLayer {
+    public static final int NONE = 0;
+    public static final int DEFAULT = 1;       // Gateways, props: queryable, never paired by default
+    public static final int PLAYER = 1 << 1;
+    public static final int ENEMY = 1 << 2;
+    public static final int PROJECTILE = 1 << 3;
+    public static final int PICKUP = 1 << 4;
+    public static final int ALL = 0xFFFFFFFF;
+
+    private CollisionLayer() {
+    }
+
+    /**
+     * Checks whether two colliders react to each other.
+     */
+    public static boolean shouldPair(int layerA, int maskA, int layerB, int maskB) {
+        return (maskA & layerB) != 0 && (maskB & layerA) != 0;
+    }
+}
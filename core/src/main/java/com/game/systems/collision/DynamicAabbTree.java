@@ -0,0 +1,483 @@
+package com.game.systems.collision;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Dynamic bounding volume tree of axis-aligned boxes (as in Box2D's b2DynamicTree).
+ *
+ * Leaves store "fat" boxes: the real box grown by a margin, plus extra room in the direction of
+ * movement. A proxy that moves only a little stays inside its fat box and the tree isn't
+ * touched; otherwise the leaf is removed and reinserted where it grows the tree the least.
+ * Internal nodes are kept balanced with rotations, so queries stay logarithmic.
+ *
+ * Nodes are stored in parallel arrays and recycled through a free list; proxy IDs are node
+ * indices and stay valid until the proxy is destroyed.
+ */
+public class DynamicAabbTree {
+    public static final int NULL_NODE = -1;
+    private static final float DEFAULT_MARGIN = 4f;
+    private static final float DISPLACEMENT_MULTIPLIER = 4f;
+
+    private float[] minX;
+    private float[] minY;
+    private float[] maxX;
+    private float[] maxY;
+    private int[] parent; // Next free node while on the free list
+    private int[] child1;
+    private int[] child2;
+    private int[] height; // Leaf = 0, free = -1
+    private int capacity;
+    private int root = NULL_NODE;
+    private int freeList = NULL_NODE;
+    private int proxyCount;
+    private float margin = DEFAULT_MARGIN;
+
+    private final IntArray stack = new IntArray(64);
+
+    /**
+     * Callback for tree queries.
+     */
+    public interface QueryCallback {
+        /**
+         * Called for each proxy whose fat box overlaps the query box.
+         * @return False to stop the query
+         */
+        boolean onProxy(int proxyId);
+    }
+
+    /**
+     * Callback for tree ray casts.
+     */
+    public interface RayCallback {
+        /**
+         * Called for each proxy whose fat box the segment crosses (up to the current max fraction).
+         * @param proxyId The proxy
+         * @param maxFraction How far along the segment proxies are still reported (0..1)
+         * @return The new max fraction: maxFraction to go on, a hit's fraction to clip, 0 to stop
+         */
+        float onRayProxy(int proxyId, float maxFraction);
+    }
+
+    public DynamicAabbTree() {
+        this(64);
+    }
+
+    public DynamicAabbTree(int initialCapacity) {
+        capacity = 0;
+        minX = new float[0];
+        minY = new float[0];
+        maxX = new float[0];
+        maxY = new float[0];
+        parent = new int[0];
+        child1 = new int[0];
+        child2 = new int[0];
+        height = new int[0];
+        grow(Math.max(4, initialCapacity));
+    }
+
+    /**
+     * Adds a box.
+     * @return The proxy ID
+     */
+    public int createProxy(float x, float y, float width, float height) {
+        int node = allocateNode();
+        minX[node] = x - margin;
+        minY[node] = y - margin;
+        maxX[node] = x + width + margin;
+        maxY[node] = y + height + margin;
+        this.height[node] = 0;
+        insertLeaf(node);
+        proxyCount++;
+        return node;
+    }
+
+    public void destroyProxy(int proxyId) {
+        removeLeaf(proxyId);
+        freeNode(proxyId);
+        proxyCount--;
+    }
+
+    /**
+     * Moves a proxy. The tree only changes if the box left its fat box.
+     * @param proxyId The proxy
+     * @param x New box X
+     * @param y New box Y
+     * @param width Box width
+     * @param height Box height
+     * @param dx Movement since the last call (the fat box is extended this way)
+     * @param dy Movement since the last call
+     * @return True if the proxy was reinserted (its fat box changed)
+     */
+    public boolean moveProxy(int proxyId, float x, float y, float width, float height, float dx, float dy) {
+        if (minX[proxyId] <= x && minY[proxyId] <= y &&
+            maxX[proxyId] >= x + width && maxY[proxyId] >= y + height) {
+            return false;
+        }
+
+        removeLeaf(proxyId);
+
+        float x0 = x - margin;
+        float y0 = y - margin;
+        float x1 = x + width + margin;
+        float y1 = y + height + margin;
+        float predictX = dx * DISPLACEMENT_MULTIPLIER;
+        float predictY = dy * DISPLACEMENT_MULTIPLIER;
+        if (predictX < 0) x0 += predictX; else x1 += predictX;
+        if (predictY < 0) y0 += predictY; else y1 += predictY;
+        minX[proxyId] = x0;
+        minY[proxyId] = y0;
+        maxX[proxyId] = x1;
+        maxY[proxyId] = y1;
+
+        insertLeaf(proxyId);
+        return true;
+    }
+
+    /**
+     * Reports every proxy whose fat box overlaps a box.
+     */
+    public void query(float x, float y, float width, float height, QueryCallback callback) {
+        float x1 = x + width;
+        float y1 = y + height;
+        stack.clear();
+        if (root != NULL_NODE) stack.add(root);
+
+        while (stack.size > 0) {
+            int node = stack.pop();
+            if (maxX[node] < x || minX[node] > x1 || maxY[node] < y || minY[node] > y1) continue;
+
+            if (child1[node] == NULL_NODE) {
+                if (!callback.onProxy(node)) return;
+            } else {
+                stack.add(child1[node]);
+                stack.add(child2[node]);
+            }
+        }
+    }
+
+    /**
+     * Reports every proxy whose fat box is crossed by the segment from (x0, y0) to (x1, y1).
+     * The callback can clip the segment, so only boxes before the nearest hit are visited.
+     */
+    public void raycast(float x0, float y0, float x1, float y1, RayCallback callback) {
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        float maxFraction = 1f;
+        stack.clear();
+        if (root != NULL_NODE) stack.add(root);
+
+        while (stack.size > 0) {
+            int node = stack.pop();
+            if (segmentEntry(x0, y0, dx, dy, maxFraction, minX[node], minY[node], maxX[node], maxY[node]) < 0) continue;
+
+            if (child1[node] == NULL_NODE) {
+                maxFraction = callback.onRayProxy(node, maxFraction);
+                if (maxFraction <= 0f) return;
+            } else {
+                stack.add(child1[node]);
+                stack.add(child2[node]);
+            }
+        }
+    }
+
+    /**
+     * Slab test of a segment against a box.
+     * @param x0 Segment start X
+     * @param y0 Segment start Y
+     * @param dx Segment X extent
+     * @param dy Segment Y extent
+     * @param maxFraction Only hits up to this fraction of the segment count
+     * @return The fraction where the segment enters the box (0 if it starts inside), or -1 if it misses
+     */
+    public static float segmentEntry(float x0, float y0, float dx, float dy, float maxFraction,
+                                     float boxMinX, float boxMinY, float boxMaxX, float boxMaxY) {
+        float tMin = 0f;
+        float tMax = maxFraction;
+
+        if (dx == 0f) {
+            if (x0 < boxMinX || x0 > boxMaxX) return -1f;
+        } else {
+            float inv = 1f / dx;
+            float t1 = (boxMinX - x0) * inv;
+            float t2 = (boxMaxX - x0) * inv;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+            if (tMin > tMax) return -1f;
+        }
+
+        if (dy == 0f) {
+            if (y0 < boxMinY || y0 > boxMaxY) return -1f;
+        } else {
+            float inv = 1f / dy;
+            float t1 = (boxMinY - y0) * inv;
+            float t2 = (boxMaxY - y0) * inv;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+            if (tMin > tMax) return -1f;
+        }
+        return tMin;
+    }
+
+    /**
+     * Checks whether the fat boxes of two proxies overlap.
+     */
+    public boolean fatOverlaps(int proxyA, int proxyB) {
+        return maxX[proxyA] >= minX[proxyB] && minX[proxyA] <= maxX[proxyB] &&
+               maxY[proxyA] >= minY[proxyB] && minY[proxyA] <= maxY[proxyB];
+    }
+
+    public float getFatMinX(int proxyId) {
+        return minX[proxyId];
+    }
+
+    public float getFatMinY(int proxyId) {
+        return minY[proxyId];
+    }
+
+    public float getFatMaxX(int proxyId) {
+        return maxX[proxyId];
+    }
+
+    public float getFatMaxY(int proxyId) {
+        return maxY[proxyId];
+    }
+
+    /**
+     * Sets how far fat boxes extend past the real box. Affects proxies created or reinserted later.
+     */
+    public void setMargin(float margin) {
+        this.margin = margin;
+    }
+
+    public int getProxyCount() {
+        return proxyCount;
+    }
+
+    /**
+     * Gets the height of the tree (0 when empty or a single leaf).
+     */
+    public int getHeight() {
+        return root == NULL_NODE ? 0 : height[root];
+    }
+
+    private int allocateNode() {
+        if (freeList == NULL_NODE) {
+            grow(capacity * 2);
+        }
+        int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL_NODE;
+        child1[node] = NULL_NODE;
+        child2[node] = NULL_NODE;
+        height[node] = 0;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        parent[node] = freeList;
+        height[node] = -1;
+        freeList = node;
+    }
+
+    private void grow(int newCapacity) {
+        minX = Arrays.copyOf(minX, newCapacity);
+        minY = Arrays.copyOf(minY, newCapacity);
+        maxX = Arrays.copyOf(maxX, newCapacity);
+        maxY = Arrays.copyOf(maxY, newCapacity);
+        parent = Arrays.copyOf(parent, newCapacity);
+        child1 = Arrays.copyOf(child1, newCapacity);
+        child2 = Arrays.copyOf(child2, newCapacity);
+        height = Arrays.copyOf(height, newCapacity);
+
+        // New nodes go on the free list
+        for (int i = newCapacity - 1; i >= capacity; i--) {
+            parent[i] = freeList;
+            height[i] = -1;
+            freeList = i;
+        }
+        capacity = newCapacity;
+    }
+
+    private void insertLeaf(int leaf) {
+        if (root == NULL_NODE) {
+            root = leaf;
+            parent[root] = NULL_NODE;
+            return;
+        }
+
+        // Find the best sibling: the node whose box grows the tree's total perimeter the least
+        float leafMinX = minX[leaf], leafMinY = minY[leaf], leafMaxX = maxX[leaf], leafMaxY = maxY[leaf];
+        int index = root;
+        while (child1[index] != NULL_NODE) {
+            int c1 = child1[index];
+            int c2 = child2[index];
+
+            float perimeter = perimeter(minX[index], minY[index], maxX[index], maxY[index]);
+            float combined = perimeter(Math.min(minX[index], leafMinX), Math.min(minY[index], leafMinY),
+                                       Math.max(maxX[index], leafMaxX), Math.max(maxY[index], leafMaxY));
+
+            // Cost of making a new parent for this node and the leaf
+            float cost = 2f * combined;
+            // Minimum cost of pushing the leaf further down
+            float inheritanceCost = 2f * (combined - perimeter);
+
+            float cost1 = descendCost(c1, leafMinX, leafMinY, leafMaxX, leafMaxY) + inheritanceCost;
+            float cost2 = descendCost(c2, leafMinX, leafMinY, leafMaxX, leafMaxY) + inheritanceCost;
+
+            if (cost < cost1 && cost < cost2) break;
+            index = cost1 < cost2 ? c1 : c2;
+        }
+        int sibling = index;
+
+        // New parent for the sibling and the leaf
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+        parent[newParent] = oldParent;
+        setUnion(newParent, leaf, sibling);
+        height[newParent] = height[sibling] + 1;
+
+        if (oldParent != NULL_NODE) {
+            if (child1[oldParent] == sibling) {
+                child1[oldParent] = newParent;
+            } else {
+                child2[oldParent] = newParent;
+            }
+        } else {
+            root = newParent;
+        }
+        child1[newParent] = sibling;
+        child2[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        refitAncestors(parent[leaf]);
+    }
+
+    private float descendCost(int child, float leafMinX, float leafMinY, float leafMaxX, float leafMaxY) {
+        float combined = perimeter(Math.min(minX[child], leafMinX), Math.min(minY[child], leafMinY),
+                                   Math.max(maxX[child], leafMaxX), Math.max(maxY[child], leafMaxY));
+        if (child1[child] == NULL_NODE) {
+            return combined;
+        }
+        return combined - perimeter(minX[child], minY[child], maxX[child], maxY[child]);
+    }
+
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL_NODE;
+            return;
+        }
+
+        int parentNode = parent[leaf];
+        int grandParent = parent[parentNode];
+        int sibling = child1[parentNode] == leaf ? child2[parentNode] : child1[parentNode];
+
+        if (grandParent != NULL_NODE) {
+            // Replace the parent with the sibling
+            if (child1[grandParent] == parentNode) {
+                child1[grandParent] = sibling;
+            } else {
+                child2[grandParent] = sibling;
+            }
+            parent[sibling] = grandParent;
+            freeNode(parentNode);
+            refitAncestors(grandParent);
+        } else {
+            root = sibling;
+            parent[sibling] = NULL_NODE;
+            freeNode(parentNode);
+        }
+    }
+
+    /**
+     * Walks up from a node, rebalancing and fixing heights and boxes.
+     */
+    private void refitAncestors(int index) {
+        while (index != NULL_NODE) {
+            index = balance(index);
+
+            int c1 = child1[index];
+            int c2 = child2[index];
+            height[index] = 1 + Math.max(height[c1], height[c2]);
+            setUnion(index, c1, c2);
+
+            index = parent[index];
+        }
+    }
+
+    /**
+     * Rotates node A up if one of its subtrees is more than one level taller than the other.
+     * @return The node now at A's position
+     */
+    private int balance(int a) {
+        if (child1[a] == NULL_NODE || height[a] < 2) {
+            return a;
+        }
+
+        int b = child1[a];
+        int c = child2[a];
+        int balance = height[c] - height[b];
+
+        if (balance > 1) {
+            return rotateUp(a, c, b);
+        }
+        if (balance < -1) {
+            return rotateUp(a, b, c);
+        }
+        return a;
+    }
+
+    /**
+     * Promotes the taller child (high) of A; A keeps the other child (low) and one grandchild.
+     */
+    private int rotateUp(int a, int high, int low) {
+        int f = child1[high];
+        int g = child2[high];
+
+        // Swap A and its taller child
+        child1[high] = a;
+        parent[high] = parent[a];
+        parent[a] = high;
+
+        int oldParent = parent[high];
+        if (oldParent != NULL_NODE) {
+            if (child1[oldParent] == a) {
+                child1[oldParent] = high;
+            } else {
+                child2[oldParent] = high;
+            }
+        } else {
+            root = high;
+        }
+
+        // The taller grandchild stays under the promoted node, the shorter one goes to A
+        int keep = height[f] > height[g] ? f : g;
+        int give = keep == f ? g : f;
+        child2[high] = keep;
+        if (child1[a] == high) {
+            child1[a] = give;
+        } else {
+            child2[a] = give;
+        }
+        parent[give] = a;
+
+        setUnion(a, low, give);
+        height[a] = 1 + Math.max(height[low], height[give]);
+        setUnion(high, a, keep);
+        height[high] = 1 + Math.max(height[a], height[keep]);
+        return high;
+    }
+
+    private void setUnion(int node, int a, int b) {
+        minX[node] = Math.min(minX[a], minX[b]);
+        minY[node] = Math.min(minY[a], minY[b]);
+        maxX[node] = Math.max(maxX[a], maxX[b]);
+        maxY[node] = Math.max(maxY[a], maxY[b]);
+    }
+
+    private static float perimeter(float x0, float y0, float x1, float y1) {
+        return 2f * ((x1 - x0) + (y1 - y0));
+    }
+}
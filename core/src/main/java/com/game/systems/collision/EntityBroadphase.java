@@ -0,0 +1,498 @@
+package com.game.systems.collision;
+
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LongMap;
+import com.game.systems.entity.GameObject;
+import com.game.systems.entity.Transform;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Broadphase for moving entity colliders (player, enemies, projectiles, pickups).
+ * Bodies are plain boxes following a Transform; the game decides which collider an object
+ * registers (see WorldManager).
+ *
+ * Colliders live in a DynamicAabbTree and overlap pairs are kept between ticks. Each tick
+ * only bodies that moved are queried against the tree, and only the pairs on a moved body's
+ * own pair list are re-tested, so the cost follows how much moves rather than how many bodies
+ * or pairs there are. Bodies know their slot in the body list and pairs know their slot in
+ * each body's pair list, so removing either is a swap-remove.
+ * Given the world's MoveTracker list, bodies that stand still aren't even visited.
+ * Pairs are filtered by CollisionLayer layer/mask and reported as begin/end events.
+ *
+ * Boxes are sampled in update(); queries see the positions of the last update.
+ */
+public class EntityBroadphase {
+    private final DynamicAabbTree tree = new DynamicAabbTree();
+    private final IntMap<Body> proxies = new IntMap<>();
+    private final Map<GameObject, Body> bodiesByObject = new HashMap<>();
+    private final List<Body> bodies = new ArrayList<>();
+    private final LongMap<Pair> pairs = new LongMap<>();
+    private final List<PairListener> listeners = new ArrayList<>();
+    private int tick;
+
+    // Reused per update/query
+    private final List<Body> moved = new ArrayList<>();
+    private final List<Body> added = new ArrayList<>(); // Waiting for their first pair search (skipped once removed)
+    private final List<Pair> begun = new ArrayList<>();
+    private final List<Pair> ended = new ArrayList<>();
+    private final TreeQuery treeQuery = new TreeQuery();
+    private final TreeRay treeRay = new TreeRay();
+
+    /**
+     * Listener for overlap pairs.
+     */
+    public interface PairListener {
+        /**
+         * Called on the first tick two colliders overlap.
+         */
+        void onPairBegin(GameObject a, GameObject b);
+
+        /**
+         * Called when they no longer overlap (or one of them was removed).
+         */
+        default void onPairEnd(GameObject a, GameObject b) {
+        }
+    }
+
+    /**
+     * Result of a ray cast: the nearest collider hit along the segment.
+     */
+    public static class RayHit {
+        GameObject object;
+        float fraction;
+        float x;
+        float y;
+
+        /**
+         * Gets the object hit, or null if nothing was hit.
+         */
+        public GameObject getObject() {
+            return object;
+        }
+
+        /**
+         * Gets how far along the segment the hit is (0 = start, 1 = end).
+         */
+        public float getFraction() {
+            return fraction;
+        }
+
+        public float getX() {
+            return x;
+        }
+
+        public float getY() {
+            return y;
+        }
+    }
+
+    /**
+     * Tracked box with the position sampled at the last update.
+     */
+    private static class Body {
+        final GameObject object;
+        final Transform transform;
+        final float offsetX;
+        final float offsetY;
+        final float width;
+        final float height;
+        final int layer;
+        final int mask;
+        final int proxy;
+        final List<Pair> pairs = new ArrayList<>();
+        int index; // Slot in the body list
+        boolean removed;
+        float x;
+        float y;
+        int movedTick;
+
+        Body(GameObject object, Transform transform, float offsetX, float offsetY, float width, float height,
+             int layer, int mask, int proxy) {
+            this.object = object;
+            this.transform = transform;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.width = width;
+            this.height = height;
+            this.layer = layer;
+            this.mask = mask;
+            this.proxy = proxy;
+        }
+
+        boolean overlaps(Body other) {
+            return x < other.x + other.width && x + width > other.x &&
+                   y < other.y + other.height && y + height > other.y;
+        }
+    }
+
+    private static class Pair {
+        final Body a;
+        final Body b;
+        final long key;
+        int slotA; // Slot in a.pairs
+        int slotB; // Slot in b.pairs
+
+        Pair(Body a, Body b, long key) {
+            this.a = a;
+            this.b = b;
+            this.key = key;
+        }
+
+        Body other(Body body) {
+            return body == a ? b : a;
+        }
+
+        int slot(Body body) {
+            return body == a ? slotA : slotB;
+        }
+
+        void setSlot(Body body, int slot) {
+            if (body == a) {
+                slotA = slot;
+            } else {
+                slotB = slot;
+            }
+        }
+    }
+
+    /**
+     * Collects overlapping bodies for the current query (no lambda allocation per query).
+     */
+    private class TreeQuery implements DynamicAabbTree.QueryCallback {
+        Body source;
+        float x0, y0, x1, y1;
+        int layerMask;
+        List<GameObject> out;
+
+        @Override
+        public boolean onProxy(int proxyId) {
+            Body body = proxies.get(proxyId);
+            if (source != null) {
+                findPair(source, body);
+            } else if ((body.layer & layerMask) != 0 &&
+                       body.x < x1 && body.x + body.width > x0 &&
+                       body.y < y1 && body.y + body.height > y0) {
+                out.add(body.object);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Finds the nearest body along the current ray (no lambda allocation per cast).
+     */
+    private class TreeRay implements DynamicAabbTree.RayCallback {
+        float x0, y0, dx, dy;
+        int layerMask;
+        GameObject ignore;
+        Body nearest;
+
+        @Override
+        public float onRayProxy(int proxyId, float maxFraction) {
+            Body body = proxies.get(proxyId);
+            if ((body.layer & layerMask) == 0 || body.object == ignore || !body.object.isActive()) {
+                return maxFraction;
+            }
+            float fraction = DynamicAabbTree.segmentEntry(x0, y0, dx, dy, maxFraction, body.x, body.y,
+                body.x + body.width, body.y + body.height);
+            if (fraction < 0f) {
+                return maxFraction;
+            }
+            nearest = body;
+            return fraction;
+        }
+    }
+
+    /**
+     * Starts tracking a box that follows a transform. Its pairs are found on the next update.
+     * @param object The owner, reported in events and queries
+     * @param transform The transform the box follows
+     * @param offsetX Box X relative to the transform
+     * @param offsetY Box Y relative to the transform
+     * @param width Box width
+     * @param height Box height
+     * @param layer CollisionLayer bits of the body
+     * @param mask CollisionLayer bits of the layers it pairs with
+     */
+    public void addBody(GameObject object, Transform transform, float offsetX, float offsetY,
+                        float width, float height, int layer, int mask) {
+        if (transform == null || bodiesByObject.containsKey(object)) {
+            return;
+        }
+
+        float x = transform.getX() + offsetX;
+        float y = transform.getY() + offsetY;
+        int proxy = tree.createProxy(x, y, width, height);
+        Body body = new Body(object, transform, offsetX, offsetY, width, height, layer, mask, proxy);
+        body.x = x;
+        body.y = y;
+        body.movedTick = -1; // Forces a pair search next update
+
+        proxies.put(proxy, body);
+        bodiesByObject.put(object, body);
+        body.index = bodies.size();
+        bodies.add(body);
+        added.add(body);
+    }
+
+    /**
+     * Stops tracking an object, ending its pairs.
+     */
+    public void removeBody(GameObject object) {
+        Body body = bodiesByObject.remove(object);
+        if (body == null) return;
+
+        // Swap-remove from the update list; the added list skips it by flag
+        Body last = bodies.remove(bodies.size() - 1);
+        if (last != body) {
+            bodies.set(body.index, last);
+            last.index = body.index;
+        }
+        body.removed = true;
+
+        ended.clear();
+        for (int i = 0; i < body.pairs.size(); i++) {
+            Pair pair = body.pairs.get(i);
+            unlinkPair(pair.other(body), pair);
+            pairs.remove(pair.key);
+            ended.add(pair);
+        }
+        body.pairs.clear();
+
+        tree.destroyProxy(body.proxy);
+        proxies.remove(body.proxy);
+        fireEnds();
+    }
+
+    /**
+     * Samples every body, updates the tree and pairs, then fires end and begin events.
+     * Call once per tick after objects have moved.
+     */
+    public void update() {
+        tick++;
+        moved.clear();
+        for (int i = 0; i < bodies.size(); i++) {
+            sample(bodies.get(i));
+        }
+        added.clear();
+        updatePairs();
+    }
+
+    /**
+     * Like update(), but only samples the given objects (and bodies added since the last update).
+     * @param movedObjects Objects whose transform changed this tick (e.g. MoveTracker.getMoved())
+     */
+    public void update(List<GameObject> movedObjects) {
+        tick++;
+        moved.clear();
+        for (int i = 0; i < movedObjects.size(); i++) {
+            Body body = bodiesByObject.get(movedObjects.get(i));
+            if (body != null) {
+                sample(body);
+            }
+        }
+        for (int i = 0; i < added.size(); i++) {
+            Body body = added.get(i);
+            if (!body.removed) {
+                sample(body);
+            }
+        }
+        added.clear();
+        updatePairs();
+    }
+
+    private void sample(Body body) {
+        if (body.movedTick == tick) return; // Listed twice
+
+        float x = body.transform.getX() + body.offsetX;
+        float y = body.transform.getY() + body.offsetY;
+        if (x == body.x && y == body.y && body.movedTick >= 0) return;
+
+        tree.moveProxy(body.proxy, x, y, body.width, body.height, x - body.x, y - body.y);
+        body.x = x;
+        body.y = y;
+        body.movedTick = tick;
+        moved.add(body);
+    }
+
+    private void updatePairs() {
+        // Ended pairs: only pairs with a moved body can have separated
+        ended.clear();
+        for (int i = 0; i < moved.size(); i++) {
+            Body body = moved.get(i);
+            // Backwards, so a swap-removed slot is refilled with a pair already tested
+            for (int j = body.pairs.size() - 1; j >= 0; j--) {
+                Pair pair = body.pairs.get(j);
+                if (!pair.a.overlaps(pair.b)) {
+                    unlinkPair(pair.a, pair);
+                    unlinkPair(pair.b, pair);
+                    pairs.remove(pair.key);
+                    ended.add(pair);
+                }
+            }
+        }
+
+        // New pairs: query the tree with each moved body's box
+        begun.clear();
+        for (int i = 0; i < moved.size(); i++) {
+            Body body = moved.get(i);
+            treeQuery.source = body;
+            tree.query(body.x, body.y, body.width, body.height, treeQuery);
+        }
+        treeQuery.source = null;
+
+        fireEnds();
+        for (int i = 0; i < begun.size(); i++) {
+            Pair pair = begun.get(i);
+            for (PairListener listener : listeners) {
+                listener.onPairBegin(pair.a.object, pair.b.object);
+            }
+        }
+        begun.clear();
+    }
+
+    private void findPair(Body source, Body other) {
+        if (other == source) return;
+        // Both moved: the one with the lower proxy handles the pair
+        if (other.movedTick == tick && other.proxy < source.proxy) return;
+        if (!CollisionLayer.shouldPair(source.layer, source.mask,
+                                       other.layer, other.mask)) return;
+        if (!source.overlaps(other)) return;
+
+        long key = pairKey(source.proxy, other.proxy);
+        if (pairs.containsKey(key)) return;
+        Pair pair = source.proxy < other.proxy ? new Pair(source, other, key) : new Pair(other, source, key);
+        pairs.put(key, pair);
+        linkPair(source, pair);
+        linkPair(other, pair);
+        begun.add(pair);
+    }
+
+    private static void linkPair(Body body, Pair pair) {
+        pair.setSlot(body, body.pairs.size());
+        body.pairs.add(pair);
+    }
+
+    private static void unlinkPair(Body body, Pair pair) {
+        Pair last = body.pairs.remove(body.pairs.size() - 1);
+        if (last != pair) {
+            int slot = pair.slot(body);
+            body.pairs.set(slot, last);
+            last.setSlot(body, slot);
+        }
+    }
+
+    private void fireEnds() {
+        for (int i = 0; i < ended.size(); i++) {
+            Pair pair = ended.get(i);
+            for (PairListener listener : listeners) {
+                listener.onPairEnd(pair.a.object, pair.b.object);
+            }
+        }
+        ended.clear();
+    }
+
+    private static long pairKey(int proxyA, int proxyB) {
+        int low = Math.min(proxyA, proxyB);
+        int high = Math.max(proxyA, proxyB);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Collects the objects whose colliders overlap a box.
+     * @param x Box X
+     * @param y Box Y
+     * @param width Box width
+     * @param height Box height
+     * @param layerMask CollisionLayer bits of the colliders to include
+     * @param out Receives the objects (not cleared)
+     */
+    public void query(float x, float y, float width, float height, int layerMask, List<GameObject> out) {
+        treeQuery.source = null;
+        treeQuery.x0 = x;
+        treeQuery.y0 = y;
+        treeQuery.x1 = x + width;
+        treeQuery.y1 = y + height;
+        treeQuery.layerMask = layerMask;
+        treeQuery.out = out;
+        tree.query(x, y, width, height, treeQuery);
+        treeQuery.out = null;
+    }
+
+    /**
+     * Finds the first collider crossed by the segment from (x0, y0) to (x1, y1).
+     * Inactive objects (e.g. dead NPCs) are passed through.
+     * @param layerMask CollisionLayer bits of the colliders that can be hit
+     * @param ignore An object to skip (e.g. the shooter), or null
+     * @param out Receives the hit (object is null on a miss)
+     * @return True if something was hit
+     */
+    public boolean raycast(float x0, float y0, float x1, float y1, int layerMask, GameObject ignore, RayHit out) {
+        treeRay.x0 = x0;
+        treeRay.y0 = y0;
+        treeRay.dx = x1 - x0;
+        treeRay.dy = y1 - y0;
+        treeRay.layerMask = layerMask;
+        treeRay.ignore = ignore;
+        treeRay.nearest = null;
+        out.fraction = 1f;
+        tree.raycast(x0, y0, x1, y1, treeRay);
+
+        Body nearest = treeRay.nearest;
+        treeRay.ignore = null;
+        treeRay.nearest = null;
+        if (nearest == null) {
+            out.object = null;
+            out.x = x1;
+            out.y = y1;
+            return false;
+        }
+
+        out.object = nearest.object;
+        out.fraction = DynamicAabbTree.segmentEntry(x0, y0, x1 - x0, y1 - y0, 1f, nearest.x, nearest.y,
+            nearest.x + nearest.width, nearest.y + nearest.height);
+        out.x = x0 + (x1 - x0) * out.fraction;
+        out.y = y0 + (y1 - y0) * out.fraction;
+        return true;
+    }
+
+    /**
+     * Checks whether two objects currently form a pair.
+     */
+    public boolean isPaired(GameObject a, GameObject b) {
+        Body bodyA = bodiesByObject.get(a);
+        Body bodyB = bodiesByObject.get(b);
+        return bodyA != null && bodyB != null && pairs.containsKey(pairKey(bodyA.proxy, bodyB.proxy));
+    }
+
+    public boolean contains(GameObject object) {
+        return bodiesByObject.containsKey(object);
+    }
+
+    public void addListener(PairListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(PairListener listener) {
+        listeners.remove(listener);
+    }
+
+    public int getBodyCount() {
+        return bodies.size();
+    }
+
+    public int getPairCount() {
+        return pairs.size;
+    }
+
+    /**
+     * Gets how many bodies moved in the last update (for profiling).
+     */
+    public int getLastMovedCount() {
+        return moved.size();
+    }
+}
@@ -4,6 +4,7 @@ import com.badlogic.gdx.math.Polygon;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Shape2D;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -12,8 +13,10 @@ import java.util.List;
  * No dependencies on game-specific classes.
  */
 public class SpatialQuery {
-    private List<Rectangle> rectangles = new ArrayList<>();
-    private List<Polygon> polygons = new ArrayList<>();
+    private final List<Rectangle> rectangles = new ArrayList<>();
+    private final List<Polygon> polygons = new ArrayList<>();
+    private final List<Rectangle> rectanglesView = Collections.unmodifiableList(rectangles);
+    private final List<Polygon> polygonsView = Collections.unmodifiableList(polygons);
 
     /**
      * Add a rectangular collision shape.
@@ -109,17 +112,17 @@ public class SpatialQuery {
     }
 
     /**
-     * Get all registered rectangles (useful for debug rendering).
+     * Get all registered rectangles as a read-only view (useful for debug rendering).
      */
     public List<Rectangle> getRectangles() {
-        return new ArrayList<>(rectangles);
+        return rectanglesView;
     }
 
     /**
-     * Get all registered polygons (useful for debug rendering).
+     * Get all registered polygons as a read-only view (useful for debug rendering).
      */
     public List<Polygon> getPolygons() {
-        return new ArrayList<>(polygons);
+        return polygonsView;
     }
 
     /**
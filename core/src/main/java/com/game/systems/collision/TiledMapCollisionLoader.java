@@ -24,6 +24,20 @@ public class TiledMapCollisionLoader {
      * @return Number of shapes loaded
      */
     public static int loadFromTiledMap(TiledMap map, SpatialQuery spatialQuery) {
+        return loadFromTiledMap(map, spatialQuery, 0, 0);
+    }
+
+    /**
+     * Load all collision shapes from a Tiled map placed at a world offset (e.g. a world chunk).
+     * Only reads the map, so it can run off the render thread once the map is loaded.
+     *
+     * @param map The tiled map to extract collisions from
+     * @param spatialQuery The spatial query system to load shapes into
+     * @param originX World X of the map's bottom-left corner
+     * @param originY World Y of the map's bottom-left corner
+     * @return Number of shapes loaded
+     */
+    public static int loadFromTiledMap(TiledMap map, SpatialQuery spatialQuery, float originX, float originY) {
         int shapeCount = 0;
 
         for (int i = 0; i < map.getLayers().getCount(); i++) {
@@ -47,8 +61,8 @@ public class TiledMapCollisionLoader {
 
                         // Process each collision object for this tile
                         for (MapObject object : objects) {
-                            float worldX = x * tileWidth;
-                            float worldY = y * tileHeight;
+                            float worldX = originX + x * tileWidth;
+                            float worldY = originY + y * tileHeight;
 
                             if (object instanceof RectangleMapObject) {
                                 Rectangle rect = ((RectangleMapObject) object).getRectangle();
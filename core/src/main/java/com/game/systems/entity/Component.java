@@ -16,6 +16,15 @@ public interface Component {
      */
     default void onAttach() {}
 
+    /**
+     * Called when component is added to an entity, with the entity.
+     * Defaults to onAttach(); override to keep a reference to the owner or its components.
+     * @param owner The entity the component was added to
+     */
+    default void onAttach(GameObject owner) {
+        onAttach();
+    }
+
     /**
      * Called when component is removed from an entity.
      */
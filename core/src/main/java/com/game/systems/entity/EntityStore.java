@@ -0,0 +1,219 @@
+package com.game.systems.entity;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Dense storage for game objects with stable handles.
+ *
+ * A handle packs a slot index and a generation. The slot is reused after removal with its
+ * generation bumped, so stale handles are detected instead of resolving to a different object.
+ * Objects are kept in a dense array and removed by swapping the last object into the hole,
+ * making add, remove and lookup O(1). Iteration order is therefore not insertion order.
+ *
+ * Each object remembers its handle (GameObject.getHandle()), so an object can live in
+ * only one store at a time.
+ */
+public class EntityStore<T extends GameObject> {
+    public static final int NO_HANDLE = -1;
+
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int GENERATION_MASK = (1 << (31 - INDEX_BITS)) - 1; // Keeps handles positive
+
+    // Dense storage
+    private Object[] dense;
+    private int[] denseToSlot;
+    private int size;
+
+    // Slot table
+    private int[] slotToDense;
+    private int[] generations;
+    private int slotCount;
+    private final IntArray freeSlots = new IntArray();
+
+    private final List<T> view = new AbstractList<T>() {
+        @Override
+        public T get(int index) {
+            return EntityStore.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
+
+    public EntityStore() {
+        this(64);
+    }
+
+    /**
+     * @param capacity Initial capacity
+     */
+    public EntityStore(int capacity) {
+        capacity = Math.max(1, capacity);
+        dense = new Object[capacity];
+        denseToSlot = new int[capacity];
+        slotToDense = new int[capacity];
+        generations = new int[capacity];
+    }
+
+    /**
+     * Adds an object.
+     * @param object The object (must not already be in a store)
+     * @return The object's handle
+     */
+    public int add(T object) {
+        int slot;
+        if (freeSlots.size > 0) {
+            slot = freeSlots.pop();
+        } else {
+            if (slotCount == INDEX_MASK) {
+                throw new IllegalStateException("EntityStore is full");
+            }
+            slot = slotCount++;
+            if (slot >= slotToDense.length) {
+                slotToDense = grow(slotToDense);
+                generations = grow(generations);
+            }
+        }
+
+        if (size == dense.length) {
+            Object[] grown = new Object[size * 2];
+            System.arraycopy(dense, 0, grown, 0, size);
+            dense = grown;
+            denseToSlot = grow(denseToSlot);
+        }
+
+        int index = size++;
+        dense[index] = object;
+        denseToSlot[index] = slot;
+        slotToDense[slot] = index;
+
+        int handle = (generations[slot] << INDEX_BITS) | slot;
+        object.setHandle(handle);
+        return handle;
+    }
+
+    /**
+     * Removes the object a handle points to.
+     * @param handle The handle
+     * @return The removed object, or null if the handle was stale
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(int handle) {
+        if (!isValid(handle)) {
+            return null;
+        }
+
+        int slot = handle & INDEX_MASK;
+        int index = slotToDense[slot];
+        T removed = (T) dense[index];
+
+        // Swap the last object into the hole
+        int last = --size;
+        if (index != last) {
+            dense[index] = dense[last];
+            denseToSlot[index] = denseToSlot[last];
+            slotToDense[denseToSlot[index]] = index;
+        }
+        dense[last] = null;
+
+        generations[slot] = (generations[slot] + 1) & GENERATION_MASK;
+        freeSlots.add(slot);
+        removed.setHandle(NO_HANDLE);
+        return removed;
+    }
+
+    /**
+     * Removes an object using its stored handle.
+     * @param object The object
+     * @return True if the object was in this store
+     */
+    public boolean remove(T object) {
+        int handle = object.getHandle();
+        if (!isValid(handle) || dense[slotToDense[handle & INDEX_MASK]] != object) {
+            return false;
+        }
+        remove(handle);
+        return true;
+    }
+
+    /**
+     * Checks whether a handle still points to a live object.
+     */
+    public boolean isValid(int handle) {
+        if (handle < 0) {
+            return false;
+        }
+        int slot = handle & INDEX_MASK;
+        return slot < slotCount && generations[slot] == (handle >>> INDEX_BITS);
+    }
+
+    /**
+     * Gets the object a handle points to.
+     * @param handle The handle
+     * @return The object, or null if the handle is stale
+     */
+    @SuppressWarnings("unchecked")
+    public T resolve(int handle) {
+        return isValid(handle) ? (T) dense[slotToDense[handle & INDEX_MASK]] : null;
+    }
+
+    /**
+     * Checks whether an object is in this store.
+     */
+    public boolean contains(T object) {
+        int handle = object.getHandle();
+        return isValid(handle) && dense[slotToDense[handle & INDEX_MASK]] == object;
+    }
+
+    /**
+     * Gets an object by dense index (0 to size()-1), for iteration.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        return (T) dense[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all objects. Outstanding handles become stale.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            int slot = denseToSlot[i];
+            generations[slot] = (generations[slot] + 1) & GENERATION_MASK;
+            freeSlots.add(slot);
+            ((GameObject) dense[i]).setHandle(NO_HANDLE);
+            dense[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Gets a read-only list view over the dense storage (no copy).
+     */
+    public List<T> asList() {
+        return view;
+    }
+
+    private static int[] grow(int[] array) {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
@@ -12,6 +12,9 @@ public class GameObject {
     private Map<Class<? extends Component>, Component> components;
     private List<Component> componentList;
     private boolean active;
+    private int handle = EntityStore.NO_HANDLE;
+    private boolean spawnQueued;   // Waiting in a world's spawn queue
+    private boolean despawnQueued; // Waiting in a world's despawn queue
 
     public GameObject() {
         this.components = new HashMap<>();
@@ -25,7 +28,7 @@ public class GameObject {
     public <T extends Component> void addComponent(T component) {
         components.put(component.getClass(), component);
         componentList.add(component);
-        component.onAttach();
+        component.onAttach(this);
     }
 
     /**
@@ -79,4 +82,44 @@ public class GameObject {
     public void setActive(boolean active) {
         this.active = active;
     }
+
+    /**
+     * Gets this object's handle in the EntityStore that holds it.
+     * @return The handle, or EntityStore.NO_HANDLE if not stored
+     */
+    public int getHandle() {
+        return handle;
+    }
+
+    void setHandle(int handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Checks whether this object is queued to be spawned at the next frame boundary.
+     */
+    public boolean isSpawnQueued() {
+        return spawnQueued;
+    }
+
+    /**
+     * Marks this object as queued (or no longer queued) to be spawned. Set by the world.
+     */
+    public void setSpawnQueued(boolean spawnQueued) {
+        this.spawnQueued = spawnQueued;
+    }
+
+    /**
+     * Checks whether this object is queued to be despawned at the next frame boundary.
+     */
+    public boolean isDespawnQueued() {
+        return despawnQueued;
+    }
+
+    /**
+     * Marks this object as queued (or no longer queued) to be despawned. Set by the world.
+     */
+    public void setDespawnQueued(boolean despawnQueued) {
+        this.despawnQueued = despawnQueued;
+    }
 }
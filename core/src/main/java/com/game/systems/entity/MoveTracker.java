@@ -0,0 +1,91 @@
+package com.game.systems.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the objects whose Transform changed during a tick.
+ *
+ * Tracked transforms report their owner on the first change after their dirty bit was cleared,
+ * so each object appears at most once and objects that stand still cost nothing. Systems that
+ * keep spatial state (broadphase, triggers) walk this list instead of every object.
+ *
+ * Changes made between ticks (teleports on level load, editor moves) land in the next tick's
+ * list, since the list is only cleared by endTick(). Each listed Transform knows its slot, so
+ * untracking is a swap-remove.
+ */
+public class MoveTracker {
+    private final List<GameObject> moved = new ArrayList<>();
+    private final List<GameObject> movedView = Collections.unmodifiableList(moved);
+    private final List<Transform> movedTransforms = new ArrayList<>(); // Parallel to moved
+
+    /**
+     * Starts tracking an object's Transform. The object is listed as moved once so systems
+     * pick up its initial position.
+     * @param object The object (ignored without a Transform)
+     */
+    public void track(GameObject object) {
+        Transform transform = object.getComponent(Transform.class);
+        if (transform == null) return;
+
+        transform.setTracker(this);
+        if (!transform.isDirty()) {
+            transform.setPosition(transform.getX(), transform.getY()); // Marks dirty and reports
+        } else {
+            onMoved(transform);
+        }
+    }
+
+    /**
+     * Stops tracking an object and drops it from this tick's list.
+     */
+    public void untrack(GameObject object) {
+        Transform transform = object.getComponent(Transform.class);
+        if (transform == null) return;
+
+        transform.setTracker(null);
+        transform.clearDirty();
+        int index = transform.getMovedSlot();
+        if (index < 0) return;
+
+        transform.setMovedSlot(-1);
+        int last = movedTransforms.size() - 1;
+        if (index != last) {
+            Transform moving = movedTransforms.get(last);
+            moving.setMovedSlot(index);
+            movedTransforms.set(index, moving);
+            moved.set(index, moved.get(last));
+        }
+        moved.remove(last);
+        movedTransforms.remove(last);
+    }
+
+    void onMoved(Transform transform) {
+        transform.setMovedSlot(movedTransforms.size());
+        moved.add(transform.getOwner());
+        movedTransforms.add(transform);
+    }
+
+    /**
+     * Gets the objects that moved since the last endTick().
+     * @return Read-only view in the order of their first change (an untracked object's slot
+     *         is taken by the last one)
+     */
+    public List<GameObject> getMoved() {
+        return movedView;
+    }
+
+    /**
+     * Clears the dirty bits and the list. Call once all systems have used this tick's list.
+     */
+    public void endTick() {
+        for (int i = 0; i < movedTransforms.size(); i++) {
+            Transform transform = movedTransforms.get(i);
+            transform.clearDirty();
+            transform.setMovedSlot(-1);
+        }
+        moved.clear();
+        movedTransforms.clear();
+    }
+}
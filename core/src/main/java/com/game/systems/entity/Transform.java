@@ -5,11 +5,21 @@ import com.badlogic.gdx.math.Vector2;
 /**
  * Transform component - position, rotation, scale.
  * Completely standalone and reusable.
+ *
+ * Every change goes through the setters, which bump a version counter; caches derived from
+ * the transform (e.g. collider bounds) compare versions instead of recomputing every call.
+ * The first change after the dirty bit is cleared also reports the owner to a MoveTracker
+ * (if one is set), which collects the objects that moved this tick.
  */
 public class Transform implements Component {
     private Vector2 position;
     private float rotation; // in degrees
     private Vector2 scale;
+    private int version;
+    private boolean dirty;
+    private GameObject owner;
+    private MoveTracker tracker;
+    private int movedSlot = -1; // Index in the tracker's moved list, -1 when not listed
 
     public Transform() {
         this.position = new Vector2();
@@ -22,20 +32,27 @@ public class Transform implements Component {
         this.position.set(x, y);
     }
 
+    /**
+     * Gets the position. Treat it as read-only: change it with setPosition() or translate()
+     * so the version is bumped.
+     */
     public Vector2 getPosition() {
         return position;
     }
 
     public void setPosition(float x, float y) {
         position.set(x, y);
+        markChanged();
     }
 
     public void setPosition(Vector2 pos) {
         position.set(pos);
+        markChanged();
     }
 
     public void translate(float dx, float dy) {
         position.add(dx, dy);
+        markChanged();
     }
 
     public float getX() {
@@ -52,6 +69,7 @@ public class Transform implements Component {
 
     public void setRotation(float rotation) {
         this.rotation = rotation;
+        markChanged();
     }
 
     public Vector2 getScale() {
@@ -60,9 +78,63 @@ public class Transform implements Component {
 
     public void setScale(float scaleX, float scaleY) {
         scale.set(scaleX, scaleY);
+        markChanged();
     }
 
     public void setScale(float uniformScale) {
         scale.set(uniformScale, uniformScale);
+        markChanged();
+    }
+
+    @Override
+    public void onAttach(GameObject owner) {
+        this.owner = owner;
+    }
+
+    private void markChanged() {
+        version++;
+        if (!dirty) {
+            dirty = true;
+            if (tracker != null && owner != null) {
+                tracker.onMoved(this);
+            }
+        }
+    }
+
+    /**
+     * Gets a counter that changes whenever the transform changes.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks whether the transform changed since the dirty bit was last cleared.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Clears the dirty bit; the next change is reported to the tracker again.
+     */
+    public void clearDirty() {
+        dirty = false;
+    }
+
+    public GameObject getOwner() {
+        return owner;
+    }
+
+    void setTracker(MoveTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    int getMovedSlot() {
+        return movedSlot;
+    }
+
+    void setMovedSlot(int movedSlot) {
+        this.movedSlot = movedSlot;
     }
 }
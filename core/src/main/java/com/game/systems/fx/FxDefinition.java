@@ -0,0 +1,267 @@
+package com.game.systems.fx;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Definition of a particle effect: its sprite sheet, how particles are emitted and how they move.
+ * Setters return this so definitions can be written as one chain.
+ * Frames are filled in when FxLibrary packs the sheets into its atlas.
+ */
+public class FxDefinition {
+    /**
+     * Where an effect's particles are drawn relative to the Y-sorted content.
+     */
+    public enum Layer {
+        GROUND,   // On the floor, under entities (magic circles, decals)
+        SORTED,   // Depth-sorted with entities by the particle's anchor Y
+        OVERHEAD  // Over entities, under roofs (slashes, floating text)
+    }
+
+    private final String name;
+    private final String sheetPath;
+    private final int frameWidth;
+    private final int frameHeight;
+    private Layer layer = Layer.SORTED;
+    private boolean randomFrame; // Each particle shows one random frame instead of playing them all
+
+    private int burstCount = 1;
+    private float emissionRate; // Particles per second while the emitter runs
+    private float duration;     // Emitter seconds; 0 = burst only, < 0 = until stopped
+    private float lifeMin = 0.5f;
+    private float lifeMax = 0.5f;
+    private float speedMin;
+    private float speedMax;
+    private float directionMin = 0f;
+    private float directionMax = 360f;
+    private float spread;       // Spawn radius around the emitter
+    private float gravity;      // Added to vertical speed per second (negative falls)
+    private float drag;         // Fraction of speed lost per second
+    private float spin;         // Degrees per second
+    private float startScale = 1f;
+    private float endScale = 1f;
+    private boolean fadeOut;
+    private TextureRegion[] frames;
+    int id = -1;
+
+    /**
+     * @param name Unique name (e.g. "hit_spark")
+     * @param sheetPath Sprite sheet path; frames are laid out in a single row
+     * @param frameWidth Width of one frame in pixels
+     * @param frameHeight Height of one frame in pixels
+     */
+    public FxDefinition(String name, String sheetPath, int frameWidth, int frameHeight) {
+        this.name = name;
+        this.sheetPath = sheetPath;
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+    }
+
+    public FxDefinition setLayer(Layer layer) {
+        this.layer = layer;
+        return this;
+    }
+
+    /**
+     * Makes each particle show one random frame (sheets of variants) instead of animating.
+     */
+    public FxDefinition setRandomFrame(boolean randomFrame) {
+        this.randomFrame = randomFrame;
+        return this;
+    }
+
+    /**
+     * Sets how many particles spawn when the effect starts.
+     */
+    public FxDefinition setBurst(int count) {
+        this.burstCount = count;
+        return this;
+    }
+
+    /**
+     * Makes the effect keep emitting after the burst.
+     * @param rate Particles per second
+     * @param duration Seconds to emit, or a negative value to emit until stopped
+     */
+    public FxDefinition setEmission(float rate, float duration) {
+        this.emissionRate = rate;
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * Sets the particle lifetime range in seconds. Animated frames play once over the lifetime.
+     */
+    public FxDefinition setLife(float min, float max) {
+        this.lifeMin = min;
+        this.lifeMax = max;
+        return this;
+    }
+
+    /**
+     * Sets the initial speed range in pixels per second.
+     */
+    public FxDefinition setSpeed(float min, float max) {
+        this.speedMin = min;
+        this.speedMax = max;
+        return this;
+    }
+
+    /**
+     * Sets the range of initial directions in degrees (0 = right, 90 = up).
+     */
+    public FxDefinition setDirection(float minDegrees, float maxDegrees) {
+        this.directionMin = minDegrees;
+        this.directionMax = maxDegrees;
+        return this;
+    }
+
+    public FxDefinition setSpread(float radius) {
+        this.spread = radius;
+        return this;
+    }
+
+    public FxDefinition setGravity(float gravity) {
+        this.gravity = gravity;
+        return this;
+    }
+
+    public FxDefinition setDrag(float drag) {
+        this.drag = drag;
+        return this;
+    }
+
+    public FxDefinition setSpin(float degreesPerSecond) {
+        this.spin = degreesPerSecond;
+        return this;
+    }
+
+    /**
+     * Scales particles from start to end over their lifetime.
+     */
+    public FxDefinition setScale(float start, float end) {
+        this.startScale = start;
+        this.endScale = end;
+        return this;
+    }
+
+    /**
+     * Fades particles out over their lifetime.
+     */
+    public FxDefinition setFadeOut(boolean fadeOut) {
+        this.fadeOut = fadeOut;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSheetPath() {
+        return sheetPath;
+    }
+
+    public int getFrameWidth() {
+        return frameWidth;
+    }
+
+    public int getFrameHeight() {
+        return frameHeight;
+    }
+
+    public Layer getLayer() {
+        return layer;
+    }
+
+    public boolean isRandomFrame() {
+        return randomFrame;
+    }
+
+    public int getBurstCount() {
+        return burstCount;
+    }
+
+    public float getEmissionRate() {
+        return emissionRate;
+    }
+
+    public float getDuration() {
+        return duration;
+    }
+
+    /**
+     * Checks whether the effect keeps emitting after its burst (needs an emitter).
+     */
+    public boolean isContinuous() {
+        return duration != 0f && emissionRate > 0f;
+    }
+
+    public float getLifeMin() {
+        return lifeMin;
+    }
+
+    public float getLifeMax() {
+        return lifeMax;
+    }
+
+    public float getSpeedMin() {
+        return speedMin;
+    }
+
+    public float getSpeedMax() {
+        return speedMax;
+    }
+
+    public float getDirectionMin() {
+        return directionMin;
+    }
+
+    public float getDirectionMax() {
+        return directionMax;
+    }
+
+    public float getSpread() {
+        return spread;
+    }
+
+    public float getGravity() {
+        return gravity;
+    }
+
+    public float getDrag() {
+        return drag;
+    }
+
+    public float getSpin() {
+        return spin;
+    }
+
+    public float getStartScale() {
+        return startScale;
+    }
+
+    public float getEndScale() {
+        return endScale;
+    }
+
+    public boolean isFadeOut() {
+        return fadeOut;
+    }
+
+    /**
+     * Gets the ID assigned by FxLibrary.register(), or -1 if not registered.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the frames, or null until the atlas is loaded.
+     */
+    public TextureRegion[] getFrames() {
+        return frames;
+    }
+
+    void setFrames(TextureRegion[] frames) {
+        this.frames = frames;
+    }
+}
@@ -0,0 +1,139 @@
+package com.game.systems.fx;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of particle effects, with their sprite sheets packed into one atlas.
+ * A sheet used by several effects is packed once.
+ */
+public class FxLibrary {
+    private static final int PAGE_SIZE = 1024;
+    private static final int PADDING = 2;
+
+    private static final List<FxDefinition> definitions = new ArrayList<>();
+    private static final Map<String, FxDefinition> definitionsByName = new HashMap<>();
+    private static PixmapPacker packer;
+    private static TextureAtlas atlas;
+
+    /**
+     * Registers the effects used by the game (sheets from FX/).
+     */
+    public static void registerDefaults() {
+        // Hits and impacts
+        register(new FxDefinition("hit_spark", "FX/Particle/Spark.png", 10, 8)
+            .setRandomFrame(true).setBurst(8).setLife(0.2f, 0.4f).setSpeed(40f, 90f).setDrag(4f).setFadeOut(true));
+        register(new FxDefinition("dust", "FX/Particle/RockGray.png", 16, 16)
+            .setRandomFrame(true).setBurst(4).setLife(0.3f, 0.5f).setSpeed(20f, 50f).setGravity(-120f)
+            .setScale(0.5f, 0.25f).setFadeOut(true));
+        register(new FxDefinition("explosion", "FX/Elemental/Explosion/SpriteSheet.png", 40, 40)
+            .setLife(0.5f, 0.5f));
+        register(new FxDefinition("slash", "FX/SlashFx/Slash/SpriteSheet.png", 32, 32)
+            .setLayer(FxDefinition.Layer.OVERHEAD).setLife(0.2f, 0.2f));
+
+        // Pickups and magic
+        register(new FxDefinition("pickup_sparkle", "FX/Magic/Circle/SpriteSheetSpark.png", 32, 32)
+            .setLayer(FxDefinition.Layer.OVERHEAD).setLife(0.36f, 0.36f).setScale(0.75f, 0.75f));
+        register(new FxDefinition("magic_circle", "FX/Magic/Circle/SpriteSheetWhite.png", 32, 32)
+            .setLayer(FxDefinition.Layer.GROUND).setLife(0.4f, 0.4f));
+
+        // Ambient
+        register(new FxDefinition("smoke", "FX/Smoke/Smoke/SpriteSheet.png", 32, 32)
+            .setLife(0.6f, 0.8f).setSpeed(5f, 12f).setDirection(80f, 100f).setFadeOut(true));
+        register(new FxDefinition("fire", "FX/Particle/Fire.png", 8, 12)
+            .setRandomFrame(true).setBurst(0).setEmission(12f, -1f).setLife(0.4f, 0.7f).setSpeed(10f, 20f)
+            .setDirection(80f, 100f).setSpread(3f).setScale(1f, 0.5f).setFadeOut(true));
+        register(new FxDefinition("leaves", "FX/Particle/Leaf.png", 12, 7)
+            .setRandomFrame(true).setBurst(6).setLife(0.6f, 1f).setSpeed(20f, 50f).setDirection(30f, 150f)
+            .setGravity(-80f).setSpin(180f).setFadeOut(true));
+    }
+
+    /**
+     * Registers an effect. Call load() afterwards so its sheet is in the atlas.
+     * @param definition The effect (names must be unique)
+     * @return The effect's ID
+     */
+    public static int register(FxDefinition definition) {
+        FxDefinition existing = definitionsByName.get(definition.getName());
+        if (existing != null) {
+            return existing.id;
+        }
+        definition.id = definitions.size();
+        definitions.add(definition);
+        definitionsByName.put(definition.getName(), definition);
+        return definition.id;
+    }
+
+    /**
+     * Packs the sheets of all registered effects into the atlas and splits their frames.
+     * Replaces any previously loaded atlas.
+     */
+    public static void load() {
+        disposeAtlas();
+        packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, PADDING, false);
+
+        for (FxDefinition definition : definitions) {
+            if (packer.getRect(definition.getSheetPath()) != null) continue; // Shared sheet
+            Pixmap sheet = new Pixmap(Gdx.files.internal(definition.getSheetPath()));
+            packer.pack(definition.getSheetPath(), sheet);
+            sheet.dispose();
+        }
+        atlas = packer.generateTextureAtlas(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest, false);
+
+        for (FxDefinition definition : definitions) {
+            TextureRegion region = atlas.findRegion(definition.getSheetPath());
+            definition.setFrames(region.split(definition.getFrameWidth(), definition.getFrameHeight())[0]);
+        }
+        System.out.println("FxLibrary: Packed " + definitions.size() + " effects into " +
+            atlas.getTextures().size + " page(s)");
+    }
+
+    /**
+     * Gets an effect by ID.
+     */
+    public static FxDefinition get(int id) {
+        return definitions.get(id);
+    }
+
+    /**
+     * Gets an effect by name.
+     * @return The effect, or null if not registered
+     */
+    public static FxDefinition get(String name) {
+        return definitionsByName.get(name);
+    }
+
+    public static int getDefinitionCount() {
+        return definitions.size();
+    }
+
+    /**
+     * Disposes the atlas. Registered effects are kept (without frames) until load() is called again.
+     */
+    public static void dispose() {
+        disposeAtlas();
+    }
+
+    private static void disposeAtlas() {
+        if (atlas != null) {
+            atlas.dispose();
+            atlas = null;
+        }
+        if (packer != null) {
+            packer.dispose();
+            packer = null;
+        }
+        for (FxDefinition definition : definitions) {
+            definition.setFrames(null);
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.game.systems.fx;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+import com.game.rendering.YSortRenderer;
+
+/**
+ * CPU particle system for visual effects (hit sparks, pickup sparkles, spells).
+ *
+ * Particles are rows in fixed-capacity parallel arrays, packed at the front and swap-removed
+ * when they die, so nothing is allocated while effects play. One-shot effects only spawn
+ * particles; continuous ones (fire, auras) also take an emitter slot, addressed by a handle
+ * that goes stale once the emitter is stopped and its slot reused.
+ *
+ * Rendering goes through YSortRenderer as a SortedSource: prepareRender() culls particles to
+ * the view and splits them by layer, then GROUND particles draw under the Y-sorted content,
+ * SORTED ones are depth-sorted with entities, and OVERHEAD ones draw over it.
+ *
+ * Effects use their own random generator, so they never change the gameplay random sequence
+ * that input replays depend on.
+ */
+public class FxSystem implements YSortRenderer.SortedSource {
+    public static final int DEFAULT_PARTICLE_CAPACITY = 8192;
+    public static final int DEFAULT_EMITTER_CAPACITY = 256;
+    private static final int SLOT_BITS = 16;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+    // Particles
+    private final int capacity;
+    private final float[] x;
+    private final float[] y;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private final float[] age;
+    private final float[] life;
+    private final float[] rotation;
+    private final float[] anchorY; // Emitter Y at spawn, used for depth sorting
+    private final int[] definition;
+    private final int[] frame;     // Fixed frame for random-frame effects, -1 to animate
+    private int count;
+
+    // Emitters
+    private final int emitterCapacity;
+    private final int[] emitterDefinition;
+    private final float[] emitterX;
+    private final float[] emitterY;
+    private final float[] emitterTime;
+    private final float[] emitterAccumulator; // Fractional particles owed
+    private final int[] emitterGeneration;
+    private final boolean[] emitterActive;
+    private final IntArray freeEmitters = new IntArray();
+    private int emitterCount;
+
+    // Visible particles per layer, rebuilt by prepareRender()
+    private final IntArray visibleGround = new IntArray();
+    private final IntArray visibleSorted = new IntArray();
+    private final IntArray visibleOverhead = new IntArray();
+
+    private final RandomXS128 random = new RandomXS128();
+    private int droppedCount;
+
+    public FxSystem() {
+        this(DEFAULT_PARTICLE_CAPACITY, DEFAULT_EMITTER_CAPACITY);
+    }
+
+    public FxSystem(int particleCapacity, int emitterCapacity) {
+        this.capacity = particleCapacity;
+        x = new float[particleCapacity];
+        y = new float[particleCapacity];
+        velocityX = new float[particleCapacity];
+        velocityY = new float[particleCapacity];
+        age = new float[particleCapacity];
+        life = new float[particleCapacity];
+        rotation = new float[particleCapacity];
+        anchorY = new float[particleCapacity];
+        definition = new int[particleCapacity];
+        frame = new int[particleCapacity];
+
+        this.emitterCapacity = emitterCapacity;
+        emitterDefinition = new int[emitterCapacity];
+        emitterX = new float[emitterCapacity];
+        emitterY = new float[emitterCapacity];
+        emitterTime = new float[emitterCapacity];
+        emitterAccumulator = new float[emitterCapacity];
+        emitterGeneration = new int[emitterCapacity];
+        emitterActive = new boolean[emitterCapacity];
+        for (int i = emitterCapacity - 1; i >= 0; i--) {
+            freeEmitters.add(i);
+        }
+    }
+
+    /**
+     * Starts an effect by name.
+     * @see #play(FxDefinition, float, float)
+     */
+    public int play(String name, float atX, float atY) {
+        FxDefinition fx = FxLibrary.get(name);
+        if (fx == null) {
+            System.out.println("FxSystem: Unknown effect " + name);
+            return -1;
+        }
+        return play(fx, atX, atY);
+    }
+
+    /**
+     * Starts an effect: spawns its burst and, for continuous effects, an emitter.
+     * @param fx The effect
+     * @param atX Effect center X
+     * @param atY Effect center Y (also the depth-sort Y of its particles)
+     * @return Emitter handle for continuous effects, otherwise -1
+     */
+    public int play(FxDefinition fx, float atX, float atY) {
+        for (int i = 0; i < fx.getBurstCount(); i++) {
+            spawn(fx, atX, atY);
+        }
+        if (!fx.isContinuous()) {
+            return -1;
+        }
+        if (freeEmitters.size == 0) {
+            droppedCount++;
+            return -1;
+        }
+
+        int slot = freeEmitters.pop();
+        emitterDefinition[slot] = fx.getId();
+        emitterX[slot] = atX;
+        emitterY[slot] = atY;
+        emitterTime[slot] = 0f;
+        emitterAccumulator[slot] = 0f;
+        emitterActive[slot] = true;
+        emitterCount++;
+        return (emitterGeneration[slot] << SLOT_BITS) | slot;
+    }
+
+    /**
+     * Moves a running emitter (e.g. an aura following its owner). Stale handles are ignored.
+     */
+    public void moveEmitter(int handle, float toX, float toY) {
+        int slot = resolveEmitter(handle);
+        if (slot < 0) return;
+        emitterX[slot] = toX;
+        emitterY[slot] = toY;
+    }
+
+    /**
+     * Stops an emitter. Its particles live out their lifetime. Stale handles are ignored.
+     */
+    public void stopEmitter(int handle) {
+        int slot = resolveEmitter(handle);
+        if (slot >= 0) {
+            releaseEmitter(slot);
+        }
+    }
+
+    /**
+     * Checks whether a handle still refers to a running emitter.
+     */
+    public boolean isPlaying(int handle) {
+        return resolveEmitter(handle) >= 0;
+    }
+
+    private int resolveEmitter(int handle) {
+        if (handle < 0) return -1;
+        int slot = handle & SLOT_MASK;
+        if (slot >= emitterCapacity || !emitterActive[slot] || emitterGeneration[slot] != handle >>> SLOT_BITS) {
+            return -1;
+        }
+        return slot;
+    }
+
+    private void releaseEmitter(int slot) {
+        emitterActive[slot] = false;
+        emitterGeneration[slot] = (emitterGeneration[slot] + 1) & 0x7FFF; // Handles stay non-negative
+        freeEmitters.add(slot);
+        emitterCount--;
+    }
+
+    private void spawn(FxDefinition fx, float atX, float atY) {
+        if (count >= capacity) {
+            droppedCount++;
+            return;
+        }
+
+        int i = count++;
+        float spread = fx.getSpread();
+        x[i] = spread > 0f ? atX + random.nextFloat() * spread * 2f - spread : atX;
+        y[i] = spread > 0f ? atY + random.nextFloat() * spread * 2f - spread : atY;
+        float speed = MathUtils.lerp(fx.getSpeedMin(), fx.getSpeedMax(), random.nextFloat());
+        float direction = MathUtils.lerp(fx.getDirectionMin(), fx.getDirectionMax(), random.nextFloat());
+        velocityX[i] = MathUtils.cosDeg(direction) * speed;
+        velocityY[i] = MathUtils.sinDeg(direction) * speed;
+        age[i] = 0f;
+        life[i] = MathUtils.lerp(fx.getLifeMin(), fx.getLifeMax(), random.nextFloat());
+        rotation[i] = fx.getSpin() != 0f ? random.nextFloat() * 360f : 0f;
+        anchorY[i] = atY;
+        definition[i] = fx.getId();
+
+        TextureRegion[] frames = fx.getFrames();
+        int frameCount = frames != null ? frames.length : 1;
+        frame[i] = fx.isRandomFrame() ? random.nextInt(frameCount) : -1;
+    }
+
+    /**
+     * Runs emitters and moves particles.
+     * @param delta Frame time in seconds
+     */
+    public void update(float delta) {
+        // Emitters
+        for (int slot = 0; slot < emitterCapacity; slot++) {
+            if (!emitterActive[slot]) continue;
+            FxDefinition fx = FxLibrary.get(emitterDefinition[slot]);
+
+            emitterTime[slot] += delta;
+            emitterAccumulator[slot] += fx.getEmissionRate() * delta;
+            while (emitterAccumulator[slot] >= 1f) {
+                emitterAccumulator[slot] -= 1f;
+                spawn(fx, emitterX[slot], emitterY[slot]);
+            }
+            if (fx.getDuration() > 0f && emitterTime[slot] >= fx.getDuration()) {
+                releaseEmitter(slot);
+            }
+        }
+
+        // Particles
+        int i = 0;
+        while (i < count) {
+            age[i] += delta;
+            if (age[i] >= life[i]) {
+                removeAt(i);
+                continue;
+            }
+
+            FxDefinition fx = FxLibrary.get(definition[i]);
+            if (fx.getGravity() != 0f) {
+                velocityY[i] += fx.getGravity() * delta;
+            }
+            if (fx.getDrag() > 0f) {
+                float keep = Math.max(0f, 1f - fx.getDrag() * delta);
+                velocityX[i] *= keep;
+                velocityY[i] *= keep;
+            }
+            x[i] += velocityX[i] * delta;
+            y[i] += velocityY[i] * delta;
+            rotation[i] += fx.getSpin() * delta;
+            i++;
+        }
+    }
+
+    private void removeAt(int index) {
+        int last = --count;
+        if (index == last) return;
+        x[index] = x[last];
+        y[index] = y[last];
+        velocityX[index] = velocityX[last];
+        velocityY[index] = velocityY[last];
+        age[index] = age[last];
+        life[index] = life[last];
+        rotation[index] = rotation[last];
+        anchorY[index] = anchorY[last];
+        definition[index] = definition[last];
+        frame[index] = frame[last];
+    }
+
+    /**
+     * Culls particles to the view and sorts them into layers. Call before the renderer draws.
+     */
+    public void prepareRender(float viewX, float viewY, float viewWidth, float viewHeight) {
+        visibleGround.clear();
+        visibleSorted.clear();
+        visibleOverhead.clear();
+        float viewMaxX = viewX + viewWidth;
+        float viewMaxY = viewY + viewHeight;
+
+        for (int i = 0; i < count; i++) {
+            FxDefinition fx = FxLibrary.get(definition[i]);
+            // Loose cull: the larger side covers rotation and scales up to 1
+            float extent = Math.max(fx.getFrameWidth(), fx.getFrameHeight());
+            if (x[i] + extent < viewX || x[i] - extent > viewMaxX ||
+                y[i] + extent < viewY || y[i] - extent > viewMaxY) {
+                continue;
+            }
+
+            switch (fx.getLayer()) {
+                case GROUND:
+                    visibleGround.add(i);
+                    break;
+                case OVERHEAD:
+                    visibleOverhead.add(i);
+                    break;
+                default:
+                    visibleSorted.add(i);
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public void renderBelow(SpriteBatch batch) {
+        drawAll(batch, visibleGround);
+    }
+
+    @Override
+    public int getSortedCount() {
+        return visibleSorted.size;
+    }
+
+    @Override
+    public float getSortY(int index) {
+        return anchorY[visibleSorted.get(index)];
+    }
+
+    @Override
+    public void renderSorted(SpriteBatch batch, int index) {
+        float color = batch.getPackedColor();
+        draw(batch, visibleSorted.get(index));
+        batch.setPackedColor(color);
+    }
+
+    @Override
+    public void renderAbove(SpriteBatch batch) {
+        drawAll(batch, visibleOverhead);
+    }
+
+    /**
+     * Draws all visible layers in order, for screens without a YSortRenderer.
+     * Call between batch.begin() and end(), after prepareRender().
+     */
+    public void render(SpriteBatch batch) {
+        drawAll(batch, visibleGround);
+        drawAll(batch, visibleSorted);
+        drawAll(batch, visibleOverhead);
+    }
+
+    private void drawAll(SpriteBatch batch, IntArray indices) {
+        if (indices.size == 0) return;
+        float color = batch.getPackedColor();
+        for (int i = 0; i < indices.size; i++) {
+            draw(batch, indices.get(i));
+        }
+        batch.setPackedColor(color);
+    }
+
+    private void draw(SpriteBatch batch, int i) {
+        FxDefinition fx = FxLibrary.get(definition[i]);
+        TextureRegion[] frames = fx.getFrames();
+        if (frames == null) return;
+
+        float t = age[i] / life[i];
+        int index = frame[i];
+        if (index < 0) {
+            index = Math.min(frames.length - 1, (int) (t * frames.length));
+        }
+        float scale = MathUtils.lerp(fx.getStartScale(), fx.getEndScale(), t);
+        float width = fx.getFrameWidth();
+        float height = fx.getFrameHeight();
+
+        batch.setColor(1f, 1f, 1f, fx.isFadeOut() ? 1f - t : 1f);
+        batch.draw(frames[index], x[i] - width / 2f, y[i] - height / 2f, width / 2f, height / 2f,
+                   width, height, scale, scale, rotation[i]);
+    }
+
+    /**
+     * Removes all particles and emitters (e.g. on level change). Emitter handles go stale.
+     */
+    public void clear() {
+        count = 0;
+        for (int slot = 0; slot < emitterCapacity; slot++) {
+            if (emitterActive[slot]) {
+                releaseEmitter(slot);
+            }
+        }
+        visibleGround.clear();
+        visibleSorted.clear();
+        visibleOverhead.clear();
+    }
+
+    public int getParticleCount() {
+        return count;
+    }
+
+    public int getParticleCapacity() {
+        return capacity;
+    }
+
+    public int getEmitterCount() {
+        return emitterCount;
+    }
+
+    /**
+     * Gets how many visible particles prepareRender() kept.
+     */
+    public int getVisibleCount() {
+        return visibleGround.size + visibleSorted.size + visibleOverhead.size;
+    }
+
+    /**
+     * Gets how many particles or emitters were refused because a pool was full.
+     */
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+}
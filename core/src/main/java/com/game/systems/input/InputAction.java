@@ -10,6 +10,7 @@ public enum InputAction {
     MOVE_DOWN,
     MOVE_LEFT,
     MOVE_RIGHT,
+    RUN,
 
     // Inventory
     OPEN_INVENTORY,
@@ -22,5 +23,6 @@ public enum InputAction {
     DEBUG_SPAWN_BAG,
     DEBUG_SPAWN_BAG2,
     DEBUG_SPAWN_BAG3,
-    DEBUG_TOGGLE
+    DEBUG_TOGGLE,
+    DEBUG_FIRE_PROJECTILE // Last, so recorded action bits keep their meaning
 }
@@ -1,24 +1,55 @@
 package com.game.systems.input;
 
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.IntArray;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * Manages input bindings and provides a centralized way to check input.
  * Supports rebindable keys.
+ *
+ * Key events arrive through the InputProcessor callbacks and are queued; update() drains the
+ * queue once per tick and publishes an InputSnapshot that all systems read. State is kept in
+ * primitive arrays indexed by key code and action ordinal, so a tick doesn't allocate or box.
+ * Add this manager to the game's InputMultiplexer.
+ *
+ * Ticks can be recorded with an InputRecorder and replayed from an InputReplay; while a replay
+ * is active, live key events are ignored and action states come from the log.
  */
-public class InputManager {
-    private final Map<InputAction, Integer> keyBindings;
-    private final Map<InputAction, Boolean> actionPressed;
-    private final Map<InputAction, Boolean> actionJustPressed;
+public class InputManager extends InputAdapter {
+    private static final int ACTION_COUNT = InputAction.values().length;
+    private static final int KEY_COUNT = Input.Keys.MAX_KEYCODE + 1;
+
+    // Bindings: primary key per action, and a bitmask of actions per key (supports alternate keys)
+    private final int[] primaryBindings = new int[ACTION_COUNT];
+    private final long[] keyActions = new long[KEY_COUNT];
+
+    // Key state built from events
+    private final boolean[] keyDown = new boolean[KEY_COUNT];
+    private final int[] actionKeyCount = new int[ACTION_COUNT];
+    private final IntArray eventQueue = new IntArray();
+    private int pendingMouseX;
+    private int pendingMouseY;
+
+    // Double-buffered snapshots
+    private InputSnapshot current = new InputSnapshot();
+    private InputSnapshot previous = new InputSnapshot();
+    private long tick;
+
+    // World-space mouse position
+    private Camera camera;
+    private final Vector3 unprojected = new Vector3();
+
+    // Recording / replay
+    private InputRecorder recorder;
+    private InputReplay replay;
 
     public InputManager() {
-        this.keyBindings = new HashMap<>();
-        this.actionPressed = new HashMap<>();
-        this.actionJustPressed = new HashMap<>();
+        Arrays.fill(primaryBindings, -1);
 
         // Set default key bindings
         setDefaultBindings();
@@ -33,6 +64,11 @@ public class InputManager {
         bind(InputAction.MOVE_DOWN, Input.Keys.S);
         bind(InputAction.MOVE_LEFT, Input.Keys.A);
         bind(InputAction.MOVE_RIGHT, Input.Keys.D);
+        addBinding(InputAction.MOVE_UP, Input.Keys.UP);
+        addBinding(InputAction.MOVE_DOWN, Input.Keys.DOWN);
+        addBinding(InputAction.MOVE_LEFT, Input.Keys.LEFT);
+        addBinding(InputAction.MOVE_RIGHT, Input.Keys.RIGHT);
+        bind(InputAction.RUN, Input.Keys.SHIFT_LEFT);
 
         // Inventory
         bind(InputAction.OPEN_INVENTORY, Input.Keys.B);
@@ -45,32 +81,215 @@ public class InputManager {
         bind(InputAction.DEBUG_SPAWN_BAG, Input.Keys.NUM_2);
         bind(InputAction.DEBUG_SPAWN_BAG2, Input.Keys.NUM_3);
         bind(InputAction.DEBUG_SPAWN_BAG3, Input.Keys.NUM_4);
+        bind(InputAction.DEBUG_FIRE_PROJECTILE, Input.Keys.NUM_5);
         bind(InputAction.DEBUG_TOGGLE, Input.Keys.F3);
     }
 
     /**
-     * Binds an action to a key.
+     * Binds an action to a key, replacing all of the action's existing keys.
      * @param action The input action
      * @param keyCode The key code (from Input.Keys)
      */
     public void bind(InputAction action, int keyCode) {
-        keyBindings.put(action, keyCode);
+        unbind(action);
+        addBinding(action, keyCode);
+    }
+
+    /**
+     * Adds an alternate key for an action, keeping existing keys.
+     * @param action The input action
+     * @param keyCode The key code (from Input.Keys)
+     */
+    public void addBinding(InputAction action, int keyCode) {
+        if (keyCode < 0 || keyCode >= KEY_COUNT) {
+            return;
+        }
+
+        int ordinal = action.ordinal();
+        if (primaryBindings[ordinal] < 0) {
+            primaryBindings[ordinal] = keyCode;
+        }
+        keyActions[keyCode] |= 1L << ordinal;
+        if (keyDown[keyCode]) {
+            actionKeyCount[ordinal]++;
+        }
+    }
+
+    private void unbind(InputAction action) {
+        int ordinal = action.ordinal();
+        long bit = 1L << ordinal;
+        for (int key = 0; key < KEY_COUNT; key++) {
+            keyActions[key] &= ~bit;
+        }
+        primaryBindings[ordinal] = -1;
+        actionKeyCount[ordinal] = 0;
     }
 
     /**
      * Updates input state. Should be called once per frame.
+     * Applies all queued events and publishes a new snapshot.
      */
     public void update() {
-        for (InputAction action : InputAction.values()) {
-            Integer keyCode = keyBindings.get(action);
-            if (keyCode != null) {
-                boolean wasPressed = actionPressed.getOrDefault(action, false);
-                boolean isPressed = Gdx.input.isKeyPressed(keyCode);
-
-                actionPressed.put(action, isPressed);
-                actionJustPressed.put(action, isPressed && !wasPressed);
+        InputSnapshot next = previous;
+        previous = current;
+        current = next;
+
+        for (int i = 0; i < ACTION_COUNT; i++) {
+            next.justPressed[i] = false;
+            next.justReleased[i] = false;
+        }
+
+        next.mouseX = pendingMouseX;
+        next.mouseY = pendingMouseY;
+
+        if (replay != null && replay.next()) {
+            applyReplay(next);
+            eventQueue.clear();
+        } else {
+            if (replay != null) {
+                System.out.println("InputManager: Replay finished after " + replay.getTick() + " ticks");
+                replay = null;
             }
+
+            // Apply queued key events in order, so a tap within one tick still counts as just pressed
+            for (int i = 0; i < eventQueue.size; i++) {
+                int event = eventQueue.get(i);
+                applyKey(event >> 1, (event & 1) != 0, next);
+            }
+            eventQueue.clear();
+
+            for (int i = 0; i < ACTION_COUNT; i++) {
+                next.pressed[i] = actionKeyCount[i] > 0;
+            }
+            updateMouseWorld(next);
+        }
+
+        next.moveX = axis(next, InputAction.MOVE_LEFT, InputAction.MOVE_RIGHT);
+        next.moveY = axis(next, InputAction.MOVE_DOWN, InputAction.MOVE_UP);
+        next.tick = ++tick;
+
+        if (recorder != null) {
+            recorder.record(mask(next.pressed), mask(next.justPressed), mask(next.justReleased),
+                            next.mouseWorldX, next.mouseWorldY);
+        }
+    }
+
+    private void applyReplay(InputSnapshot target) {
+        long pressed = replay.getPressedMask();
+        long justPressed = replay.getJustPressedMask();
+        long justReleased = replay.getJustReleasedMask();
+        for (int i = 0; i < ACTION_COUNT; i++) {
+            long bit = 1L << i;
+            target.pressed[i] = (pressed & bit) != 0;
+            target.justPressed[i] = (justPressed & bit) != 0;
+            target.justReleased[i] = (justReleased & bit) != 0;
+        }
+        target.mouseWorldX = replay.getMouseWorldX();
+        target.mouseWorldY = replay.getMouseWorldY();
+    }
+
+    private void updateMouseWorld(InputSnapshot target) {
+        if (camera == null) {
+            target.mouseWorldX = target.mouseX;
+            target.mouseWorldY = target.mouseY;
+            return;
         }
+        camera.unproject(unprojected.set(target.mouseX, target.mouseY, 0));
+        target.mouseWorldX = unprojected.x;
+        target.mouseWorldY = unprojected.y;
+    }
+
+    /**
+     * Packs per-action flags into a bit per action ordinal.
+     */
+    private static long mask(boolean[] flags) {
+        long mask = 0;
+        for (int i = 0; i < ACTION_COUNT; i++) {
+            if (flags[i]) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Sets the camera used to convert the mouse position to world coordinates.
+     * @param camera The world camera
+     */
+    public void setCamera(Camera camera) {
+        this.camera = camera;
+    }
+
+    /**
+     * Starts recording every following tick.
+     * @param recorder The recorder to write to
+     */
+    public void startRecording(InputRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Stops recording.
+     * @return The recorder that was active, or null
+     */
+    public InputRecorder stopRecording() {
+        InputRecorder stopped = recorder;
+        recorder = null;
+        return stopped;
+    }
+
+    /**
+     * Drives input from a log instead of live events until the log ends.
+     * @param replay The replay source
+     */
+    public void startReplay(InputReplay replay) {
+        this.replay = replay;
+    }
+
+    public boolean isRecording() {
+        return recorder != null;
+    }
+
+    public boolean isReplaying() {
+        return replay != null;
+    }
+
+    private void applyKey(int keyCode, boolean down, InputSnapshot target) {
+        if (keyDown[keyCode] == down) {
+            return; // Duplicate event
+        }
+        keyDown[keyCode] = down;
+
+        long actions = keyActions[keyCode];
+        while (actions != 0) {
+            int ordinal = Long.numberOfTrailingZeros(actions);
+            actions &= actions - 1;
+
+            if (down) {
+                if (actionKeyCount[ordinal]++ == 0) {
+                    target.justPressed[ordinal] = true;
+                }
+            } else if (actionKeyCount[ordinal] > 0) {
+                if (--actionKeyCount[ordinal] == 0) {
+                    target.justReleased[ordinal] = true;
+                }
+            }
+        }
+    }
+
+    private static float axis(InputSnapshot snapshot, InputAction negative, InputAction positive) {
+        float value = 0;
+        if (snapshot.pressed[negative.ordinal()]) value -= 1;
+        if (snapshot.pressed[positive.ordinal()]) value += 1;
+        return value;
+    }
+
+    /**
+     * Gets the snapshot for the current tick.
+     * @return The current snapshot (valid until the next update())
+     */
+    public InputSnapshot getSnapshot() {
+        return current;
     }
 
     /**
@@ -79,7 +298,7 @@ public class InputManager {
      * @return true if pressed
      */
     public boolean isPressed(InputAction action) {
-        return actionPressed.getOrDefault(action, false);
+        return current.isPressed(action);
     }
 
     /**
@@ -88,7 +307,7 @@ public class InputManager {
      * @return true if just pressed
      */
     public boolean isJustPressed(InputAction action) {
-        return actionJustPressed.getOrDefault(action, false);
+        return current.isJustPressed(action);
     }
 
     /**
@@ -97,7 +316,7 @@ public class InputManager {
      * @return The key code, or -1 if not bound
      */
     public int getBinding(InputAction action) {
-        return keyBindings.getOrDefault(action, -1);
+        return primaryBindings[action.ordinal()];
     }
 
     /**
@@ -117,9 +336,13 @@ public class InputManager {
      * Clears all bindings.
      */
     public void clearBindings() {
-        keyBindings.clear();
-        actionPressed.clear();
-        actionJustPressed.clear();
+        for (int i = 0; i < ACTION_COUNT; i++) {
+            primaryBindings[i] = -1;
+            actionKeyCount[i] = 0;
+        }
+        for (int key = 0; key < KEY_COUNT; key++) {
+            keyActions[key] = 0;
+        }
     }
 
     /**
@@ -129,4 +352,43 @@ public class InputManager {
         clearBindings();
         setDefaultBindings();
     }
+
+    // InputProcessor callbacks: only queue, state changes happen in update()
+
+    @Override
+    public boolean keyDown(int keycode) {
+        if (keycode >= 0 && keycode < KEY_COUNT) {
+            eventQueue.add(keycode << 1 | 1);
+        }
+        return false; // Never consume, other processors may need the key
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        if (keycode >= 0 && keycode < KEY_COUNT) {
+            eventQueue.add(keycode << 1);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean mouseMoved(int screenX, int screenY) {
+        pendingMouseX = screenX;
+        pendingMouseY = screenY;
+        return false;
+    }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        pendingMouseX = screenX;
+        pendingMouseY = screenY;
+        return false;
+    }
+
+    @Override
+    public boolean touchDragged(int screenX, int screenY, int pointer) {
+        pendingMouseX = screenX;
+        pendingMouseY = screenY;
+        return false;
+    }
 }
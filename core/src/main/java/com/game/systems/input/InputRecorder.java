@@ -0,0 +1,164 @@
+package com.game.systems.input;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Records per-tick input into a compact binary log that InputReplay can play back.
+ *
+ * Format (big endian):
+ * - Header: int MAGIC, byte VERSION, byte action count, long random seed, float tick delta
+ * - Runs: varint tick count, varlong pressed mask XOR previous pressed mask,
+ *   varlong just pressed mask, varlong just released mask,
+ *   zigzag varint mouse X delta, zigzag varint mouse Y delta (world units * MOUSE_SCALE)
+ * - End marker: varint 0
+ *
+ * Consecutive identical ticks collapse into one run, so idle stretches and held keys
+ * cost a few bytes regardless of length. The edge masks are stored as they were seen rather
+ * than derived from the pressed masks, since a tap or a quick release and re-press within
+ * one tick leaves the pressed state unchanged.
+ */
+public class InputRecorder {
+    public static final int MAGIC = 0x4A474952; // "JGIR"
+    public static final int VERSION = 2;
+    public static final float MOUSE_SCALE = 16f; // 1/16 world unit precision
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+    private final long seed;
+    private final float tickDelta;
+
+    // Current run
+    private long runPressed;
+    private long runJustPressed;
+    private long runJustReleased;
+    private int runMouseX;
+    private int runMouseY;
+    private int runLength;
+
+    // Last written values (runs are delta encoded against these)
+    private long writtenPressed;
+    private int writtenMouseX;
+    private int writtenMouseY;
+
+    private int tickCount;
+    private boolean finished;
+
+    /**
+     * @param seed Random seed the session was started with
+     * @param tickDelta Fixed timestep the session runs at
+     */
+    public InputRecorder(long seed, float tickDelta) {
+        this.seed = seed;
+        this.tickDelta = tickDelta;
+
+        DataOutputStream header = new DataOutputStream(buffer);
+        try {
+            header.writeInt(MAGIC);
+            header.writeByte(VERSION);
+            header.writeByte(InputAction.values().length);
+            header.writeLong(seed);
+            header.writeFloat(tickDelta);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write input log header", e);
+        }
+    }
+
+    /**
+     * Records one tick. Masks have one bit per action ordinal.
+     * @param pressed Actions held at the end of the tick
+     * @param justPressed Actions that went down this tick
+     * @param justReleased Actions that went up this tick
+     * @param mouseWorldX Mouse X in world units
+     * @param mouseWorldY Mouse Y in world units
+     */
+    public void record(long pressed, long justPressed, long justReleased, float mouseWorldX, float mouseWorldY) {
+        if (finished) {
+            return;
+        }
+
+        int mouseX = Math.round(mouseWorldX * MOUSE_SCALE);
+        int mouseY = Math.round(mouseWorldY * MOUSE_SCALE);
+
+        if (runLength > 0 && pressed == runPressed && justPressed == runJustPressed &&
+            justReleased == runJustReleased && mouseX == runMouseX && mouseY == runMouseY) {
+            runLength++;
+        } else {
+            flushRun();
+            runPressed = pressed;
+            runJustPressed = justPressed;
+            runJustReleased = justReleased;
+            runMouseX = mouseX;
+            runMouseY = mouseY;
+            runLength = 1;
+        }
+        tickCount++;
+    }
+
+    private void flushRun() {
+        if (runLength == 0) {
+            return;
+        }
+
+        writeVarLong(runLength);
+        writeVarLong(runPressed ^ writtenPressed);
+        writeVarLong(runJustPressed);
+        writeVarLong(runJustReleased);
+        writeVarLong(zigZag(runMouseX - writtenMouseX));
+        writeVarLong(zigZag(runMouseY - writtenMouseY));
+
+        writtenPressed = runPressed;
+        writtenMouseX = runMouseX;
+        writtenMouseY = runMouseY;
+        runLength = 0;
+    }
+
+    /**
+     * Ends the recording and returns the encoded log.
+     * @return The log bytes
+     */
+    public byte[] finish() {
+        if (!finished) {
+            flushRun();
+            writeVarLong(0); // End marker
+            finished = true;
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Ends the recording and writes it to a file.
+     * @param file The target file
+     */
+    public void save(FileHandle file) {
+        byte[] bytes = finish();
+        file.writeBytes(bytes, false);
+        System.out.println("InputRecorder: Saved " + tickCount + " ticks (" + bytes.length + " bytes) to " + file.path());
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.write((int) value);
+    }
+
+    private static long zigZag(int value) {
+        return ((long) value << 1) ^ ((long) value >> 63);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public float getTickDelta() {
+        return tickDelta;
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+}
@@ -0,0 +1,166 @@
+package com.game.systems.input;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Plays back an input log written by InputRecorder, one tick at a time.
+ * The game should run at getTickDelta() and seed its random generator with getSeed()
+ * for the replay to reproduce the recorded session.
+ */
+public class InputReplay {
+    private final byte[] data;
+    private int position;
+
+    private final long seed;
+    private final float tickDelta;
+
+    private long pressedMask;
+    private long justPressedMask;
+    private long justReleasedMask;
+    private int mouseX;
+    private int mouseY;
+    private long remainingInRun;
+    private int tick;
+    private boolean finished;
+
+    /**
+     * Parses a log.
+     * @param data The log bytes
+     * @throws IllegalArgumentException if the data is not an input log of a supported version
+     */
+    public InputReplay(byte[] data) {
+        this.data = data;
+
+        if (data.length < 18 || readInt() != InputRecorder.MAGIC) {
+            throw new IllegalArgumentException("Not an input log");
+        }
+        int version = data[position++];
+        if (version != InputRecorder.VERSION) {
+            throw new IllegalArgumentException("Unsupported input log version: " + version);
+        }
+        int actionCount = data[position++];
+        if (actionCount != InputAction.values().length) {
+            System.out.println("InputReplay: Warning - log has " + actionCount + " actions, game has " +
+                               InputAction.values().length);
+        }
+        this.seed = ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        this.tickDelta = Float.intBitsToFloat(readInt());
+    }
+
+    /**
+     * Loads a log from a file.
+     * @param file The log file
+     * @return The replay
+     */
+    public static InputReplay load(FileHandle file) {
+        return new InputReplay(file.readBytes());
+    }
+
+    /**
+     * Advances to the next tick.
+     * @return false once the log is exhausted
+     */
+    public boolean next() {
+        if (finished) {
+            return false;
+        }
+
+        if (remainingInRun == 0) {
+            long runLength = readVarLong();
+            if (runLength == 0) {
+                finished = true;
+                return false;
+            }
+            pressedMask ^= readVarLong();
+            justPressedMask = readVarLong();
+            justReleasedMask = readVarLong();
+            mouseX += unZigZag(readVarLong());
+            mouseY += unZigZag(readVarLong());
+            remainingInRun = runLength;
+        }
+
+        remainingInRun--;
+        tick++;
+        return true;
+    }
+
+    /**
+     * Checks if an action is held in the current tick.
+     * @param action The input action
+     * @return true if pressed
+     */
+    public boolean isPressed(InputAction action) {
+        return (pressedMask & (1L << action.ordinal())) != 0;
+    }
+
+    /**
+     * Gets the actions held at the end of the current tick (bit per action ordinal).
+     */
+    public long getPressedMask() {
+        return pressedMask;
+    }
+
+    /**
+     * Gets the actions that went down during the current tick.
+     */
+    public long getJustPressedMask() {
+        return justPressedMask;
+    }
+
+    /**
+     * Gets the actions that went up during the current tick.
+     */
+    public long getJustReleasedMask() {
+        return justReleasedMask;
+    }
+
+    public float getMouseWorldX() {
+        return mouseX / InputRecorder.MOUSE_SCALE;
+    }
+
+    public float getMouseWorldY() {
+        return mouseY / InputRecorder.MOUSE_SCALE;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public float getTickDelta() {
+        return tickDelta;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    private int readInt() {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        while (position < data.length) {
+            int b = data[position++] & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+        return 0; // Truncated log behaves like the end marker
+    }
+
+    private static int unZigZag(long value) {
+        return (int) ((value >>> 1) ^ -(value & 1));
+    }
+}
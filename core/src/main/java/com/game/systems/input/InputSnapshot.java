@@ -0,0 +1,106 @@
+package com.game.systems.input;
+
+/**
+ * Read-only view of the input state for one tick.
+ * Produced by InputManager.update(); every system reading input during a tick sees the same values.
+ *
+ * Snapshots are double buffered by the InputManager, so a snapshot is only valid until the
+ * next update(). Copy values out if they're needed longer.
+ */
+public class InputSnapshot {
+    private static final int ACTION_COUNT = InputAction.values().length;
+
+    final boolean[] pressed = new boolean[ACTION_COUNT];
+    final boolean[] justPressed = new boolean[ACTION_COUNT];
+    final boolean[] justReleased = new boolean[ACTION_COUNT];
+    float moveX;
+    float moveY;
+    int mouseX;
+    int mouseY;
+    float mouseWorldX;
+    float mouseWorldY;
+    long tick;
+
+    InputSnapshot() {
+    }
+
+    /**
+     * Checks if an action is held this tick.
+     * @param action The input action
+     * @return true if pressed
+     */
+    public boolean isPressed(InputAction action) {
+        return pressed[action.ordinal()];
+    }
+
+    /**
+     * Checks if an action went down this tick (also true for a tap released within the same tick).
+     * @param action The input action
+     * @return true if just pressed
+     */
+    public boolean isJustPressed(InputAction action) {
+        return justPressed[action.ordinal()];
+    }
+
+    /**
+     * Checks if an action went up this tick.
+     * @param action The input action
+     * @return true if just released
+     */
+    public boolean isJustReleased(InputAction action) {
+        return justReleased[action.ordinal()];
+    }
+
+    /**
+     * Horizontal movement axis from MOVE_LEFT/MOVE_RIGHT.
+     * @return -1 (left), 0 or 1 (right)
+     */
+    public float getMoveX() {
+        return moveX;
+    }
+
+    /**
+     * Vertical movement axis from MOVE_DOWN/MOVE_UP.
+     * @return -1 (down), 0 or 1 (up)
+     */
+    public float getMoveY() {
+        return moveY;
+    }
+
+    /**
+     * Mouse X in screen coordinates (origin top-left).
+     */
+    public int getMouseX() {
+        return mouseX;
+    }
+
+    /**
+     * Mouse Y in screen coordinates (origin top-left).
+     */
+    public int getMouseY() {
+        return mouseY;
+    }
+
+    /**
+     * Mouse X in world coordinates (unprojected through the camera set on the InputManager,
+     * or taken from the log during replay).
+     */
+    public float getMouseWorldX() {
+        return mouseWorldX;
+    }
+
+    /**
+     * Mouse Y in world coordinates.
+     */
+    public float getMouseWorldY() {
+        return mouseWorldY;
+    }
+
+    /**
+     * Gets the tick number this snapshot belongs to.
+     * @return Tick counter, starting at 1 for the first update
+     */
+    public long getTick() {
+        return tick;
+    }
+}
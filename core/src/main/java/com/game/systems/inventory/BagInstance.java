@@ -107,7 +107,7 @@ public class BagInstance {
     @Override
     public String toString() {
         return definition.getName() + " (" +
-               (container.getSize() - getAllItems().stream().filter(s -> s != null).count()) +
+               container.getEmptySlotCount() +
                " empty slots)";
     }
 }
@@ -4,26 +4,63 @@ import com.game.systems.item.ItemStack;
 import com.game.systems.item.ItemDefinition;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Base container for holding items in slots.
  * Used for both default inventory and bags.
+ *
+ * The container keeps a BitSet of free slots and a per-item-id index of total quantity
+ * and partially filled slots, so adds, counts and space checks don't scan every slot.
+ * Stacks mutated in place must be written back with setItem() to keep the index in sync.
  */
 public class InventoryContainer {
     private final List<ItemStack> slots;
     private final int size;
     private final ItemFilter filter;
+    private final List<SlotChangeListener> listeners;
+
+    // Slot index
+    private final BitSet freeSlots;
+    private final Map<String, ItemIndex> itemIndex;
+    private final String[] indexedItemIds;
+    private final int[] indexedQuantities;
+    private int totalQuantity;
+
+    /**
+     * Per-item-id bookkeeping: total quantity and slots that can still accept more.
+     */
+    private static class ItemIndex {
+        int quantity;
+        final BitSet partialSlots = new BitSet();
+    }
+
+    /**
+     * Listener notified whenever the contents of a single slot change.
+     * For in-place quantity changes (merging, splitting) oldStack and newStack are the same instance.
+     */
+    public interface SlotChangeListener {
+        void onSlotChanged(InventoryContainer container, int slotIndex, ItemStack oldStack, ItemStack newStack);
+    }
 
     public InventoryContainer(int size, ItemFilter filter) {
         this.size = size;
         this.filter = filter != null ? filter : ItemFilter.allowAll();
         this.slots = new ArrayList<>(size);
+        this.listeners = new ArrayList<>();
+        this.freeSlots = new BitSet(size);
+        this.itemIndex = new HashMap<>();
+        this.indexedItemIds = new String[size];
+        this.indexedQuantities = new int[size];
 
         // Initialize empty slots
         for (int i = 0; i < size; i++) {
             slots.add(null);
         }
+        freeSlots.set(0, size);
     }
 
     public InventoryContainer(int size) {
@@ -48,12 +85,15 @@ public class InventoryContainer {
 
         ItemStack remaining = stack.copy();
 
-        // First pass: try to merge with existing stacks
-        for (int i = 0; i < size; i++) {
-            ItemStack existing = slots.get(i);
-            if (existing != null && existing.canMergeWith(remaining) && !existing.isFull()) {
+        // First pass: merge into partially filled stacks of the same item
+        ItemIndex entry = itemIndex.get(remaining.getDefinition().getId());
+        if (entry != null) {
+            for (int i = entry.partialSlots.nextSetBit(0); i >= 0; i = entry.partialSlots.nextSetBit(i + 1)) {
+                ItemStack existing = slots.get(i);
                 int overflow = existing.add(remaining.getQuantity());
                 remaining.setQuantity(overflow);
+                updateIndex(i, existing);
+                fireSlotChanged(i, existing, existing);
 
                 if (remaining.isEmpty()) {
                     return null; // All items added
@@ -62,15 +102,16 @@ public class InventoryContainer {
         }
 
         // Second pass: fill empty slots
-        for (int i = 0; i < size; i++) {
-            if (slots.get(i) == null) {
-                int toAdd = Math.min(remaining.getQuantity(), remaining.getDefinition().getMaxStackSize());
-                slots.set(i, new ItemStack(remaining.getDefinition(), toAdd));
-                remaining.remove(toAdd);
-
-                if (remaining.isEmpty()) {
-                    return null; // All items added
-                }
+        for (int i = freeSlots.nextSetBit(0); i >= 0; i = freeSlots.nextSetBit(i + 1)) {
+            int toAdd = Math.min(remaining.getQuantity(), remaining.getDefinition().getMaxStackSize());
+            ItemStack placed = new ItemStack(remaining.getDefinition(), toAdd);
+            slots.set(i, placed);
+            remaining.remove(toAdd);
+            updateIndex(i, placed);
+            fireSlotChanged(i, null, placed);
+
+            if (remaining.isEmpty()) {
+                return null; // All items added
             }
         }
 
@@ -89,6 +130,10 @@ public class InventoryContainer {
         }
         ItemStack removed = slots.get(slotIndex);
         slots.set(slotIndex, null);
+        if (removed != null) {
+            updateIndex(slotIndex, null);
+            fireSlotChanged(slotIndex, removed, null);
+        }
         return removed;
     }
 
@@ -114,6 +159,8 @@ public class InventoryContainer {
         } else {
             // Split stack
             ItemStack removed = stack.split(quantity);
+            updateIndex(slotIndex, stack);
+            fireSlotChanged(slotIndex, stack, stack);
             return removed;
         }
     }
@@ -146,7 +193,9 @@ public class InventoryContainer {
             return false;
         }
 
-        slots.set(slotIndex, stack);
+        ItemStack old = slots.set(slotIndex, stack);
+        updateIndex(slotIndex, stack);
+        fireSlotChanged(slotIndex, old, stack);
         return true;
     }
 
@@ -164,12 +213,15 @@ public class InventoryContainer {
      * @return The slot index, or -1 if no empty slots
      */
     public int getFirstEmptySlot() {
-        for (int i = 0; i < size; i++) {
-            if (slots.get(i) == null) {
-                return i;
-            }
-        }
-        return -1;
+        return freeSlots.nextSetBit(0);
+    }
+
+    /**
+     * Gets the number of empty slots.
+     * @return The empty slot count
+     */
+    public int getEmptySlotCount() {
+        return freeSlots.cardinality();
     }
 
     /**
@@ -188,14 +240,13 @@ public class InventoryContainer {
         }
 
         // Check for stackable space
-        for (ItemStack existing : slots) {
-            if (existing != null && existing.canMergeWith(stack) && !existing.isFull()) {
-                return true;
-            }
+        ItemIndex entry = itemIndex.get(stack.getDefinition().getId());
+        if (entry != null && !entry.partialSlots.isEmpty()) {
+            return true;
         }
 
         // Check for empty slot
-        return getFirstEmptySlot() != -1;
+        return !freeSlots.isEmpty();
     }
 
     /**
@@ -203,12 +254,7 @@ public class InventoryContainer {
      * @return true if all slots are empty
      */
     public boolean isEmpty() {
-        for (ItemStack stack : slots) {
-            if (stack != null && !stack.isEmpty()) {
-                return false;
-            }
-        }
-        return true;
+        return totalQuantity == 0;
     }
 
     /**
@@ -216,12 +262,7 @@ public class InventoryContainer {
      * @return true if all slots are occupied
      */
     public boolean isFull() {
-        for (ItemStack stack : slots) {
-            if (stack == null) {
-                return false;
-            }
-        }
-        return true;
+        return freeSlots.isEmpty();
     }
 
     /**
@@ -230,13 +271,8 @@ public class InventoryContainer {
      * @return The total quantity
      */
     public int countItem(String itemId) {
-        int count = 0;
-        for (ItemStack stack : slots) {
-            if (stack != null && stack.getDefinition().getId().equals(itemId)) {
-                count += stack.getQuantity();
-            }
-        }
-        return count;
+        ItemIndex entry = itemIndex.get(itemId);
+        return entry != null ? entry.quantity : 0;
     }
 
     /**
@@ -258,11 +294,76 @@ public class InventoryContainer {
             if (stack != null) {
                 removed.add(stack);
                 slots.set(i, null);
+                updateIndex(i, null);
+                fireSlotChanged(i, stack, null);
             }
         }
         return removed;
     }
 
+    /**
+     * Registers a listener for slot changes.
+     * @param listener The listener to add
+     */
+    public void addListener(SlotChangeListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Unregisters a slot change listener.
+     * @param listener The listener to remove
+     */
+    public void removeListener(SlotChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Updates the free-slot and item indexes for a slot.
+     * Uses the id and quantity recorded at the last update, so stacks changed in place are handled.
+     * @param slotIndex The slot index
+     * @param stack The stack now in the slot (can be null)
+     */
+    private void updateIndex(int slotIndex, ItemStack stack) {
+        String oldId = indexedItemIds[slotIndex];
+        if (oldId != null) {
+            ItemIndex oldEntry = itemIndex.get(oldId);
+            oldEntry.quantity -= indexedQuantities[slotIndex];
+            oldEntry.partialSlots.clear(slotIndex);
+            totalQuantity -= indexedQuantities[slotIndex];
+        }
+
+        if (stack == null) {
+            freeSlots.set(slotIndex);
+            indexedItemIds[slotIndex] = null;
+            indexedQuantities[slotIndex] = 0;
+            return;
+        }
+
+        String id = stack.getDefinition().getId();
+        ItemIndex entry = itemIndex.get(id);
+        if (entry == null) {
+            entry = new ItemIndex();
+            itemIndex.put(id, entry);
+        }
+        entry.quantity += stack.getQuantity();
+        if (!stack.isFull()) {
+            entry.partialSlots.set(slotIndex);
+        }
+        totalQuantity += stack.getQuantity();
+
+        freeSlots.clear(slotIndex);
+        indexedItemIds[slotIndex] = id;
+        indexedQuantities[slotIndex] = stack.getQuantity();
+    }
+
+    private void fireSlotChanged(int slotIndex, ItemStack oldStack, ItemStack newStack) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onSlotChanged(this, slotIndex, oldStack, newStack);
+        }
+    }
+
     public int getSize() {
         return size;
     }
@@ -0,0 +1,280 @@
+package com.game.systems.inventory;
+
+import com.game.systems.item.ItemDefinition;
+import com.game.systems.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plans a batch of inventory changes against a staged copy of one or more containers
+ * and applies them in one step.
+ *
+ * Nothing is written to the real containers until commit(). If a write is rejected
+ * while committing, every slot written so far is restored, so a batch either applies
+ * completely or not at all.
+ */
+public class InventoryTransaction {
+    private final List<StagedContainer> staged;
+    private boolean finished;
+
+    /**
+     * Staged copy of a container's slots plus the same free/partial indexes the container keeps,
+     * so planning an add only visits candidate slots.
+     */
+    private static class StagedContainer {
+        final InventoryContainer container;
+        final boolean placementTarget;
+        final ItemStack[] slots;
+        final BitSet freeSlots = new BitSet();
+        final Map<String, BitSet> partialSlots = new HashMap<>();
+        final BitSet changedSlots = new BitSet();
+
+        StagedContainer(InventoryContainer container, boolean placementTarget) {
+            this.container = container;
+            this.placementTarget = placementTarget;
+            this.slots = new ItemStack[container.getSize()];
+
+            for (int i = 0; i < slots.length; i++) {
+                ItemStack stack = container.getItem(i);
+                if (stack == null) {
+                    freeSlots.set(i);
+                } else {
+                    slots[i] = stack.copy();
+                    index(i, slots[i]);
+                }
+            }
+        }
+
+        void set(int slotIndex, ItemStack stack) {
+            ItemStack old = slots[slotIndex];
+            if (old != null) {
+                BitSet partial = partialSlots.get(old.getDefinition().getId());
+                if (partial != null) {
+                    partial.clear(slotIndex);
+                }
+            }
+
+            slots[slotIndex] = stack;
+            if (stack == null) {
+                freeSlots.set(slotIndex);
+            } else {
+                freeSlots.clear(slotIndex);
+                index(slotIndex, stack);
+            }
+            changedSlots.set(slotIndex);
+        }
+
+        private void index(int slotIndex, ItemStack stack) {
+            if (!stack.isFull()) {
+                String id = stack.getDefinition().getId();
+                BitSet partial = partialSlots.get(id);
+                if (partial == null) {
+                    partial = new BitSet();
+                    partialSlots.put(id, partial);
+                }
+                partial.set(slotIndex);
+            }
+        }
+    }
+
+    /**
+     * Record of a slot written during commit, used for rollback.
+     */
+    private static class AppliedWrite {
+        final InventoryContainer container;
+        final int slotIndex;
+        final ItemStack previous;
+
+        AppliedWrite(InventoryContainer container, int slotIndex, ItemStack previous) {
+            this.container = container;
+            this.slotIndex = slotIndex;
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * Creates a transaction that places added items into the given containers, in order.
+     * @param placementContainers Containers used by add(), in priority order
+     */
+    public InventoryTransaction(List<InventoryContainer> placementContainers) {
+        this.staged = new ArrayList<>(placementContainers.size());
+        for (InventoryContainer container : placementContainers) {
+            if (container != null && find(container) == null) {
+                staged.add(new StagedContainer(container, true));
+            }
+        }
+    }
+
+    /**
+     * Gets the planned contents of a slot.
+     * The returned stack is a staged copy; write it back with setItem() after changing it.
+     * @param container The container
+     * @param slotIndex The slot index
+     * @return The planned stack, or null if the slot is planned empty
+     */
+    public ItemStack getItem(InventoryContainer container, int slotIndex) {
+        StagedContainer stage = stage(container);
+        if (slotIndex < 0 || slotIndex >= stage.slots.length) {
+            return null;
+        }
+        return stage.slots[slotIndex];
+    }
+
+    /**
+     * Plans setting a slot. The container's filter is checked now, not at commit.
+     * @param container The container
+     * @param slotIndex The slot index
+     * @param stack The stack to place (can be null to clear)
+     * @return true if the change was planned
+     */
+    public boolean setItem(InventoryContainer container, int slotIndex, ItemStack stack) {
+        checkOpen();
+        StagedContainer stage = stage(container);
+        if (slotIndex < 0 || slotIndex >= stage.slots.length) {
+            return false;
+        }
+        if (stack != null && !container.getFilter().allows(stack.getDefinition())) {
+            return false;
+        }
+
+        stage.set(slotIndex, stack != null && !stack.isEmpty() ? stack.copy() : null);
+        return true;
+    }
+
+    /**
+     * Plans adding a stack across the placement containers.
+     * Partially filled stacks in every container are topped up first, then empty slots are used.
+     * @param stack The stack to add
+     * @return The part that couldn't be placed, or null if everything fits
+     */
+    public ItemStack add(ItemStack stack) {
+        if (stack == null || stack.isEmpty()) {
+            return null;
+        }
+
+        int leftover = add(stack.getDefinition(), stack.getQuantity());
+        return leftover > 0 ? new ItemStack(stack.getDefinition(), leftover) : null;
+    }
+
+    /**
+     * Plans adding a quantity of an item across the placement containers.
+     * Unlike add(ItemStack) the quantity may exceed the max stack size.
+     * @param definition The item definition
+     * @param quantity The quantity to add
+     * @return The quantity that couldn't be placed
+     */
+    public int add(ItemDefinition definition, int quantity) {
+        checkOpen();
+        String id = definition.getId();
+        int maxStack = definition.getMaxStackSize();
+
+        // First pass: top up partial stacks in every container
+        for (int c = 0; c < staged.size() && quantity > 0; c++) {
+            StagedContainer stage = staged.get(c);
+            if (!stage.placementTarget) continue;
+
+            BitSet partial = stage.partialSlots.get(id);
+            if (partial == null) continue;
+
+            for (int i = partial.nextSetBit(0); i >= 0 && quantity > 0; i = partial.nextSetBit(i + 1)) {
+                ItemStack existing = stage.slots[i];
+                quantity = existing.add(quantity);
+                stage.set(i, existing);
+            }
+        }
+
+        // Second pass: fill empty slots
+        for (int c = 0; c < staged.size() && quantity > 0; c++) {
+            StagedContainer stage = staged.get(c);
+            if (!stage.placementTarget || !stage.container.getFilter().allows(definition)) continue;
+
+            for (int i = stage.freeSlots.nextSetBit(0); i >= 0 && quantity > 0; i = stage.freeSlots.nextSetBit(i + 1)) {
+                int toPlace = Math.min(quantity, maxStack);
+                stage.set(i, new ItemStack(definition, toPlace));
+                quantity -= toPlace;
+            }
+        }
+
+        return quantity;
+    }
+
+    /**
+     * Applies all planned changes to the real containers.
+     * Slots whose planned contents match the current contents are left untouched.
+     * If any write is rejected, all writes made so far are undone.
+     * @return true if every change was applied
+     */
+    public boolean commit() {
+        checkOpen();
+        finished = true;
+
+        List<AppliedWrite> applied = new ArrayList<>();
+        for (StagedContainer stage : staged) {
+            for (int i = stage.changedSlots.nextSetBit(0); i >= 0; i = stage.changedSlots.nextSetBit(i + 1)) {
+                ItemStack current = stage.container.getItem(i);
+                ItemStack planned = stage.slots[i];
+                if (sameContents(current, planned)) {
+                    continue;
+                }
+
+                if (!stage.container.setItem(i, planned)) {
+                    System.out.println("InventoryTransaction: Write to slot " + i + " rejected, rolling back");
+                    rollback(applied);
+                    return false;
+                }
+                applied.add(new AppliedWrite(stage.container, i, current));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Discards all planned changes.
+     */
+    public void cancel() {
+        finished = true;
+    }
+
+    private void rollback(List<AppliedWrite> applied) {
+        for (int i = applied.size() - 1; i >= 0; i--) {
+            AppliedWrite write = applied.get(i);
+            write.container.setItem(write.slotIndex, write.previous);
+        }
+    }
+
+    private StagedContainer stage(InventoryContainer container) {
+        StagedContainer stage = find(container);
+        if (stage == null) {
+            // Containers outside the placement list can be edited directly but never receive add()
+            stage = new StagedContainer(container, false);
+            staged.add(stage);
+        }
+        return stage;
+    }
+
+    private StagedContainer find(InventoryContainer container) {
+        for (int i = 0; i < staged.size(); i++) {
+            if (staged.get(i).container == container) {
+                return staged.get(i);
+            }
+        }
+        return null;
+    }
+
+    private void checkOpen() {
+        if (finished) {
+            throw new IllegalStateException("Transaction already committed or cancelled");
+        }
+    }
+
+    private static boolean sameContents(ItemStack a, ItemStack b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.canMergeWith(b) && a.getQuantity() == b.getQuantity();
+    }
+}
@@ -1,9 +1,13 @@
 package com.game.systems.inventory;
 
+import com.game.systems.item.ItemDefinition;
 import com.game.systems.item.ItemStack;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Manages the player's complete inventory system.
@@ -14,6 +18,22 @@ public class PlayerInventory {
     private final InventoryContainer defaultInventory;
     private final List<BagInstance> bagSlots;
     private final int maxBagSlots;
+    private final List<InventoryListener> listeners;
+    private final InventoryContainer.SlotChangeListener containerForwarder;
+
+    /**
+     * Listener for fine-grained inventory changes.
+     * Slot changes are forwarded from the default inventory and every equipped bag.
+     */
+    public interface InventoryListener extends InventoryContainer.SlotChangeListener {
+        /**
+         * Called when a bag is equipped to or removed from a bag slot.
+         * @param bagSlotIndex The bag slot index
+         * @param oldBag The bag previously in the slot, or null
+         * @param newBag The bag now in the slot, or null
+         */
+        void onBagSlotChanged(int bagSlotIndex, BagInstance oldBag, BagInstance newBag);
+    }
 
     public PlayerInventory() {
         this(InventoryConfig.DEFAULT_INVENTORY_SIZE, InventoryConfig.MAX_BAG_SLOTS);
@@ -23,6 +43,9 @@ public class PlayerInventory {
         this.defaultInventory = new InventoryContainer(defaultSlots);
         this.maxBagSlots = maxBagSlots;
         this.bagSlots = new ArrayList<>(maxBagSlots);
+        this.listeners = new ArrayList<>();
+        this.containerForwarder = this::fireSlotChanged;
+        this.defaultInventory.addListener(containerForwarder);
 
         // Initialize bag slots as empty
         for (int i = 0; i < maxBagSlots; i++) {
@@ -62,6 +85,189 @@ public class PlayerInventory {
         return remaining;
     }
 
+    /**
+     * Adds several stacks in one planned batch.
+     * Partial stacks across the default inventory and all bags are topped up before empty slots are used.
+     * @param stacks The stacks to add
+     * @return The stacks that couldn't be added (empty if everything fit)
+     */
+    public List<ItemStack> addAll(List<ItemStack> stacks) {
+        List<ItemStack> leftovers = new ArrayList<>();
+        InventoryTransaction transaction = beginTransaction();
+
+        for (ItemStack stack : stacks) {
+            ItemStack remaining = transaction.add(stack);
+            if (remaining != null) {
+                leftovers.add(remaining);
+            }
+        }
+
+        if (!transaction.commit()) {
+            // Nothing was applied, so every stack is left over
+            leftovers.clear();
+            for (ItemStack stack : stacks) {
+                if (stack != null && !stack.isEmpty()) {
+                    leftovers.add(stack.copy());
+                }
+            }
+        }
+        return leftovers;
+    }
+
+    /**
+     * Adds several stacks only if all of them fit.
+     * @param stacks The stacks to add
+     * @return true if everything was added, false if nothing was changed
+     */
+    public boolean tryAddAll(List<ItemStack> stacks) {
+        InventoryTransaction transaction = beginTransaction();
+
+        for (ItemStack stack : stacks) {
+            if (transaction.add(stack) != null) {
+                transaction.cancel();
+                return false;
+            }
+        }
+        return transaction.commit();
+    }
+
+    /**
+     * Moves every stack out of a container into the default inventory and equipped bags.
+     * The source itself is never used as a destination. Stacks that don't fit stay in the source.
+     * @param source The container to empty
+     * @return true if the source ended up empty
+     */
+    public boolean moveAll(InventoryContainer source) {
+        List<InventoryContainer> destinations = getContainers();
+        destinations.remove(source);
+
+        InventoryTransaction transaction = new InventoryTransaction(destinations);
+        boolean movedEverything = true;
+
+        for (int i = 0; i < source.getSize(); i++) {
+            ItemStack stack = transaction.getItem(source, i);
+            if (stack == null) {
+                continue;
+            }
+
+            ItemStack remaining = transaction.add(stack);
+            transaction.setItem(source, i, remaining);
+            if (remaining != null) {
+                movedEverything = false;
+            }
+        }
+
+        return transaction.commit() && movedEverything;
+    }
+
+    /**
+     * Moves, merges or swaps the stack in one slot with another slot as a single change.
+     * Empty target: the stack is moved. Same item: stacks are merged and any overflow stays in the source.
+     * Different item: the stacks are swapped, provided both containers' filters allow it.
+     * @param from Source container
+     * @param fromSlot Source slot index
+     * @param to Target container
+     * @param toSlot Target slot index
+     * @return true if anything changed, false if the transfer was rejected (nothing is changed)
+     */
+    public boolean tryTransfer(InventoryContainer from, int fromSlot, InventoryContainer to, int toSlot) {
+        if (from == to && fromSlot == toSlot) {
+            return false;
+        }
+
+        InventoryTransaction transaction = new InventoryTransaction(new ArrayList<>());
+        ItemStack sourceStack = transaction.getItem(from, fromSlot);
+        ItemStack targetStack = transaction.getItem(to, toSlot);
+        if (sourceStack == null) {
+            return false;
+        }
+
+        boolean planned;
+        if (targetStack == null) {
+            planned = transaction.setItem(to, toSlot, sourceStack) &&
+                      transaction.setItem(from, fromSlot, null);
+        } else if (targetStack.canMergeWith(sourceStack)) {
+            if (targetStack.isFull()) {
+                return false;
+            }
+            int overflow = targetStack.add(sourceStack.getQuantity());
+            sourceStack.setQuantity(overflow);
+            planned = transaction.setItem(to, toSlot, targetStack) &&
+                      transaction.setItem(from, fromSlot, overflow > 0 ? sourceStack : null);
+        } else {
+            planned = transaction.setItem(to, toSlot, sourceStack) &&
+                      transaction.setItem(from, fromSlot, targetStack);
+        }
+
+        if (!planned) {
+            transaction.cancel();
+            return false;
+        }
+        return transaction.commit();
+    }
+
+    /**
+     * Merges all stacks of the same item and re-packs the default inventory and bags,
+     * ordered by item type and name. Bag filters are respected.
+     * @return true if the inventory was re-packed, false if it couldn't be (nothing is changed)
+     */
+    public boolean sortAndCompact() {
+        List<InventoryContainer> containers = getContainers();
+        InventoryTransaction transaction = new InventoryTransaction(containers);
+
+        // Total quantity per item, then clear every slot in the plan
+        Map<String, ItemDefinition> definitions = new LinkedHashMap<>();
+        Map<String, Integer> totals = new LinkedHashMap<>();
+        for (InventoryContainer container : containers) {
+            for (int i = 0; i < container.getSize(); i++) {
+                ItemStack stack = transaction.getItem(container, i);
+                if (stack != null) {
+                    String id = stack.getDefinition().getId();
+                    definitions.put(id, stack.getDefinition());
+                    totals.merge(id, stack.getQuantity(), Integer::sum);
+                    transaction.setItem(container, i, null);
+                }
+            }
+        }
+
+        List<ItemDefinition> sorted = new ArrayList<>(definitions.values());
+        sorted.sort(Comparator.comparing(ItemDefinition::getType)
+            .thenComparing(ItemDefinition::getName)
+            .thenComparing(ItemDefinition::getId));
+
+        for (ItemDefinition definition : sorted) {
+            if (transaction.add(definition, totals.get(definition.getId())) > 0) {
+                System.out.println("PlayerInventory: Cannot compact, " + definition.getName() + " doesn't fit");
+                transaction.cancel();
+                return false;
+            }
+        }
+        return transaction.commit();
+    }
+
+    /**
+     * Starts a transaction over the default inventory and all equipped bags.
+     * @return A new transaction
+     */
+    public InventoryTransaction beginTransaction() {
+        return new InventoryTransaction(getContainers());
+    }
+
+    /**
+     * Gets the default inventory followed by every equipped bag's container, in placement order.
+     * @return New list of containers
+     */
+    public List<InventoryContainer> getContainers() {
+        List<InventoryContainer> containers = new ArrayList<>(maxBagSlots + 1);
+        containers.add(defaultInventory);
+        for (BagInstance bag : bagSlots) {
+            if (bag != null) {
+                containers.add(bag.getContainer());
+            }
+        }
+        return containers;
+    }
+
     /**
      * Equips a bag to a bag slot.
      * @param bag The bag to equip
@@ -79,6 +285,8 @@ public class PlayerInventory {
         }
 
         bagSlots.set(slotIndex, bag);
+        bag.getContainer().addListener(containerForwarder);
+        fireBagSlotChanged(slotIndex, null, bag);
         return true;
     }
 
@@ -101,20 +309,13 @@ public class PlayerInventory {
 
         // Remove the bag from the slot
         bagSlots.set(slotIndex, null);
+        bag.getContainer().removeListener(containerForwarder);
+        fireBagSlotChanged(slotIndex, bag, null);
 
-        // Get all items from the bag
-        List<ItemStack> items = bag.clearContents();
-        List<ItemStack> itemsToDrop = new ArrayList<>();
-
-        // Try to redistribute items to default inventory and other bags
-        for (ItemStack item : items) {
-            if (item != null && !item.isEmpty()) {
-                ItemStack remaining = addItem(item);
-                if (remaining != null) {
-                    itemsToDrop.add(remaining);
-                }
-            }
-        }
+        // Redistribute items to default inventory and other bags in one batch,
+        // whatever is still in the bag afterwards has to be dropped
+        moveAll(bag.getContainer());
+        List<ItemStack> itemsToDrop = bag.clearContents();
 
         // Try to add the empty bag itself to inventory
         // TODO: This will need ItemStack support for bags (when we make bags as items)
@@ -167,23 +368,11 @@ public class PlayerInventory {
      * @return Empty slot count
      */
     public int getEmptySlotCount() {
-        int count = 0;
+        int count = defaultInventory.getEmptySlotCount();
 
-        // Count default inventory
-        for (int i = 0; i < defaultInventory.getSize(); i++) {
-            if (defaultInventory.isSlotEmpty(i)) {
-                count++;
-            }
-        }
-
-        // Count bag slots
         for (BagInstance bag : bagSlots) {
             if (bag != null) {
-                for (int i = 0; i < bag.getSlotCount(); i++) {
-                    if (bag.getItem(i) == null) {
-                        count++;
-                    }
-                }
+                count += bag.getContainer().getEmptySlotCount();
             }
         }
 
@@ -231,7 +420,17 @@ public class PlayerInventory {
      * @return true if no space anywhere
      */
     public boolean isFull() {
-        return getEmptySlotCount() == 0;
+        if (!defaultInventory.isFull()) {
+            return false;
+        }
+
+        for (BagInstance bag : bagSlots) {
+            if (bag != null && !bag.getContainer().isFull()) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -255,6 +454,36 @@ public class PlayerInventory {
         return allItems;
     }
 
+    /**
+     * Registers a listener for slot and bag changes.
+     * @param listener The listener to add
+     */
+    public void addListener(InventoryListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Unregisters an inventory listener.
+     * @param listener The listener to remove
+     */
+    public void removeListener(InventoryListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireSlotChanged(InventoryContainer container, int slotIndex, ItemStack oldStack, ItemStack newStack) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onSlotChanged(container, slotIndex, oldStack, newStack);
+        }
+    }
+
+    private void fireBagSlotChanged(int bagSlotIndex, BagInstance oldBag, BagInstance newBag) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onBagSlotChanged(bagSlotIndex, oldBag, newBag);
+        }
+    }
+
     public InventoryContainer getDefaultInventory() {
         return defaultInventory;
     }
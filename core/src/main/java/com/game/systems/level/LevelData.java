@@ -1,6 +1,11 @@
 package com.game.systems.level;
 
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -9,14 +14,26 @@ import java.util.Map;
  * Pure data structure representing a loaded level.
  * No dependencies on rendering, entities, or game logic.
  * Can be serialized/deserialized from various formats.
+ *
+ * Objects are indexed by type and by a uniform grid as they are added, so type and area
+ * queries don't scan the whole object list. Returned lists are read-only views.
  */
 public class LevelData {
+    private static final int INDEX_CELL_TILES = 8; // Spatial index cell size in tiles
+
     private int width;
     private int height;
     private int tileSize;
 
     private Map<String, SpawnPoint> spawnPoints;
     private List<LevelObject> objects;
+    private Map<String, List<LevelObject>> objectsByType;
+
+    // Spatial index: packed cell key -> indices into objects
+    private final IntMap<IntArray> cells;
+    private final float cellSize;
+    private int[] queryStamps;
+    private int queryStamp;
 
     public LevelData(int width, int height, int tileSize) {
         this.width = width;
@@ -24,6 +41,10 @@ public class LevelData {
         this.tileSize = tileSize;
         this.spawnPoints = new HashMap<>();
         this.objects = new ArrayList<>();
+        this.objectsByType = new HashMap<>();
+        this.cells = new IntMap<>();
+        this.cellSize = Math.max(1, tileSize) * INDEX_CELL_TILES;
+        this.queryStamps = new int[16];
     }
 
     public void addSpawnPoint(String name, float x, float y) {
@@ -31,7 +52,32 @@ public class LevelData {
     }
 
     public void addObject(LevelObject object) {
+        int index = objects.size();
         objects.add(object);
+        objectsByType.computeIfAbsent(object.getType(), k -> new ArrayList<>()).add(object);
+
+        // Insert into every grid cell the object overlaps
+        int minCellX = cellCoord(object.getX());
+        int maxCellX = cellCoord(object.getX() + object.getWidth());
+        int minCellY = cellCoord(object.getY());
+        int maxCellY = cellCoord(object.getY() + object.getHeight());
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                int key = cellKey(cx, cy);
+                IntArray cell = cells.get(key);
+                if (cell == null) {
+                    cell = new IntArray();
+                    cells.put(key, cell);
+                }
+                cell.add(index);
+            }
+        }
+
+        if (index >= queryStamps.length) {
+            int[] grown = new int[queryStamps.length * 2];
+            System.arraycopy(queryStamps, 0, grown, 0, queryStamps.length);
+            queryStamps = grown;
+        }
     }
 
     public SpawnPoint getSpawnPoint(String name) {
@@ -42,18 +88,69 @@ public class LevelData {
         return spawnPoints.get("player_spawn");
     }
 
+    /**
+     * Gets all objects.
+     * @return Read-only view of all objects
+     */
     public List<LevelObject> getObjects() {
-        return new ArrayList<>(objects);
+        return Collections.unmodifiableList(objects);
     }
 
+    /**
+     * Gets all objects of a type.
+     * @param type The object type
+     * @return Read-only view of the matching objects (empty if none)
+     */
     public List<LevelObject> getObjectsByType(String type) {
-        List<LevelObject> filtered = new ArrayList<>();
-        for (LevelObject obj : objects) {
-            if (obj.getType().equals(type)) {
-                filtered.add(obj);
+        List<LevelObject> filtered = objectsByType.get(type);
+        return filtered != null ? Collections.unmodifiableList(filtered) : Collections.emptyList();
+    }
+
+    /**
+     * Finds objects whose bounds overlap an area.
+     * Point objects (no size) match if the point lies inside the area.
+     * @param x Area X
+     * @param y Area Y
+     * @param areaWidth Area width
+     * @param areaHeight Area height
+     * @param type Only return objects of this type, or null for all types
+     * @param out List to add results to (not cleared)
+     * @return The out list
+     */
+    public List<LevelObject> queryObjects(float x, float y, float areaWidth, float areaHeight,
+                                          String type, List<LevelObject> out) {
+        queryStamp++;
+
+        int minCellX = cellCoord(x);
+        int maxCellX = cellCoord(x + areaWidth);
+        int minCellY = cellCoord(y);
+        int maxCellY = cellCoord(y + areaHeight);
+
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                IntArray cell = cells.get(cellKey(cx, cy));
+                if (cell == null) continue;
+
+                for (int i = 0; i < cell.size; i++) {
+                    int index = cell.get(i);
+                    if (queryStamps[index] == queryStamp) continue; // Already visited via another cell
+                    queryStamps[index] = queryStamp;
+
+                    LevelObject obj = objects.get(index);
+                    if (type != null && !type.equals(obj.getType())) continue;
+
+                    if (obj.getX() <= x + areaWidth && obj.getX() + obj.getWidth() >= x &&
+                        obj.getY() <= y + areaHeight && obj.getY() + obj.getHeight() >= y) {
+                        out.add(obj);
+                    }
+                }
             }
         }
-        return filtered;
+        return out;
+    }
+
+    public int getObjectCount() {
+        return objects.size();
     }
 
     public int getWidth() {
@@ -68,6 +165,14 @@ public class LevelData {
         return tileSize;
     }
 
+    private int cellCoord(float value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    private static int cellKey(int cellX, int cellY) {
+        return ((cellX & 0xFFFF) << 16) | (cellY & 0xFFFF);
+    }
+
     /**
      * Represents a spawn point in the level.
      */
@@ -89,15 +194,30 @@ public class LevelData {
 
     /**
      * Represents a generic object in the level (entity spawn, gateway, item, etc.)
+     *
+     * Properties are stored typed (int, float, bool, string) in small parallel arrays keyed by
+     * interned property IDs (see PropertyIds), so numbers are never boxed. The String-keyed
+     * getters look the ID up on each call; use the ID overloads in hot paths.
      */
     public static class LevelObject {
+        public static final byte TYPE_INT = 0;
+        public static final byte TYPE_FLOAT = 1;
+        public static final byte TYPE_BOOL = 2;
+        public static final byte TYPE_STRING = 3;
+
         private String type;
         private String name;
         private float x;
         private float y;
         private float width;
         private float height;
-        private Map<String, Object> properties;
+
+        // Typed property storage
+        private int[] propertyIds = new int[4];
+        private byte[] propertyTypes = new byte[4];
+        private long[] numericValues = new long[4]; // int value, float bits, or 0/1
+        private String[] stringValues;
+        private int propertyCount;
 
         public LevelObject(String type, String name, float x, float y) {
             this.type = type;
@@ -106,7 +226,6 @@ public class LevelData {
             this.y = y;
             this.width = 0;
             this.height = 0;
-            this.properties = new HashMap<>();
         }
 
         public void setSize(float width, float height) {
@@ -114,8 +233,48 @@ public class LevelData {
             this.height = height;
         }
 
+        /**
+         * Sets a property, storing it in the column matching the value's type.
+         * Integer/Long -> int, Float/Double -> float, Boolean -> bool, anything else -> string.
+         */
         public void setProperty(String key, Object value) {
-            properties.put(key, value);
+            int id = PropertyIds.intern(key);
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                setPropertyInt(id, ((Number) value).intValue());
+            } else if (value instanceof Number) {
+                setPropertyFloat(id, ((Number) value).floatValue());
+            } else if (value instanceof Boolean) {
+                setPropertyBool(id, (Boolean) value);
+            } else {
+                setPropertyString(id, value != null ? value.toString() : null);
+            }
+        }
+
+        public void setPropertyInt(int propertyId, int value) {
+            int slot = slotFor(propertyId);
+            propertyTypes[slot] = TYPE_INT;
+            numericValues[slot] = value;
+        }
+
+        public void setPropertyFloat(int propertyId, float value) {
+            int slot = slotFor(propertyId);
+            propertyTypes[slot] = TYPE_FLOAT;
+            numericValues[slot] = Float.floatToRawIntBits(value);
+        }
+
+        public void setPropertyBool(int propertyId, boolean value) {
+            int slot = slotFor(propertyId);
+            propertyTypes[slot] = TYPE_BOOL;
+            numericValues[slot] = value ? 1 : 0;
+        }
+
+        public void setPropertyString(int propertyId, String value) {
+            int slot = slotFor(propertyId);
+            propertyTypes[slot] = TYPE_STRING;
+            if (stringValues == null) {
+                stringValues = new String[propertyIds.length];
+            }
+            stringValues[slot] = value;
         }
 
         public String getType() { return type; }
@@ -125,21 +284,122 @@ public class LevelData {
         public float getWidth() { return width; }
         public float getHeight() { return height; }
 
+        public boolean hasProperty(String key) {
+            return indexOf(PropertyIds.find(key)) >= 0;
+        }
+
+        /**
+         * Gets a property as an object (boxes numbers; prefer the typed getters).
+         */
         public Object getProperty(String key) {
-            return properties.get(key);
+            int slot = indexOf(PropertyIds.find(key));
+            if (slot < 0) {
+                return null;
+            }
+            switch (propertyTypes[slot]) {
+                case TYPE_INT: return (int) numericValues[slot];
+                case TYPE_FLOAT: return Float.intBitsToFloat((int) numericValues[slot]);
+                case TYPE_BOOL: return numericValues[slot] != 0;
+                default: return stringValues[slot];
+            }
         }
 
         public String getPropertyString(String key, String defaultValue) {
-            Object value = properties.get(key);
-            return value != null ? value.toString() : defaultValue;
+            return getPropertyString(PropertyIds.find(key), defaultValue);
+        }
+
+        public String getPropertyString(int propertyId, String defaultValue) {
+            int slot = indexOf(propertyId);
+            if (slot < 0) {
+                return defaultValue;
+            }
+            switch (propertyTypes[slot]) {
+                case TYPE_INT: return String.valueOf((int) numericValues[slot]);
+                case TYPE_FLOAT: return String.valueOf(Float.intBitsToFloat((int) numericValues[slot]));
+                case TYPE_BOOL: return String.valueOf(numericValues[slot] != 0);
+                default: return stringValues[slot] != null ? stringValues[slot] : defaultValue;
+            }
         }
 
         public float getPropertyFloat(String key, float defaultValue) {
-            Object value = properties.get(key);
-            if (value instanceof Number) {
-                return ((Number) value).floatValue();
+            return getPropertyFloat(PropertyIds.find(key), defaultValue);
+        }
+
+        public float getPropertyFloat(int propertyId, float defaultValue) {
+            int slot = indexOf(propertyId);
+            if (slot < 0) {
+                return defaultValue;
+            }
+            switch (propertyTypes[slot]) {
+                case TYPE_INT: return (int) numericValues[slot];
+                case TYPE_FLOAT: return Float.intBitsToFloat((int) numericValues[slot]);
+                default: return defaultValue;
+            }
+        }
+
+        public int getPropertyInt(String key, int defaultValue) {
+            return getPropertyInt(PropertyIds.find(key), defaultValue);
+        }
+
+        public int getPropertyInt(int propertyId, int defaultValue) {
+            int slot = indexOf(propertyId);
+            if (slot < 0) {
+                return defaultValue;
             }
-            return defaultValue;
+            switch (propertyTypes[slot]) {
+                case TYPE_INT: return (int) numericValues[slot];
+                case TYPE_FLOAT: return (int) Float.intBitsToFloat((int) numericValues[slot]);
+                default: return defaultValue;
+            }
+        }
+
+        public boolean getPropertyBool(String key, boolean defaultValue) {
+            return getPropertyBool(PropertyIds.find(key), defaultValue);
+        }
+
+        public boolean getPropertyBool(int propertyId, boolean defaultValue) {
+            int slot = indexOf(propertyId);
+            if (slot < 0 || propertyTypes[slot] != TYPE_BOOL) {
+                return defaultValue;
+            }
+            return numericValues[slot] != 0;
+        }
+
+        public int getPropertyCount() {
+            return propertyCount;
+        }
+
+        private int indexOf(int propertyId) {
+            if (propertyId < 0) {
+                return -1;
+            }
+            for (int i = 0; i < propertyCount; i++) {
+                if (propertyIds[i] == propertyId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int slotFor(int propertyId) {
+            int slot = indexOf(propertyId);
+            if (slot >= 0) {
+                return slot;
+            }
+
+            if (propertyCount == propertyIds.length) {
+                int newLength = propertyCount * 2;
+                propertyIds = Arrays.copyOf(propertyIds, newLength);
+                propertyTypes = Arrays.copyOf(propertyTypes, newLength);
+                numericValues = Arrays.copyOf(numericValues, newLength);
+                if (stringValues != null) {
+                    stringValues = Arrays.copyOf(stringValues, newLength);
+                }
+            }
+
+            slot = propertyCount++;
+            propertyIds[slot] = propertyId;
+            return slot;
         }
     }
 }
@@ -0,0 +1,50 @@
+package com.game.systems.level;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns level object property names to small integer IDs.
+ * Look an ID up once (e.g. in a static field) and use the ID-based getters on
+ * LevelObject to avoid string hashing in hot paths.
+ */
+public class PropertyIds {
+    private static final Map<String, Integer> ids = new HashMap<>();
+    private static final List<String> names = new ArrayList<>();
+
+    /**
+     * Gets or assigns the ID for a property name.
+     * @param name The property name
+     * @return The property ID
+     */
+    public static synchronized int intern(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            ids.put(name, id);
+        }
+        return id;
+    }
+
+    /**
+     * Gets the ID of a property name without assigning a new one.
+     * @param name The property name
+     * @return The property ID, or -1 if the name has never been interned
+     */
+    public static synchronized int find(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Gets the name of a property ID.
+     * @param id The property ID
+     * @return The name, or null if unknown
+     */
+    public static synchronized String name(int id) {
+        return id >= 0 && id < names.size() ? names.get(id) : null;
+    }
+}
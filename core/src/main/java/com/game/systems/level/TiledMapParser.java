@@ -18,6 +18,18 @@ public class TiledMapParser {
      * @return Pure data representation of the level
      */
     public static LevelData parse(TiledMap map) {
+        return parse(map, 0, 0);
+    }
+
+    /**
+     * Parse a Tiled map placed at a world offset (e.g. a world chunk).
+     * Spawn points and objects are moved into world coordinates.
+     * @param map The tiled map to parse
+     * @param originX World X of the map's bottom-left corner
+     * @param originY World Y of the map's bottom-left corner
+     * @return Pure data representation of the level
+     */
+    public static LevelData parse(TiledMap map, float originX, float originY) {
         // Get dimensions from first tile layer
         TiledMapTileLayer firstLayer = getFirstTileLayer(map);
         if (firstLayer == null) {
@@ -33,7 +45,7 @@ public class TiledMapParser {
         // Parse entity/object layer
         MapLayer objectLayer = map.getLayers().get("Entities");
         if (objectLayer != null) {
-            parseObjects(objectLayer, levelData);
+            parseObjects(objectLayer, levelData, originX, originY);
         }
 
         return levelData;
@@ -42,16 +54,16 @@ public class TiledMapParser {
     /**
      * Parse objects from the Entities layer.
      */
-    private static void parseObjects(MapLayer layer, LevelData levelData) {
+    private static void parseObjects(MapLayer layer, LevelData levelData, float originX, float originY) {
         for (MapObject object : layer.getObjects()) {
             if (object.getName() == null) continue;
 
             String objectName = object.getName();
-            float x = object.getProperties().get("x", Float.class);
-            float y = object.getProperties().get("y", Float.class);
+            float x = originX + object.getProperties().get("x", Float.class);
+            float y = originY + object.getProperties().get("y", Float.class);
 
             // Handle spawn points
-            if (objectName.equals("player_spawn") || objectName.startsWith("spawn_")) {
+            if (isSpawnPointName(objectName)) {
                 levelData.addSpawnPoint(objectName, x, y);
             }
             // Handle other objects
@@ -79,6 +91,13 @@ public class TiledMapParser {
         }
     }
 
+    /**
+     * Checks whether an object name marks a spawn point ("player_spawn" or "spawn_...").
+     */
+    public static boolean isSpawnPointName(String objectName) {
+        return objectName.equals("player_spawn") || objectName.startsWith("spawn_");
+    }
+
     /**
      * Get the first tile layer from the map.
      */
@@ -0,0 +1,516 @@
+package com.game.systems.navigation;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntFloatMap;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntSet;
+
+import java.util.Arrays;
+
+/**
+ * Abstract graph for hierarchical pathfinding (HPA*) over a NavGrid.
+ *
+ * The grid is split into square clusters. Where a run of walkable cells crosses the border
+ * between two clusters, an entrance is placed (in the middle of a short run, at both ends of a
+ * long one) and its two border cells become graph nodes. Nodes of the same cluster are linked
+ * by the cost of the shortest path that stays inside the cluster.
+ *
+ * A route search runs A* over these nodes only, so a long request touches a few dozen nodes
+ * instead of every cell on the way. The route is a list of node cells that agents refine into
+ * cell paths one leg at a time.
+ *
+ * Grid edits mark the clusters they touch dirty; the next search rebuilds those clusters'
+ * entrances and the edges of them and their neighbors. Not thread-safe.
+ */
+public class ClusterGraph implements NavGrid.ChangeListener {
+    private static final float SQRT2 = 1.4142135f;
+    private static final float UNREACHABLE = Float.POSITIVE_INFINITY;
+    private static final int LONG_ENTRANCE = 6; // Runs at least this long get an entrance at each end
+
+    // Cluster-local step directions (E, NE, N, NW, W, SW, S, SE)
+    private static final int[] DIR_X = {1, 1, 0, -1, -1, -1, 0, 1};
+    private static final int[] DIR_Y = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final float[] DIR_COST = {1, SQRT2, 1, SQRT2, 1, SQRT2, 1, SQRT2};
+
+    private final NavGrid grid;
+    private final int clusterSize;
+    private final int clustersX;
+    private final int clustersY;
+    private final Cluster[] clusters;
+    private final boolean[] rebuildEdges;
+    private boolean anyDirty = true;
+
+    // Entrance cell pairs per border, (left or bottom cell, right or top cell)
+    private final IntArray[] verticalBorders;   // Between cluster (kx, ky) and (kx + 1, ky)
+    private final IntArray[] horizontalBorders; // Between cluster (kx, ky) and (kx, ky + 1)
+
+    // Dijkstra inside one cluster
+    private final float[] localCost;
+
+    // Route search state (abstract A*)
+    private final IntFloatMap routeCost = new IntFloatMap();
+    private final IntIntMap routeParent = new IntIntMap();
+    private final IntSet routeClosed = new IntSet();
+    private final FloatArray startCosts = new FloatArray();
+    private final FloatArray goalCosts = new FloatArray();
+    private int goalX;
+    private int goalY;
+    private int maxExpansions = 2048;
+    private int lastExpansions;
+
+    // Binary heap shared by both searches (never used by both at once)
+    private int[] heapNodes = new int[256];
+    private float[] heapKeys = new float[256];
+    private int heapSize;
+
+    private static final class Cluster {
+        final int minX;
+        final int minY;
+        final int maxX;
+        final int maxY;
+        final IntArray nodes = new IntArray();
+        float[] costs = new float[0]; // nodes.size x nodes.size, row-major
+        boolean dirty = true;
+
+        Cluster(int minX, int minY, int maxX, int maxY) {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+    }
+
+    /**
+     * Creates the graph and starts listening for grid edits. Clusters are built on the first search.
+     * @param grid The walkability grid
+     * @param clusterSize Cluster width and height in cells
+     */
+    public ClusterGraph(NavGrid grid, int clusterSize) {
+        this.grid = grid;
+        this.clusterSize = clusterSize;
+        this.clustersX = (grid.getWidth() + clusterSize - 1) / clusterSize;
+        this.clustersY = (grid.getHeight() + clusterSize - 1) / clusterSize;
+
+        clusters = new Cluster[clustersX * clustersY];
+        for (int ky = 0; ky < clustersY; ky++) {
+            for (int kx = 0; kx < clustersX; kx++) {
+                clusters[ky * clustersX + kx] = new Cluster(kx * clusterSize, ky * clusterSize,
+                    Math.min(grid.getWidth(), (kx + 1) * clusterSize) - 1,
+                    Math.min(grid.getHeight(), (ky + 1) * clusterSize) - 1);
+            }
+        }
+        rebuildEdges = new boolean[clusters.length];
+
+        verticalBorders = new IntArray[Math.max(0, clustersX - 1) * clustersY];
+        for (int i = 0; i < verticalBorders.length; i++) {
+            verticalBorders[i] = new IntArray();
+        }
+        horizontalBorders = new IntArray[clustersX * Math.max(0, clustersY - 1)];
+        for (int i = 0; i < horizontalBorders.length; i++) {
+            horizontalBorders[i] = new IntArray();
+        }
+
+        localCost = new float[clusterSize * clusterSize];
+        grid.addListener(this);
+    }
+
+    @Override
+    public void onCellsChanged(int minX, int minY, int maxX, int maxY) {
+        for (int ky = minY / clusterSize; ky <= maxY / clusterSize; ky++) {
+            for (int kx = minX / clusterSize; kx <= maxX / clusterSize; kx++) {
+                clusters[ky * clustersX + kx].dirty = true;
+            }
+        }
+        anyDirty = true;
+    }
+
+    /**
+     * Stops listening to the grid (when the navigation is thrown away).
+     */
+    public void detach() {
+        grid.removeListener(this);
+    }
+
+    /**
+     * Finds a route between two cells over the abstract graph.
+     * @param startX Start cell X
+     * @param startY Start cell Y
+     * @param targetX Goal cell X (should be walkable)
+     * @param targetY Goal cell Y
+     * @param out Receives the route's node cells (y * width + x), start excluded, goal included
+     * @return True if the goal is reachable within the expansion limit
+     */
+    public boolean findRoute(int startX, int startY, int targetX, int targetY, IntArray out) {
+        out.clear();
+        if (!grid.inBounds(startX, startY) || !grid.isWalkable(targetX, targetY)) {
+            return false;
+        }
+        rebuildDirty();
+
+        int width = grid.getWidth();
+        int start = startY * width + startX;
+        int goal = targetY * width + targetX;
+        if (start == goal) {
+            return true;
+        }
+
+        Cluster startCluster = clusterAt(startX, startY);
+        Cluster goalCluster = clusterAt(targetX, targetY);
+        goalX = targetX;
+        goalY = targetY;
+        lastExpansions = 0;
+
+        // Connect start and goal to the nodes of their clusters
+        searchCluster(startCluster, startX, startY);
+        copyNodeCosts(startCluster, startCosts);
+        float direct = startCluster == goalCluster ? localCostAt(startCluster, targetX, targetY) : UNREACHABLE;
+        searchCluster(goalCluster, targetX, targetY);
+        copyNodeCosts(goalCluster, goalCosts);
+
+        routeCost.clear();
+        routeParent.clear();
+        routeClosed.clear();
+        heapSize = 0;
+
+        routeCost.put(start, 0);
+        routeParent.put(start, -1);
+        push(start, 0);
+
+        while (heapSize > 0) {
+            int node = pop();
+            if (routeClosed.contains(node)) continue; // Stale heap entry
+            routeClosed.add(node);
+
+            if (node == goal) {
+                buildRoute(goal, out);
+                return true;
+            }
+            if (++lastExpansions > maxExpansions) {
+                return false;
+            }
+
+            if (node == start) {
+                // The start links to its cluster's nodes (and the goal), and may be a node itself
+                if (direct < UNREACHABLE) {
+                    relax(start, goal, direct);
+                }
+                for (int i = 0; i < startCluster.nodes.size; i++) {
+                    if (startCosts.get(i) < UNREACHABLE) {
+                        relax(start, startCluster.nodes.get(i), startCosts.get(i));
+                    }
+                }
+            }
+
+            int x = node % width;
+            int y = node / width;
+            float base = routeCost.get(node, 0);
+            Cluster cluster = clusterAt(x, y);
+            int index = cluster.nodes.indexOf(node);
+            if (index < 0) continue; // Not a node since the last rebuild
+            int count = cluster.nodes.size;
+
+            // Inside the cluster
+            for (int j = 0; j < count; j++) {
+                float cost = cluster.costs[index * count + j];
+                if (j != index && cost < UNREACHABLE) {
+                    relax(node, cluster.nodes.get(j), base + cost);
+                }
+            }
+            if (cluster == goalCluster && goalCosts.get(index) < UNREACHABLE) {
+                relax(node, goal, base + goalCosts.get(index));
+            }
+
+            // Across borders (entrance cells are orthogonal neighbors)
+            int kx = x / clusterSize;
+            int ky = y / clusterSize;
+            if (kx > 0) relaxCrossing(node, verticalBorders[ky * (clustersX - 1) + kx - 1], base);
+            if (kx < clustersX - 1) relaxCrossing(node, verticalBorders[ky * (clustersX - 1) + kx], base);
+            if (ky > 0) relaxCrossing(node, horizontalBorders[(ky - 1) * clustersX + kx], base);
+            if (ky < clustersY - 1) relaxCrossing(node, horizontalBorders[ky * clustersX + kx], base);
+        }
+        return false;
+    }
+
+    private void relaxCrossing(int node, IntArray pairs, float base) {
+        for (int i = 0; i < pairs.size; i += 2) {
+            if (pairs.get(i) == node) {
+                relax(node, pairs.get(i + 1), base + 1);
+            } else if (pairs.get(i + 1) == node) {
+                relax(node, pairs.get(i), base + 1);
+            }
+        }
+    }
+
+    private void relax(int from, int to, float cost) {
+        if (routeClosed.contains(to)) return;
+        if (cost < routeCost.get(to, UNREACHABLE)) {
+            routeCost.put(to, cost);
+            routeParent.put(to, from);
+            int width = grid.getWidth();
+            push(to, cost + octile(Math.abs(goalX - to % width), Math.abs(goalY - to / width)));
+        }
+    }
+
+    private void buildRoute(int goal, IntArray out) {
+        for (int node = goal; routeParent.get(node, -1) != -1; node = routeParent.get(node, -1)) {
+            out.add(node);
+        }
+        out.reverse();
+    }
+
+    /**
+     * Rebuilds the entrances of dirty clusters and the edges of every cluster next to them.
+     */
+    private void rebuildDirty() {
+        if (!anyDirty) return;
+        anyDirty = false;
+
+        Arrays.fill(rebuildEdges, false);
+        for (int ky = 0; ky < clustersY; ky++) {
+            for (int kx = 0; kx < clustersX; kx++) {
+                if (!clusters[ky * clustersX + kx].dirty) continue;
+
+                if (kx > 0) buildVerticalBorder(kx - 1, ky);
+                if (kx < clustersX - 1) buildVerticalBorder(kx, ky);
+                if (ky > 0) buildHorizontalBorder(kx, ky - 1);
+                if (ky < clustersY - 1) buildHorizontalBorder(kx, ky);
+
+                // Border nodes changed on both sides
+                rebuildEdges[ky * clustersX + kx] = true;
+                if (kx > 0) rebuildEdges[ky * clustersX + kx - 1] = true;
+                if (kx < clustersX - 1) rebuildEdges[ky * clustersX + kx + 1] = true;
+                if (ky > 0) rebuildEdges[(ky - 1) * clustersX + kx] = true;
+                if (ky < clustersY - 1) rebuildEdges[(ky + 1) * clustersX + kx] = true;
+            }
+        }
+
+        for (int ky = 0; ky < clustersY; ky++) {
+            for (int kx = 0; kx < clustersX; kx++) {
+                int k = ky * clustersX + kx;
+                if (rebuildEdges[k]) {
+                    buildEdges(kx, ky);
+                }
+                clusters[k].dirty = false;
+            }
+        }
+    }
+
+    private void buildVerticalBorder(int kx, int ky) {
+        IntArray pairs = verticalBorders[ky * (clustersX - 1) + kx];
+        pairs.clear();
+        Cluster cluster = clusters[ky * clustersX + kx];
+        int x = cluster.maxX;
+
+        int runStart = -1;
+        for (int y = cluster.minY; y <= cluster.maxY + 1; y++) {
+            boolean open = y <= cluster.maxY && grid.isWalkable(x, y) && grid.isWalkable(x + 1, y);
+            if (open) {
+                if (runStart < 0) runStart = y;
+            } else if (runStart >= 0) {
+                addEntrances(pairs, runStart, y - 1, x, true);
+                runStart = -1;
+            }
+        }
+    }
+
+    private void buildHorizontalBorder(int kx, int ky) {
+        IntArray pairs = horizontalBorders[ky * clustersX + kx];
+        pairs.clear();
+        Cluster cluster = clusters[ky * clustersX + kx];
+        int y = cluster.maxY;
+
+        int runStart = -1;
+        for (int x = cluster.minX; x <= cluster.maxX + 1; x++) {
+            boolean open = x <= cluster.maxX && grid.isWalkable(x, y) && grid.isWalkable(x, y + 1);
+            if (open) {
+                if (runStart < 0) runStart = x;
+            } else if (runStart >= 0) {
+                addEntrances(pairs, runStart, x - 1, y, false);
+                runStart = -1;
+            }
+        }
+    }
+
+    /**
+     * Adds entrance pairs for a run of open border cells.
+     * @param from First cell of the run along the border
+     * @param to Last cell of the run along the border
+     * @param across Cell coordinate of the lower/left side across the border
+     * @param vertical True for a border between horizontally adjacent clusters
+     */
+    private void addEntrances(IntArray pairs, int from, int to, int across, boolean vertical) {
+        if (to - from + 1 >= LONG_ENTRANCE) {
+            addEntrance(pairs, from, across, vertical);
+            addEntrance(pairs, to, across, vertical);
+        } else {
+            addEntrance(pairs, (from + to) / 2, across, vertical);
+        }
+    }
+
+    private void addEntrance(IntArray pairs, int along, int across, boolean vertical) {
+        int width = grid.getWidth();
+        if (vertical) {
+            pairs.add(along * width + across);
+            pairs.add(along * width + across + 1);
+        } else {
+            pairs.add(across * width + along);
+            pairs.add((across + 1) * width + along);
+        }
+    }
+
+    /**
+     * Collects a cluster's nodes from its four borders and links them by in-cluster path cost.
+     */
+    private void buildEdges(int kx, int ky) {
+        Cluster cluster = clusters[ky * clustersX + kx];
+        IntArray nodes = cluster.nodes;
+        nodes.clear();
+        if (kx > 0) addNodes(nodes, verticalBorders[ky * (clustersX - 1) + kx - 1], 1);
+        if (kx < clustersX - 1) addNodes(nodes, verticalBorders[ky * (clustersX - 1) + kx], 0);
+        if (ky > 0) addNodes(nodes, horizontalBorders[(ky - 1) * clustersX + kx], 1);
+        if (ky < clustersY - 1) addNodes(nodes, horizontalBorders[ky * clustersX + kx], 0);
+
+        int count = nodes.size;
+        if (cluster.costs.length < count * count) {
+            cluster.costs = new float[count * count];
+        }
+        int width = grid.getWidth();
+        for (int i = 0; i < count; i++) {
+            searchCluster(cluster, nodes.get(i) % width, nodes.get(i) / width);
+            for (int j = 0; j < count; j++) {
+                cluster.costs[i * count + j] = localCostAt(cluster, nodes.get(j) % width, nodes.get(j) / width);
+            }
+        }
+    }
+
+    private void addNodes(IntArray nodes, IntArray pairs, int side) {
+        for (int i = side; i < pairs.size; i += 2) {
+            if (!nodes.contains(pairs.get(i))) {
+                nodes.add(pairs.get(i));
+            }
+        }
+    }
+
+    /**
+     * Dijkstra from a cell, restricted to one cluster. Results are read with localCostAt().
+     */
+    private void searchCluster(Cluster cluster, int fromX, int fromY) {
+        Arrays.fill(localCost, UNREACHABLE);
+        heapSize = 0;
+        int from = (fromY - cluster.minY) * clusterSize + (fromX - cluster.minX);
+        localCost[from] = 0;
+        push(from, 0);
+
+        while (heapSize > 0) {
+            float cost = heapKeys[0];
+            int local = pop();
+            if (cost > localCost[local]) continue; // Stale heap entry
+
+            int x = cluster.minX + local % clusterSize;
+            int y = cluster.minY + local / clusterSize;
+            for (int dir = 0; dir < 8; dir++) {
+                int nx = x + DIR_X[dir];
+                int ny = y + DIR_Y[dir];
+                if (nx < cluster.minX || ny < cluster.minY || nx > cluster.maxX || ny > cluster.maxY) continue;
+                if (!grid.isWalkable(nx, ny)) continue;
+                if ((dir & 1) == 1 && (!grid.isWalkable(nx, y) || !grid.isWalkable(x, ny))) continue;
+
+                int neighbor = (ny - cluster.minY) * clusterSize + (nx - cluster.minX);
+                float newCost = cost + DIR_COST[dir];
+                if (newCost < localCost[neighbor]) {
+                    localCost[neighbor] = newCost;
+                    push(neighbor, newCost);
+                }
+            }
+        }
+    }
+
+    private float localCostAt(Cluster cluster, int x, int y) {
+        return localCost[(y - cluster.minY) * clusterSize + (x - cluster.minX)];
+    }
+
+    private void copyNodeCosts(Cluster cluster, FloatArray out) {
+        int width = grid.getWidth();
+        out.clear();
+        for (int i = 0; i < cluster.nodes.size; i++) {
+            int node = cluster.nodes.get(i);
+            out.add(localCostAt(cluster, node % width, node / width));
+        }
+    }
+
+    private Cluster clusterAt(int x, int y) {
+        return clusters[(y / clusterSize) * clustersX + x / clusterSize];
+    }
+
+    private static float octile(int dx, int dy) {
+        return dx < dy ? dx * SQRT2 + (dy - dx) : dy * SQRT2 + (dx - dy);
+    }
+
+    private void push(int node, float key) {
+        if (heapSize == heapNodes.length) {
+            heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+            heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int parentIndex = (i - 1) >>> 1;
+            if (heapKeys[parentIndex] <= key) break;
+            heapNodes[i] = heapNodes[parentIndex];
+            heapKeys[i] = heapKeys[parentIndex];
+            i = parentIndex;
+        }
+        heapNodes[i] = node;
+        heapKeys[i] = key;
+    }
+
+    private int pop() {
+        int result = heapNodes[0];
+        int lastNode = heapNodes[--heapSize];
+        float lastKey = heapKeys[heapSize];
+
+        int i = 0;
+        while (true) {
+            int child = i * 2 + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) child++;
+            if (heapKeys[child] >= lastKey) break;
+            heapNodes[i] = heapNodes[child];
+            heapKeys[i] = heapKeys[child];
+            i = child;
+        }
+        heapNodes[i] = lastNode;
+        heapKeys[i] = lastKey;
+        return result;
+    }
+
+    /**
+     * Limits how many graph nodes a single route search may expand before giving up.
+     */
+    public void setMaxExpansions(int maxExpansions) {
+        this.maxExpansions = Math.max(1, maxExpansions);
+    }
+
+    /**
+     * Gets the number of nodes expanded by the last route search (for profiling).
+     */
+    public int getLastExpansions() {
+        return lastExpansions;
+    }
+
+    /**
+     * Gets the total number of graph nodes (builds dirty clusters first).
+     */
+    public int getNodeCount() {
+        rebuildDirty();
+        int count = 0;
+        for (Cluster cluster : clusters) {
+            count += cluster.nodes.size;
+        }
+        return count;
+    }
+
+    public int getClusterSize() {
+        return clusterSize;
+    }
+}
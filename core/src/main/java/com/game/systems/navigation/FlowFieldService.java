@@ -0,0 +1,360 @@
+package com.game.systems.navigation;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+
+import java.util.Arrays;
+
+/**
+ * Flow field toward a moving target (usually the player) for crowds of chasing agents.
+ *
+ * One Dijkstra integration field is computed from the target cell outward (up to a max
+ * distance), and every reached cell stores the direction to its cheapest neighbor. Agents
+ * steer with a single array lookup, so the cost doesn't grow with the number of chasers.
+ * Fields only cover a square window around the target (maxDistance cells each way), so
+ * memory and rebuild cost depend on maxDistance, not on the size of the level or world.
+ *
+ * The field is recomputed on a worker thread when the target enters another cell or the
+ * walkability grid changes. The worker reads a snapshot of the window and writes into back
+ * buffers that are swapped in on the game thread; until then agents keep using the old field.
+ * Which frame a field arrives on therefore depends on timing; setSynchronous(true) computes it
+ * on the game thread instead, so recorded sessions replay the same.
+ */
+public class FlowFieldService implements Disposable {
+    public static final byte NO_DIRECTION = -1;
+    public static final byte AT_TARGET = 8;
+
+    // Direction index -> cell step (E, NE, N, NW, W, SW, S, SE)
+    private static final int[] DIR_X = {1, 1, 0, -1, -1, -1, 0, 1};
+    private static final int[] DIR_Y = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final float[] DIR_COST = {1, 1.4142135f, 1, 1.4142135f, 1, 1.4142135f, 1, 1.4142135f};
+    private static final float INV_SQRT2 = 0.70710677f;
+
+    private final NavGrid grid;
+    private final int width;
+    private final AsyncExecutor executor;
+    private float maxDistance = 48f; // In cells
+    private boolean synchronous;
+
+    // Window around the target that a field covers
+    private int windowRadius;
+    private int windowSize; // Cells per side
+
+    // Front buffer, read by agents on the game thread
+    private byte[] directions;
+    private int fieldOriginX; // Grid cell of the window's corner
+    private int fieldOriginY;
+    private int fieldTargetCell = -1;
+
+    // Back buffers, written by the worker
+    private byte[] backDirections;
+    private long[] blockedSnapshot;
+    private float[] integration;
+    private int[] heapNodes = new int[256];
+    private float[] heapKeys = new float[256];
+    private int heapSize;
+
+    // Job state (game thread)
+    private AsyncResult<Void> job;
+    private int jobTargetCell;
+    private int jobOriginX;
+    private int jobOriginY;
+    private int jobGridVersion;
+    private int requestedTargetCell = -1;
+    private int builtGridVersion = -1;
+    private int rebuildCount;
+
+    public FlowFieldService(NavGrid grid) {
+        this.grid = grid;
+        this.width = grid.getWidth();
+        this.executor = new AsyncExecutor(1, "FlowField");
+        allocateWindow();
+    }
+
+    /**
+     * Sizes the buffers for maxDistance. Cells beyond it are never reached; the margin covers
+     * the last diagonal step past maxDistance.
+     */
+    private void allocateWindow() {
+        windowRadius = (int) Math.ceil(maxDistance) + 2;
+        windowSize = windowRadius * 2 + 1;
+        int cells = windowSize * windowSize;
+        directions = new byte[cells];
+        backDirections = new byte[cells];
+        integration = new float[cells];
+        blockedSnapshot = new long[(cells + 63) >>> 6];
+        Arrays.fill(directions, NO_DIRECTION);
+        fieldTargetCell = -1;
+    }
+
+    /**
+     * Follows the target. Call once per frame on the game thread: swaps in a finished field and
+     * starts a new computation if the target moved to another cell or the grid changed.
+     * @param targetX Target X
+     * @param targetY Target Y
+     */
+    public void update(float targetX, float targetY) {
+        int cx = grid.toCellX(targetX);
+        int cy = grid.toCellY(targetY);
+        requestedTargetCell = grid.inBounds(cx, cy) ? cy * width + cx : -1;
+
+        if (job != null) {
+            if (!job.isDone() && !synchronous) return;
+            try {
+                job.get();
+                swapIn();
+            } catch (GdxRuntimeException e) {
+                System.err.println("FlowFieldService: Field computation failed: " + e.getMessage());
+            }
+            job = null;
+        }
+
+        if (requestedTargetCell < 0) return;
+        if (requestedTargetCell == fieldTargetCell && grid.getVersion() == builtGridVersion) return;
+
+        // Snapshot the window so the worker never sees streaming edits half-way
+        jobTargetCell = requestedTargetCell;
+        jobOriginX = cx - windowRadius;
+        jobOriginY = cy - windowRadius;
+        jobGridVersion = grid.getVersion();
+        grid.copyBlockedBits(jobOriginX, jobOriginY, windowSize, windowSize, blockedSnapshot);
+        if (synchronous) {
+            compute();
+            swapIn();
+            return;
+        }
+        job = executor.submit(() -> {
+            compute();
+            return null;
+        });
+    }
+
+    private void swapIn() {
+        byte[] swap = directions;
+        directions = backDirections;
+        backDirections = swap;
+        fieldOriginX = jobOriginX;
+        fieldOriginY = jobOriginY;
+        fieldTargetCell = jobTargetCell;
+        builtGridVersion = jobGridVersion;
+        rebuildCount++;
+    }
+
+    /**
+     * Worker: integration field from the target (the window's center), then a direction per
+     * reached cell. Works in window coordinates.
+     */
+    private void compute() {
+        int target = windowRadius * windowSize + windowRadius;
+        Arrays.fill(integration, Float.POSITIVE_INFINITY);
+        Arrays.fill(backDirections, NO_DIRECTION);
+
+        heapSize = 0;
+        integration[target] = 0;
+        push(target, 0);
+
+        while (heapSize > 0) {
+            float distance = heapKeys[0];
+            int node = pop();
+            if (distance > integration[node]) continue; // Stale entry
+            if (distance > maxDistance) break;
+
+            int x = node % windowSize;
+            int y = node / windowSize;
+            for (int dir = 0; dir < 8; dir++) {
+                int nx = x + DIR_X[dir];
+                int ny = y + DIR_Y[dir];
+                if (!canStep(x, y, dir)) continue;
+
+                int neighbor = ny * windowSize + nx;
+                float cost = distance + DIR_COST[dir];
+                if (cost < integration[neighbor]) {
+                    integration[neighbor] = cost;
+                    push(neighbor, cost);
+                }
+            }
+        }
+
+        // Directions: step to the neighbor closest to the target
+        for (int node = 0; node < integration.length; node++) {
+            if (integration[node] == Float.POSITIVE_INFINITY) continue;
+            if (node == target) {
+                backDirections[node] = AT_TARGET;
+                continue;
+            }
+
+            int x = node % windowSize;
+            int y = node / windowSize;
+            float best = integration[node];
+            byte bestDir = NO_DIRECTION;
+            for (int dir = 0; dir < 8; dir++) {
+                if (!canStep(x, y, dir)) continue;
+                float value = integration[(y + DIR_Y[dir]) * windowSize + x + DIR_X[dir]];
+                if (value < best) {
+                    best = value;
+                    bestDir = (byte) dir;
+                }
+            }
+            backDirections[node] = bestDir;
+        }
+    }
+
+    /**
+     * Checks a step on the snapshot: target cell open, diagonals need both sides open.
+     */
+    private boolean canStep(int x, int y, int dir) {
+        int nx = x + DIR_X[dir];
+        int ny = y + DIR_Y[dir];
+        if (!isOpen(nx, ny)) return false;
+        return (dir & 1) == 0 || (isOpen(nx, y) && isOpen(x, ny));
+    }
+
+    private boolean isOpen(int x, int y) {
+        if (x < 0 || y < 0 || x >= windowSize || y >= windowSize) return false;
+        int index = y * windowSize + x;
+        return (blockedSnapshot[index >>> 6] & (1L << index)) == 0;
+    }
+
+    /**
+     * Gets the steering direction at a world position.
+     * @param x Agent X
+     * @param y Agent Y
+     * @param out Receives a unit vector, or zero at the target cell
+     * @return False if the field doesn't reach this position (blocked, too far, or not computed yet)
+     */
+    public boolean getDirection(float x, float y, Vector2 out) {
+        byte dir = getDirectionIndex(grid.toCellX(x), grid.toCellY(y));
+        if (dir == NO_DIRECTION) {
+            out.setZero();
+            return false;
+        }
+        if (dir == AT_TARGET) {
+            out.setZero();
+            return true;
+        }
+        float scale = (dir & 1) == 0 ? 1f : INV_SQRT2;
+        out.set(DIR_X[dir] * scale, DIR_Y[dir] * scale);
+        return true;
+    }
+
+    /**
+     * Gets the raw direction index of a cell (0-7, AT_TARGET or NO_DIRECTION).
+     */
+    public byte getDirectionIndex(int cx, int cy) {
+        int wx = cx - fieldOriginX;
+        int wy = cy - fieldOriginY;
+        if (wx < 0 || wy < 0 || wx >= windowSize || wy >= windowSize) return NO_DIRECTION;
+        return directions[wy * windowSize + wx];
+    }
+
+    /**
+     * Gets the next cell's center along the field, for steering toward cell centers.
+     * @param out Receives the center of the next cell (the current cell's center at the target)
+     * @return False if the field doesn't reach this position
+     */
+    public boolean getNextWaypoint(float x, float y, Vector2 out) {
+        int cx = grid.toCellX(x);
+        int cy = grid.toCellY(y);
+        byte dir = getDirectionIndex(cx, cy);
+        if (dir == NO_DIRECTION) return false;
+        if (dir != AT_TARGET) {
+            cx += DIR_X[dir];
+            cy += DIR_Y[dir];
+        }
+        out.set(grid.cellCenterX(cx), grid.cellCenterY(cy));
+        return true;
+    }
+
+    /**
+     * Sets how far (in cells of path distance) the field reaches from the target.
+     * Resizes the window, so the current field is dropped and rebuilt on the next update().
+     */
+    public void setMaxDistance(float maxDistance) {
+        finishJob();
+        this.maxDistance = maxDistance;
+        allocateWindow();
+    }
+
+    /**
+     * Computes fields on the game thread during update(), so a field is in use from the frame it
+     * was requested on. Slower, but the same on every run (for input recording and replay).
+     */
+    public void setSynchronous(boolean synchronous) {
+        this.synchronous = synchronous;
+    }
+
+    public boolean isSynchronous() {
+        return synchronous;
+    }
+
+    /**
+     * Gets how many fields have been swapped in (for profiling).
+     */
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    public NavGrid getGrid() {
+        return grid;
+    }
+
+    private void push(int node, float key) {
+        if (heapSize == heapNodes.length) {
+            heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+            heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int parentIndex = (i - 1) >>> 1;
+            if (heapKeys[parentIndex] <= key) break;
+            heapNodes[i] = heapNodes[parentIndex];
+            heapKeys[i] = heapKeys[parentIndex];
+            i = parentIndex;
+        }
+        heapNodes[i] = node;
+        heapKeys[i] = key;
+    }
+
+    private int pop() {
+        int result = heapNodes[0];
+        int lastNode = heapNodes[--heapSize];
+        float lastKey = heapKeys[heapSize];
+
+        int i = 0;
+        while (true) {
+            int child = i * 2 + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) child++;
+            if (heapKeys[child] >= lastKey) break;
+            heapNodes[i] = heapNodes[child];
+            heapKeys[i] = heapKeys[child];
+            i = child;
+        }
+        heapNodes[i] = lastNode;
+        heapKeys[i] = lastKey;
+        return result;
+    }
+
+    /**
+     * Waits for a running computation and discards its result.
+     */
+    private void finishJob() {
+        if (job != null) {
+            try {
+                job.get();
+            } catch (GdxRuntimeException ignored) {
+                // Result is discarded anyway
+            }
+            job = null;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        finishJob();
+        executor.dispose();
+    }
+}
@@ -0,0 +1,135 @@
+package com.game.systems.navigation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of gateway links between levels: the top layer of the navigation hierarchy.
+ *
+ * Each level registers its gateways when it is loaded, so the graph grows as levels are
+ * visited. A level route is the fewest gateways from one level to another; agents then
+ * path to the first gateway inside the current level with the cluster graph.
+ */
+public class LevelLinks {
+    private static final Map<String, List<Link>> links = new HashMap<>();
+
+    /**
+     * A gateway in a level and where it leads.
+     */
+    public static class Link {
+        private final String level;
+        private final float x;
+        private final float y;
+        private final String targetLevel;
+        private final String targetSpawn;
+
+        Link(String level, float x, float y, String targetLevel, String targetSpawn) {
+            this.level = level;
+            this.x = x;
+            this.y = y;
+            this.targetLevel = targetLevel;
+            this.targetSpawn = targetSpawn;
+        }
+
+        public String getLevel() {
+            return level;
+        }
+
+        /**
+         * Gets the X of the gateway's center.
+         */
+        public float getX() {
+            return x;
+        }
+
+        /**
+         * Gets the Y of the gateway's center.
+         */
+        public float getY() {
+            return y;
+        }
+
+        public String getTargetLevel() {
+            return targetLevel;
+        }
+
+        public String getTargetSpawn() {
+            return targetSpawn;
+        }
+    }
+
+    /**
+     * Forgets a level's gateways before it registers them again.
+     * For streamed worlds only the first load of the world clears; chunks add to it.
+     */
+    public static void clearLevel(String level) {
+        links.remove(level);
+    }
+
+    /**
+     * Registers a gateway. Duplicates (a chunk loaded again) are ignored.
+     * @param level The level containing the gateway
+     * @param x Gateway center X
+     * @param y Gateway center Y
+     * @param targetLevel The level it leads to
+     * @param targetSpawn The spawn point it leads to (may be null)
+     */
+    public static void register(String level, float x, float y, String targetLevel, String targetSpawn) {
+        List<Link> levelLinks = links.computeIfAbsent(level, key -> new ArrayList<>());
+        for (Link link : levelLinks) {
+            if (link.x == x && link.y == y && link.targetLevel.equals(targetLevel)) {
+                return;
+            }
+        }
+        levelLinks.add(new Link(level, x, y, targetLevel, targetSpawn));
+    }
+
+    /**
+     * Gets the gateways registered for a level.
+     */
+    public static List<Link> getLinks(String level) {
+        List<Link> levelLinks = links.get(level);
+        return levelLinks != null ? Collections.unmodifiableList(levelLinks) : Collections.emptyList();
+    }
+
+    /**
+     * Finds the shortest chain of gateways (fewest level changes) between two levels.
+     * @param fromLevel The level to start in
+     * @param toLevel The level to reach
+     * @param out Receives the gateways to take in order (empty if already there)
+     * @return True if the target level is reachable through known gateways
+     */
+    public static boolean findLevelRoute(String fromLevel, String toLevel, List<Link> out) {
+        out.clear();
+        if (fromLevel.equals(toLevel)) {
+            return true;
+        }
+
+        // Breadth-first over levels, remembering the gateway used to enter each
+        Map<String, Link> cameFrom = new HashMap<>();
+        ArrayDeque<String> queue = new ArrayDeque<>();
+        cameFrom.put(fromLevel, null);
+        queue.add(fromLevel);
+
+        while (!queue.isEmpty()) {
+            String level = queue.poll();
+            for (Link link : getLinks(level)) {
+                if (cameFrom.containsKey(link.targetLevel)) continue;
+                cameFrom.put(link.targetLevel, link);
+                if (link.targetLevel.equals(toLevel)) {
+                    for (Link step = link; step != null; step = cameFrom.get(step.level)) {
+                        out.add(step);
+                    }
+                    Collections.reverse(out);
+                    return true;
+                }
+                queue.add(link.targetLevel);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,295 @@
+package com.game.systems.navigation;
+
+import com.badlogic.gdx.math.Polygon;
+import com.badlogic.gdx.math.Rectangle;
+import com.game.systems.collision.SpatialQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Walkability bitmap rasterized from collision shapes, one bit per cell.
+ *
+ * Built once at level load (or per chunk as chunks stream in) so path searches test a bit
+ * instead of running shape queries. A cell is blocked if a rectangle overlaps it or a polygon
+ * covers one of its sample points. Cells outside the grid count as blocked.
+ */
+public class NavGrid {
+    private static final float SAMPLE_INSET = 2f; // Polygon sample points inset from cell edges
+
+    private final int width;
+    private final int height;
+    private final float cellSize;
+    private final long[] blocked;
+    private int version;
+    private final List<ChangeListener> listeners = new ArrayList<>();
+
+    /**
+     * Listener for edits to the grid (e.g. to rebuild the clusters of a hierarchical graph).
+     */
+    public interface ChangeListener {
+        /**
+         * Called after cells in an area changed. Bounds are inclusive cell coordinates.
+         */
+        void onCellsChanged(int minX, int minY, int maxX, int maxY);
+    }
+
+    /**
+     * Creates a grid with every cell walkable.
+     * @param width Width in cells
+     * @param height Height in cells
+     * @param cellSize Cell size in world units
+     */
+    public NavGrid(int width, int height, float cellSize) {
+        this.width = width;
+        this.height = height;
+        this.cellSize = cellSize;
+        this.blocked = new long[(width * height + 63) >>> 6];
+    }
+
+    /**
+     * Builds a grid covering a level and rasterizes its collision shapes.
+     * @param shapes The level's collision shapes
+     * @param width Width in cells
+     * @param height Height in cells
+     * @param cellSize Cell size in world units
+     * @return The grid
+     */
+    public static NavGrid fromShapes(SpatialQuery shapes, int width, int height, float cellSize) {
+        NavGrid grid = new NavGrid(width, height, cellSize);
+        grid.rasterize(shapes, 0, 0, width * cellSize, height * cellSize);
+        return grid;
+    }
+
+    /**
+     * Clears an area and marks the cells blocked by the given shapes.
+     * Shapes outside the area are ignored, so a chunk can be rasterized on its own.
+     * @param shapes Collision shapes in world coordinates
+     * @param x Area X
+     * @param y Area Y
+     * @param areaWidth Area width
+     * @param areaHeight Area height
+     */
+    public void rasterize(SpatialQuery shapes, float x, float y, float areaWidth, float areaHeight) {
+        int minX = Math.max(0, toCellX(x));
+        int minY = Math.max(0, toCellY(y));
+        int maxX = Math.min(width - 1, toCellX(x + areaWidth - 0.001f));
+        int maxY = Math.min(height - 1, toCellY(y + areaHeight - 0.001f));
+        setArea(minX, minY, maxX, maxY, false);
+
+        for (Rectangle rect : shapes.getRectangles()) {
+            // Cells the rectangle overlaps (touching an edge doesn't count)
+            int rMinX = Math.max(minX, toCellX(rect.x));
+            int rMinY = Math.max(minY, toCellY(rect.y));
+            int rMaxX = Math.min(maxX, toCellX(rect.x + rect.width - 0.001f));
+            int rMaxY = Math.min(maxY, toCellY(rect.y + rect.height - 0.001f));
+            setArea(rMinX, rMinY, rMaxX, rMaxY, true);
+        }
+
+        for (Polygon poly : shapes.getPolygons()) {
+            Rectangle bounds = poly.getBoundingRectangle();
+            int pMinX = Math.max(minX, toCellX(bounds.x));
+            int pMinY = Math.max(minY, toCellY(bounds.y));
+            int pMaxX = Math.min(maxX, toCellX(bounds.x + bounds.width));
+            int pMaxY = Math.min(maxY, toCellY(bounds.y + bounds.height));
+            for (int cy = pMinY; cy <= pMaxY; cy++) {
+                for (int cx = pMinX; cx <= pMaxX; cx++) {
+                    if (polygonCoversCell(poly, cx, cy)) {
+                        setBlocked(cx, cy, true);
+                    }
+                }
+            }
+        }
+        version++;
+        notifyChanged(minX, minY, maxX, maxY);
+    }
+
+    private boolean polygonCoversCell(Polygon poly, int cx, int cy) {
+        float left = cx * cellSize;
+        float bottom = cy * cellSize;
+        float right = left + cellSize;
+        float top = bottom + cellSize;
+        return poly.contains(left + cellSize / 2f, bottom + cellSize / 2f) ||
+               poly.contains(left + SAMPLE_INSET, bottom + SAMPLE_INSET) ||
+               poly.contains(right - SAMPLE_INSET, bottom + SAMPLE_INSET) ||
+               poly.contains(left + SAMPLE_INSET, top - SAMPLE_INSET) ||
+               poly.contains(right - SAMPLE_INSET, top - SAMPLE_INSET);
+    }
+
+    /**
+     * Marks every cell in an area blocked (e.g. a chunk that was unloaded).
+     */
+    public void blockArea(float x, float y, float areaWidth, float areaHeight) {
+        int minX = Math.max(0, toCellX(x));
+        int minY = Math.max(0, toCellY(y));
+        int maxX = Math.min(width - 1, toCellX(x + areaWidth - 0.001f));
+        int maxY = Math.min(height - 1, toCellY(y + areaHeight - 0.001f));
+        setArea(minX, minY, maxX, maxY, true);
+        version++;
+        notifyChanged(minX, minY, maxX, maxY);
+    }
+
+    private void setArea(int minX, int minY, int maxX, int maxY, boolean value) {
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                setBlocked(cx, cy, value);
+            }
+        }
+    }
+
+    /**
+     * Sets a single cell. Call markChanged() after a batch of edits so cached paths are dropped.
+     */
+    public void setBlocked(int cx, int cy, boolean value) {
+        if (!inBounds(cx, cy)) return;
+        int index = cy * width + cx;
+        if (value) {
+            blocked[index >>> 6] |= 1L << index;
+        } else {
+            blocked[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Bumps the version after setBlocked() edits. Listeners are told the whole grid changed.
+     */
+    public void markChanged() {
+        version++;
+        notifyChanged(0, 0, width - 1, height - 1);
+    }
+
+    private void notifyChanged(int minX, int minY, int maxX, int maxY) {
+        if (minX > maxX || minY > maxY) return;
+        for (ChangeListener listener : listeners) {
+            listener.onCellsChanged(minX, minY, maxX, maxY);
+        }
+    }
+
+    public void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Checks whether a cell is walkable. Out-of-bounds cells are not.
+     */
+    public boolean isWalkable(int cx, int cy) {
+        if (cx < 0 || cy < 0 || cx >= width || cy >= height) return false;
+        int index = cy * width + cx;
+        return (blocked[index >>> 6] & (1L << index)) == 0;
+    }
+
+    /**
+     * Checks whether the cell containing a world position is walkable.
+     */
+    public boolean isWalkableAt(float x, float y) {
+        return isWalkable(toCellX(x), toCellY(y));
+    }
+
+    /**
+     * Walks the cells a segment crosses (DDA) and finds where it first enters a blocked cell.
+     * The cell the segment starts in is not tested, so a segment starting in a cell that is only
+     * partly covered by a wall can still leave it.
+     * @return Fraction of the segment (0..1) at the blocked cell's edge, or -1 if the way is clear
+     */
+    public float castSegment(float x0, float y0, float x1, float y1) {
+        int cx = toCellX(x0);
+        int cy = toCellY(y0);
+        int endX = toCellX(x1);
+        int endY = toCellY(y1);
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        // Fraction at which the segment crosses the next vertical / horizontal cell edge
+        float nextX = dx == 0 ? Float.POSITIVE_INFINITY : ((dx > 0 ? cx + 1 : cx) * cellSize - x0) / dx;
+        float nextY = dy == 0 ? Float.POSITIVE_INFINITY : ((dy > 0 ? cy + 1 : cy) * cellSize - y0) / dy;
+        float deltaX = dx == 0 ? Float.POSITIVE_INFINITY : cellSize / Math.abs(dx);
+        float deltaY = dy == 0 ? Float.POSITIVE_INFINITY : cellSize / Math.abs(dy);
+
+        for (int steps = Math.abs(endX - cx) + Math.abs(endY - cy); steps > 0; steps--) {
+            float t;
+            if (nextX < nextY) {
+                cx += stepX;
+                t = nextX;
+                nextX += deltaX;
+            } else {
+                cy += stepY;
+                t = nextY;
+                nextY += deltaY;
+            }
+            if (!isWalkable(cx, cy)) {
+                return Math.max(0f, Math.min(1f, t));
+            }
+        }
+        return -1f;
+    }
+
+    /**
+     * Copies the blocked bits of a window of cells for use off the game thread.
+     * Bit (y - minY) * windowWidth + (x - minX) is set for blocked cells; cells outside the grid
+     * are copied as blocked.
+     * @param dest Array of at least (windowWidth * windowHeight + 63) / 64 longs
+     */
+    public void copyBlockedBits(int minX, int minY, int windowWidth, int windowHeight, long[] dest) {
+        Arrays.fill(dest, 0, (windowWidth * windowHeight + 63) >>> 6, 0L);
+        for (int wy = 0; wy < windowHeight; wy++) {
+            for (int wx = 0; wx < windowWidth; wx++) {
+                if (!isWalkable(minX + wx, minY + wy)) {
+                    int bit = wy * windowWidth + wx;
+                    dest[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+    }
+
+    public boolean inBounds(int cx, int cy) {
+        return cx >= 0 && cy >= 0 && cx < width && cy < height;
+    }
+
+    public int toCellX(float x) {
+        return (int) Math.floor(x / cellSize);
+    }
+
+    public int toCellY(float y) {
+        return (int) Math.floor(y / cellSize);
+    }
+
+    /**
+     * Gets the world X of a cell's center.
+     */
+    public float cellCenterX(int cx) {
+        return (cx + 0.5f) * cellSize;
+    }
+
+    /**
+     * Gets the world Y of a cell's center.
+     */
+    public float cellCenterY(int cy) {
+        return (cy + 0.5f) * cellSize;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Gets a counter that changes whenever cells change. Used to invalidate cached paths.
+     */
+    public int getVersion() {
+        return version;
+    }
+}
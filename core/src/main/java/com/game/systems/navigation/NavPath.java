@@ -0,0 +1,42 @@
+package com.game.systems.navigation;
+
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * A path as a list of world-space waypoints (cell centers, start excluded).
+ * Owned by the caller and refilled by NavigationService.findPath, so following
+ * agents don't allocate per request.
+ */
+public class NavPath {
+    private final FloatArray points = new FloatArray(32);
+
+    void clear() {
+        points.clear();
+    }
+
+    void add(float x, float y) {
+        points.add(x);
+        points.add(y);
+    }
+
+    void setLast(float x, float y) {
+        points.set(points.size - 2, x);
+        points.set(points.size - 1, y);
+    }
+
+    public int getLength() {
+        return points.size / 2;
+    }
+
+    public boolean isEmpty() {
+        return points.size == 0;
+    }
+
+    public float getX(int index) {
+        return points.get(index * 2);
+    }
+
+    public float getY(int index) {
+        return points.get(index * 2 + 1);
+    }
+}
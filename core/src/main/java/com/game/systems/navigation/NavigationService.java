@@ -0,0 +1,241 @@
+package com.game.systems.navigation;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.game.systems.collision.SpatialQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Path requests for agents in one world: a walkability grid, a reusable JPS searcher and a
+ * cache of recent paths keyed by start and goal cell.
+ *
+ * Many NPCs walking between the same places share cached paths; the cache is dropped
+ * whenever the grid changes. Long requests go through a cluster graph first (findRoute) and
+ * are refined into cell paths one short leg at a time. Called from the game thread only.
+ */
+public class NavigationService {
+    private static final int DEFAULT_CACHE_CAPACITY = 256;
+    private static final int GOAL_SNAP_RADIUS = 2; // Cells searched for a walkable goal near a blocked one
+    private static final int[] NO_PATH = new int[0];
+    private static final int CLUSTER_SIZE = 16; // Cells per cluster side in the route graph
+
+    private final NavGrid grid;
+    private final Pathfinder pathfinder;
+    private final ClusterGraph clusterGraph;
+    private final IntArray searchResult = new IntArray();
+    private final List<LevelLinks.Link> levelRoute = new ArrayList<>();
+
+    private final LongMap<int[]> cache = new LongMap<>();
+    private int cacheCapacity = DEFAULT_CACHE_CAPACITY;
+    private int cacheVersion;
+
+    // Stats
+    private int requests;
+    private int cacheHits;
+
+    public NavigationService(NavGrid grid) {
+        this.grid = grid;
+        this.pathfinder = new Pathfinder(grid);
+        this.clusterGraph = new ClusterGraph(grid, CLUSTER_SIZE);
+        this.cacheVersion = grid.getVersion();
+    }
+
+    /**
+     * Builds the navigation for a level from its collision shapes.
+     * @param shapes The level's collision shapes
+     * @param width Level width in tiles
+     * @param height Level height in tiles
+     * @param tileSize Tile size (one grid cell per tile)
+     * @return The service
+     */
+    public static NavigationService fromShapes(SpatialQuery shapes, int width, int height, int tileSize) {
+        NavGrid grid = NavGrid.fromShapes(shapes, width, height, tileSize);
+        System.out.println("NavigationService: Built " + width + "x" + height + " walkability grid");
+        return new NavigationService(grid);
+    }
+
+    /**
+     * Finds a path between two world positions.
+     * A blocked goal is moved to the nearest walkable cell within a couple of cells.
+     * @param fromX Start X
+     * @param fromY Start Y
+     * @param toX Goal X
+     * @param toY Goal Y
+     * @param out Receives the waypoints (start excluded); the last waypoint is the exact goal when reachable
+     * @return True if a path was found
+     */
+    public boolean findPath(float fromX, float fromY, float toX, float toY, NavPath out) {
+        out.clear();
+        requests++;
+
+        if (grid.getVersion() != cacheVersion) {
+            cache.clear();
+            cacheVersion = grid.getVersion();
+        }
+
+        int startX = grid.toCellX(fromX);
+        int startY = grid.toCellY(fromY);
+        int goalX = grid.toCellX(toX);
+        int goalY = grid.toCellY(toY);
+        boolean exactGoal = grid.isWalkable(goalX, goalY);
+
+        if (!exactGoal) {
+            int snapped = findWalkableNear(goalX, goalY);
+            if (snapped < 0) {
+                return false;
+            }
+            goalX = snapped % grid.getWidth();
+            goalY = snapped / grid.getWidth();
+        }
+
+        int width = grid.getWidth();
+        long key = ((long) (startY * width + startX) << 32) | ((goalY * width + goalX) & 0xFFFFFFFFL);
+        int[] cells = cache.get(key);
+        if (cells != null) {
+            cacheHits++;
+        } else {
+            cells = pathfinder.findPath(startX, startY, goalX, goalY, searchResult) ? searchResult.toArray() : NO_PATH;
+            if (cache.size >= cacheCapacity) {
+                cache.clear();
+            }
+            cache.put(key, cells);
+        }
+
+        if (cells == NO_PATH) {
+            return false;
+        }
+
+        for (int cell : cells) {
+            out.add(grid.cellCenterX(cell % width), grid.cellCenterY(cell / width));
+        }
+        if (exactGoal) {
+            if (out.isEmpty()) {
+                out.add(toX, toY);
+            } else {
+                out.setLast(toX, toY);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Plans a long route over the cluster graph. Follow it by calling findPath() from the
+     * current position to each waypoint in turn.
+     *
+     * Targets within a couple of clusters get a single waypoint (the goal), since a flat
+     * search is already cheap there.
+     * @param fromX Start X
+     * @param fromY Start Y
+     * @param toX Goal X
+     * @param toY Goal Y
+     * @param out Receives the route waypoints (start excluded); the last one is the goal
+     * @return True if a route was found
+     */
+    public boolean findRoute(float fromX, float fromY, float toX, float toY, NavPath out) {
+        out.clear();
+
+        int startX = grid.toCellX(fromX);
+        int startY = grid.toCellY(fromY);
+        int goalX = grid.toCellX(toX);
+        int goalY = grid.toCellY(toY);
+        boolean exactGoal = grid.isWalkable(goalX, goalY);
+
+        if (!exactGoal) {
+            int snapped = findWalkableNear(goalX, goalY);
+            if (snapped < 0) {
+                return false;
+            }
+            goalX = snapped % grid.getWidth();
+            goalY = snapped / grid.getWidth();
+        }
+
+        int near = CLUSTER_SIZE * 2;
+        if (Math.abs(goalX - startX) <= near && Math.abs(goalY - startY) <= near) {
+            out.add(exactGoal ? toX : grid.cellCenterX(goalX), exactGoal ? toY : grid.cellCenterY(goalY));
+            return true;
+        }
+
+        if (!clusterGraph.findRoute(startX, startY, goalX, goalY, searchResult)) {
+            return false;
+        }
+        int width = grid.getWidth();
+        for (int i = 0; i < searchResult.size; i++) {
+            int cell = searchResult.get(i);
+            out.add(grid.cellCenterX(cell % width), grid.cellCenterY(cell / width));
+        }
+        if (exactGoal && !out.isEmpty()) {
+            out.setLast(toX, toY);
+        }
+        return true;
+    }
+
+    /**
+     * Plans a route toward another level: to the first gateway on the way there.
+     * Only levels whose gateways were registered in LevelLinks (visited levels) are known.
+     * @param fromX Start X
+     * @param fromY Start Y
+     * @param currentLevel The level this navigation belongs to
+     * @param targetLevel The level to reach
+     * @param out Receives the route to the gateway
+     * @return The gateway to take, or null if the target level is unknown, unreachable or current
+     */
+    public LevelLinks.Link findRouteToLevel(float fromX, float fromY, String currentLevel, String targetLevel, NavPath out) {
+        out.clear();
+        if (!LevelLinks.findLevelRoute(currentLevel, targetLevel, levelRoute) || levelRoute.isEmpty()) {
+            return null;
+        }
+        LevelLinks.Link gateway = levelRoute.get(0);
+        return findRoute(fromX, fromY, gateway.getX(), gateway.getY(), out) ? gateway : null;
+    }
+
+    /**
+     * Finds the closest walkable cell in growing rings around a cell.
+     * @return The cell index, or -1 if none within GOAL_SNAP_RADIUS
+     */
+    private int findWalkableNear(int cx, int cy) {
+        for (int radius = 1; radius <= GOAL_SNAP_RADIUS; radius++) {
+            for (int dy = -radius; dy <= radius; dy++) {
+                for (int dx = -radius; dx <= radius; dx++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dy)) != radius) continue; // Ring only
+                    if (grid.isWalkable(cx + dx, cy + dy)) {
+                        return (cy + dy) * grid.getWidth() + (cx + dx);
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a world position is walkable (one bit test, no shape queries).
+     */
+    public boolean isWalkable(float x, float y) {
+        return grid.isWalkableAt(x, y);
+    }
+
+    public NavGrid getGrid() {
+        return grid;
+    }
+
+    public Pathfinder getPathfinder() {
+        return pathfinder;
+    }
+
+    public ClusterGraph getClusterGraph() {
+        return clusterGraph;
+    }
+
+    public void setCacheCapacity(int cacheCapacity) {
+        this.cacheCapacity = Math.max(1, cacheCapacity);
+    }
+
+    public int getRequestCount() {
+        return requests;
+    }
+
+    public int getCacheHitCount() {
+        return cacheHits;
+    }
+}
@@ -0,0 +1,300 @@
+package com.game.systems.navigation;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Jump point search (JPS) over a NavGrid with 8-way movement and no corner cutting.
+ *
+ * JPS returns the same shortest paths as A*, but skips over straight runs of open cells
+ * and only puts "jump points" (where the path may turn) on the open list. The result is the
+ * list of jump points, which are connected by straight or diagonal lines of walkable cells.
+ *
+ * All search state lives in arrays sized to the grid and reused between searches: node
+ * state is reset lazily with a search stamp, so a query allocates nothing.
+ * Not thread-safe; use one Pathfinder per thread.
+ */
+public class Pathfinder {
+    private static final float SQRT2 = 1.4142135f;
+
+    private final NavGrid grid;
+    private int maxExpansions = 4096;
+
+    // Per-node search state, valid only where the stamp equals the current search
+    private float[] cost;
+    private int[] parent;
+    private int[] openStamp;
+    private int[] closedStamp;
+    private int search;
+
+    // Binary heap of node indices keyed by estimated total cost (duplicates skipped on pop)
+    private int[] heapNodes = new int[256];
+    private float[] heapKeys = new float[256];
+    private int heapSize;
+
+    // Neighbor directions for the node being expanded
+    private final int[] neighborDx = new int[8];
+    private final int[] neighborDy = new int[8];
+
+    private int goalX;
+    private int goalY;
+    private int lastExpansions;
+
+    public Pathfinder(NavGrid grid) {
+        this.grid = grid;
+        int cells = grid.getWidth() * grid.getHeight();
+        cost = new float[cells];
+        parent = new int[cells];
+        openStamp = new int[cells];
+        closedStamp = new int[cells];
+    }
+
+    /**
+     * Finds a path between two cells.
+     * @param startX Start cell X
+     * @param startY Start cell Y
+     * @param targetX Goal cell X (must be walkable)
+     * @param targetY Goal cell Y
+     * @param out Receives the jump point cell indices (y * width + x) from start to goal, start excluded
+     * @return True if a path was found within the expansion limit
+     */
+    public boolean findPath(int startX, int startY, int targetX, int targetY, IntArray out) {
+        out.clear();
+        if (!grid.inBounds(startX, startY) || !grid.isWalkable(targetX, targetY)) {
+            return false;
+        }
+
+        int width = grid.getWidth();
+        int start = startY * width + startX;
+        int goal = targetY * width + targetX;
+        if (start == goal) {
+            return true;
+        }
+
+        nextSearch();
+        goalX = targetX;
+        goalY = targetY;
+        heapSize = 0;
+        lastExpansions = 0;
+
+        cost[start] = 0;
+        parent[start] = -1;
+        openStamp[start] = search;
+        push(start, heuristic(startX, startY));
+
+        while (heapSize > 0) {
+            int node = pop();
+            if (closedStamp[node] == search) continue; // Stale heap entry
+            closedStamp[node] = search;
+
+            if (node == goal) {
+                buildPath(goal, start, out);
+                return true;
+            }
+            if (++lastExpansions > maxExpansions) {
+                return false;
+            }
+            expand(node, node % width, node / width);
+        }
+        return false;
+    }
+
+    private void expand(int node, int x, int y) {
+        int width = grid.getWidth();
+        int count = findNeighbors(node, x, y);
+
+        for (int i = 0; i < count; i++) {
+            int jumpPoint = jump(x + neighborDx[i], y + neighborDy[i], neighborDx[i], neighborDy[i]);
+            if (jumpPoint < 0 || closedStamp[jumpPoint] == search) continue;
+
+            int jx = jumpPoint % width;
+            int jy = jumpPoint / width;
+            float newCost = cost[node] + octile(Math.abs(jx - x), Math.abs(jy - y));
+            if (openStamp[jumpPoint] != search || newCost < cost[jumpPoint]) {
+                openStamp[jumpPoint] = search;
+                cost[jumpPoint] = newCost;
+                parent[jumpPoint] = node;
+                push(jumpPoint, newCost + heuristic(jx, jy));
+            }
+        }
+    }
+
+    /**
+     * Pruned neighbor directions: natural and forced neighbors given the direction we came from.
+     */
+    private int findNeighbors(int node, int x, int y) {
+        int count = 0;
+        int p = parent[node];
+
+        if (p < 0) {
+            // Start node: every direction, diagonals only past two open sides
+            boolean up = grid.isWalkable(x, y + 1);
+            boolean down = grid.isWalkable(x, y - 1);
+            boolean left = grid.isWalkable(x - 1, y);
+            boolean right = grid.isWalkable(x + 1, y);
+            if (up) count = addNeighbor(count, 0, 1);
+            if (down) count = addNeighbor(count, 0, -1);
+            if (left) count = addNeighbor(count, -1, 0);
+            if (right) count = addNeighbor(count, 1, 0);
+            if (up && left && grid.isWalkable(x - 1, y + 1)) count = addNeighbor(count, -1, 1);
+            if (up && right && grid.isWalkable(x + 1, y + 1)) count = addNeighbor(count, 1, 1);
+            if (down && left && grid.isWalkable(x - 1, y - 1)) count = addNeighbor(count, -1, -1);
+            if (down && right && grid.isWalkable(x + 1, y - 1)) count = addNeighbor(count, 1, -1);
+            return count;
+        }
+
+        int width = grid.getWidth();
+        int dx = Integer.signum(x - p % width);
+        int dy = Integer.signum(y - p / width);
+
+        if (dx != 0 && dy != 0) {
+            boolean vertical = grid.isWalkable(x, y + dy);
+            boolean horizontal = grid.isWalkable(x + dx, y);
+            if (vertical) count = addNeighbor(count, 0, dy);
+            if (horizontal) count = addNeighbor(count, dx, 0);
+            if (vertical && horizontal && grid.isWalkable(x + dx, y + dy)) count = addNeighbor(count, dx, dy);
+        } else if (dx != 0) {
+            boolean next = grid.isWalkable(x + dx, y);
+            boolean up = grid.isWalkable(x, y + 1);
+            boolean down = grid.isWalkable(x, y - 1);
+            if (next) {
+                count = addNeighbor(count, dx, 0);
+                if (up && grid.isWalkable(x + dx, y + 1)) count = addNeighbor(count, dx, 1);
+                if (down && grid.isWalkable(x + dx, y - 1)) count = addNeighbor(count, dx, -1);
+            }
+            if (up) count = addNeighbor(count, 0, 1);
+            if (down) count = addNeighbor(count, 0, -1);
+        } else {
+            boolean next = grid.isWalkable(x, y + dy);
+            boolean right = grid.isWalkable(x + 1, y);
+            boolean left = grid.isWalkable(x - 1, y);
+            if (next) {
+                count = addNeighbor(count, 0, dy);
+                if (right && grid.isWalkable(x + 1, y + dy)) count = addNeighbor(count, 1, dy);
+                if (left && grid.isWalkable(x - 1, y + dy)) count = addNeighbor(count, -1, dy);
+            }
+            if (right) count = addNeighbor(count, 1, 0);
+            if (left) count = addNeighbor(count, -1, 0);
+        }
+        return count;
+    }
+
+    private int addNeighbor(int count, int dx, int dy) {
+        neighborDx[count] = dx;
+        neighborDy[count] = dy;
+        return count + 1;
+    }
+
+    /**
+     * Walks from (x, y) in a direction until reaching the goal, a jump point, or a wall.
+     * @return The jump point's cell index, or -1 if the walk hit a wall
+     */
+    private int jump(int x, int y, int dx, int dy) {
+        while (true) {
+            if (!grid.isWalkable(x, y)) return -1;
+            if (x == goalX && y == goalY) return y * grid.getWidth() + x;
+
+            if (dx != 0 && dy != 0) {
+                // Diagonal: stop here if a straight scan from here finds something
+                if (jump(x + dx, y, dx, 0) >= 0 || jump(x, y + dy, 0, dy) >= 0) {
+                    return y * grid.getWidth() + x;
+                }
+            } else if (dx != 0) {
+                if ((grid.isWalkable(x, y - 1) && !grid.isWalkable(x - dx, y - 1)) ||
+                    (grid.isWalkable(x, y + 1) && !grid.isWalkable(x - dx, y + 1))) {
+                    return y * grid.getWidth() + x;
+                }
+            } else {
+                if ((grid.isWalkable(x - 1, y) && !grid.isWalkable(x - 1, y - dy)) ||
+                    (grid.isWalkable(x + 1, y) && !grid.isWalkable(x + 1, y - dy))) {
+                    return y * grid.getWidth() + x;
+                }
+            }
+
+            // No corner cutting: both sides must be open to continue (trivially true for straight moves)
+            if (!grid.isWalkable(x + dx, y) || !grid.isWalkable(x, y + dy)) return -1;
+            x += dx;
+            y += dy;
+        }
+    }
+
+    private void buildPath(int goal, int start, IntArray out) {
+        for (int node = goal; node != start; node = parent[node]) {
+            out.add(node);
+        }
+        out.reverse();
+    }
+
+    private float heuristic(int x, int y) {
+        return octile(Math.abs(goalX - x), Math.abs(goalY - y));
+    }
+
+    private static float octile(int dx, int dy) {
+        return dx < dy ? dx * SQRT2 + (dy - dx) : dy * SQRT2 + (dx - dy);
+    }
+
+    private void nextSearch() {
+        search++;
+        if (search == Integer.MAX_VALUE) {
+            Arrays.fill(openStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            search = 1;
+        }
+    }
+
+    private void push(int node, float key) {
+        if (heapSize == heapNodes.length) {
+            heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+            heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int parentIndex = (i - 1) >>> 1;
+            if (heapKeys[parentIndex] <= key) break;
+            heapNodes[i] = heapNodes[parentIndex];
+            heapKeys[i] = heapKeys[parentIndex];
+            i = parentIndex;
+        }
+        heapNodes[i] = node;
+        heapKeys[i] = key;
+    }
+
+    private int pop() {
+        int result = heapNodes[0];
+        int lastNode = heapNodes[--heapSize];
+        float lastKey = heapKeys[heapSize];
+
+        int i = 0;
+        while (true) {
+            int child = i * 2 + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) child++;
+            if (heapKeys[child] >= lastKey) break;
+            heapNodes[i] = heapNodes[child];
+            heapKeys[i] = heapKeys[child];
+            i = child;
+        }
+        heapNodes[i] = lastNode;
+        heapKeys[i] = lastKey;
+        return result;
+    }
+
+    /**
+     * Limits how many jump points a single search may expand before giving up.
+     */
+    public void setMaxExpansions(int maxExpansions) {
+        this.maxExpansions = Math.max(1, maxExpansions);
+    }
+
+    /**
+     * Gets the number of jump points expanded by the last search (for profiling).
+     */
+    public int getLastExpansions() {
+        return lastExpansions;
+    }
+
+    public NavGrid getGrid() {
+        return grid;
+    }
+}
@@ -0,0 +1,77 @@
+package com.game.systems.profiling;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.LongArray;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Collects per-frame CPU timings (update and render phases) and writes them as CSV.
+ * Combined with input replay this gives repeatable traces to compare builds against.
+ *
+ * Usage per frame: beginFrame(), endUpdate() after the simulation, endFrame() after rendering.
+ */
+public class FrameTimingLog {
+    private final LongArray updateNanos = new LongArray(4096);
+    private final LongArray renderNanos = new LongArray(4096);
+    private long frameStart;
+    private long updateEnd;
+
+    public void beginFrame() {
+        frameStart = System.nanoTime();
+        updateEnd = frameStart;
+    }
+
+    public void endUpdate() {
+        updateEnd = System.nanoTime();
+    }
+
+    public void endFrame() {
+        long now = System.nanoTime();
+        updateNanos.add(updateEnd - frameStart);
+        renderNanos.add(now - updateEnd);
+    }
+
+    public int getFrameCount() {
+        return updateNanos.size;
+    }
+
+    /**
+     * Writes one line per frame (frame, update_ms, render_ms, total_ms) and prints a summary.
+     * @param file The target file
+     */
+    public void save(FileHandle file) {
+        StringBuilder csv = new StringBuilder(updateNanos.size * 32);
+        csv.append("frame,update_ms,render_ms,total_ms\n");
+
+        long[] totals = new long[updateNanos.size];
+        for (int i = 0; i < updateNanos.size; i++) {
+            long update = updateNanos.get(i);
+            long render = renderNanos.get(i);
+            totals[i] = update + render;
+            csv.append(i).append(',')
+               .append(toMillis(update)).append(',')
+               .append(toMillis(render)).append(',')
+               .append(toMillis(totals[i])).append('\n');
+        }
+        file.writeString(csv.toString(), false);
+
+        System.out.println("FrameTimingLog: Wrote " + updateNanos.size + " frames to " + file.path());
+        if (totals.length > 0) {
+            Arrays.sort(totals);
+            long sum = 0;
+            for (long total : totals) {
+                sum += total;
+            }
+            System.out.println("FrameTimingLog: avg " + toMillis(sum / totals.length) +
+                               " ms, p50 " + toMillis(totals[totals.length / 2]) +
+                               " ms, p95 " + toMillis(totals[(int) (totals.length * 0.95f)]) +
+                               " ms, max " + toMillis(totals[totals.length - 1]) + " ms");
+        }
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
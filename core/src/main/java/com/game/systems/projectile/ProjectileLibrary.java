@@ -0,0 +1,119 @@
+package com.game.systems.projectile;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of projectile types, with all their sprite sheets packed into one atlas.
+ * One texture for every projectile means a whole volley draws in a single batch flush.
+ */
+public class ProjectileLibrary {
+    private static final int PAGE_SIZE = 512;
+    private static final int PADDING = 2;
+
+    private static final List<ProjectileType> types = new ArrayList<>();
+    private static final Map<String, ProjectileType> typesByName = new HashMap<>();
+    private static PixmapPacker packer;
+    private static TextureAtlas atlas;
+
+    /**
+     * Registers the projectiles from FX/Projectile and the throwable items from Items/Projectile.
+     */
+    public static void registerDefaults() {
+        register(new ProjectileType("arrow", "FX/Projectile/Arrow.png", 13, 5, 0f, 220f, 2, 1.5f));
+        register(new ProjectileType("kunai", "FX/Projectile/Kunai.png", 14, 5, 0f, 240f, 2, 1.2f));
+        register(new ProjectileType("fireball", "FX/Projectile/Fireball.png", 16, 16, 0.08f, 150f, 4, 2f));
+        register(new ProjectileType("energy_ball", "FX/Projectile/EnergyBall.png", 16, 16, 0.08f, 160f, 3, 2f));
+        register(new ProjectileType("rock", "FX/Projectile/SpriteSheetRock.png", 16, 16, 0.1f, 140f, 2, 1f));
+        register(new ProjectileType("shuriken", "FX/Projectile/Shuriken.png", 16, 16, 0.05f, 200f, 2, 1.2f).setSpin(720f));
+        register(new ProjectileType("bomb", "Items/Projectile/Bomb.png", 12, 13, 0f, 120f, 5, 1f).setSpin(360f));
+    }
+
+    /**
+     * Registers a type. Call load() afterwards so its sheet is in the atlas.
+     * @param type The type (names must be unique)
+     * @return The type's ID
+     */
+    public static int register(ProjectileType type) {
+        ProjectileType existing = typesByName.get(type.getName());
+        if (existing != null) {
+            return existing.id;
+        }
+        type.id = types.size();
+        types.add(type);
+        typesByName.put(type.getName(), type);
+        return type.id;
+    }
+
+    /**
+     * Packs the sheets of all registered types into the atlas and splits their frames.
+     * Replaces any previously loaded atlas.
+     */
+    public static void load() {
+        disposeAtlas();
+        packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, PADDING, false);
+
+        for (ProjectileType type : types) {
+            Pixmap sheet = new Pixmap(Gdx.files.internal(type.getSheetPath()));
+            packer.pack(type.getName(), sheet);
+            sheet.dispose();
+        }
+        atlas = packer.generateTextureAtlas(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest, false);
+
+        for (ProjectileType type : types) {
+            TextureRegion region = atlas.findRegion(type.getName());
+            type.setFrames(region.split(type.getFrameWidth(), type.getFrameHeight())[0]);
+        }
+        System.out.println("ProjectileLibrary: Packed " + types.size() + " projectile types into " +
+            atlas.getTextures().size + " page(s)");
+    }
+
+    /**
+     * Gets a type by ID.
+     */
+    public static ProjectileType get(int id) {
+        return types.get(id);
+    }
+
+    /**
+     * Gets a type by name.
+     * @return The type, or null if not registered
+     */
+    public static ProjectileType get(String name) {
+        return typesByName.get(name);
+    }
+
+    public static int getTypeCount() {
+        return types.size();
+    }
+
+    /**
+     * Disposes the atlas. Registered types are kept (without frames) until load() is called again.
+     */
+    public static void dispose() {
+        disposeAtlas();
+    }
+
+    private static void disposeAtlas() {
+        if (atlas != null) {
+            atlas.dispose();
+            atlas = null;
+        }
+        if (packer != null) {
+            packer.dispose();
+            packer = null;
+        }
+        for (ProjectileType type : types) {
+            type.setFrames(null);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.game.systems.projectile;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.game.systems.collision.EntityBroadphase;
+import com.game.systems.entity.Entity;
+import com.game.systems.entity.GameObject;
+import com.game.systems.navigation.NavGrid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs every projectile in flight without making them GameObjects.
+ *
+ * Projectiles are rows in fixed-capacity parallel arrays (position, velocity, age, owner...),
+ * packed at the front so update and render walk a dense range; a projectile that ends is
+ * swap-removed with the last one. Each step walks the segment it travels across the NavGrid
+ * to find the first wall, then casts the part before the wall against the EntityBroadphase.
+ * Fast projectiles therefore can't tunnel through thin walls or targets, and never hit a
+ * target behind a wall. Hits damage Entities and are reported to listeners.
+ *
+ * All types share one atlas texture (ProjectileLibrary), so render() is a single batch run.
+ */
+public class ProjectileSystem {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final int capacity;
+    private final float[] x;
+    private final float[] y;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private final float[] age;
+    private final float[] angle; // Degrees
+    private final int[] type;
+    private final int[] damage;
+    private final int[] hitMask;
+    private final GameObject[] owner; // Never hit by its own projectiles
+    private int count;
+
+    private final EntityBroadphase.RayHit rayHit = new EntityBroadphase.RayHit();
+    private final List<HitListener> listeners = new ArrayList<>();
+
+    private int lastHits; // In the last update
+    private int droppedCount;
+
+    /**
+     * Listener for projectile impacts.
+     */
+    public interface HitListener {
+        /**
+         * Called when a projectile hits something. Entities have already taken the damage.
+         * @param type The projectile type
+         * @param target The object hit, or null for a wall
+         * @param x Impact X
+         * @param y Impact Y
+         */
+        void onProjectileHit(ProjectileType type, GameObject target, float x, float y);
+    }
+
+    public ProjectileSystem() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ProjectileSystem(int capacity) {
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        age = new float[capacity];
+        angle = new float[capacity];
+        type = new int[capacity];
+        damage = new int[capacity];
+        hitMask = new int[capacity];
+        owner = new GameObject[capacity];
+    }
+
+    /**
+     * Launches a projectile.
+     * @param typeId ProjectileLibrary type ID
+     * @param startX Start X (sprite center)
+     * @param startY Start Y
+     * @param directionX Flight direction X (need not be normalized)
+     * @param directionY Flight direction Y
+     * @param shooter The object firing (never hit by it), or null
+     * @param mask CollisionLayer bits the projectile can hit
+     * @return False if the pool is full or the direction is zero
+     */
+    public boolean fire(int typeId, float startX, float startY, float directionX, float directionY,
+                        GameObject shooter, int mask) {
+        float length = (float) Math.sqrt(directionX * directionX + directionY * directionY);
+        if (length == 0f) return false;
+        if (count >= capacity) {
+            droppedCount++;
+            return false;
+        }
+
+        ProjectileType projectileType = ProjectileLibrary.get(typeId);
+        float speed = projectileType.getSpeed() / length;
+        int i = count++;
+        x[i] = startX;
+        y[i] = startY;
+        velocityX[i] = directionX * speed;
+        velocityY[i] = directionY * speed;
+        age[i] = 0f;
+        angle[i] = MathUtils.atan2(directionY, directionX) * MathUtils.radiansToDegrees;
+        type[i] = typeId;
+        damage[i] = projectileType.getDamage();
+        hitMask[i] = mask;
+        owner[i] = shooter;
+        return true;
+    }
+
+    /**
+     * Moves all projectiles and resolves hits. Call after the world update, so the broadphase
+     * has this tick's positions.
+     * @param delta Frame time in seconds
+     * @param broadphase Entity colliders to hit
+     * @param walls Blocked cells that stop projectiles, or null to fly through walls
+     */
+    public void update(float delta, EntityBroadphase broadphase, NavGrid walls) {
+        lastHits = 0;
+
+        int i = 0;
+        while (i < count) {
+            ProjectileType projectileType = ProjectileLibrary.get(type[i]);
+            age[i] += delta;
+            if (age[i] >= projectileType.getLifetime()) {
+                removeAt(i);
+                continue;
+            }
+
+            float startX = x[i];
+            float startY = y[i];
+            float endX = startX + velocityX[i] * delta;
+            float endY = startY + velocityY[i] * delta;
+            if (projectileType.getSpin() != 0f) {
+                angle[i] += projectileType.getSpin() * delta;
+            }
+
+            // First wall along the step; targets are only looked for in front of it
+            float wall = walls != null ? walls.castSegment(startX, startY, endX, endY) : -1f;
+            float reachX = wall >= 0f ? startX + (endX - startX) * wall : endX;
+            float reachY = wall >= 0f ? startY + (endY - startY) * wall : endY;
+
+            if (broadphase.raycast(startX, startY, reachX, reachY, hitMask[i], owner[i], rayHit)) {
+                GameObject target = rayHit.getObject();
+                if (target instanceof Entity) {
+                    ((Entity) target).damage(damage[i]);
+                }
+                fireHit(projectileType, target, rayHit.getX(), rayHit.getY());
+                removeAt(i);
+                continue;
+            }
+
+            if (wall >= 0f) {
+                fireHit(projectileType, null, reachX, reachY);
+                removeAt(i);
+                continue;
+            }
+
+            x[i] = endX;
+            y[i] = endY;
+            i++;
+        }
+    }
+
+    /**
+     * Draws the projectiles inside a view rectangle. Call between batch.begin() and end().
+     */
+    public void render(SpriteBatch batch, float viewX, float viewY, float viewWidth, float viewHeight) {
+        float viewMaxX = viewX + viewWidth;
+        float viewMaxY = viewY + viewHeight;
+
+        for (int i = 0; i < count; i++) {
+            ProjectileType projectileType = ProjectileLibrary.get(type[i]);
+            TextureRegion[] frames = projectileType.getFrames();
+            if (frames == null) continue;
+
+            float width = projectileType.getFrameWidth();
+            float height = projectileType.getFrameHeight();
+            float drawX = x[i] - width / 2f;
+            float drawY = y[i] - height / 2f;
+            // Loose cull (ignores rotation, which stays within the larger side)
+            float extent = Math.max(width, height);
+            if (drawX + extent < viewX || drawX - extent > viewMaxX ||
+                drawY + extent < viewY || drawY - extent > viewMaxY) {
+                continue;
+            }
+
+            int frame = 0;
+            if (frames.length > 1 && projectileType.getFrameDuration() > 0f) {
+                frame = (int) (age[i] / projectileType.getFrameDuration()) % frames.length;
+            }
+            batch.draw(frames[frame], drawX, drawY, width / 2f, height / 2f, width, height, 1f, 1f, angle[i]);
+        }
+    }
+
+    private void removeAt(int index) {
+        int last = --count;
+        if (index != last) {
+            x[index] = x[last];
+            y[index] = y[last];
+            velocityX[index] = velocityX[last];
+            velocityY[index] = velocityY[last];
+            age[index] = age[last];
+            angle[index] = angle[last];
+            type[index] = type[last];
+            damage[index] = damage[last];
+            hitMask[index] = hitMask[last];
+            owner[index] = owner[last];
+        }
+        owner[last] = null;
+    }
+
+    private void fireHit(ProjectileType projectileType, GameObject target, float hitX, float hitY) {
+        lastHits++;
+        for (HitListener listener : listeners) {
+            listener.onProjectileHit(projectileType, target, hitX, hitY);
+        }
+    }
+
+    /**
+     * Removes all projectiles (e.g. on level change).
+     */
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            owner[i] = null;
+        }
+        count = 0;
+    }
+
+    public void addListener(HitListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(HitListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Gets how many projectiles are in flight.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets how many projectiles hit something in the last update.
+     */
+    public int getLastHitCount() {
+        return lastHits;
+    }
+
+    /**
+     * Gets how many fire() calls have been refused because the pool was full.
+     */
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+}
@@ -0,0 +1,107 @@
+package com.game.systems.projectile;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Definition of a projectile kind (arrow, fireball, ...): its sprite sheet and flight stats.
+ * Frames are filled in when ProjectileLibrary packs the sheets into its atlas.
+ */
+public class ProjectileType {
+    private final String name;
+    private final String sheetPath;
+    private final int frameWidth;
+    private final int frameHeight;
+    private final float frameDuration;
+    private final float speed;
+    private final int damage;
+    private final float lifetime;
+    private float spin; // Degrees per second; 0 = sprite faces the flight direction
+    private TextureRegion[] frames;
+    int id = -1;
+
+    /**
+     * @param name Unique name (e.g. "arrow")
+     * @param sheetPath Sprite sheet path; frames are laid out in a single row
+     * @param frameWidth Width of one frame in pixels
+     * @param frameHeight Height of one frame in pixels
+     * @param frameDuration Seconds per frame (ignored for single-frame sheets)
+     * @param speed Flight speed in pixels per second
+     * @param damage Damage dealt on hit
+     * @param lifetime Seconds before the projectile expires
+     */
+    public ProjectileType(String name, String sheetPath, int frameWidth, int frameHeight, float frameDuration,
+                          float speed, int damage, float lifetime) {
+        this.name = name;
+        this.sheetPath = sheetPath;
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+        this.frameDuration = frameDuration;
+        this.speed = speed;
+        this.damage = damage;
+        this.lifetime = lifetime;
+    }
+
+    /**
+     * Makes the sprite spin instead of facing the flight direction (thrown items).
+     * @param degreesPerSecond Spin speed
+     * @return This type
+     */
+    public ProjectileType setSpin(float degreesPerSecond) {
+        this.spin = degreesPerSecond;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSheetPath() {
+        return sheetPath;
+    }
+
+    public int getFrameWidth() {
+        return frameWidth;
+    }
+
+    public int getFrameHeight() {
+        return frameHeight;
+    }
+
+    public float getFrameDuration() {
+        return frameDuration;
+    }
+
+    public float getSpeed() {
+        return speed;
+    }
+
+    public int getDamage() {
+        return damage;
+    }
+
+    public float getLifetime() {
+        return lifetime;
+    }
+
+    public float getSpin() {
+        return spin;
+    }
+
+    /**
+     * Gets the ID assigned by ProjectileLibrary.register(), or -1 if not registered.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the animation frames, or null until the atlas is loaded.
+     */
+    public TextureRegion[] getFrames() {
+        return frames;
+    }
+
+    void setFrames(TextureRegion[] frames) {
+        this.frames = frames;
+    }
+}
@@ -0,0 +1,341 @@
+package com.game.systems.trigger;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.game.systems.entity.GameObject;
+import com.game.systems.entity.Transform;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reports bodies entering, staying in and leaving trigger volumes.
+ *
+ * Volumes are static and indexed in a uniform grid. Each tick only bodies whose position
+ * changed since the last tick are tested, and only against volumes in the grid cells they
+ * overlap. Bodies that didn't move keep their overlaps and only receive stay events.
+ */
+public class TriggerSystem {
+    private static final float DEFAULT_CELL_SIZE = 128f;
+
+    private final float cellSize;
+    private final IntMap<IntArray> cells = new IntMap<>();
+    private final List<TriggerVolume> volumes = new ArrayList<>(); // Indexed by volume ID, null when removed
+    private final IntArray freeIds = new IntArray();
+    private int volumeCount;
+    private final List<Body> bodies = new ArrayList<>();
+    private final List<TriggerListener> listeners = new ArrayList<>();
+
+    // Reused per query
+    private final IntArray candidates = new IntArray();
+    private final IntArray nextOverlaps = new IntArray();
+    private int[] visitStamps = new int[16];
+    private int visitStamp;
+
+    /**
+     * Listener for trigger events.
+     */
+    public interface TriggerListener {
+        /**
+         * Called on the first tick a body overlaps a volume.
+         */
+        void onTriggerEnter(TriggerVolume volume, GameObject body);
+
+        /**
+         * Called on every following tick the body still overlaps the volume.
+         */
+        default void onTriggerStay(TriggerVolume volume, GameObject body) {
+        }
+
+        /**
+         * Called on the first tick the body no longer overlaps the volume (or the body was removed).
+         */
+        default void onTriggerExit(TriggerVolume volume, GameObject body) {
+        }
+    }
+
+    /**
+     * Tracked body and the volumes it currently overlaps.
+     */
+    private static class Body {
+        final GameObject object;
+        final Transform transform;
+        final float offsetX;
+        final float offsetY;
+        final Rectangle bounds = new Rectangle();
+        final IntArray overlaps = new IntArray();
+        int lastVersion = -1; // Transform version at the last test
+
+        Body(GameObject object, Transform transform, float offsetX, float offsetY, float width, float height) {
+            this.object = object;
+            this.transform = transform;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            bounds.setSize(width, height);
+        }
+    }
+
+    public TriggerSystem() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * @param cellSize Size of a grid cell in world units
+     */
+    public TriggerSystem(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds a static trigger volume.
+     * @param type Trigger type (e.g. "gateway")
+     * @param x Volume X
+     * @param y Volume Y
+     * @param width Volume width
+     * @param height Volume height
+     * @param userData Object the volume belongs to, passed back in events
+     * @return The new volume
+     */
+    public TriggerVolume addVolume(String type, float x, float y, float width, float height, Object userData) {
+        int id = freeIds.size > 0 ? freeIds.pop() : volumes.size();
+        TriggerVolume volume = new TriggerVolume(id, type, x, y, width, height, userData);
+        if (id == volumes.size()) {
+            volumes.add(volume);
+        } else {
+            volumes.set(id, volume);
+        }
+        volumeCount++;
+
+        int minCellX = cellCoord(x);
+        int maxCellX = cellCoord(x + width);
+        int minCellY = cellCoord(y);
+        int maxCellY = cellCoord(y + height);
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                int key = cellKey(cx, cy);
+                IntArray cell = cells.get(key);
+                if (cell == null) {
+                    cell = new IntArray();
+                    cells.put(key, cell);
+                }
+                cell.add(id);
+            }
+        }
+
+        if (id >= visitStamps.length) {
+            int[] grown = new int[visitStamps.length * 2];
+            System.arraycopy(visitStamps, 0, grown, 0, visitStamps.length);
+            visitStamps = grown;
+        }
+        return volume;
+    }
+
+    /**
+     * Removes a volume (e.g. when its chunk unloads). Bodies inside receive an exit event.
+     * @param volume The volume
+     */
+    public void removeVolume(TriggerVolume volume) {
+        int id = volume.getId();
+        if (id >= volumes.size() || volumes.get(id) != volume) {
+            return;
+        }
+
+        for (int i = 0; i < bodies.size(); i++) {
+            Body body = bodies.get(i);
+            if (body.overlaps.removeValue(id)) {
+                fireExit(volume, body.object);
+            }
+        }
+
+        Rectangle bounds = volume.getBounds();
+        int minCellX = cellCoord(bounds.x);
+        int maxCellX = cellCoord(bounds.x + bounds.width);
+        int minCellY = cellCoord(bounds.y);
+        int maxCellY = cellCoord(bounds.y + bounds.height);
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                IntArray cell = cells.get(cellKey(cx, cy));
+                if (cell != null) {
+                    cell.removeValue(id);
+                }
+            }
+        }
+
+        volumes.set(id, null);
+        freeIds.add(id);
+        volumeCount--;
+    }
+
+    /**
+     * Starts tracking a box that follows a transform. It is tested against volumes on the next update.
+     * @param gameObject The body, reported in events
+     * @param transform The transform the box follows
+     * @param offsetX Box X relative to the transform
+     * @param offsetY Box Y relative to the transform
+     * @param width Box width
+     * @param height Box height
+     */
+    public void addBody(GameObject gameObject, Transform transform, float offsetX, float offsetY,
+                        float width, float height) {
+        for (Body body : bodies) {
+            if (body.object == gameObject) return;
+        }
+
+        if (transform == null) {
+            System.out.println("TriggerSystem: Body needs a Transform");
+            return;
+        }
+        bodies.add(new Body(gameObject, transform, offsetX, offsetY, width, height));
+    }
+
+    /**
+     * Stops tracking a body, sending exit events for volumes it was inside.
+     * @param gameObject The body
+     */
+    public void removeBody(GameObject gameObject) {
+        for (int i = 0; i < bodies.size(); i++) {
+            Body body = bodies.get(i);
+            if (body.object == gameObject) {
+                bodies.remove(i);
+                for (int j = 0; j < body.overlaps.size; j++) {
+                    fireExit(volumes.get(body.overlaps.get(j)), body.object);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Tests moved bodies and dispatches enter/stay/exit events. Call once per tick.
+     */
+    public void update() {
+        for (int i = 0; i < bodies.size(); i++) {
+            Body body = bodies.get(i);
+            int version = body.transform.getVersion();
+
+            if (version == body.lastVersion) {
+                // Not moved: overlaps are unchanged (unless a volume was disabled)
+                for (int j = body.overlaps.size - 1; j >= 0; j--) {
+                    TriggerVolume volume = volumes.get(body.overlaps.get(j));
+                    if (volume.isEnabled()) {
+                        fireStay(volume, body.object);
+                    } else {
+                        body.overlaps.removeIndex(j);
+                        fireExit(volume, body.object);
+                    }
+                }
+                continue;
+            }
+
+            body.lastVersion = version;
+            body.bounds.setPosition(body.transform.getX() + body.offsetX, body.transform.getY() + body.offsetY);
+            testBody(body);
+        }
+    }
+
+    private void testBody(Body body) {
+        collectCandidates(body.bounds);
+
+        nextOverlaps.clear();
+        for (int i = 0; i < candidates.size; i++) {
+            TriggerVolume volume = volumes.get(candidates.get(i));
+            if (volume.isEnabled() && volume.getBounds().overlaps(body.bounds)) {
+                nextOverlaps.add(volume.getId());
+            }
+        }
+
+        // Exits: previously overlapped, not anymore
+        for (int i = 0; i < body.overlaps.size; i++) {
+            int id = body.overlaps.get(i);
+            if (!nextOverlaps.contains(id)) {
+                fireExit(volumes.get(id), body.object);
+            }
+        }
+
+        // Enters and stays
+        for (int i = 0; i < nextOverlaps.size; i++) {
+            int id = nextOverlaps.get(i);
+            if (body.overlaps.contains(id)) {
+                fireStay(volumes.get(id), body.object);
+            } else {
+                fireEnter(volumes.get(id), body.object);
+            }
+        }
+
+        body.overlaps.clear();
+        body.overlaps.addAll(nextOverlaps);
+    }
+
+    private void collectCandidates(Rectangle bounds) {
+        candidates.clear();
+        visitStamp++;
+
+        int minCellX = cellCoord(bounds.x);
+        int maxCellX = cellCoord(bounds.x + bounds.width);
+        int minCellY = cellCoord(bounds.y);
+        int maxCellY = cellCoord(bounds.y + bounds.height);
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                IntArray cell = cells.get(cellKey(cx, cy));
+                if (cell == null) continue;
+
+                for (int i = 0; i < cell.size; i++) {
+                    int id = cell.get(i);
+                    if (visitStamps[id] != visitStamp) {
+                        visitStamps[id] = visitStamp;
+                        candidates.add(id);
+                    }
+                }
+            }
+        }
+    }
+
+    public void addListener(TriggerListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(TriggerListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireEnter(TriggerVolume volume, GameObject body) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onTriggerEnter(volume, body);
+        }
+    }
+
+    private void fireStay(TriggerVolume volume, GameObject body) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onTriggerStay(volume, body);
+        }
+    }
+
+    private void fireExit(TriggerVolume volume, GameObject body) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onTriggerExit(volume, body);
+        }
+    }
+
+    /**
+     * Gets all volumes by ID (read-only; removed volumes leave null entries).
+     */
+    public List<TriggerVolume> getVolumes() {
+        return Collections.unmodifiableList(volumes);
+    }
+
+    public int getVolumeCount() {
+        return volumeCount;
+    }
+
+    private int cellCoord(float value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    private static int cellKey(int cellX, int cellY) {
+        return ((cellX & 0xFFFF) << 16) | (cellY & 0xFFFF);
+    }
+}
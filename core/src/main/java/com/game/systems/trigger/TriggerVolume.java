@@ -0,0 +1,61 @@
+package com.game.systems.trigger;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * A static rectangular region that reports bodies entering, staying in and leaving it.
+ * Examples: gateways, doors, traps, region triggers placed in Tiled.
+ */
+public class TriggerVolume {
+    private final int id;
+    private final String type;
+    private final Rectangle bounds;
+    private final Object userData;
+    private boolean enabled = true;
+
+    TriggerVolume(int id, String type, float x, float y, float width, float height, Object userData) {
+        this.id = id;
+        this.type = type;
+        this.bounds = new Rectangle(x, y, width, height);
+        this.userData = userData;
+    }
+
+    /**
+     * Index of this volume in its TriggerSystem.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the trigger type (e.g. "gateway", "trigger").
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Gets the bounds. Volumes are static, don't modify the rectangle.
+     */
+    public Rectangle getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Gets the object this volume belongs to (e.g. a GatewayEntity or LevelObject).
+     */
+    public Object getUserData() {
+        return userData;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Disabled volumes are skipped when testing bodies; bodies inside receive an exit event on their next test.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
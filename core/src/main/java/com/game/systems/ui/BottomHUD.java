@@ -115,6 +115,23 @@ public class BottomHUD extends Table {
         }
     }
 
+    @Override
+    protected void positionChanged() {
+        super.positionChanged();
+        // dragAndDrop is null while the Table constructor runs
+        if (dragAndDrop != null) {
+            dragAndDrop.invalidateSlotBounds();
+        }
+    }
+
+    @Override
+    protected void sizeChanged() {
+        super.sizeChanged();
+        if (dragAndDrop != null) {
+            dragAndDrop.invalidateSlotBounds();
+        }
+    }
+
     public ItemSlotUI[] getBagEquipmentSlots() {
         return bagEquipmentSlots;
     }
@@ -1,10 +1,14 @@
 package com.game.systems.ui;
 
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.game.systems.inventory.BagInstance;
 import com.game.systems.inventory.InventoryContainer;
 import com.game.systems.item.ItemStack;
 
+import java.util.BitSet;
+import java.util.function.Function;
+
 /**
  * Unified window for displaying any inventory container (default inventory or bags).
  * This eliminates code duplication between inventory and bag windows.
@@ -16,6 +20,7 @@ public class ContainerWindow extends Window {
     private final Skin skin;
 
     private ItemSlotUI[] slots;
+    private final BitSet dirtySlots = new BitSet();
 
     /**
      * Creates a window for a container (inventory or bag).
@@ -81,6 +86,63 @@ public class ContainerWindow extends Window {
             ItemStack stack = container.getItem(i);
             slots[i].setItemStack(stack);
         }
+        dirtySlots.clear();
+    }
+
+    /**
+     * Marks a single slot as needing a refresh on the next flush.
+     * @param slotIndex The slot index in the container
+     */
+    public void markSlotDirty(int slotIndex) {
+        if (slotIndex >= 0 && slotIndex < slots.length) {
+            dirtySlots.set(slotIndex);
+        }
+    }
+
+    public boolean hasDirtySlots() {
+        return !dirtySlots.isEmpty();
+    }
+
+    /**
+     * Refreshes only the slots marked dirty since the last refresh.
+     * @param getItemTexture Function to get texture for an item icon path
+     */
+    public void refreshDirtySlots(Function<String, TextureRegion> getItemTexture) {
+        for (int i = dirtySlots.nextSetBit(0); i >= 0; i = dirtySlots.nextSetBit(i + 1)) {
+            ItemStack stack = container.getItem(i);
+            slots[i].setItemStack(stack);
+
+            String iconPath = stack != null ? stack.getDefinition().getIconPath() : null;
+            slots[i].setItemIcon(iconPath != null ? getItemTexture.apply(iconPath) : null);
+        }
+        dirtySlots.clear();
+    }
+
+    @Override
+    protected void positionChanged() {
+        super.positionChanged();
+        // dragAndDrop is null while the Window constructor runs
+        if (dragAndDrop != null) {
+            dragAndDrop.invalidateSlotBounds();
+        }
+    }
+
+    @Override
+    protected void sizeChanged() {
+        super.sizeChanged();
+        if (dragAndDrop != null) {
+            dragAndDrop.invalidateSlotBounds();
+        }
+    }
+
+    /**
+     * Closes the window and unregisters its slots from drag and drop.
+     */
+    public void close() {
+        for (ItemSlotUI slot : slots) {
+            dragAndDrop.unregisterSlot(slot);
+        }
+        remove();
     }
 
     public ItemSlotUI[] getSlots() {
@@ -1,7 +1,6 @@
 package com.game.systems.ui;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.Stage;
@@ -9,17 +8,24 @@ import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.utils.DragAndDrop;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Handles drag-and-drop functionality for inventory items using the new image-based slots.
+ * Drop targets are resolved through a SlotSpatialIndex of cached slot rectangles instead of
+ * registering every slot as a scene2d drop target.
  */
 public class ItemDragAndDropSystem extends DragAndDrop {
     private final Skin skin;
     private ItemDropListener dropListener;
-    private List<ItemSlotUI> registeredSlots = new ArrayList<>();
+    private final Map<ItemSlotUI, Source> registeredSlots = new LinkedHashMap<>();
     private static final float SNAP_DISTANCE = 60f; // Distance threshold for snapping to nearest slot
+    private static final float SLOT_HIT_PADDING = 4f; // Matches the expanded hit area in ItemSlotUI
+
+    private final SlotSpatialIndex slotIndex = new SlotSpatialIndex(SNAP_DISTANCE, SLOT_HIT_PADDING);
+    private boolean slotIndexDirty = true;
+    private ItemSlotUI highlightedSlot;
 
     public interface ItemDropListener {
         /**
@@ -44,14 +50,17 @@ public class ItemDragAndDropSystem extends DragAndDrop {
 
     /**
      * Registers a slot as a drag source and drop target.
+     * Each slot is only registered once; call unregisterSlot() when its window closes.
+     * Registering or unregistering marks the slot index for rebuild.
      * @param slot The item slot UI
      */
     public void registerSlot(ItemSlotUI slot) {
-        // Keep track of all registered slots for snap-to-nearest feature
-        registeredSlots.add(slot);
+        if (registeredSlots.containsKey(slot)) {
+            return;
+        }
 
         // Add as drag source
-        addSource(new Source(slot) {
+        Source source = new Source(slot) {
             private TextureRegion dragIcon;
 
             @Override
@@ -90,53 +99,76 @@ public class ItemDragAndDropSystem extends DragAndDrop {
                 return payload;
             }
 
+            @Override
+            public void drag(InputEvent event, float x, float y, int pointer) {
+                // Highlight the slot under the cursor as drop target
+                setHighlightedSlot(findSlotAt(event.getStageX(), event.getStageY()));
+            }
+
             @Override
             public void dragStop(InputEvent event, float x, float y, int pointer, Payload payload, Target target) {
-                if (target == null) {
-                    // No target detected - try to find nearest slot within snap distance
-                    ItemSlotUI nearestSlot = findNearestSlot(event.getStageX(), event.getStageY(), slot);
+                setHighlightedSlot(null);
+                if (dropListener == null) {
+                    return;
+                }
 
-                    if (nearestSlot != null && dropListener != null) {
-                        // Snap to nearest slot
+                ItemSlotUI targetSlot = findSlotAt(event.getStageX(), event.getStageY());
+                if (targetSlot == slot) {
+                    return; // Dropped back onto itself
+                }
+
+                if (targetSlot == null) {
+                    // No slot under cursor - try to find nearest slot within snap distance
+                    targetSlot = findNearestSlot(event.getStageX(), event.getStageY(), slot);
+                    if (targetSlot != null) {
                         System.out.println("Quick drag detected - snapping to nearest slot");
-                        dropListener.onItemDrop(slot, nearestSlot);
-                    } else if (dropListener != null) {
-                        // Dropped outside any valid target - drop to world
-                        dropListener.onItemDropToWorld(slot);
                     }
                 }
-            }
-        });
 
-        // Add as drop target
-        addTarget(new Target(slot) {
-            @Override
-            public boolean drag(Source source, Payload payload, float x, float y, int pointer) {
-                // Highlight this slot as valid drop target
-                slot.setHighlighted(true);
-                return true;
+                if (targetSlot != null) {
+                    dropListener.onItemDrop(slot, targetSlot);
+                } else {
+                    // Dropped outside any valid target - drop to world
+                    dropListener.onItemDropToWorld(slot);
+                }
             }
+        };
+        addSource(source);
 
-            @Override
-            public void reset(Source source, Payload payload) {
-                // Remove highlight
-                slot.setHighlighted(false);
-            }
+        // Keep track of all registered slots for the slot index
+        registeredSlots.put(slot, source);
+        slotIndexDirty = true;
+    }
 
-            @Override
-            public void drop(Source source, Payload payload, float x, float y, int pointer) {
-                ItemSlotUI sourceSlot = (ItemSlotUI) payload.getObject();
-                ItemSlotUI targetSlot = slot;
+    /**
+     * Removes a slot's drag source.
+     * @param slot The item slot UI
+     */
+    public void unregisterSlot(ItemSlotUI slot) {
+        Source source = registeredSlots.remove(slot);
+        if (source != null) {
+            removeSource(source);
+            if (highlightedSlot == slot) {
+                setHighlightedSlot(null);
+            }
+            slotIndexDirty = true;
+        }
+    }
 
-                // Notify listener
-                if (dropListener != null) {
-                    dropListener.onItemDrop(sourceSlot, targetSlot);
-                }
+    /**
+     * Marks the cached slot rectangles as stale.
+     * Call when windows move, resize, open or close; the index is rebuilt on the next query.
+     */
+    public void invalidateSlotBounds() {
+        slotIndexDirty = true;
+    }
 
-                // Remove highlight
-                slot.setHighlighted(false);
-            }
-        });
+    /**
+     * Gets the number of currently registered slots.
+     * @return Registered slot count
+     */
+    public int getRegisteredSlotCount() {
+        return registeredSlots.size();
     }
 
     /**
@@ -147,6 +179,17 @@ public class ItemDragAndDropSystem extends DragAndDrop {
         this.dropListener = listener;
     }
 
+    /**
+     * Finds the slot under the given position.
+     * @param stageX X coordinate in stage space
+     * @param stageY Y coordinate in stage space
+     * @return The slot, or null if none
+     */
+    private ItemSlotUI findSlotAt(float stageX, float stageY) {
+        ensureSlotIndex();
+        return slotIndex.findSlotAt(stageX, stageY);
+    }
+
     /**
      * Finds the nearest slot to the given position within SNAP_DISTANCE.
      * @param stageX X coordinate in stage space
@@ -155,33 +198,27 @@ public class ItemDragAndDropSystem extends DragAndDrop {
      * @return The nearest slot, or null if none within range
      */
     private ItemSlotUI findNearestSlot(float stageX, float stageY, ItemSlotUI sourceSlot) {
-        ItemSlotUI nearest = null;
-        float nearestDistance = SNAP_DISTANCE;
-
-        for (ItemSlotUI slot : registeredSlots) {
-            // Skip the source slot and invisible/removed slots
-            if (slot == sourceSlot || !slot.isVisible() || slot.getStage() == null) {
-                continue;
-            }
+        ensureSlotIndex();
+        return slotIndex.findNearest(stageX, stageY, SNAP_DISTANCE, sourceSlot);
+    }
 
-            // Calculate center position of the slot in stage coordinates
-            Vector2 slotCenter = slot.localToStageCoordinates(new Vector2(
-                slot.getWidth() / 2f,
-                slot.getHeight() / 2f
-            ));
-
-            // Calculate distance
-            float dx = stageX - slotCenter.x;
-            float dy = stageY - slotCenter.y;
-            float distance = (float) Math.sqrt(dx * dx + dy * dy);
-
-            // Update nearest if this is closer
-            if (distance < nearestDistance) {
-                nearest = slot;
-                nearestDistance = distance;
-            }
+    private void ensureSlotIndex() {
+        if (slotIndexDirty) {
+            slotIndex.rebuild(registeredSlots.keySet());
+            slotIndexDirty = false;
         }
+    }
 
-        return nearest;
+    private void setHighlightedSlot(ItemSlotUI slot) {
+        if (highlightedSlot == slot) {
+            return;
+        }
+        if (highlightedSlot != null) {
+            highlightedSlot.setHighlighted(false);
+        }
+        highlightedSlot = slot;
+        if (slot != null) {
+            slot.setHighlighted(true);
+        }
     }
 }
@@ -0,0 +1,189 @@
+package com.game.systems.ui;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * Grid index of cached stage-space slot rectangles.
+ * Used by drag and drop to find the slot under the cursor or the nearest slot
+ * by only looking at slots in nearby grid cells.
+ *
+ * The index is rebuilt explicitly (when windows move, resize or open/close),
+ * so queries don't touch the scene graph and don't allocate.
+ */
+public class SlotSpatialIndex {
+    private final float cellSize;
+    private final float hitPadding;
+    private final IntMap<IntArray> cells = new IntMap<>();
+    private final Vector2 tmp = new Vector2();
+
+    private ItemSlotUI[] slots = new ItemSlotUI[32];
+    private float[] bounds = new float[32 * 4]; // x, y, width, height per slot
+    private int count;
+
+    /**
+     * @param cellSize Size of a grid cell in stage units (should be at least the snap distance)
+     * @param hitPadding Extra margin around each slot for hit tests
+     */
+    public SlotSpatialIndex(float cellSize, float hitPadding) {
+        this.cellSize = cellSize;
+        this.hitPadding = hitPadding;
+    }
+
+    /**
+     * Rebuilds the index from the given slots.
+     * Slots that are not on stage or hidden (including hidden parent windows) are skipped.
+     * @param candidates All registered slots
+     */
+    public void rebuild(Iterable<ItemSlotUI> candidates) {
+        for (IntArray cell : cells.values()) {
+            cell.clear();
+        }
+        for (int i = 0; i < count; i++) {
+            slots[i] = null;
+        }
+        count = 0;
+
+        for (ItemSlotUI slot : candidates) {
+            if (slot.getStage() == null || !slot.isVisible() || !slot.ascendantsVisible()) {
+                continue;
+            }
+
+            slot.localToStageCoordinates(tmp.set(0, 0));
+            add(slot, tmp.x, tmp.y, slot.getWidth(), slot.getHeight());
+        }
+    }
+
+    private void add(ItemSlotUI slot, float x, float y, float width, float height) {
+        if (count == slots.length) {
+            ItemSlotUI[] newSlots = new ItemSlotUI[count * 2];
+            System.arraycopy(slots, 0, newSlots, 0, count);
+            slots = newSlots;
+
+            float[] newBounds = new float[count * 2 * 4];
+            System.arraycopy(bounds, 0, newBounds, 0, count * 4);
+            bounds = newBounds;
+        }
+
+        int index = count++;
+        slots[index] = slot;
+        bounds[index * 4] = x;
+        bounds[index * 4 + 1] = y;
+        bounds[index * 4 + 2] = width;
+        bounds[index * 4 + 3] = height;
+
+        // Insert into every cell the padded rectangle overlaps
+        int minCellX = cellCoord(x - hitPadding);
+        int maxCellX = cellCoord(x + width + hitPadding);
+        int minCellY = cellCoord(y - hitPadding);
+        int maxCellY = cellCoord(y + height + hitPadding);
+
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                int key = cellKey(cx, cy);
+                IntArray cell = cells.get(key);
+                if (cell == null) {
+                    cell = new IntArray();
+                    cells.put(key, cell);
+                }
+                cell.add(index);
+            }
+        }
+    }
+
+    /**
+     * Finds the slot whose (padded) rectangle contains the given point.
+     * If padded rectangles of neighbouring slots overlap, the slot with the closest center wins.
+     * @param stageX X coordinate in stage space
+     * @param stageY Y coordinate in stage space
+     * @return The slot, or null if the point is not over a slot
+     */
+    public ItemSlotUI findSlotAt(float stageX, float stageY) {
+        IntArray cell = cells.get(cellKey(cellCoord(stageX), cellCoord(stageY)));
+        if (cell == null) {
+            return null;
+        }
+
+        ItemSlotUI hit = null;
+        float hitDistance2 = Float.MAX_VALUE;
+
+        for (int i = 0; i < cell.size; i++) {
+            int index = cell.get(i);
+            float x = bounds[index * 4];
+            float y = bounds[index * 4 + 1];
+            float width = bounds[index * 4 + 2];
+            float height = bounds[index * 4 + 3];
+
+            if (stageX >= x - hitPadding && stageX < x + width + hitPadding &&
+                stageY >= y - hitPadding && stageY < y + height + hitPadding) {
+                float dx = stageX - (x + width / 2f);
+                float dy = stageY - (y + height / 2f);
+                float distance2 = dx * dx + dy * dy;
+                if (distance2 < hitDistance2) {
+                    hit = slots[index];
+                    hitDistance2 = distance2;
+                }
+            }
+        }
+        return hit;
+    }
+
+    /**
+     * Finds the slot whose center is nearest to the given point within a maximum distance.
+     * @param stageX X coordinate in stage space
+     * @param stageY Y coordinate in stage space
+     * @param maxDistance Maximum distance from the point to the slot center
+     * @param exclude Slot to skip (usually the drag source), may be null
+     * @return The nearest slot, or null if none within range
+     */
+    public ItemSlotUI findNearest(float stageX, float stageY, float maxDistance, ItemSlotUI exclude) {
+        ItemSlotUI nearest = null;
+        float nearestDistance2 = maxDistance * maxDistance;
+
+        int minCellX = cellCoord(stageX - maxDistance);
+        int maxCellX = cellCoord(stageX + maxDistance);
+        int minCellY = cellCoord(stageY - maxDistance);
+        int maxCellY = cellCoord(stageY + maxDistance);
+
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                IntArray cell = cells.get(cellKey(cx, cy));
+                if (cell == null) continue;
+
+                for (int i = 0; i < cell.size; i++) {
+                    int index = cell.get(i);
+                    if (slots[index] == exclude) continue;
+
+                    // Compare squared distance to the slot center
+                    float dx = stageX - (bounds[index * 4] + bounds[index * 4 + 2] / 2f);
+                    float dy = stageY - (bounds[index * 4 + 1] + bounds[index * 4 + 3] / 2f);
+                    float distance2 = dx * dx + dy * dy;
+
+                    if (distance2 < nearestDistance2) {
+                        nearest = slots[index];
+                        nearestDistance2 = distance2;
+                    }
+                }
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Gets the number of slots currently in the index.
+     * @return Indexed slot count
+     */
+    public int size() {
+        return count;
+    }
+
+    private int cellCoord(float value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    private static int cellKey(int cellX, int cellY) {
+        return ((cellX & 0xFFFF) << 16) | (cellY & 0xFFFF);
+    }
+}
@@ -31,11 +31,15 @@ public class UIManagerNew {
     private Map<BagInstance, ContainerWindow> bagWindows;
     private Map<BagInstance, Integer> bagSlotIndices; // Track which slot each bag is in
     private boolean inventoryOpen;
+    private boolean bottomHUDDirty; // Bag equipment changed since last flush
 
     private TooltipLabel tooltip;
     private ContextMenu contextMenu;
     private ItemDropCallback itemDropCallback;
     private Timer.Task tooltipDelayTask; // Task for delaying tooltip display
+    private ItemSlotUI.SlotHoverListener slotHoverListener;
+    private ItemSlotUI.SlotRightClickListener slotRightClickListener;
+    private ItemSlotUI.SlotDoubleClickListener slotDoubleClickListener;
     private static final float TOOLTIP_DELAY = 0.5f; // 0.5 seconds delay
 
     public interface ItemDropCallback {
@@ -60,6 +64,7 @@ public class UIManagerNew {
         tooltip = new TooltipLabel(skin);
         contextMenu = new ContextMenu(skin);
         setupContextMenuListener();
+        createSlotListeners();
 
         // Create drag and drop handler
         dragAndDrop = new ItemDragAndDropSystem(skin);
@@ -67,6 +72,7 @@ public class UIManagerNew {
 
         // Create bottom HUD (always visible)
         bottomHUD = new BottomHUD(playerInventory, dragAndDrop, skin);
+        bindSlotListeners(bottomHUD.getBagEquipmentSlots());
 
         // Position at bottom of screen with specific height
         float hudHeight = 60; // Height of the bottom bar
@@ -83,6 +89,7 @@ public class UIManagerNew {
             dragAndDrop,
             skin
         );
+        bindSlotListeners(inventoryWindow.getSlots());
         inventoryWindow.setVisible(false);
         stage.addActor(inventoryWindow);
 
@@ -97,6 +104,9 @@ public class UIManagerNew {
 
         // Position inventory window
         positionInventoryWindow();
+
+        // Track slot changes so only dirty slots are refreshed each frame
+        setupInventoryListener();
     }
 
     private void positionInventoryWindow() {
@@ -122,6 +132,40 @@ public class UIManagerNew {
         });
     }
 
+    private void setupInventoryListener() {
+        playerInventory.addListener(new PlayerInventory.InventoryListener() {
+            @Override
+            public void onSlotChanged(InventoryContainer container, int slotIndex, ItemStack oldStack, ItemStack newStack) {
+                ContainerWindow window = findWindowForContainer(container);
+                if (window != null) {
+                    window.markSlotDirty(slotIndex);
+                }
+            }
+
+            @Override
+            public void onBagSlotChanged(int bagSlotIndex, BagInstance oldBag, BagInstance newBag) {
+                bottomHUDDirty = true;
+            }
+        });
+    }
+
+    /**
+     * Finds the open window displaying a container.
+     * @param container The inventory container
+     * @return The window, or null if the container is not displayed
+     */
+    private ContainerWindow findWindowForContainer(InventoryContainer container) {
+        if (inventoryWindow.getContainer() == container) {
+            return inventoryWindow;
+        }
+        for (ContainerWindow window : bagWindows.values()) {
+            if (window.getContainer() == container) {
+                return window;
+            }
+        }
+        return null;
+    }
+
     private void setupContextMenuListener() {
         contextMenu.setListener(new ContextMenu.ContextMenuListener() {
             @Override
@@ -137,7 +181,6 @@ public class UIManagerNew {
         }
 
         ItemStack sourceStack = sourceSlot.getItemStack();
-        ItemStack targetStack = targetSlot.getItemStack();
 
         if (sourceStack == null) {
             return false;
@@ -153,36 +196,18 @@ public class UIManagerNew {
             return handleBagEquip(sourceSlot, targetSlot);
         }
 
-        // Simple swap or merge logic
-        if (targetStack == null) {
-            // Move to empty slot
-            targetSlot.setItemStack(sourceStack);
-            sourceSlot.setItemStack(null);
-            updateBackingData(sourceSlot, null);
-            updateBackingData(targetSlot, sourceStack);
-            refreshAllWindows();
-            return true;
-        } else if (targetStack.canMergeWith(sourceStack)) {
-            // Merge stacks
-            int overflow = targetStack.add(sourceStack.getQuantity());
-            if (overflow > 0) {
-                sourceStack.setQuantity(overflow);
-            } else {
-                sourceSlot.setItemStack(null);
-                updateBackingData(sourceSlot, null);
-            }
-            updateBackingData(targetSlot, targetStack);
-            refreshAllWindows();
-            return true;
-        } else {
-            // Swap items
-            targetSlot.setItemStack(sourceStack);
-            sourceSlot.setItemStack(targetStack);
-            updateBackingData(sourceSlot, targetStack);
-            updateBackingData(targetSlot, sourceStack);
-            refreshAllWindows();
-            return true;
+        // Move, merge or swap as one inventory change; slot visuals follow through slot change events
+        InventoryContainer sourceContainer = (InventoryContainer) sourceSlot.getContainerRef();
+        InventoryContainer targetContainer = (InventoryContainer) targetSlot.getContainerRef();
+        if (!playerInventory.tryTransfer(sourceContainer, sourceSlot.getSlotIndex(),
+                                         targetContainer, targetSlot.getSlotIndex())) {
+            System.out.println("Transfer rejected: " + sourceStack.getDefinition().getName());
+            return false;
         }
+
+        sourceSlot.setItemStack(sourceContainer.getItem(sourceSlot.getSlotIndex()));
+        targetSlot.setItemStack(targetContainer.getItem(targetSlot.getSlotIndex()));
+        return true;
     }
 
     /**
@@ -220,7 +245,7 @@ public class UIManagerNew {
             // Close source bag window
             ContainerWindow sourceBagWindow = bagWindows.get(sourceBag);
             if (sourceBagWindow != null) {
-                sourceBagWindow.remove();
+                sourceBagWindow.close();
                 bagWindows.remove(sourceBag);
                 bagSlotIndices.remove(sourceBag);
             }
@@ -232,7 +257,7 @@ public class UIManagerNew {
                 // Close target bag window
                 ContainerWindow targetBagWindow = bagWindows.get(targetBag);
                 if (targetBagWindow != null) {
-                    targetBagWindow.remove();
+                    targetBagWindow.close();
                     bagWindows.remove(targetBag);
                     bagSlotIndices.remove(targetBag);
                 }
@@ -283,7 +308,7 @@ public class UIManagerNew {
         // Close the bag window
         ContainerWindow bagWindow = bagWindows.get(sourceBag);
         if (bagWindow != null) {
-            bagWindow.remove();
+            bagWindow.close();
             bagWindows.remove(sourceBag);
             bagSlotIndices.remove(sourceBag);
         }
@@ -425,7 +450,7 @@ public class UIManagerNew {
             // Close the bag window
             ContainerWindow bagWindow = bagWindows.get(bag);
             if (bagWindow != null) {
-                bagWindow.remove();
+                bagWindow.close();
                 bagWindows.remove(bag);
                 bagSlotIndices.remove(bag);
             }
@@ -453,7 +478,6 @@ public class UIManagerNew {
         // Remove from slot
         sourceSlot.setItemStack(null);
         updateBackingData(sourceSlot, null);
-        refreshAllWindows();
 
         // Notify callback
         if (itemDropCallback != null) {
@@ -530,7 +554,6 @@ public class UIManagerNew {
                     } else {
                         updateBackingData(slot, stack);
                     }
-                    refreshAllWindows();
                     System.out.println("Context menu: Consumed " + stack.getDefinition().getName());
                     // Future: Apply consumable effects here
                 }
@@ -559,7 +582,6 @@ public class UIManagerNew {
                         emptySlot.setItemStack(newStack);
                         updateBackingData(emptySlot, newStack);
 
-                        refreshAllWindows();
                         System.out.println("Context menu: Split successful - " + remainingQuantity + " in original, " +
                                          halfQuantity + " in new slot");
                     } else {
@@ -645,16 +667,14 @@ public class UIManagerNew {
             closeAllBagWindows();
         }
 
-        // Always set input processor when UI exists (for HUD)
-        // Stage handles both HUD and inventory window
-        Gdx.input.setInputProcessor(stage);
-        System.out.println("UIManagerNew: Input processor set to stage");
-        System.out.println("UIManagerNew: Current input processor = " + Gdx.input.getInputProcessor());
+        // Inventory window visibility changed, so cached slot rectangles are stale
+        dragAndDrop.invalidateSlotBounds();
     }
 
 
     /**
-     * Call this whenever inventory contents change to update the UI.
+     * Forces a full refresh of all windows.
+     * Normal slot changes are picked up through inventory events and flushed in update().
      */
     public void notifyInventoryChanged() {
         if (inventoryOpen) {
@@ -663,9 +683,27 @@ public class UIManagerNew {
     }
 
     public void update(float delta) {
+        flushDirtySlots();
         stage.act(delta);
     }
 
+    /**
+     * Refreshes only the slots that changed since the last frame.
+     */
+    private void flushDirtySlots() {
+        if (inventoryWindow.hasDirtySlots()) {
+            inventoryWindow.refreshDirtySlots(worldItemManager::getTexture);
+        }
+        for (ContainerWindow window : bagWindows.values()) {
+            if (window.hasDirtySlots()) {
+                window.refreshDirtySlots(worldItemManager::getTexture);
+            }
+        }
+        if (bottomHUDDirty) {
+            refreshBottomHUDWithIcons();
+        }
+    }
+
     public void render() {
         stage.draw();
     }
@@ -679,6 +717,7 @@ public class UIManagerNew {
         bottomHUD.setPosition(0, 0);
 
         positionInventoryWindow();
+        dragAndDrop.invalidateSlotBounds();
     }
 
     public void dispose() {
@@ -727,6 +766,7 @@ public class UIManagerNew {
             dragAndDrop,
             skin
         );
+        bindSlotListeners(bagWindow.getSlots());
         bagWindows.put(bag, bagWindow);
         bagSlotIndices.put(bag, slotIndex); // Track which slot this bag is in
         stage.addActor(bagWindow);
@@ -787,6 +827,8 @@ public class UIManagerNew {
             // Move up for next window in column
             currentY += windowHeight + padding;
         }
+
+        dragAndDrop.invalidateSlotBounds();
     }
 
     /**
@@ -810,7 +852,7 @@ public class UIManagerNew {
      */
     private void closeAllBagWindows() {
         for (ContainerWindow window : bagWindows.values()) {
-            window.remove();
+            window.close();
         }
         bagWindows.clear();
         bagSlotIndices.clear();
@@ -834,7 +876,7 @@ public class UIManagerNew {
     private void refreshContainerWindowWithIcons(ContainerWindow window) {
         window.refresh();
 
-        // Set item icons and listeners for all slots
+        // Set item icons for all slots
         for (ItemSlotUI slot : window.getSlots()) {
             ItemStack stack = slot.getItemStack();
             if (stack != null && stack.getDefinition().getIconPath() != null) {
@@ -843,9 +885,6 @@ public class UIManagerNew {
             } else {
                 slot.setItemIcon(null);
             }
-
-            // Set up hover and right-click listeners
-            setupSlotListener(slot);
         }
     }
 
@@ -853,29 +892,29 @@ public class UIManagerNew {
      * Refreshes bottom HUD and sets bag icons from WorldItemManager.
      */
     private void refreshBottomHUDWithIcons() {
+        bottomHUDDirty = false;
         bottomHUD.refreshWithTextures(iconPath -> worldItemManager.getTexture(iconPath));
-
-        // Set up listeners for bag equipment slots
-        for (ItemSlotUI slot : bottomHUD.getBagEquipmentSlots()) {
-            setupSlotListener(slot);
-        }
     }
 
     /**
-     * Sets up hover and right-click listeners for all slots in a container window.
+     * Binds the shared hover, right-click and double-click listeners to slots.
+     * Called once when the slots are created, not on every refresh.
      */
-    private void setupSlotListeners(ContainerWindow window) {
-        for (ItemSlotUI slot : window.getSlots()) {
-            setupSlotListener(slot);
+    private void bindSlotListeners(ItemSlotUI[] slots) {
+        for (ItemSlotUI slot : slots) {
+            slot.setHoverListener(slotHoverListener);
+            slot.setRightClickListener(slotRightClickListener);
+            slot.setDoubleClickListener(slotDoubleClickListener);
         }
     }
 
     /**
-     * Sets up hover and right-click listeners for a single slot.
+     * Creates the slot listeners shared by every slot.
+     * The listeners receive the slot as a parameter, so a single instance serves all slots.
      */
-    private void setupSlotListener(ItemSlotUI slot) {
+    private void createSlotListeners() {
         // Hover listener for tooltips with delay
-        slot.setHoverListener(new ItemSlotUI.SlotHoverListener() {
+        slotHoverListener = new ItemSlotUI.SlotHoverListener() {
             @Override
             public void onHoverEnter(ItemSlotUI slot, float x, float y) {
                 // Cancel any existing tooltip delay task
@@ -912,10 +951,10 @@ public class UIManagerNew {
                 }
                 tooltip.hide();
             }
-        });
+        };
 
         // Right-click listener for context menu
-        slot.setRightClickListener(new ItemSlotUI.SlotRightClickListener() {
+        slotRightClickListener = new ItemSlotUI.SlotRightClickListener() {
             @Override
             public void onRightClick(ItemSlotUI slot, float x, float y) {
                 System.out.println("UIManagerNew: Right-click detected on slot at (" + x + ", " + y + ")");
@@ -934,10 +973,10 @@ public class UIManagerNew {
                     System.out.println("UIManagerNew: Slot is empty, not showing context menu");
                 }
             }
-        });
+        };
 
         // Double-click listener for primary action
-        slot.setDoubleClickListener(new ItemSlotUI.SlotDoubleClickListener() {
+        slotDoubleClickListener = new ItemSlotUI.SlotDoubleClickListener() {
             @Override
             public void onDoubleClick(ItemSlotUI slot) {
                 System.out.println("UIManagerNew: Double-click detected on slot");
@@ -951,6 +990,6 @@ public class UIManagerNew {
                     }
                 }
             }
-        });
+        };
     }
 }
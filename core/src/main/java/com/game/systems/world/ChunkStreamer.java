@@ -0,0 +1,377 @@
+package com.game.systems.world;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.game.systems.collision.SpatialQuery;
+import com.game.systems.collision.TiledMapCollisionLoader;
+import com.game.systems.level.LevelData;
+import com.game.systems.level.TiledMapParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Loads and unloads the chunks of a WorldRegion around the camera.
+ *
+ * Maps are read through an AssetManager, which parses the TMX on its loader thread and
+ * uploads textures on the render thread within a per-frame time budget. Shared tilesets are
+ * reference counted by the asset manager and released with the last chunk using them.
+ * Collision shapes and level objects are then extracted on a worker thread. Memory and load
+ * time depend on the area around the camera, not on the total world size.
+ *
+ * Areas whose chunk is not ready count as blocked, so nothing walks into unloaded terrain.
+ * When a chunk becomes ready therefore depends on loading speed; setBlocking(true) loads
+ * requested chunks within the same update() so movement is the same on every run.
+ * Chunks whose map fails to load are remembered and not requested again.
+ */
+public class ChunkStreamer implements Disposable {
+    private final WorldRegion region;
+    private final AssetManager assets;
+    private final AsyncExecutor buildExecutor;
+    private final IntMap<WorldChunk> chunks = new IntMap<>();
+    private final List<WorldChunk> chunkList = new ArrayList<>();
+    private final List<WorldChunk> readyChunks = new ArrayList<>();
+    private final List<WorldChunk> readyView = Collections.unmodifiableList(readyChunks);
+    private final List<ChunkListener> listeners = new ArrayList<>();
+    private final IntSet failedChunks = new IntSet(); // Keys of chunks whose map failed to load
+    private final int tileSize;
+
+    private int loadRadius = 1;       // Extra chunks loaded around the view
+    private int unloadRadius = 2;     // Chunks further than this from the view are unloaded
+    private int uploadBudgetMillis = 4;
+    private boolean blocking;
+
+    /**
+     * Listener for chunk lifecycle events (spawning and despawning chunk content).
+     */
+    public interface ChunkListener {
+        /**
+         * Called on the render thread when a chunk becomes ready.
+         */
+        void onChunkLoaded(WorldChunk chunk);
+
+        /**
+         * Called on the render thread before a ready chunk's map is released.
+         */
+        void onChunkUnloaded(WorldChunk chunk);
+    }
+
+    /**
+     * @param region The region layout
+     * @param tileSize Tile size in pixels (for level data)
+     */
+    public ChunkStreamer(WorldRegion region, int tileSize) {
+        this.region = region;
+        this.tileSize = tileSize;
+        this.assets = new AssetManager(new InternalFileHandleResolver());
+        this.assets.setLoader(TiledMap.class, new TmxMapLoader(new InternalFileHandleResolver()));
+        this.buildExecutor = new AsyncExecutor(1, "ChunkBuilder");
+    }
+
+    /**
+     * Streams chunks for the current view. Call once per frame.
+     * @param viewX View left
+     * @param viewY View bottom
+     * @param viewWidth View width
+     * @param viewHeight View height
+     */
+    public void update(float viewX, float viewY, float viewWidth, float viewHeight) {
+        int minX = region.toChunkX(viewX);
+        int maxX = region.toChunkX(viewX + viewWidth);
+        int minY = region.toChunkY(viewY);
+        int maxY = region.toChunkY(viewY + viewHeight);
+
+        requestChunks(minX - loadRadius, minY - loadRadius, maxX + loadRadius, maxY + loadRadius);
+        unloadOutside(minX - unloadRadius, minY - unloadRadius, maxX + unloadRadius, maxY + unloadRadius);
+
+        if (blocking) {
+            finishLoading();
+            advanceChunks(true);
+            return;
+        }
+
+        try {
+            assets.update(uploadBudgetMillis);
+        } catch (GdxRuntimeException e) {
+            System.err.println("ChunkStreamer: Failed to load chunk map: " + e.getMessage());
+            dropFailedLoads();
+        }
+        advanceChunks(false);
+    }
+
+    /**
+     * Loads the chunks covering an area and blocks until they are ready.
+     * Used for the initial spawn and level transitions.
+     */
+    public void loadImmediately(float x, float y, float width, float height) {
+        requestChunks(region.toChunkX(x), region.toChunkY(y),
+                      region.toChunkX(x + width), region.toChunkY(y + height));
+        finishLoading();
+        advanceChunks(true);
+    }
+
+    /**
+     * Loads every queued map, carrying on past maps that fail.
+     */
+    private void finishLoading() {
+        while (true) {
+            try {
+                assets.finishLoading();
+                return;
+            } catch (GdxRuntimeException e) {
+                System.err.println("ChunkStreamer: Failed to load chunk map: " + e.getMessage());
+                dropFailedLoads();
+            }
+        }
+    }
+
+    private void requestChunks(int minX, int minY, int maxX, int maxY) {
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                int key = WorldRegion.chunkKey(cx, cy);
+                if (chunks.containsKey(key) || failedChunks.contains(key)) continue;
+
+                WorldRegion.ChunkInfo info = region.getChunk(cx, cy);
+                if (info == null) continue;
+
+                WorldChunk chunk = new WorldChunk(info);
+                chunks.put(key, chunk);
+                chunkList.add(chunk);
+                assets.load(info.getMapPath(), TiledMap.class);
+            }
+        }
+    }
+
+    private void unloadOutside(int minX, int minY, int maxX, int maxY) {
+        for (int i = chunkList.size() - 1; i >= 0; i--) {
+            WorldChunk chunk = chunkList.get(i);
+            int cx = chunk.getInfo().getChunkX();
+            int cy = chunk.getInfo().getChunkY();
+            if (cx >= minX && cx <= maxX && cy >= minY && cy <= maxY) continue;
+
+            // The worker is still reading the map; unload once it's done
+            if (chunk.getState() == WorldChunk.State.BUILDING) continue;
+
+            unload(chunk);
+            chunkList.remove(i);
+        }
+    }
+
+    private void unload(WorldChunk chunk) {
+        if (chunk.isReady()) {
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).onChunkUnloaded(chunk);
+            }
+            readyChunks.remove(chunk);
+        }
+        chunks.remove(WorldRegion.chunkKey(chunk.getInfo().getChunkX(), chunk.getInfo().getChunkY()));
+        if (assets.contains(chunk.getInfo().getMapPath())) {
+            assets.unload(chunk.getInfo().getMapPath()); // Also cancels a queued load
+        }
+        chunk.setMap(null);
+        chunk.setCollision(null);
+        chunk.setLevelData(null);
+    }
+
+    /**
+     * Moves chunks along their lifecycle: loaded maps start building, finished builds become ready.
+     * @param blocking Build on the calling thread instead of the worker
+     */
+    private void advanceChunks(boolean blocking) {
+        for (int i = 0; i < chunkList.size(); i++) {
+            WorldChunk chunk = chunkList.get(i);
+            String mapPath = chunk.getInfo().getMapPath();
+
+            if (chunk.getState() == WorldChunk.State.LOADING && assets.isLoaded(mapPath, TiledMap.class)) {
+                chunk.setMap(assets.get(mapPath, TiledMap.class));
+                chunk.setState(WorldChunk.State.BUILDING);
+                if (blocking) {
+                    build(chunk);
+                } else {
+                    chunk.buildResult = buildExecutor.submit(() -> {
+                        build(chunk);
+                        return null;
+                    });
+                }
+            }
+
+            if (chunk.getState() == WorldChunk.State.BUILDING) {
+                if (chunk.buildResult != null) {
+                    if (!blocking && !chunk.buildResult.isDone()) continue;
+                    try {
+                        chunk.buildResult.get(); // Waits when blocking; publishes the worker's results
+                    } catch (GdxRuntimeException e) {
+                        System.err.println("ChunkStreamer: Failed to build chunk " + mapPath + ": " + e.getMessage());
+                        chunk.setCollision(new SpatialQuery());
+                        chunk.setLevelData(new LevelData(0, 0, tileSize));
+                    }
+                    chunk.buildResult = null;
+                }
+
+                chunk.setState(WorldChunk.State.READY);
+                readyChunks.add(chunk);
+                for (int j = 0; j < listeners.size(); j++) {
+                    listeners.get(j).onChunkLoaded(chunk);
+                }
+            }
+        }
+    }
+
+    /**
+     * Extracts collision and level objects in world coordinates. Only reads the map.
+     */
+    private void build(WorldChunk chunk) {
+        WorldRegion.ChunkInfo info = chunk.getInfo();
+        SpatialQuery collision = new SpatialQuery();
+        TiledMapCollisionLoader.loadFromTiledMap(chunk.getMap(), collision, info.getOriginX(), info.getOriginY());
+        chunk.setCollision(collision);
+        chunk.setLevelData(TiledMapParser.parse(chunk.getMap(), info.getOriginX(), info.getOriginY()));
+    }
+
+    private void dropFailedLoads() {
+        for (int i = chunkList.size() - 1; i >= 0; i--) {
+            WorldChunk chunk = chunkList.get(i);
+            if (chunk.getState() == WorldChunk.State.LOADING && !assets.contains(chunk.getInfo().getMapPath())) {
+                int key = WorldRegion.chunkKey(chunk.getInfo().getChunkX(), chunk.getInfo().getChunkY());
+                chunks.remove(key);
+                chunkList.remove(i);
+                failedChunks.add(key); // Stays blocked instead of being requested every frame
+            }
+        }
+    }
+
+    /**
+     * Gets the ready chunk containing a world position.
+     * @return The chunk, or null if not loaded yet or outside the region
+     */
+    public WorldChunk getReadyChunkAt(float x, float y) {
+        WorldChunk chunk = chunks.get(WorldRegion.chunkKey(region.toChunkX(x), region.toChunkY(y)));
+        return chunk != null && chunk.isReady() ? chunk : null;
+    }
+
+    /**
+     * Check if a point collides with terrain. Points in chunks that aren't ready count as blocked.
+     */
+    public boolean testPoint(float x, float y) {
+        WorldChunk chunk = getReadyChunkAt(x, y);
+        return chunk == null || chunk.getCollision().testPoint(x, y);
+    }
+
+    /**
+     * Check if a rectangular area collides with terrain.
+     * Tests the four corners and center point, like SpatialQuery.testArea.
+     */
+    public boolean testArea(float x, float y, float width, float height) {
+        if (testPoint(x, y)) return true;
+        if (testPoint(x + width, y)) return true;
+        if (testPoint(x, y + height)) return true;
+        if (testPoint(x + width, y + height)) return true;
+        return testPoint(x + width / 2, y + height / 2);
+    }
+
+    /**
+     * Check if a rectangle overlaps terrain in any chunk it touches.
+     */
+    public boolean testRectangle(Rectangle rect) {
+        int minX = region.toChunkX(rect.x);
+        int maxX = region.toChunkX(rect.x + rect.width);
+        int minY = region.toChunkY(rect.y);
+        int maxY = region.toChunkY(rect.y + rect.height);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                WorldChunk chunk = chunks.get(WorldRegion.chunkKey(cx, cy));
+                if (chunk == null || !chunk.isReady() || chunk.getCollision().testRectangle(rect)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the ready chunks (read-only).
+     */
+    public List<WorldChunk> getReadyChunks() {
+        return readyView;
+    }
+
+    /**
+     * Gets the number of chunks loading, building or ready.
+     */
+    public int getResidentChunkCount() {
+        return chunkList.size();
+    }
+
+    public WorldRegion getRegion() {
+        return region;
+    }
+
+    public void addListener(ChunkListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(ChunkListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void setLoadRadius(int loadRadius) {
+        this.loadRadius = Math.max(0, loadRadius);
+        this.unloadRadius = Math.max(unloadRadius, this.loadRadius + 1);
+    }
+
+    public void setUnloadRadius(int unloadRadius) {
+        this.unloadRadius = Math.max(loadRadius + 1, unloadRadius);
+    }
+
+    /**
+     * Sets how long texture uploads may take per frame.
+     */
+    public void setUploadBudgetMillis(int uploadBudgetMillis) {
+        this.uploadBudgetMillis = Math.max(1, uploadBudgetMillis);
+    }
+
+    /**
+     * Loads and builds requested chunks within update() instead of over the following frames.
+     * Frames that reach new chunks take longer, but chunks are ready at the same point on every
+     * run (for input recording and replay).
+     */
+    public void setBlocking(boolean blocking) {
+        this.blocking = blocking;
+    }
+
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    @Override
+    public void dispose() {
+        for (int i = chunkList.size() - 1; i >= 0; i--) {
+            WorldChunk chunk = chunkList.get(i);
+            if (chunk.buildResult != null) {
+                try {
+                    chunk.buildResult.get();
+                } catch (GdxRuntimeException ignored) {
+                    // Disposing anyway
+                }
+            }
+            if (chunk.getState() == WorldChunk.State.BUILDING) {
+                chunk.setState(WorldChunk.State.LOADING); // Not ready: no unload event
+            }
+            unload(chunk);
+        }
+        chunkList.clear();
+        buildExecutor.dispose();
+        assets.dispose();
+    }
+}
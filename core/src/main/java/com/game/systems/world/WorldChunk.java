@@ -0,0 +1,104 @@
+package com.game.systems.world;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.game.systems.collision.SpatialQuery;
+import com.game.systems.entity.GameObject;
+import com.game.systems.level.LevelData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A loaded (or loading) chunk of a streamed world.
+ *
+ * Lifecycle: LOADING while the map is read by the asset manager, BUILDING while collision
+ * and level objects are extracted on the worker thread, READY once collision, level data and
+ * rendering are available.
+ */
+public class WorldChunk {
+    public enum State {
+        LOADING,
+        BUILDING,
+        READY
+    }
+
+    private final WorldRegion.ChunkInfo info;
+    private State state = State.LOADING;
+    private TiledMap map;
+    private SpatialQuery collision;
+    private LevelData levelData;
+    AsyncResult<Void> buildResult;
+
+    // Game objects spawned for this chunk, despawned when it unloads
+    private final List<GameObject> entities = new ArrayList<>();
+
+    WorldChunk(WorldRegion.ChunkInfo info) {
+        this.info = info;
+    }
+
+    public WorldRegion.ChunkInfo getInfo() {
+        return info;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    void setState(State state) {
+        this.state = state;
+    }
+
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    /**
+     * Gets the map (null while LOADING).
+     */
+    public TiledMap getMap() {
+        return map;
+    }
+
+    void setMap(TiledMap map) {
+        this.map = map;
+    }
+
+    /**
+     * Gets the collision shapes in world coordinates (null until READY).
+     */
+    public SpatialQuery getCollision() {
+        return collision;
+    }
+
+    void setCollision(SpatialQuery collision) {
+        this.collision = collision;
+    }
+
+    /**
+     * Gets spawn points and objects in world coordinates (null until READY).
+     */
+    public LevelData getLevelData() {
+        return levelData;
+    }
+
+    void setLevelData(LevelData levelData) {
+        this.levelData = levelData;
+    }
+
+    /**
+     * Gets the game objects spawned for this chunk. Whoever spawns objects on load adds them
+     * here and despawns them on unload (or moves them to the chunk they have walked into).
+     */
+    public List<GameObject> getEntities() {
+        return entities;
+    }
+
+    /**
+     * Checks whether a world position lies in this chunk.
+     */
+    public boolean contains(float x, float y) {
+        return x >= info.getOriginX() && x < info.getOriginX() + info.getWidth() &&
+               y >= info.getOriginY() && y < info.getOriginY() + info.getHeight();
+    }
+}
@@ -0,0 +1,273 @@
+package com.game.systems.world;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.XmlReader;
+import com.game.systems.level.TiledMapParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Layout of a streamed world: a Tiled world file (.world) whose maps are equally sized chunks
+ * placed on a grid. Only the layout is kept in memory; the maps themselves are loaded by
+ * ChunkStreamer as the camera approaches them.
+ *
+ * Tiled world coordinates grow downward. They are converted so the region's bottom-left
+ * corner is (0, 0) and Y grows upward, matching the rest of the game.
+ *
+ * Spawn points live in the chunk maps. findSpawnChunk() tells which chunk holds one, so only
+ * that chunk has to load to place the player. The world file can list them in an optional
+ * "spawns" array ([{"name": "player_spawn", "map": "chunk_0_0.tmx"}]); spawns it doesn't list
+ * are found by scanning the chunk maps' Entities layers once (object names only).
+ */
+public class WorldRegion {
+    private final String path;
+    private final int chunkWidth;
+    private final int chunkHeight;
+    private final int width;
+    private final int height;
+    private final List<ChunkInfo> chunks;
+    private final IntMap<ChunkInfo> chunksByKey;
+    private final Files.FileType fileType;
+    private final ObjectMap<String, ChunkInfo> spawnChunks; // Spawn name -> chunk holding it
+    private boolean spawnsScanned;
+
+    private WorldRegion(String path, Files.FileType fileType, int chunkWidth, int chunkHeight, int width, int height,
+                        List<ChunkInfo> chunks, ObjectMap<String, ChunkInfo> spawnChunks) {
+        this.path = path;
+        this.fileType = fileType;
+        this.spawnChunks = spawnChunks;
+        this.chunkWidth = chunkWidth;
+        this.chunkHeight = chunkHeight;
+        this.width = width;
+        this.height = height;
+        this.chunks = chunks;
+        this.chunksByKey = new IntMap<>();
+        for (ChunkInfo chunk : chunks) {
+            chunksByKey.put(chunkKey(chunk.chunkX, chunk.chunkY), chunk);
+        }
+    }
+
+    /**
+     * Checks whether a level path points to a world file instead of a single map.
+     */
+    public static boolean isWorldFile(String path) {
+        return path != null && path.endsWith(".world");
+    }
+
+    /**
+     * Reads a Tiled world file. The first map sets the chunk size; maps of a different size
+     * or not aligned to the chunk grid are skipped with a warning.
+     * @param file The .world file
+     * @return The region layout
+     */
+    public static WorldRegion load(FileHandle file) {
+        JsonValue root = new JsonReader().parse(file);
+        JsonValue maps = root.get("maps");
+        if (maps == null || maps.size == 0) {
+            throw new RuntimeException("World file has no maps: " + file.path());
+        }
+
+        int chunkWidth = maps.get(0).getInt("width");
+        int chunkHeight = maps.get(0).getInt("height");
+
+        // Bounds in Tiled coordinates (Y down)
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        List<JsonValue> accepted = new ArrayList<>();
+        for (JsonValue map = maps.child; map != null; map = map.next) {
+            int x = map.getInt("x", 0);
+            int y = map.getInt("y", 0);
+            if (map.getInt("width") != chunkWidth || map.getInt("height") != chunkHeight ||
+                x % chunkWidth != 0 || y % chunkHeight != 0) {
+                System.out.println("WorldRegion: Skipping " + map.getString("fileName") +
+                                   " (must be " + chunkWidth + "x" + chunkHeight + " and grid aligned)");
+                continue;
+            }
+            accepted.add(map);
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x + chunkWidth);
+            maxY = Math.max(maxY, y + chunkHeight);
+        }
+
+        List<ChunkInfo> chunks = new ArrayList<>();
+        ObjectMap<String, ChunkInfo> chunksByFile = new ObjectMap<>();
+        FileHandle dir = file.parent();
+        for (JsonValue map : accepted) {
+            int originX = map.getInt("x", 0) - minX;
+            int originY = maxY - (map.getInt("y", 0) + chunkHeight); // Flip to Y up
+            String mapPath = dir.child(map.getString("fileName")).path();
+            ChunkInfo chunk = new ChunkInfo(mapPath, originX / chunkWidth, originY / chunkHeight,
+                                            originX, originY, chunkWidth, chunkHeight);
+            chunks.add(chunk);
+            chunksByFile.put(map.getString("fileName"), chunk);
+        }
+
+        // Optional spawn index (not written by Tiled; maintained by hand)
+        ObjectMap<String, ChunkInfo> spawnChunks = new ObjectMap<>();
+        JsonValue spawns = root.get("spawns");
+        if (spawns != null) {
+            for (JsonValue spawn = spawns.child; spawn != null; spawn = spawn.next) {
+                String name = spawn.getString("name", null);
+                ChunkInfo chunk = chunksByFile.get(spawn.getString("map", ""));
+                if (name == null || chunk == null) {
+                    System.out.println("WorldRegion: Skipping spawn entry '" + name + "' (map '" +
+                                       spawn.getString("map", null) + "' is not in the world)");
+                    continue;
+                }
+                spawnChunks.put(name, chunk);
+            }
+        }
+
+        System.out.println("WorldRegion: " + chunks.size() + " chunks of " + chunkWidth + "x" + chunkHeight +
+                           " px from " + file.path());
+        return new WorldRegion(file.path(), file.type(), chunkWidth, chunkHeight, maxX - minX, maxY - minY,
+                               chunks, spawnChunks);
+    }
+
+    /**
+     * Finds the chunk whose map holds a spawn point.
+     * The first lookup of a spawn missing from the world file's index scans every chunk map.
+     * @param spawnName The spawn point name
+     * @return The chunk, or null if no chunk has the spawn
+     */
+    public ChunkInfo findSpawnChunk(String spawnName) {
+        ChunkInfo chunk = spawnChunks.get(spawnName);
+        if (chunk == null && !spawnsScanned) {
+            scanSpawns();
+            chunk = spawnChunks.get(spawnName);
+        }
+        return chunk;
+    }
+
+    /**
+     * Reads the spawn point names from each chunk map's Entities layer, without loading tiles.
+     * Entries from the world file take precedence.
+     */
+    private void scanSpawns() {
+        spawnsScanned = true;
+        long start = System.currentTimeMillis();
+        XmlReader reader = new XmlReader();
+        for (ChunkInfo chunk : chunks) {
+            XmlReader.Element map;
+            try {
+                map = reader.parse(Gdx.files.getFileHandle(chunk.getMapPath(), fileType));
+            } catch (GdxRuntimeException e) {
+                System.err.println("WorldRegion: Can't scan " + chunk.getMapPath() + " for spawns: " + e.getMessage());
+                continue;
+            }
+
+            for (XmlReader.Element group : map.getChildrenByName("objectgroup")) {
+                if (!"Entities".equals(group.getAttribute("name", null))) continue;
+
+                for (XmlReader.Element object : group.getChildrenByName("object")) {
+                    String name = object.getAttribute("name", null);
+                    if (name != null && TiledMapParser.isSpawnPointName(name) && !spawnChunks.containsKey(name)) {
+                        spawnChunks.put(name, chunk);
+                    }
+                }
+            }
+        }
+        System.out.println("WorldRegion: Scanned " + chunks.size() + " chunk maps for spawns in " +
+                           (System.currentTimeMillis() - start) + " ms (list them under \"spawns\" in " +
+                           path + " to skip this)");
+    }
+
+    /**
+     * Gets the chunk at grid coordinates.
+     * @return The chunk, or null if the region has no map there
+     */
+    public ChunkInfo getChunk(int chunkX, int chunkY) {
+        return chunksByKey.get(chunkKey(chunkX, chunkY));
+    }
+
+    /**
+     * Gets the chunk containing a world position.
+     * @return The chunk, or null if outside the region
+     */
+    public ChunkInfo getChunkAt(float x, float y) {
+        return getChunk(toChunkX(x), toChunkY(y));
+    }
+
+    public int toChunkX(float x) {
+        return (int) Math.floor(x / chunkWidth);
+    }
+
+    public int toChunkY(float y) {
+        return (int) Math.floor(y / chunkHeight);
+    }
+
+    public List<ChunkInfo> getChunks() {
+        return Collections.unmodifiableList(chunks);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getChunkWidth() {
+        return chunkWidth;
+    }
+
+    public int getChunkHeight() {
+        return chunkHeight;
+    }
+
+    /**
+     * Gets the region width in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the region height in pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    static int chunkKey(int chunkX, int chunkY) {
+        return ((chunkX & 0xFFFF) << 16) | (chunkY & 0xFFFF);
+    }
+
+    /**
+     * Placement of one map in the region.
+     */
+    public static class ChunkInfo {
+        private final String mapPath;
+        private final int chunkX;
+        private final int chunkY;
+        private final float originX;
+        private final float originY;
+        private final float width;
+        private final float height;
+
+        ChunkInfo(String mapPath, int chunkX, int chunkY, float originX, float originY, float width, float height) {
+            this.mapPath = mapPath;
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+            this.originX = originX;
+            this.originY = originY;
+            this.width = width;
+            this.height = height;
+        }
+
+        public String getMapPath() { return mapPath; }
+        public int getChunkX() { return chunkX; }
+        public int getChunkY() { return chunkY; }
+        public float getOriginX() { return originX; }
+        public float getOriginY() { return originY; }
+        public float getWidth() { return width; }
+        public float getHeight() { return height; }
+    }
+}